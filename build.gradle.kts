@@ -1,7 +1,12 @@
+import java.util.Properties
+
 plugins {
     id("java")
     id("org.springframework.boot") version "3.2.0"
     id("io.spring.dependency-management") version "1.1.4"
+    id("me.champeau.jmh") version "0.7.2"
+    // Enables Spring AOT processing (processAot) and the native image target (nativeCompile)
+    id("org.graalvm.buildtools.native") version "0.9.28"
 }
 
 group = "org.ph"
@@ -12,10 +17,34 @@ repositories {
     mavenCentral()
 }
 
+// Servlet container: Tomcat, or Undertow or Jetty with -PwebServer=undertow / -PwebServer=jetty
+val webServer = findProperty("webServer")?.toString() ?: "tomcat"
+require(webServer in listOf("tomcat", "undertow", "jetty")) { "webServer must be tomcat, undertow or jetty" }
+
 dependencies {
     // Spring Boot
-    implementation("org.springframework.boot:spring-boot-starter-web")
+    implementation("org.springframework.boot:spring-boot-starter-web") {
+        if (webServer != "tomcat") {
+            exclude(module = "spring-boot-starter-tomcat")
+        }
+    }
+    if (webServer != "tomcat") {
+        // TomcatHttp2Customizer is compiled in all builds and only active with Tomcat
+        compileOnly("org.apache.tomcat.embed:tomcat-embed-core")
+        testCompileOnly("org.apache.tomcat.embed:tomcat-embed-core")
+    }
+    when (webServer) {
+        "undertow" -> implementation("org.springframework.boot:spring-boot-starter-undertow")
+        "jetty" -> {
+            implementation("org.springframework.boot:spring-boot-starter-jetty")
+            // h2c for the http2 profile
+            implementation("org.eclipse.jetty.http2:jetty-http2-server")
+        }
+    }
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("org.springframework.boot:spring-boot-starter-jdbc")
+    implementation("org.springframework.boot:spring-boot-starter-actuator")
+    runtimeOnly("com.h2database:h2")
 
     // JSON validation and processing
     implementation("com.fasterxml.jackson.core:jackson-databind")
@@ -34,8 +63,140 @@ dependencies {
     testImplementation("io.cucumber:cucumber-java:7.14.0")
     testImplementation("io.cucumber:cucumber-junit:7.14.0")
     testImplementation("io.cucumber:cucumber-spring:7.14.0")
+
+    // HTTP load test (src/test/java/org/ph/load)
+    testImplementation("org.hdrhistogram:HdrHistogram:2.1.12")
+
+    // Benchmarks (src/jmh)
+    jmh("org.openjdk.jol:jol-core:0.17")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    // Bytes allocated per operation and GC counts for every benchmark; ./gradlew jmh -Pjfr adds a JFR recording
+    profilers.add("gc")
+    if (project.hasProperty("jfr")) {
+        profilers.add("jfr")
+    }
+    resultFormat.set("JSON")
+}
+
+// Fails the build when a benchmark allocates more per operation than src/jmh/allocation-thresholds.properties allows
+val jmhAllocationCheck by tasks.registering {
+    description = "Checks the bytes allocated per operation of the JMH results against their thresholds."
+    group = "verification"
+    val results = layout.buildDirectory.file("results/jmh/results.json")
+    val thresholds = layout.projectDirectory.file("src/jmh/allocation-thresholds.properties")
+    inputs.files(results, thresholds)
+    doLast {
+        val limits = Properties()
+        thresholds.asFile.inputStream().use { limits.load(it) }
+        @Suppress("UNCHECKED_CAST")
+        val runs = groovy.json.JsonSlurper().parse(results.get().asFile) as List<Map<String, Any?>>
+        val violations = runs.mapNotNull { run ->
+            val benchmark = (run["benchmark"] as String).split('.').takeLast(2).joinToString(".")
+            @Suppress("UNCHECKED_CAST")
+            val params = (run["params"] as Map<String, Any?>?)?.entries?.joinToString(",", "[", "]") { "${it.key}=${it.value}" }
+            // A limit for one parameter combination, e.g. Benchmark.method[codec=module], wins over one for all of them
+            val limit = (params?.let { limits.getProperty(benchmark + it) } ?: limits.getProperty(benchmark))
+                ?.toDouble() ?: return@mapNotNull null
+            @Suppress("UNCHECKED_CAST")
+            val metrics = run["secondaryMetrics"] as Map<String, Map<String, Any?>>
+            val allocated = (metrics["gc.alloc.rate.norm"] ?: metrics["\u00b7gc.alloc.rate.norm"])
+                ?.let { (it["score"] as Number).toDouble() }
+                ?: return@mapNotNull null
+            if (allocated > limit) "$benchmark${params ?: ""}: %.0f B/op > %.0f B/op".format(allocated, limit) else null
+        }
+        if (violations.isNotEmpty()) {
+            throw GradleException("Allocation per operation above threshold:\n" + violations.joinToString("\n"))
+        }
+    }
+}
+
+tasks.named("jmh") {
+    finalizedBy(jmhAllocationCheck)
+}
+
+// A full JMH run takes tens of minutes, so the allocation gate only joins `check` on request; CI runs it
+// as its own step with ./gradlew check -PallocationCheck
+if (project.hasProperty("allocationCheck")) {
+    jmhAllocationCheck {
+        dependsOn("jmh")
+    }
+    tasks.named("check") {
+        dependsOn(jmhAllocationCheck)
+    }
 }
 
 tasks.test {
-    useJUnitPlatform()
+    useJUnitPlatform {
+        excludeTags("load")
+    }
+}
+
+// The Tomcat customizer's test needs Tomcat on the classpath
+if (webServer != "tomcat") {
+    tasks.withType<Test>().configureEach {
+        exclude("org/ph/infrastructure/adapter/rest/server/TomcatHttp2CustomizerTest*")
+    }
+}
+
+// ./gradlew loadTest -Dload.rate=2000 -Dload.duration=PT60S -Dacme.repository.type=lsm
+// ./gradlew loadTest -PwebServer=undertow -Dspring.profiles.active=http2 -Dload.http-version=HTTP_2
+tasks.register<Test>("loadTest") {
+    description = "Runs the HTTP load test against the booted application."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("load")
+    }
+    // The generator is a single client, which admission control would throttle; -Dacme.rate-limit.enabled=true overrides
+    systemProperty("acme.rate-limit.enabled", "false")
+    System.getProperties().stringPropertyNames()
+        .filter { it.startsWith("load.") || it.startsWith("acme.") || it == "spring.profiles.active" }
+        .forEach { systemProperty(it, System.getProperty(it)) }
+    testLogging.showStandardStreams = true
+    outputs.upToDateWhen { false }
+}
+
+// Fast start on the JVM: AOT-processed bean definitions plus an AppCDS archive recorded by a
+// training run that stops right after the context refresh. CDS only archives classes from
+// jars, so the application and its AOT output are put on the classpath as plain jars.
+val aotJar by tasks.registering(Jar::class) {
+    archiveClassifier.set("aot")
+    from(sourceSets["aot"].output)
+}
+val fastStartClasspath = files(aotJar, tasks.jar, configurations.runtimeClasspath)
+val cdsArchiveFile = layout.buildDirectory.file("cds/app.jsa")
+val fastStartArgs = listOf("--spring.profiles.active=fast-start")
+
+val cdsArchive by tasks.registering(JavaExec::class) {
+    description = "Creates the AppCDS archive for runFastStart from a training run."
+    group = "build"
+    classpath = fastStartClasspath
+    mainClass.set("org.ph.Main")
+    jvmArgs("-Dspring.aot.enabled=true", "-Dspring.context.exit=onRefresh", "-Xlog:cds=error",
+        "-XX:ArchiveClassesAtExit=${cdsArchiveFile.get().asFile}")
+    args(fastStartArgs)
+    outputs.file(cdsArchiveFile)
+    doFirst { cdsArchiveFile.get().asFile.parentFile.mkdirs() }
+}
+
+tasks.register<JavaExec>("runFastStart") {
+    description = "Runs the application with AOT, the AppCDS archive and the fast-start profile."
+    group = "application"
+    dependsOn(cdsArchive)
+    classpath = fastStartClasspath
+    mainClass.set("org.ph.Main")
+    jvmArgs("-Dspring.aot.enabled=true", "-XX:SharedArchiveFile=${cdsArchiveFile.get().asFile}")
+    args(fastStartArgs)
+}
+
+graalvmNative {
+    binaries {
+        named("main") {
+            imageName.set("product-service")
+        }
+    }
 }
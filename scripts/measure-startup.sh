@@ -0,0 +1,40 @@
+#!/usr/bin/env bash
+# Measures startup of the product service: launches the given command, polls
+# GET /api/products until it answers 200 and prints the time to first request
+# along with Spring Boot's own "Started ... in" line. Repeats RUNS times.
+#
+# Usage: RUNS=5 PORT=8080 scripts/measure-startup.sh java -jar build/libs/app.jar
+set -euo pipefail
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+URL="http://localhost:${PORT}/api/products"
+
+if [ "$#" -eq 0 ]; then
+    echo "usage: $0 <command that starts the application>" >&2
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+for run in $(seq 1 "$RUNS"); do
+    log=$(mktemp)
+    start=$(now_ms)
+    "$@" --server.port="$PORT" > "$log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$URL"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "run $run: application exited, log: $log" >&2
+            exit 1
+        fi
+        sleep 0.01
+    done
+    first_request=$(( $(now_ms) - start ))
+    started=$(grep -o "Started [A-Za-z]* in [0-9.]* seconds (process running for [0-9.]*)" "$log" || true)
+    echo "run $run: first request after ${first_request} ms; ${started}"
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    rm -f "$log"
+done
@@ -0,0 +1,126 @@
+package org.ph.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ph.infrastructure.adapter.logging.JsonLogEncoder;
+import org.ph.infrastructure.adapter.logging.RequestSamplingTurboFilter;
+import org.ph.infrastructure.adapter.logging.RingBufferAppender;
+
+import java.io.OutputStream;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Cost of a debug log on a request thread, with the logging setup of logback-spring.xml: in a
+ * request that was not sampled, and in a sampled one written through the ring buffer or, as a
+ * baseline, synchronously. The log sink takes {@code writeMicros} per write, as console I/O does.
+ * Prints the share of the events that were written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingBenchmark {
+
+    @Param({"ring-buffer", "synchronous"})
+    public String appender;
+
+    @Param({"20"})
+    public long writeMicros;
+
+    private final LongAdder logged = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private LoggerContext context;
+    private Logger logger;
+    private UUID id;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        context.addTurboFilter(new RequestSamplingTurboFilter());
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        OutputStream sink = new OutputStream() {
+            @Override
+            public void write(int b) {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                for (int i = off; i < off + len; i++) {
+                    if (b[i] == '\n') {
+                        written.increment();
+                    }
+                }
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(writeMicros));
+            }
+        };
+        Appender<ILoggingEvent> target;
+        if (appender.equals("ring-buffer")) {
+            RingBufferAppender ringBuffer = new RingBufferAppender();
+            ringBuffer.setEncoder(encoder);
+            ringBuffer.setOutputStream(sink);
+            target = ringBuffer;
+        } else {
+            OutputStreamAppender<ILoggingEvent> synchronous = new OutputStreamAppender<>();
+            synchronous.setEncoder(encoder);
+            synchronous.setOutputStream(sink);
+            target = synchronous;
+        }
+        target.setContext(context);
+        target.setName("benchmark");
+        target.start();
+        logger = context.getLogger("org.ph.benchmark");
+        logger.setLevel(ch.qos.logback.classic.Level.DEBUG);
+        logger.setAdditive(false);
+        logger.addAppender(target);
+        id = UUID.randomUUID();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+        if (logged.sum() > 0) {
+            System.out.printf("%nevents written: %.3f%n", (double) written.sum() / logged.sum());
+        }
+    }
+
+    @Benchmark
+    public void unsampledRequest() {
+        RequestSamplingTurboFilter.enter(false);
+        logger.debug("Created product {}", id);
+        RequestSamplingTurboFilter.exit();
+    }
+
+    @Benchmark
+    public void sampledRequest() {
+        RequestSamplingTurboFilter.enter(true);
+        logger.debug("Created product {}", id);
+        RequestSamplingTurboFilter.exit();
+        logged.increment();
+    }
+}
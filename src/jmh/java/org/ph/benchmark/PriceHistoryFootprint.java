@@ -0,0 +1,63 @@
+package org.ph.benchmark;
+
+import org.openjdk.jol.info.GraphLayout;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
+import org.ph.infrastructure.adapter.repository.history.PriceHistoryProductRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Measures the heap taken by the price history: a synthetic catalog is created through a
+ * {@link PriceHistoryProductRepository}, then every product gets a number of price and stock
+ * updates, and the retained heap of the decorator is compared with that of its adapter alone.
+ * Prices move by a few cents and stock quantities by a few units, as repricing and sales do.
+ *
+ * <p>Usage: {@code PriceHistoryFootprint [productCount] [updatesPerProduct] [maxVersions]}
+ * (default 10000, 100 and 1000).
+ */
+public final class PriceHistoryFootprint {
+
+    private PriceHistoryFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int updates = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        int maxVersions = args.length > 2 ? Integer.parseInt(args[2]) : 1_000;
+        Random random = new Random(42);
+        InMemoryProductRepository backend = new InMemoryProductRepository();
+        PriceHistoryProductRepository repository =
+                new PriceHistoryProductRepository(backend, Duration.ofDays(30), maxVersions);
+
+        List<Product> catalog = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            catalog.add(new Product(UUID.randomUUID(), "Product " + i, "Category " + (i % 50) + " product",
+                    new BigDecimal((i % 200) + ".99"), 1_000));
+        }
+        repository.saveAll(catalog);
+        for (int round = 0; round < updates; round++) {
+            List<Product> updated = new ArrayList<>(count);
+            for (Product product : catalog) {
+                updated.add(product
+                        .withPrice(product.price().add(BigDecimal.valueOf(random.nextInt(201) - 100, 2)).abs())
+                        .withStockQuantity(Math.max(0, product.stockQuantity() - random.nextInt(5))));
+            }
+            repository.saveAll(updated);
+            catalog = updated;
+        }
+
+        long adapter = GraphLayout.parseInstance(backend).totalSize();
+        long total = GraphLayout.parseInstance(repository).totalSize();
+        long history = total - adapter;
+        long versions = (long) count * Math.min(updates + 1, maxVersions + 16);
+        System.out.printf("products=%d updatesPerProduct=%d maxVersions=%d historyBytes=%d bytesPerProduct=%d"
+                        + " bytesPerVersion=%.1f%n",
+                count, updates, maxVersions, history, history / count, (double) history / versions);
+    }
+}
@@ -0,0 +1,111 @@
+package org.ph.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ph.application.service.ProductUseCaseImpl;
+import org.ph.application.service.impl.ProductServiceImpl;
+import org.ph.infrastructure.adapter.id.UuidV7Generator;
+import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
+import org.ph.infrastructure.adapter.rest.ProductController;
+import org.ph.infrastructure.adapter.rest.concurrency.ConcurrencyLimits;
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.dto.ProductResponse;
+import org.ph.infrastructure.adapter.rest.idempotency.IdempotencyStore;
+import org.ph.infrastructure.adapter.rest.mapper.ProductMapper;
+import org.ph.infrastructure.adapter.rest.ratelimit.ClientIdentifier;
+import org.ph.infrastructure.adapter.rest.validation.ProductRequestValidator;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controller → use case → repository path of each product endpoint, without HTTP and JSON,
+ * over a 100-product in-memory catalog. Meant to be run with the GC profiler: the bytes
+ * allocated per operation are checked against {@code src/jmh/allocation-thresholds.properties}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductEndpointBenchmark {
+
+    private static final int CATALOG_SIZE = 100;
+    private static final int LOOKUP_SIZE = 20;
+
+    private ProductController controller;
+    private ProductRequest request;
+    private UUID existingId;
+    private final List<UUID> lookupIds = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        InMemoryProductRepository repository = new InMemoryProductRepository();
+        controller = new ProductController(
+                new ProductUseCaseImpl(new ProductServiceImpl(new UuidV7Generator()), repository),
+                new ProductMapper(),
+                new ProductRequestValidator(),
+                new IdempotencyStore(Duration.ofMinutes(1), 1_000),
+                new ClientIdentifier("", new String[0]),
+                ConcurrencyLimits.unlimited());
+        request = ProductRequest.builder()
+                .name("Benchmark Product")
+                .description("Product used by the endpoint benchmark")
+                .price(new BigDecimal("19.99"))
+                .stockQuantity(42)
+                .build();
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            existingId = controller.createProduct(request, null, null).getBody().id();
+            if (i % (CATALOG_SIZE / LOOKUP_SIZE) == 0) {
+                lookupIds.add(existingId);
+            }
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ProductResponse> getProductById() {
+        return controller.getProductById(existingId);
+    }
+
+    /**
+     * One lookup of {@value #LOOKUP_SIZE} products, to compare with as many {@link #getProductById} calls.
+     */
+    @Benchmark
+    public ResponseEntity<?> lookupProducts() {
+        return controller.lookupProducts(lookupIds);
+    }
+
+    @Benchmark
+    public ResponseEntity<List<ProductResponse>> getAllProducts() {
+        return controller.getAllProducts();
+    }
+
+    @Benchmark
+    public ResponseEntity<ProductResponse> updateProduct() {
+        return controller.updateProduct(existingId, request);
+    }
+
+    /**
+     * Create and delete together, so that the catalog stays the same size across
+     * iterations.
+     */
+    @Benchmark
+    public ResponseEntity<Void> createAndDeleteProduct() {
+        UUID id = controller.createProduct(request, null, null).getBody().id();
+        return controller.deleteProduct(id);
+    }
+}
@@ -0,0 +1,49 @@
+package org.ph.benchmark;
+
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.mapper.ProductMapper;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Measures the retained heap per product for a synthetic catalog.
+ * Requests are built from freshly allocated strings and decimals, as Jackson would
+ * produce them, and go through {@link ProductMapper#toDomain} and
+ * {@link InMemoryProductRepository#save} like a real create.
+ *
+ * <p>Usage: {@code ProductFootprint [productCount]} (default 100000).
+ */
+public final class ProductFootprint {
+
+    private static final int DISTINCT_DESCRIPTIONS = 50;
+    private static final int DISTINCT_PRICES = 200;
+
+    private ProductFootprint() {
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        ProductMapper mapper = new ProductMapper();
+        InMemoryProductRepository repository = new InMemoryProductRepository();
+        Product[] catalog = new Product[count];
+        for (int i = 0; i < count; i++) {
+            ProductRequest request = ProductRequest.builder()
+                    .name(new String("Product " + i))
+                    .description(new String("Category " + (i % DISTINCT_DESCRIPTIONS) + " product"))
+                    .price(new BigDecimal((i % DISTINCT_PRICES) + ".99"))
+                    .stockQuantity(i % 1000)
+                    .build();
+            catalog[i] = repository.save(mapper.toDomain(request).withId(UUID.randomUUID()));
+        }
+
+        GraphLayout layout = GraphLayout.parseInstance((Object) catalog);
+        long perProduct = (layout.totalSize() - VM.current().sizeOf(catalog)) / count;
+        System.out.printf("products=%d totalBytes=%d bytesPerProduct=%d%n", count, layout.totalSize(), perProduct);
+        System.out.println(layout.toFootprint());
+    }
+}
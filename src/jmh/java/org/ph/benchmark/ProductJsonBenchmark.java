@@ -0,0 +1,87 @@
+package org.ph.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.dto.ProductResponse;
+import org.ph.infrastructure.adapter.rest.json.ProductJsonModule;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the {@link ProductJsonModule} (de)serializers with Jackson's default bean (de)serializers.
+ * Serialization writes into a discarding stream so that only Jackson's own allocations are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductJsonBenchmark {
+
+    @Param({"bean", "module"})
+    public String codec;
+
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private ProductResponse response;
+    private byte[] requestJson;
+    private final OutputStream sink = new DiscardingOutputStream();
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        if ("module".equals(codec)) {
+            mapper.registerModule(new ProductJsonModule());
+        }
+        writer = mapper.writerFor(ProductResponse.class);
+        reader = mapper.readerFor(ProductRequest.class);
+        response = new ProductResponse(UUID.randomUUID(), "Benchmark Product",
+                "Product used by the JSON benchmark", new BigDecimal("19.99"), 42);
+        requestJson = ("{\"name\":\"Benchmark Product\",\"description\":\"Product used by the JSON benchmark\","
+                + "\"price\":19.99,\"stockQuantity\":42}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void serializeResponse() throws IOException {
+        writer.writeValue(sink, response);
+    }
+
+    @Benchmark
+    public ProductRequest deserializeRequest() throws IOException {
+        return reader.readValue(requestJson);
+    }
+
+    /**
+     * Output stream that drops everything and, unlike {@link OutputStream#nullOutputStream()},
+     * stays usable after the writer closes it.
+     */
+    private static final class DiscardingOutputStream extends OutputStream {
+
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package org.ph.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.dto.ProductResponse;
+import org.ph.infrastructure.adapter.rest.mapper.ProductMapper;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmark for the conversions done by {@link ProductMapper} on every request.
+ * Run with {@code -prof gc} to see the bytes allocated per conversion.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductMapperBenchmark {
+
+    private ProductMapper mapper;
+    private ProductRequest request;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        mapper = new ProductMapper();
+        request = ProductRequest.builder()
+                .name("Benchmark Product")
+                .description("Product used by the mapper benchmark")
+                .price(new BigDecimal("19.99"))
+                .stockQuantity(42)
+                .build();
+        product = mapper.toDomain(request).withId(UUID.randomUUID());
+    }
+
+    @Benchmark
+    public Product toDomain() {
+        return mapper.toDomain(request);
+    }
+
+    @Benchmark
+    public ProductResponse toResponse() {
+        return mapper.toResponse(product);
+    }
+}
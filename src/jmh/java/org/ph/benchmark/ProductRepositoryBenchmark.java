@@ -0,0 +1,141 @@
+package org.ph.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ph.application.port.out.ProductRepository;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
+import org.ph.infrastructure.adapter.repository.jdbc.JdbcProductRepository;
+import org.ph.infrastructure.adapter.repository.lsm.LsmOptions;
+import org.ph.infrastructure.adapter.repository.lsm.LsmProductRepository;
+import org.ph.infrastructure.adapter.repository.writebehind.WriteBehindProductRepository;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Compares the ProductRepository adapters on point lookups, single upserts and batch saves
+ * over a pre-populated catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductRepositoryBenchmark {
+
+    private static final int CATALOG_SIZE = 100_000;
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"memory", "lsm", "jdbc", "jdbc-write-behind"})
+    public String type;
+
+    private ProductRepository repository;
+    private HikariDataSource dataSource;
+    private Path directory;
+    private UUID[] ids;
+    private List<Product> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        repository = switch (type) {
+            case "memory" -> new InMemoryProductRepository();
+            case "lsm" -> {
+                directory = Files.createTempDirectory("lsm-bench");
+                yield new LsmProductRepository(directory, LsmOptions.defaults());
+            }
+            case "jdbc" -> jdbcRepository();
+            case "jdbc-write-behind" ->
+                    new WriteBehindProductRepository(jdbcRepository(), 10_000, 500, Duration.ofSeconds(1),
+                            Duration.ofSeconds(30));
+            default -> throw new IllegalArgumentException(type);
+        };
+        ids = new UUID[CATALOG_SIZE];
+        List<Product> chunk = new ArrayList<>(1_000);
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            ids[i] = UUID.randomUUID();
+            chunk.add(product(ids[i], i));
+            if (chunk.size() == 1_000) {
+                repository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(product(UUID.randomUUID(), i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (repository instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+        if (dataSource != null) {
+            dataSource.close();
+        }
+        if (directory != null) {
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private ProductRepository jdbcRepository() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(4);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        return new JdbcProductRepository(new JdbcTemplate(dataSource), 500, 1000);
+    }
+
+    @Benchmark
+    public Optional<Product> findById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(CATALOG_SIZE)]);
+    }
+
+    @Benchmark
+    public Product save() {
+        int i = ThreadLocalRandom.current().nextInt(CATALOG_SIZE);
+        return repository.save(product(ids[i], i + 1));
+    }
+
+    @Benchmark
+    public List<Product> saveAllBatch() {
+        return repository.saveAll(batch);
+    }
+
+    private static Product product(UUID id, int i) {
+        return new Product(id, "Product " + i, "Description " + (i % 100),
+                BigDecimal.valueOf(1_000 + i % 5_000, 2), i % 1_000);
+    }
+}
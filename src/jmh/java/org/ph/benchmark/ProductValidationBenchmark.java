@@ -0,0 +1,69 @@
+package org.ph.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.validation.ProductRequestValidator;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares Hibernate Validator with {@link ProductRequestValidator} on a valid request,
+ * which is the common case on the create and update endpoints.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductValidationBenchmark {
+
+    private ValidatorFactory validatorFactory;
+    private Validator beanValidator;
+    private ProductRequestValidator fastValidator;
+    private ProductRequest request;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidator = validatorFactory.getValidator();
+        fastValidator = new ProductRequestValidator();
+        request = new ProductRequest("Benchmark Product", "Product used by the validation benchmark",
+                new BigDecimal("19.99"), 42);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ProductRequest>> beanValidation() {
+        return beanValidator.validate(request);
+    }
+
+    @Benchmark
+    public Errors fastValidation() {
+        Errors errors = new BeanPropertyBindingResult(request, "productRequest");
+        fastValidator.validate(request, errors);
+        return errors;
+    }
+}
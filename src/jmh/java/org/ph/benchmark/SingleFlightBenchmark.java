@@ -0,0 +1,94 @@
+package org.ph.benchmark;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.ph.application.port.out.ProductRepository;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.repository.jdbc.JdbcProductRepository;
+import org.ph.infrastructure.adapter.repository.singleflight.SingleFlightProductRepository;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Flash-sale read pattern: many threads looking up the same product in the JDBC adapter,
+ * with and without single-flight coalescing. Prints the backend lookups per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class SingleFlightBenchmark {
+
+    @Param({"false", "true"})
+    public boolean singleFlight;
+
+    /**
+     * Simulated network round trip to the database; the embedded H2 database has none.
+     */
+    @Param({"0", "500"})
+    public long roundTripMicros;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder backendLookups = new LongAdder();
+    private HikariDataSource dataSource;
+    private ProductRepository repository;
+    private UUID hotId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:single-flight;DB_CLOSE_DELAY=-1");
+        dataSource.setMaximumPoolSize(10);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        ProductRepository jdbc = new JdbcProductRepository(new JdbcTemplate(dataSource), 500, 1000) {
+            @Override
+            public Optional<Product> findById(UUID id) {
+                backendLookups.increment();
+                if (roundTripMicros > 0) {
+                    LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+                }
+                return super.findById(id);
+            }
+        };
+        hotId = UUID.randomUUID();
+        jdbc.save(new Product(hotId, "Flash sale item", "Limited offer", new BigDecimal("9.99"), 1_000));
+        repository = singleFlight ? new SingleFlightProductRepository(jdbc) : jdbc;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%nbackend lookups per request: %.3f%n",
+                (double) backendLookups.sum() / requests.sum());
+        dataSource.close();
+    }
+
+    @Benchmark
+    public Optional<Product> findHotProduct() {
+        requests.increment();
+        return repository.findById(hotId);
+    }
+}
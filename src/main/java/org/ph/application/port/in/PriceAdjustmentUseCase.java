@@ -0,0 +1,52 @@
+package org.ph.application.port.in;
+
+import org.ph.domain.model.PriceAdjustment;
+import org.ph.domain.model.PriceAdjustmentJob;
+import org.ph.domain.model.ProductSelector;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Input port interface for bulk price adjustments.
+ * A job changes the price of every selected product at a scheduled time, in the background;
+ * callers follow it by polling its state.
+ */
+public interface PriceAdjustmentUseCase {
+
+    /**
+     * Schedules a price adjustment.
+     *
+     * @param selector   The products to adjust
+     * @param adjustment The price change
+     * @param runAt      When to start; null or a past time to start right away
+     * @return The scheduled job
+     */
+    PriceAdjustmentJob scheduleAdjustment(ProductSelector selector, PriceAdjustment adjustment, Instant runAt);
+
+    /**
+     * Retrieves a price adjustment job.
+     *
+     * @param id The job ID
+     * @return An Optional containing the job's current state, or empty if not found
+     */
+    Optional<PriceAdjustmentJob> getAdjustment(UUID id);
+
+    /**
+     * Retrieves the scheduled, running and recently finished price adjustment jobs.
+     *
+     * @return The jobs, by scheduled time
+     */
+    List<PriceAdjustmentJob> getAdjustments();
+
+    /**
+     * Cancels a price adjustment job. A scheduled job never starts; a running one stops once the
+     * batches in progress are stored, keeping the prices already changed.
+     *
+     * @param id The job ID
+     * @return An Optional containing the job's state after the cancellation, or empty if not found
+     */
+    Optional<PriceAdjustmentJob> cancelAdjustment(UUID id);
+}
@@ -1,7 +1,11 @@
 package org.ph.application.port.in;
 
 import org.ph.domain.model.Product;
+import org.ph.domain.model.ProductChanges;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +24,14 @@ public interface ProductUseCase {
      */
     Product createProduct(Product product);
 
+    /**
+     * Creates several products in one operation.
+     *
+     * @param products The products to create
+     * @return The created products with generated IDs, in the same order
+     */
+    List<Product> createProducts(List<Product> products);
+
     /**
      * Retrieves a product by its ID.
      *
@@ -28,6 +40,31 @@ public interface ProductUseCase {
      */
     Optional<Product> getProductById(UUID id);
 
+    /**
+     * Checks whether the product history is kept, which {@link #getProductAsOf} needs.
+     *
+     * @return true if products can be retrieved as they were in the past
+     */
+    boolean keepsHistory();
+
+    /**
+     * Retrieves a product as it was at a point in time.
+     *
+     * @param id The ID of the product to retrieve
+     * @param asOf The point in time
+     * @return An Optional containing the product with its price and stock quantity at that time,
+     * or empty if it did not exist then or no product history is kept
+     */
+    Optional<Product> getProductAsOf(UUID id, Instant asOf);
+
+    /**
+     * Retrieves several products by their IDs in one operation.
+     *
+     * @param ids The IDs of the products to retrieve
+     * @return The products found, in the order of their first ID; unknown IDs are left out
+     */
+    List<Product> getProductsByIds(Collection<UUID> ids);
+
     /**
      * Retrieves all products.
      *
@@ -35,6 +72,30 @@ public interface ProductUseCase {
      */
     List<Product> getAllProducts();
 
+    /**
+     * Retrieves the changes made to the catalog after a revision, so that a copy of it
+     * can be brought up to date without downloading every product again.
+     *
+     * @param revision The revision the copy is current at, as returned by the previous call; 0 for none
+     * @param after    The cursor returned by the previous call, if it was a page of a reset; null otherwise
+     * @param limit    The maximum number of changes to return
+     * @return An Optional containing the changes after the revision, or empty if the catalog does not
+     * number its writes
+     */
+    Optional<ProductChanges> getChangesSince(long revision, UUID after, int limit);
+
+    /**
+     * Waits until the catalog has changed after a revision, for callers that follow the changes
+     * as they happen.
+     *
+     * @param revision The revision the caller is current at
+     * @param timeout  The longest time to wait
+     * @return true if there are changes after the revision, false if the time ran out or the
+     * catalog does not number its writes
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    boolean awaitChangesAfter(long revision, Duration timeout) throws InterruptedException;
+
     /**
      * Updates an existing product.
      *
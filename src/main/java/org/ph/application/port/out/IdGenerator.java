@@ -0,0 +1,17 @@
+package org.ph.application.port.out;
+
+import java.util.UUID;
+
+/**
+ * Output port interface for generating product IDs.
+ * This is part of the application layer and lets infrastructure adapters choose
+ * the ID scheme, for example random or time-ordered UUIDs.
+ */
+public interface IdGenerator {
+    /**
+     * Generates a new unique ID.
+     *
+     * @return The generated ID
+     */
+    UUID nextId();
+}
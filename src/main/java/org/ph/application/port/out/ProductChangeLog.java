@@ -0,0 +1,37 @@
+package org.ph.application.port.out;
+
+import org.ph.domain.model.ProductChanges;
+
+import java.util.UUID;
+
+/**
+ * Output port interface for reading the changes made to the catalog, for clients that keep a copy of it.
+ * Every write is given a revision, increasing across the whole repository. Adapters only keep the
+ * current state of products and leave this to a decorator, which offers it through
+ * {@link ProductRepository#changeLog()}.
+ */
+public interface ProductChangeLog {
+    /**
+     * Lists the changes made after a revision.
+     * A caller the log no longer covers gets a reset instead: the whole catalog, in pages of
+     * {@code limit} products ordered by ID. Each page but the last carries a cursor, which the caller
+     * passes back as {@code after}, along with the revision, to get the next page.
+     *
+     * @param revision The revision the caller is current at
+     * @param after    The cursor of the last reset page received, or null
+     * @param limit    The maximum number of changes to return
+     * @return The changes after the revision, oldest first, or the next page of a reset
+     */
+    ProductChanges changesSince(long revision, UUID after, int limit);
+
+    /**
+     * Waits until a change after a revision can be read, so that a caller that has every change
+     * can wait for the next one instead of polling.
+     *
+     * @param revision      The revision the caller is current at
+     * @param timeoutMillis The longest time to wait, in milliseconds
+     * @return true if there are changes after the revision, false if the time ran out
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    boolean awaitChangesAfter(long revision, long timeoutMillis) throws InterruptedException;
+}
@@ -0,0 +1,23 @@
+package org.ph.application.port.out;
+
+import org.ph.domain.model.Product;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Output port interface for reading products as they were in the past, for audits of past prices.
+ * Adapters only keep the current state of products and leave this to a decorator that records
+ * their history, which offers it through {@link ProductRepository#history()}.
+ */
+public interface ProductHistory {
+    /**
+     * Finds a product as it was at a point in time.
+     *
+     * @param id   The ID of the product
+     * @param asOf The point in time
+     * @return The product as it was then, or empty if it did not exist then
+     */
+    Optional<Product> findById(UUID id, Instant asOf);
+}
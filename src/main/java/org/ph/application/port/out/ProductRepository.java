@@ -2,7 +2,12 @@ package org.ph.application.port.out;
 
 import org.ph.domain.model.Product;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -20,6 +25,41 @@ public interface ProductRepository {
      */
     Product save(Product product);
 
+    /**
+     * Saves several products in one operation.
+     * Adapters should apply the whole batch at once rather than product by product.
+     *
+     * @param products The products to save
+     * @return The saved products, in the same order
+     */
+    List<Product> saveAll(List<Product> products);
+
+    /**
+     * Saves products only where the stored product is still the one the caller read, for
+     * read-modify-write callers: a product changed or deleted since it was read is left as it is.
+     * Adapters should apply the whole batch at once, checking and writing each product atomically
+     * with respect to other writes of it. This default reads and writes without that guarantee,
+     * for repositories with a single writer.
+     *
+     * @param expected The products as the caller read them, by ID
+     * @param updated  The products to save, each with its read state in {@code expected}
+     * @return The products saved, in the given order
+     */
+    default List<Product> saveAllIfUnchanged(Map<UUID, Product> expected, List<Product> updated) {
+        Map<UUID, Product> stored = new HashMap<>();
+        for (Product product : findAllById(expected.keySet())) {
+            stored.put(product.id(), product);
+        }
+        List<Product> unchanged = new ArrayList<>();
+        for (Product product : updated) {
+            Product read = expected.get(product.id());
+            if (read != null && read.equals(stored.get(product.id()))) {
+                unchanged.add(product);
+            }
+        }
+        return unchanged.isEmpty() ? unchanged : saveAll(unchanged);
+    }
+
     /**
      * Finds a product by its ID.
      *
@@ -35,6 +75,21 @@ public interface ProductRepository {
      */
     List<Product> findAll();
 
+    /**
+     * Finds several products by their IDs in one operation.
+     * Adapters should look the whole batch up at once rather than product by product.
+     *
+     * @param ids The IDs of the products to find
+     * @return The products found, in the order of their first ID; unknown IDs are left out
+     */
+    default List<Product> findAllById(Collection<UUID> ids) {
+        List<Product> found = new ArrayList<>();
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+
     /**
      * Deletes a product by its ID.
      *
@@ -43,6 +98,23 @@ public interface ProductRepository {
      */
     boolean deleteById(UUID id);
 
+    /**
+     * Deletes several products in one operation.
+     * Adapters should apply the whole batch at once rather than product by product.
+     *
+     * @param ids The IDs of the products to delete
+     * @return The IDs of the products that were deleted, in the given order; unknown IDs are left out
+     */
+    default List<UUID> deleteAllById(Collection<UUID> ids) {
+        List<UUID> deleted = new ArrayList<>();
+        for (UUID id : ids) {
+            if (deleteById(id)) {
+                deleted.add(id);
+            }
+        }
+        return deleted;
+    }
+
     /**
      * Checks if a product with the given ID exists.
      *
@@ -50,4 +122,24 @@ public interface ProductRepository {
      * @return true if a product with the ID exists, false otherwise
      */
     boolean existsById(UUID id);
-}
\ No newline at end of file
+
+    /**
+     * Returns the log of the changes made to this repository, if its writes are numbered.
+     * Adapters do not number their writes and leave this to a decorator.
+     *
+     * @return The change log, or empty if writes are not numbered
+     */
+    default Optional<ProductChangeLog> changeLog() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the history of the products in this repository, if it is kept.
+     * Adapters keep only the current state of products and leave this to a decorator.
+     *
+     * @return The product history, or empty if no history is kept
+     */
+    default Optional<ProductHistory> history() {
+        return Optional.empty();
+    }
+}
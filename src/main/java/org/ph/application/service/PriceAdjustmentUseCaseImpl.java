@@ -0,0 +1,315 @@
+package org.ph.application.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ph.application.port.in.PriceAdjustmentUseCase;
+import org.ph.application.port.out.IdGenerator;
+import org.ph.application.port.out.ProductRepository;
+import org.ph.domain.model.PriceAdjustment;
+import org.ph.domain.model.PriceAdjustmentJob;
+import org.ph.domain.model.Product;
+import org.ph.domain.model.ProductSelector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementation of the PriceAdjustmentUseCase interface.
+ *
+ * <p>Jobs start at their scheduled time on a scheduler thread, one at a time in the order they
+ * are due, so that adjustments of the same products apply in that order. A job first lists the
+ * selected IDs: the given ones, or those of the products matching the selector when it starts.
+ * It then splits them into batches of {@code batch-size} and runs up to {@code parallelism}
+ * batches at once. Each batch reads its products, checks them against the selector again,
+ * computes the new prices from the prices read and stores the changed products with one
+ * {@link ProductRepository#saveAllIfUnchanged} call. Every product is thus written whole, with one
+ * new price, or not at all; a product changed or deleted by another request between the read and
+ * the write of its batch is left as the other request made it, and counted as skipped.
+ *
+ * <p>Cancelling a running job stops it from starting new batches. A batch that fails ends the job;
+ * prices changed by earlier batches are kept. The last {@code retained-jobs} finished jobs are kept
+ * for their callers to read.
+ */
+@Slf4j
+@Service
+public class PriceAdjustmentUseCaseImpl implements PriceAdjustmentUseCase, AutoCloseable {
+
+    private final ProductRepository productRepository;
+    private final IdGenerator idGenerator;
+    private final int batchSize;
+    private final int parallelism;
+    private final int retainedJobs;
+    private final Clock clock;
+
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService workers;
+
+    @Autowired
+    public PriceAdjustmentUseCaseImpl(ProductRepository productRepository,
+                                      IdGenerator idGenerator,
+                                      @Value("${acme.price-adjustment.batch-size:1000}") int batchSize,
+                                      @Value("${acme.price-adjustment.parallelism:0}") int parallelism,
+                                      @Value("${acme.price-adjustment.retained-jobs:100}") int retainedJobs) {
+        this(productRepository, idGenerator, batchSize, parallelism, retainedJobs, Clock.systemUTC());
+    }
+
+    PriceAdjustmentUseCaseImpl(ProductRepository productRepository, IdGenerator idGenerator, int batchSize,
+                               int parallelism, int retainedJobs, Clock clock) {
+        this.productRepository = productRepository;
+        this.idGenerator = idGenerator;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.retainedJobs = retainedJobs;
+        this.clock = clock;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-adjustment-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.workers = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "price-adjustment");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules a price adjustment.
+     *
+     * @param selector   The products to adjust
+     * @param adjustment The price change
+     * @param runAt      When to start; null or a past time to start right away
+     * @return The scheduled job
+     */
+    @Override
+    public PriceAdjustmentJob scheduleAdjustment(ProductSelector selector, PriceAdjustment adjustment, Instant runAt) {
+        Instant now = clock.instant();
+        Job job = new Job(idGenerator.nextId(), selector, adjustment, runAt == null ? now : runAt);
+        jobs.put(job.id, job);
+        synchronized (job) {
+            long delay = Math.max(0, Duration.between(now, job.runAt).toMillis());
+            job.future = scheduler.schedule(() -> run(job), delay, TimeUnit.MILLISECONDS);
+        }
+        log.info("Scheduled price adjustment {} for {}", job.id, job.runAt);
+        return job.snapshot();
+    }
+
+    /**
+     * Retrieves a price adjustment job.
+     *
+     * @param id The job ID
+     * @return An Optional containing the job's current state, or empty if not found
+     */
+    @Override
+    public Optional<PriceAdjustmentJob> getAdjustment(UUID id) {
+        return Optional.ofNullable(jobs.get(id)).map(Job::snapshot);
+    }
+
+    /**
+     * Retrieves the scheduled, running and recently finished price adjustment jobs.
+     *
+     * @return The jobs, by scheduled time
+     */
+    @Override
+    public List<PriceAdjustmentJob> getAdjustments() {
+        return jobs.values().stream()
+                .map(Job::snapshot)
+                .sorted(Comparator.comparing(PriceAdjustmentJob::runAt))
+                .toList();
+    }
+
+    /**
+     * Cancels a price adjustment job.
+     *
+     * @param id The job ID
+     * @return An Optional containing the job's state after the cancellation, or empty if not found
+     */
+    @Override
+    public Optional<PriceAdjustmentJob> cancelAdjustment(UUID id) {
+        Job job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        boolean finished = false;
+        synchronized (job) {
+            if (job.status == PriceAdjustmentJob.Status.SCHEDULED) {
+                job.future.cancel(false);
+                job.finish(PriceAdjustmentJob.Status.CANCELLED, null);
+                finished = true;
+            } else if (job.status == PriceAdjustmentJob.Status.RUNNING) {
+                job.cancelled = true;
+            }
+        }
+        if (finished) {
+            evictFinished();
+        }
+        log.info("Cancelled price adjustment {}", id);
+        return Optional.of(job.snapshot());
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void run(Job job) {
+        synchronized (job) {
+            if (job.status != PriceAdjustmentJob.Status.SCHEDULED) {
+                return;
+            }
+            job.status = PriceAdjustmentJob.Status.RUNNING;
+            job.startedAt = clock.instant();
+        }
+        try {
+            List<UUID> ids = select(job.selector);
+            job.selected = ids.size();
+            Semaphore permits = new Semaphore(parallelism);
+            for (int from = 0; from < ids.size() && !job.cancelled && job.failure == null; from += batchSize) {
+                List<UUID> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                permits.acquireUninterruptibly();
+                workers.execute(() -> {
+                    try {
+                        if (!job.cancelled && job.failure == null) {
+                            adjust(job, batch);
+                        }
+                    } catch (RuntimeException e) {
+                        log.warn("Price adjustment {} failed", job.id, e);
+                        job.failure = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+            permits.acquireUninterruptibly(parallelism);
+        } catch (RuntimeException e) {
+            log.warn("Price adjustment {} failed", job.id, e);
+            job.failure = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        }
+
+        synchronized (job) {
+            if (job.failure != null) {
+                job.finish(PriceAdjustmentJob.Status.FAILED, job.failure);
+            } else if (job.cancelled) {
+                job.finish(PriceAdjustmentJob.Status.CANCELLED, null);
+            } else {
+                job.finish(PriceAdjustmentJob.Status.COMPLETED, null);
+            }
+        }
+        log.info("Price adjustment {} {}: {} of {} products adjusted", job.id, job.status,
+                job.adjusted.get(), job.selected);
+        evictFinished();
+    }
+
+    private List<UUID> select(ProductSelector selector) {
+        if (selector.ids() != null) {
+            return new ArrayList<>(new LinkedHashSet<>(selector.ids()));
+        }
+        List<UUID> ids = new ArrayList<>();
+        for (Product product : productRepository.findAll()) {
+            if (selector.matches(product)) {
+                ids.add(product.id());
+            }
+        }
+        return ids;
+    }
+
+    private void adjust(Job job, List<UUID> batch) {
+        Map<UUID, Product> read = new HashMap<>();
+        List<Product> changed = new ArrayList<>(batch.size());
+        for (Product product : productRepository.findAllById(batch)) {
+            if (!job.selector.matches(product)) {
+                continue;
+            }
+            BigDecimal price = job.adjustment.apply(product.price());
+            if (price != null && !price.equals(product.price())) {
+                read.put(product.id(), product);
+                changed.add(product.withPrice(price));
+            }
+        }
+        int adjusted = changed.isEmpty() ? 0 : productRepository.saveAllIfUnchanged(read, changed).size();
+        job.processed.addAndGet(batch.size());
+        job.adjusted.addAndGet(adjusted);
+        job.skipped.addAndGet(batch.size() - adjusted);
+    }
+
+    /**
+     * Forgets the oldest finished jobs beyond {@code retainedJobs}.
+     */
+    private void evictFinished() {
+        List<Job> finished = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            if (job.finishedAt != null) {
+                finished.add(job);
+            }
+        }
+        if (finished.size() <= retainedJobs) {
+            return;
+        }
+        finished.sort(Comparator.comparing((Job job) -> job.finishedAt));
+        for (int i = 0; i < finished.size() - retainedJobs; i++) {
+            jobs.remove(finished.get(i).id);
+        }
+    }
+
+    /**
+     * State of one job. The status and times change under the job's lock; the counts are updated by
+     * the batches as they complete.
+     */
+    private final class Job {
+
+        private final UUID id;
+        private final ProductSelector selector;
+        private final PriceAdjustment adjustment;
+        private final Instant runAt;
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong adjusted = new AtomicLong();
+        private final AtomicLong skipped = new AtomicLong();
+        private ScheduledFuture<?> future;
+        private volatile PriceAdjustmentJob.Status status = PriceAdjustmentJob.Status.SCHEDULED;
+        private volatile Instant startedAt;
+        private volatile Instant finishedAt;
+        private volatile long selected;
+        private volatile boolean cancelled;
+        private volatile String failure;
+
+        Job(UUID id, ProductSelector selector, PriceAdjustment adjustment, Instant runAt) {
+            this.id = id;
+            this.selector = selector;
+            this.adjustment = adjustment;
+            this.runAt = runAt;
+        }
+
+        void finish(PriceAdjustmentJob.Status finalStatus, String message) {
+            failure = message;
+            finishedAt = clock.instant();
+            status = finalStatus;
+        }
+
+        synchronized PriceAdjustmentJob snapshot() {
+            return new PriceAdjustmentJob(id, status, selector, adjustment, runAt, startedAt, finishedAt,
+                    selected, processed.get(), adjusted.get(), skipped.get(), failure);
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package org.ph.application.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.ph.application.port.in.ProductUseCase;
+import org.ph.application.port.out.ProductChangeLog;
 import org.ph.application.port.out.ProductRepository;
 import org.ph.domain.model.Product;
+import org.ph.domain.model.ProductChanges;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,7 +20,9 @@ import java.util.UUID;
 /**
  * Implementation of the ProductUseCase interface.
  * This class coordinates between the domain service and the repository.
+ * Writes are logged at DEBUG, which within requests only reaches the logs for sampled requests.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProductUseCaseImpl implements ProductUseCase {
@@ -33,7 +42,29 @@ public class ProductUseCaseImpl implements ProductUseCase {
         Product processedProduct = productService.createProduct(product);
         
         // Persist the product
-        return productRepository.save(processedProduct);
+        Product created = productRepository.save(processedProduct);
+        log.debug("Created product {}", created.id());
+        return created;
+    }
+
+    /**
+     * Creates several products in one operation.
+     *
+     * @param products The products to create
+     * @return The created products with generated IDs, in the same order
+     */
+    @Override
+    public List<Product> createProducts(List<Product> products) {
+        // Apply domain logic
+        List<Product> processedProducts = new ArrayList<>(products.size());
+        for (Product product : products) {
+            processedProducts.add(productService.createProduct(product));
+        }
+
+        // Persist the products as one batch
+        List<Product> created = productRepository.saveAll(processedProducts);
+        log.debug("Created {} products", created.size());
+        return created;
     }
 
     /**
@@ -47,6 +78,40 @@ public class ProductUseCaseImpl implements ProductUseCase {
         return productRepository.findById(id);
     }
 
+    /**
+     * Checks whether the repository keeps the product history.
+     *
+     * @return true if the repository offers a product history
+     */
+    @Override
+    public boolean keepsHistory() {
+        return productRepository.history().isPresent();
+    }
+
+    /**
+     * Retrieves a product as it was at a point in time.
+     *
+     * @param id The ID of the product to retrieve
+     * @param asOf The point in time
+     * @return An Optional containing the product as it was then, or empty if it did not exist then
+     * or no history is kept
+     */
+    @Override
+    public Optional<Product> getProductAsOf(UUID id, Instant asOf) {
+        return productRepository.history().flatMap(history -> history.findById(id, asOf));
+    }
+
+    /**
+     * Retrieves several products by their IDs in one operation.
+     *
+     * @param ids The IDs of the products to retrieve
+     * @return The products found, in the order of their first ID
+     */
+    @Override
+    public List<Product> getProductsByIds(Collection<UUID> ids) {
+        return productRepository.findAllById(ids);
+    }
+
     /**
      * Retrieves all products.
      *
@@ -57,6 +122,33 @@ public class ProductUseCaseImpl implements ProductUseCase {
         return productRepository.findAll();
     }
 
+    /**
+     * Retrieves the changes made after a revision.
+     *
+     * @param revision The revision the caller is current at
+     * @param after The cursor of the last reset page received, or null
+     * @param limit The maximum number of changes to return
+     * @return An Optional containing the changes after the revision, or empty if writes are not numbered
+     */
+    @Override
+    public Optional<ProductChanges> getChangesSince(long revision, UUID after, int limit) {
+        return productRepository.changeLog().map(changeLog -> changeLog.changesSince(revision, after, limit));
+    }
+
+    /**
+     * Waits until the catalog has changed after a revision.
+     *
+     * @param revision The revision the caller is current at
+     * @param timeout The longest time to wait
+     * @return true if there are changes after the revision, false if the time ran out or writes are not numbered
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    @Override
+    public boolean awaitChangesAfter(long revision, Duration timeout) throws InterruptedException {
+        Optional<ProductChangeLog> changeLog = productRepository.changeLog();
+        return changeLog.isPresent() && changeLog.get().awaitChangesAfter(revision, timeout.toMillis());
+    }
+
     /**
      * Updates an existing product.
      *
@@ -74,7 +166,9 @@ public class ProductUseCaseImpl implements ProductUseCase {
         Product processedProduct = productService.updateProduct(id, product);
         
         // Persist the product
-        return productRepository.save(processedProduct);
+        Product updated = productRepository.save(processedProduct);
+        log.debug("Updated product {}", id);
+        return updated;
     }
 
     /**
@@ -85,6 +179,10 @@ public class ProductUseCaseImpl implements ProductUseCase {
      */
     @Override
     public boolean deleteProduct(UUID id) {
-        return productRepository.deleteById(id);
+        boolean deleted = productRepository.deleteById(id);
+        if (deleted) {
+            log.debug("Deleted product {}", id);
+        }
+        return deleted;
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package org.ph.application.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.ph.application.port.out.IdGenerator;
 import org.ph.domain.model.Product;
 import org.ph.application.service.ProductService;
 import org.springframework.stereotype.Service;
@@ -16,18 +17,20 @@ import java.util.UUID;
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
+
+    private final IdGenerator idGenerator;
     
     /**
      * Creates a new product.
-     * If the product doesn't have an ID, a new UUID is generated.
+     * If the product doesn't have an ID, a new one is taken from the {@link IdGenerator}.
      *
      * @param product The product to create
      * @return The created product with generated ID
      */
     @Override
     public Product createProduct(Product product) {
-        if (product.getId() == null) {
-            product.setId(UUID.randomUUID());
+        if (product.id() == null) {
+            product = product.withId(idGenerator.nextId());
         }
         
         // Additional business logic can be added here
@@ -71,12 +74,12 @@ public class ProductServiceImpl implements ProductService {
     @Override
     public Product updateProduct(UUID id, Product product) {
         // Ensure the product has the correct ID
-        product.setId(id);
+        Product identified = product.withId(id);
         
         // Additional business logic can be added here
         // For example, validation, price calculation, etc.
         
-        return product;
+        return identified;
     }
 
     /**
@@ -0,0 +1,46 @@
+package org.ph.domain.model;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * A price change applied to many products at once, such as a promotion: a percentage or an
+ * amount, after which the new price is rounded.
+ *
+ * @param kind         How the amount changes the price
+ * @param amount       The percentage to change the price by (10 raises it by a tenth, -25 lowers it
+ *                     by a quarter), or the amount to add to it (negative to lower it)
+ * @param scale        The number of decimals of the new price; null keeps those of the old price
+ * @param roundingMode How the new price is rounded to its scale; null for {@link RoundingMode#HALF_UP}
+ */
+public record PriceAdjustment(Kind kind, BigDecimal amount, Integer scale, RoundingMode roundingMode) {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    /**
+     * How the amount of an adjustment changes a price.
+     */
+    public enum Kind {
+        /** The price changes by {@code amount} percent. */
+        PERCENTAGE,
+        /** {@code amount} is added to the price. */
+        ABSOLUTE
+    }
+
+    /**
+     * Computes the adjusted price.
+     *
+     * @param price The current price
+     * @return The new price, or null if it would be negative
+     */
+    public BigDecimal apply(BigDecimal price) {
+        BigDecimal adjusted = switch (kind) {
+            case PERCENTAGE -> price.add(price.multiply(amount).divide(HUNDRED, MathContext.DECIMAL64));
+            case ABSOLUTE -> price.add(amount);
+        };
+        adjusted = adjusted.setScale(scale != null ? scale : price.scale(),
+                roundingMode != null ? roundingMode : RoundingMode.HALF_UP);
+        return adjusted.signum() < 0 ? null : adjusted;
+    }
+}
@@ -0,0 +1,44 @@
+package org.ph.domain.model;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * The state of a bulk price adjustment at one point in time. Counts grow while the job runs.
+ *
+ * @param id          The job ID
+ * @param status      The state of the job
+ * @param selector    The products the job applies to
+ * @param adjustment  The price change
+ * @param runAt       When the job is to start
+ * @param startedAt   When the job started; null before
+ * @param finishedAt  When the job completed, was cancelled or failed; null before
+ * @param selected    The number of products selected, known once the job started
+ * @param processed   The number of selected products handled so far
+ * @param adjusted    The number of products whose price was changed so far
+ * @param skipped     The number of products left unchanged so far: not found, no longer matching,
+ *                    or whose price would not change or would become negative
+ * @param message     Why the job failed, for {@code FAILED}; otherwise null
+ */
+public record PriceAdjustmentJob(UUID id, Status status, ProductSelector selector, PriceAdjustment adjustment,
+                                 Instant runAt, Instant startedAt, Instant finishedAt,
+                                 long selected, long processed, long adjusted, long skipped, String message) {
+
+    /**
+     * The state of a job.
+     */
+    public enum Status {
+        SCHEDULED,
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED;
+
+        /**
+         * @return true once the job will not change any more prices
+         */
+        public boolean isFinished() {
+            return this == COMPLETED || this == CANCELLED || this == FAILED;
+        }
+    }
+}
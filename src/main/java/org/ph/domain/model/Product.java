@@ -1,9 +1,7 @@
 package org.ph.domain.model;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.With;
 
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -11,15 +9,16 @@ import java.util.UUID;
 /**
  * Product entity in the domain layer.
  * This is a core business entity that represents a product in our system.
+ * Instances are immutable, so they can be shared between readers without copying;
+ * use the {@code with*} methods or {@link #toBuilder()} to derive a changed product.
+ *
+ * @param id            The product ID
+ * @param name          The product name
+ * @param description   The product description
+ * @param price         The product price
+ * @param stockQuantity The quantity in stock
  */
-@Data
-@Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class Product {
-    private UUID id;
-    private String name;
-    private String description;
-    private BigDecimal price;
-    private int stockQuantity;
-}
\ No newline at end of file
+@With
+@Builder(toBuilder = true)
+public record Product(UUID id, String name, String description, BigDecimal price, int stockQuantity) {
+}
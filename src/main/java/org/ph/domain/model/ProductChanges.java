@@ -0,0 +1,25 @@
+package org.ph.domain.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The changes made to the catalog after a given revision, for clients that keep a copy of it.
+ * Applying the upserts and deletions brings a copy that was current at the requested revision
+ * up to {@link #revision()}. Changes may be delivered more than once; applying them again is harmless.
+ *
+ * <p>When the changes cannot be computed from the requested revision, the whole catalog is sent
+ * instead, in pages ordered by ID. The first page is marked as a reset, and the copy keeps only the
+ * products it and the following pages carry; every page but the last carries a {@link #cursor()}.
+ *
+ * @param revision  The revision the copy is current at after applying these changes; pass it to the next request
+ * @param reset     True if this is the first page of the whole catalog, which replaces the copy
+ * @param hasMore   True if further changes or pages are pending; request again from {@link #revision()}
+ * @param upserts   The products created or updated, in their current state
+ * @param deletions The IDs of the products deleted
+ * @param cursor    The ID of the last product of a page of the catalog with more to come, to pass along
+ *                  with the revision on the next request; null otherwise
+ */
+public record ProductChanges(long revision, boolean reset, boolean hasMore, List<Product> upserts, List<UUID> deletions,
+                             UUID cursor) {
+}
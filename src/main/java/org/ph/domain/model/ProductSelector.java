@@ -0,0 +1,55 @@
+package org.ph.domain.model;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Selects the products a bulk operation applies to: the listed products, or every product, that
+ * match all the criteria given. Criteria left null are not checked.
+ *
+ * @param ids                 The IDs of the products to consider; null for the whole catalog
+ * @param nameContains        Text the name must contain, ignoring case
+ * @param descriptionContains Text the description must contain, ignoring case
+ * @param minPrice            The lowest price selected, inclusive
+ * @param maxPrice            The highest price selected, inclusive
+ */
+public record ProductSelector(List<UUID> ids, String nameContains, String descriptionContains,
+                              BigDecimal minPrice, BigDecimal maxPrice) {
+
+    /**
+     * @return true if neither IDs nor any criterion are given, which would select the whole catalog
+     */
+    public boolean isEmpty() {
+        return ids == null && nameContains == null && descriptionContains == null
+                && minPrice == null && maxPrice == null;
+    }
+
+    /**
+     * Checks a product against the criteria; the IDs are not checked.
+     *
+     * @param product The product to check
+     * @return true if the product meets every criterion given
+     */
+    public boolean matches(Product product) {
+        return contains(product.name(), nameContains)
+                && contains(product.description(), descriptionContains)
+                && (minPrice == null || product.price().compareTo(minPrice) >= 0)
+                && (maxPrice == null || product.price().compareTo(maxPrice) <= 0);
+    }
+
+    private static boolean contains(String value, String part) {
+        if (part == null) {
+            return true;
+        }
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i <= value.length() - part.length(); i++) {
+            if (value.regionMatches(true, i, part, 0, part.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,27 @@
+package org.ph.infrastructure.adapter.id;
+
+import org.ph.application.port.out.IdGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Random UUID version 4 generator backed by {@link UUID#randomUUID()}.
+ * Kept for deployments that must not leak creation time through IDs; it draws from
+ * {@code SecureRandom} and produces unordered keys.
+ */
+@Component
+@ConditionalOnProperty(name = "acme.id.generator", havingValue = "random")
+public class RandomUuidGenerator implements IdGenerator {
+
+    /**
+     * Generates a new random UUID.
+     *
+     * @return The generated ID
+     */
+    @Override
+    public UUID nextId() {
+        return UUID.randomUUID();
+    }
+}
@@ -0,0 +1,75 @@
+package org.ph.infrastructure.adapter.id;
+
+import org.ph.application.port.out.IdGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Time-ordered UUID version 7 generator (RFC 9562).
+ * The 48-bit Unix millisecond timestamp comes first, so IDs sort by creation time and
+ * ordered stores see append-mostly inserts. Each thread keeps its own timestamp and a
+ * 42-bit counter (the 12 {@code rand_a} bits plus the top 30 {@code rand_b} bits), which
+ * makes IDs strictly increasing per thread without any shared lock or CAS. The remaining
+ * 32 bits are random. The counter starts at a random value in the lower half of its range
+ * every millisecond; if it still overflows, the thread borrows the next millisecond.
+ * A clock that moves backwards is ignored until it catches up again.
+ *
+ * <p>Randomness comes from {@link ThreadLocalRandom}: IDs are unique and hard to guess in
+ * bulk, but they are not meant to be secrets.
+ */
+@Component
+@ConditionalOnProperty(name = "acme.id.generator", havingValue = "uuidv7", matchIfMissing = true)
+public class UuidV7Generator implements IdGenerator {
+
+    private static final int COUNTER_BITS = 42;
+    private static final long COUNTER_MAX = (1L << COUNTER_BITS) - 1;
+    private static final long COUNTER_SEED_MASK = COUNTER_MAX >>> 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_RFC = 0x8000_0000_0000_0000L;
+
+    private final ThreadLocal<State> state = ThreadLocal.withInitial(State::new);
+
+    /**
+     * Generates a new UUIDv7.
+     *
+     * @return The generated ID, greater than any ID previously generated on this thread
+     */
+    @Override
+    public UUID nextId() {
+        State current = state.get();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now = System.currentTimeMillis();
+        if (now > current.millis) {
+            current.millis = now;
+            current.counter = random.nextLong() & COUNTER_SEED_MASK;
+        } else if (current.counter < COUNTER_MAX) {
+            current.counter++;
+        } else {
+            current.millis++;
+            current.counter = random.nextLong() & COUNTER_SEED_MASK;
+        }
+        return compose(current.millis, current.counter, random.nextInt());
+    }
+
+    /**
+     * Packs the fields into the UUIDv7 layout.
+     *
+     * @param millis  The Unix timestamp in milliseconds (48 bits)
+     * @param counter The per-thread counter (42 bits)
+     * @param random  The random tail (32 bits)
+     * @return The UUID
+     */
+    static UUID compose(long millis, long counter, int random) {
+        long msb = (millis << 16) | VERSION_7 | (counter >>> 30);
+        long lsb = VARIANT_RFC | ((counter & 0x3FFF_FFFFL) << 32) | (random & 0xFFFF_FFFFL);
+        return new UUID(msb, lsb);
+    }
+
+    private static final class State {
+        private long millis;
+        private long counter;
+    }
+}
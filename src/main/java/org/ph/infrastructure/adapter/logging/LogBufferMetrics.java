@@ -0,0 +1,53 @@
+package org.ph.infrastructure.adapter.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Publishes the state of the {@link RingBufferAppender} on the root logger: the events waiting
+ * in {@code acme.logging.queued} and the events dropped in {@code acme.logging.dropped}. The
+ * appender is looked up on every reading, since the logging system can be reinitialized.
+ */
+@Component
+public class LogBufferMetrics {
+
+    public LogBufferMetrics(MeterRegistry meterRegistry) {
+        Gauge.builder("acme.logging.queued", this, metrics -> {
+                    RingBufferAppender appender = appender();
+                    return appender == null ? 0 : appender.getQueued();
+                })
+                .description("Log events waiting to be written")
+                .register(meterRegistry);
+        FunctionCounter.builder("acme.logging.dropped", this, metrics -> {
+                    RingBufferAppender appender = appender();
+                    return appender == null ? 0 : appender.getDropped();
+                })
+                .description("Log events dropped because the log buffer was full")
+                .register(meterRegistry);
+    }
+
+    private static RingBufferAppender appender() {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (!(factory instanceof LoggerContext context)) {
+            return null;
+        }
+        Iterator<Appender<ILoggingEvent>> appenders =
+                context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+        while (appenders.hasNext()) {
+            if (appenders.next() instanceof RingBufferAppender appender) {
+                return appender;
+            }
+        }
+        return null;
+    }
+}
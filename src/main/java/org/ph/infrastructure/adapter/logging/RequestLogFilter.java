@@ -0,0 +1,76 @@
+package org.ph.infrastructure.adapter.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Samples the requests whose debug logs are written.
+ *
+ * <p>A {@code sample-rate} share of the requests is picked at random; within those, DEBUG logging
+ * is on as configured, the MDC carries a {@code requestId} and the request is logged at DEBUG with
+ * its status and duration once answered. Within the others, {@link RequestSamplingTurboFilter}
+ * turns DEBUG logging off. Ordered first, so that requests rejected by admission control are
+ * sampled too.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLogFilter extends OncePerRequestFilter {
+
+    static final String REQUEST_ID = "requestId";
+
+    private final double sampleRate;
+    private final DoubleSupplier random;
+
+    @Autowired
+    public RequestLogFilter(@Value("${acme.logging.sample-rate:0.01}") double sampleRate) {
+        this(sampleRate, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    RequestLogFilter(double sampleRate, DoubleSupplier random) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+        }
+        this.sampleRate = sampleRate;
+        this.random = random;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean sampled = random.getAsDouble() < sampleRate;
+        RequestSamplingTurboFilter.enter(sampled);
+        if (!sampled) {
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                RequestSamplingTurboFilter.exit();
+            }
+            return;
+        }
+        long start = System.nanoTime();
+        MDC.put(REQUEST_ID, Long.toHexString(ThreadLocalRandom.current().nextLong()));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            log.debug("{} {} answered {} in {} us", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), (System.nanoTime() - start) / 1_000);
+            MDC.remove(REQUEST_ID);
+            RequestSamplingTurboFilter.exit();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package org.ph.infrastructure.adapter.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+/**
+ * Turns DEBUG and TRACE logging off for the requests that {@link RequestLogFilter} did not
+ * sample. The decision is made before a log event is created, so that {@code log.debug} and
+ * {@code log.isDebugEnabled()} in an unsampled request cost a thread-local read and allocate
+ * nothing. Logging outside of requests is left to the configured levels.
+ */
+public class RequestSamplingTurboFilter extends TurboFilter {
+
+    private static final ThreadLocal<Boolean> SAMPLED = new ThreadLocal<>();
+
+    /**
+     * Marks the current thread as serving a request, sampled or not.
+     */
+    public static void enter(boolean sampled) {
+        SAMPLED.set(sampled);
+    }
+
+    /**
+     * Marks the current thread as no longer serving a request.
+     */
+    public static void exit() {
+        // Cleared rather than removed, so that the next request on this pooled thread reuses the entry
+        SAMPLED.set(null);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level != null && level.levelInt <= Level.DEBUG_INT && SAMPLED.get() == Boolean.FALSE) {
+            return FilterReply.DENY;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
@@ -0,0 +1,199 @@
+package org.ph.infrastructure.adapter.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.encoder.Encoder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appender that hands log events to a writer thread through a bounded ring buffer, so that
+ * logging never waits for I/O on the thread that logs.
+ *
+ * <p>The logging thread only freezes the event (its message, thread name and MDC) and offers it
+ * to the buffer; the writer thread encodes the events and writes them in batches, flushing once
+ * the buffer is empty. The buffer never blocks: once fewer than {@code discardingThreshold} slots
+ * are free, events below WARN are dropped, and once it is full every event is. Dropped events are
+ * counted, and the writer reports how many were dropped with a WARN event of its own.
+ *
+ * <p>Events are written to standard output unless another stream is set. On stop, the writer
+ * drains the buffer for up to {@code maxFlushTime} milliseconds.
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private static final int MAX_BATCH = 1024;
+
+    private Encoder<ILoggingEvent> encoder;
+    private OutputStream outputStream;
+    private int capacity = 8192;
+    private int discardingThreshold = -1;
+    private int maxFlushTime = 1000;
+
+    private final LongAdder dropped = new LongAdder();
+    private ArrayBlockingQueue<ILoggingEvent> buffer;
+    private Thread writer;
+    private long reportedDrops;
+
+    public void setEncoder(Encoder<ILoggingEvent> encoder) {
+        this.encoder = encoder;
+    }
+
+    public void setOutputStream(OutputStream outputStream) {
+        this.outputStream = outputStream;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Sets the number of free slots below which events under WARN are dropped; by default a fifth
+     * of the capacity.
+     */
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public void setMaxFlushTime(int maxFlushTime) {
+        this.maxFlushTime = maxFlushTime;
+    }
+
+    /**
+     * @return The number of events dropped since the appender started
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return The number of events waiting to be written
+     */
+    public int getQueued() {
+        ArrayBlockingQueue<ILoggingEvent> current = buffer;
+        return current == null ? 0 : current.size();
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (encoder == null) {
+            addError("No encoder set for the appender named [" + name + "].");
+            return;
+        }
+        if (capacity < 1) {
+            addError("Invalid capacity [" + capacity + "] for the appender named [" + name + "].");
+            return;
+        }
+        if (discardingThreshold < 0) {
+            discardingThreshold = capacity / 5;
+        }
+        buffer = new ArrayBlockingQueue<>(capacity);
+        writer = new Thread(this::write, "log-writer-" + name);
+        writer.setDaemon(true);
+        super.start();
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        writer.interrupt();
+        try {
+            writer.join(maxFlushTime);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            addWarn("Log writer of [" + name + "] did not drain its " + buffer.size() + " queued events in "
+                    + maxFlushTime + " ms.");
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (buffer.remainingCapacity() < discardingThreshold && event.getLevel().levelInt < Level.WARN_INT) {
+            dropped.increment();
+            return;
+        }
+        event.prepareForDeferredProcessing();
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    private void write() {
+        List<ILoggingEvent> batch = new ArrayList<>(MAX_BATCH);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 * 1024);
+        while (isStarted() || !buffer.isEmpty()) {
+            try {
+                ILoggingEvent first = isStarted() ? buffer.take() : buffer.poll();
+                if (first == null) {
+                    break;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                // Stopping: drain what is left
+                continue;
+            }
+            buffer.drainTo(batch, MAX_BATCH - 1);
+            for (ILoggingEvent event : batch) {
+                encode(event, bytes);
+            }
+            batch.clear();
+            reportDrops(bytes);
+            if (buffer.isEmpty() || bytes.size() >= 64 * 1024) {
+                flush(bytes);
+            }
+        }
+        reportDrops(bytes);
+        flush(bytes);
+    }
+
+    private void reportDrops(ByteArrayOutputStream bytes) {
+        long total = dropped.sum();
+        if (total > reportedDrops && context instanceof LoggerContext loggerContext) {
+            LoggingEvent report = new LoggingEvent(RingBufferAppender.class.getName(),
+                    loggerContext.getLogger(RingBufferAppender.class), Level.WARN,
+                    "Log buffer full, dropped {} events", null, new Object[]{total - reportedDrops});
+            reportedDrops = total;
+            encode(report, bytes);
+        }
+    }
+
+    private void encode(ILoggingEvent event, ByteArrayOutputStream bytes) {
+        try {
+            bytes.writeBytes(encoder.encode(event));
+        } catch (RuntimeException e) {
+            addError("Cannot encode log event", e);
+        }
+    }
+
+    private void flush(ByteArrayOutputStream bytes) {
+        if (bytes.size() == 0) {
+            return;
+        }
+        // Looked up on every write, so that a redirected standard output is followed
+        OutputStream out = outputStream != null ? outputStream : System.out;
+        try {
+            bytes.writeTo(out);
+            out.flush();
+        } catch (IOException e) {
+            addError("Cannot write log events", e);
+        }
+        bytes.reset();
+    }
+}
@@ -0,0 +1,47 @@
+package org.ph.infrastructure.adapter.replication;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Sends writes that reach a follower to the leader, as a follower's catalog is a copy that only
+ * the replication changes. Answers them with 307, which tells clients to repeat the request, with
+ * the same method and body, at the leader's URL; reads, including {@code POST /api/products/lookup},
+ * are served locally.
+ */
+@Component
+@ConditionalOnProperty(name = "acme.replication.role", havingValue = "follower")
+public class FollowerWriteRedirectFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH = "/api/products";
+    private static final String LOOKUP_PATH = API_PATH + "/lookup";
+
+    private final String leaderUrl;
+
+    public FollowerWriteRedirectFilter(@Value("${acme.replication.leader-url:}") String leaderUrl) {
+        this.leaderUrl = leaderUrl.replaceAll("/+$", "");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith(API_PATH) || path.equals(LOOKUP_PATH)
+                || HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) {
+        String query = request.getQueryString();
+        response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+        response.setHeader(HttpHeaders.LOCATION, leaderUrl + request.getRequestURI() + (query == null ? "" : "?" + query));
+    }
+}
@@ -0,0 +1,262 @@
+package org.ph.infrastructure.adapter.replication;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.ph.application.port.out.ProductRepository;
+import org.ph.domain.model.Product;
+import org.ph.domain.model.ProductChanges;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Follower side of the replication: replays the leader's mutation log into the local repository.
+ *
+ * <p>A background thread keeps one request to the leader's {@code GET /api/replication/log} open
+ * and applies each batch of changes as it arrives: upserts are saved and deletions deleted. A reset
+ * arrives in batches; the local products that none of them carried are deleted once the last one
+ * is applied. After a lost connection it reconnects with the last revision it applied, and the
+ * cursor of the last reset batch while a reset is under way, and resumes from there. The leader
+ * sends at least a heartbeat every heartbeat interval, so a connection that has carried nothing for
+ * {@code read-timeout} is taken for lost, closed and opened again. Runs as an {@link ApplicationRunner} ahead of the startup phase,
+ * and holds the startup until the first sync has caught up with the leader, so that a follower
+ * only reports ready with a complete catalog; the startup fails if that takes longer than
+ * {@code initial-sync-timeout}.
+ *
+ * <p>How far behind the leader the follower may be is published as {@code acme.replication.staleness}:
+ * the seconds since the leader last confirmed that the follower had every change, which the leader
+ * does at least every heartbeat interval. {@code acme.replication.revision} is the leader revision
+ * applied, and {@code acme.replication.reconnects} counts the lost connections.
+ */
+@Slf4j
+@Component
+@Order(-1)
+@ConditionalOnProperty(name = "acme.replication.role", havingValue = "follower")
+public class ReplicationFollower implements ApplicationRunner, DisposableBean {
+
+    private final ProductRepository productRepository;
+    private final ObjectReader changesReader;
+    private final URI logUri;
+    private final Duration reconnectDelay;
+    private final Duration readTimeout;
+    private final Duration initialSyncTimeout;
+    private final Counter reconnects;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final CountDownLatch synced = new CountDownLatch(1);
+
+    private volatile long revision;
+    private volatile UUID cursor;
+    private Set<UUID> resetKept;
+    private volatile long caughtUpAt;
+    private volatile boolean stopped;
+    private volatile InputStream stream;
+    private volatile long lastReceived;
+    private Thread thread;
+    private ScheduledExecutorService watchdog;
+
+    @Autowired
+    public ReplicationFollower(ProductRepository productRepository,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${acme.replication.leader-url:}") String leaderUrl,
+                               @Value("${acme.replication.reconnect-delay:PT1S}") Duration reconnectDelay,
+                               @Value("${acme.replication.read-timeout:PT2S}") Duration readTimeout,
+                               @Value("${acme.replication.initial-sync-timeout:PT60S}") Duration initialSyncTimeout) {
+        if (leaderUrl.isBlank()) {
+            throw new IllegalArgumentException("acme.replication.leader-url is required on a follower");
+        }
+        this.productRepository = productRepository;
+        this.changesReader = objectMapper.readerFor(ProductChanges.class);
+        this.logUri = URI.create(leaderUrl.replaceAll("/+$", "") + "/api/replication/log");
+        this.reconnectDelay = reconnectDelay;
+        this.readTimeout = readTimeout;
+        this.initialSyncTimeout = initialSyncTimeout;
+        this.reconnects = meterRegistry.counter("acme.replication.reconnects");
+        meterRegistry.gauge("acme.replication.revision", this, follower -> follower.revision);
+        meterRegistry.gauge("acme.replication.staleness", this, ReplicationFollower::stalenessSeconds);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread watcher = new Thread(runnable, "replication-watchdog");
+            watcher.setDaemon(true);
+            return watcher;
+        });
+        long period = Math.max(10, readTimeout.toMillis() / 4);
+        watchdog.scheduleWithFixedDelay(this::closeIfIdle, period, period, TimeUnit.MILLISECONDS);
+        thread = new Thread(this::replicate, "replication-follower");
+        thread.setDaemon(true);
+        thread.start();
+        long start = System.nanoTime();
+        if (!synced.await(initialSyncTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("No initial sync from " + logUri + " within " + initialSyncTimeout);
+        }
+        log.info("Synced {} products from {} in {} ms", productRepository.findAll().size(), logUri,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        stopped = true;
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+        InputStream current = stream;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    /**
+     * Returns the last leader revision applied.
+     *
+     * @return The revision, 0 before the first sync
+     */
+    long revision() {
+        return revision;
+    }
+
+    /**
+     * Returns how long ago the follower was last confirmed to have every change of the leader.
+     *
+     * @return The staleness in seconds, NaN before the first sync
+     */
+    double stalenessSeconds() {
+        long at = caughtUpAt;
+        return at == 0 ? Double.NaN : (System.nanoTime() - at) / 1e9;
+    }
+
+    /**
+     * Applies one batch of the leader's log to the local repository.
+     *
+     * @param changes The batch to apply
+     */
+    void apply(ProductChanges changes) {
+        if (changes.reset()) {
+            resetKept = new HashSet<>();
+        }
+        if (resetKept != null) {
+            for (Product product : changes.upserts()) {
+                resetKept.add(product.id());
+            }
+        }
+        if (!changes.upserts().isEmpty()) {
+            productRepository.saveAll(changes.upserts());
+        }
+        if (!changes.deletions().isEmpty()) {
+            productRepository.deleteAllById(changes.deletions());
+        }
+        if (resetKept != null && changes.cursor() == null) {
+            List<UUID> removed = new ArrayList<>();
+            for (Product product : productRepository.findAll()) {
+                if (!resetKept.contains(product.id())) {
+                    removed.add(product.id());
+                }
+            }
+            productRepository.deleteAllById(removed);
+            resetKept = null;
+        }
+        revision = changes.revision();
+        cursor = changes.cursor();
+        if (!changes.hasMore()) {
+            caughtUpAt = Math.max(1, System.nanoTime());
+            synced.countDown();
+        }
+    }
+
+    /**
+     * Closes the connection to the leader if nothing has arrived on it for the read timeout, which
+     * makes the replication thread reconnect.
+     */
+    void closeIfIdle() {
+        InputStream current = stream;
+        if (current == null || System.nanoTime() - lastReceived < readTimeout.toNanos()) {
+            return;
+        }
+        log.warn("Nothing received from {} for {}; reconnecting", logUri, readTimeout);
+        try {
+            current.close();
+        } catch (IOException e) {
+            log.debug("Closing the replication stream failed: {}", e.toString());
+        }
+    }
+
+    private void replicate() {
+        while (!stopped) {
+            try {
+                follow();
+            } catch (IOException | RuntimeException e) {
+                if (stopped) {
+                    return;
+                }
+                log.warn("Replication from {} interrupted: {}", logUri, e.toString());
+            } catch (InterruptedException e) {
+                return;
+            }
+            reconnects.increment();
+            try {
+                Thread.sleep(reconnectDelay.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void follow() throws IOException, InterruptedException {
+        UUID after = cursor;
+        URI uri = URI.create(logUri + "?since=" + revision + (after == null ? "" : "&after=" + after));
+        // The timeout covers the wait for the response headers; the watchdog covers the body
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(readTimeout).GET().build();
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("Leader answered " + response.statusCode());
+            }
+            lastReceived = System.nanoTime();
+            stream = body;
+            try (MappingIterator<ProductChanges> batches = changesReader.readValues(body)) {
+                while (!stopped && batches.hasNextValue()) {
+                    lastReceived = System.nanoTime();
+                    apply(batches.nextValue());
+                    // Applying a large batch must not count as silence on the connection
+                    lastReceived = System.nanoTime();
+                }
+            }
+        } finally {
+            stream = null;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package org.ph.infrastructure.adapter.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.ph.application.port.in.ProductUseCase;
+import org.ph.domain.model.ProductChanges;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Leader side of the replication: streams the catalog's mutation log to followers.
+ *
+ * <p>The log is the revision-ordered change index behind {@code GET /api/products/changes}. A
+ * follower opens one long-lived request with the revision it has applied, and gets the changes
+ * after it as an NDJSON stream of {@link ProductChanges}, in order, followed by every change made
+ * from then on. A follower with nothing to catch up on, or one the log no longer covers, first gets
+ * a reset with the whole catalog, in batches of {@code batch-size} products. While nothing changes,
+ * an empty batch carrying the current revision is sent every {@code heartbeat-interval}, so that a
+ * follower knows it is up to date and a closed connection is noticed.
+ *
+ * <p>The request is handled asynchronously, so a follower does not hold a servlet thread. Each
+ * stream is written by a thread of its own, which sleeps until a write completes or the next
+ * heartbeat is due.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/replication")
+@ConditionalOnProperty(name = "acme.replication.role", havingValue = "leader")
+public class ReplicationLogController implements AutoCloseable {
+
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    private static final MediaType NDJSON = MediaType.parseMediaType(NDJSON_VALUE);
+
+    private final ProductUseCase productUseCase;
+    private final ObjectWriter changesWriter;
+    private final int batchSize;
+    private final Duration heartbeatInterval;
+    private final ExecutorService streams = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "replication-log");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Autowired
+    public ReplicationLogController(ProductUseCase productUseCase,
+                                    ObjectMapper objectMapper,
+                                    @Value("${acme.replication.batch-size:1000}") int batchSize,
+                                    @Value("${acme.replication.heartbeat-interval:PT0.5S}") Duration heartbeatInterval) {
+        this.productUseCase = productUseCase;
+        this.changesWriter = objectMapper.writerFor(ProductChanges.class).without(SerializationFeature.INDENT_OUTPUT);
+        this.batchSize = batchSize;
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    /**
+     * Streams the changes after a revision, then every further change, until the follower
+     * disconnects.
+     *
+     * @param since The last revision the follower applied; 0 for none
+     * @param after The cursor of the last reset batch the follower applied, if the reset is not complete
+     * @return The stream of changes, or 501 if the catalog does not number its writes
+     */
+    @GetMapping(path = "/log", produces = NDJSON_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> streamLog(@RequestParam(defaultValue = "0") long since,
+                                                         @RequestParam(required = false) UUID after) {
+        Optional<ProductChanges> first = productUseCase.getChangesSince(since, after, batchSize);
+        if (first.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+        // A timeout of 0 keeps the request open for as long as the follower stays connected
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(0L);
+        AtomicBoolean closed = new AtomicBoolean();
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onError(error -> closed.set(true));
+        streams.execute(() -> stream(emitter, closed, first.get()));
+        return ResponseEntity.ok().contentType(NDJSON).body(emitter);
+    }
+
+    @Override
+    public void close() {
+        streams.shutdownNow();
+    }
+
+    private void stream(ResponseBodyEmitter emitter, AtomicBoolean closed, ProductChanges first) {
+        ProductChanges changes = first;
+        long lastSent = System.nanoTime();
+        try {
+            send(emitter, changes);
+            while (!closed.get()) {
+                if (!changes.hasMore()) {
+                    long wait = heartbeatInterval.toNanos() - (System.nanoTime() - lastSent);
+                    productUseCase.awaitChangesAfter(changes.revision(), Duration.ofNanos(Math.max(0, wait)));
+                    if (closed.get()) {
+                        return;
+                    }
+                }
+                changes = productUseCase.getChangesSince(changes.revision(), changes.cursor(), batchSize).orElseThrow();
+                boolean changed = changes.reset() || changes.cursor() != null
+                        || !changes.upserts().isEmpty() || !changes.deletions().isEmpty();
+                if (changed || System.nanoTime() - lastSent >= heartbeatInterval.toNanos()) {
+                    send(emitter, changes);
+                    lastSent = System.nanoTime();
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Replication stream closed: {}", e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            emitter.complete();
+        } catch (RuntimeException e) {
+            if (closed.get()) {
+                // The follower went away while a batch was being sent
+                return;
+            }
+            log.warn("Replication stream failed", e);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void send(ResponseBodyEmitter emitter, ProductChanges changes) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        changesWriter.writeValue(line, changes);
+        line.write('\n');
+        emitter.send(line.toByteArray(), NDJSON);
+    }
+}
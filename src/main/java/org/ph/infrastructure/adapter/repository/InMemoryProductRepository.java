@@ -2,35 +2,128 @@ package org.ph.infrastructure.adapter.repository;
 
 import org.ph.application.port.out.ProductRepository;
 import org.ph.domain.model.Product;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * In-memory implementation of the ProductRepository interface.
  * This is part of the infrastructure layer and provides a simple
  * in-memory storage solution for products.
+ *
+ * <p>Products are kept in a {@link ConcurrentHashMap}, so a write costs O(1) or O(k)
+ * for k products whatever the catalog size, and lookups never block. Writers
+ * serialize on a lock only to bump a version counter together with their change.
+ * {@link #findAll()} copies the map into an immutable list once per version and
+ * shares it with every caller until the next write, so the read-mostly catalog
+ * pays for the copy only when it has changed. Because {@link Product} is immutable,
+ * the products themselves are shared rather than copied.
+ *
+ * <p>Descriptions and prices repeat heavily across a catalog, so stored products get
+ * the repository's shared instances of them, from pools of {@value #POOL_SIZE} values
+ * each. Names are mostly unique and are kept as given.
+ *
+ * <p>Batch writes are applied product by product: a concurrent reader may see
+ * part of a batch.
  */
 @Repository
+@ConditionalOnProperty(name = "acme.repository.type", havingValue = "memory", matchIfMissing = true)
 public class InMemoryProductRepository implements ProductRepository {
 
+    static final int POOL_SIZE = 10_000;
+
     private final Map<UUID, Product> products = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile long version;
+    private volatile Values values = new Values(0, List.of());
+    private final ValuePool<String> descriptions = new ValuePool<>(POOL_SIZE);
+    private final ValuePool<BigDecimal> prices = new ValuePool<>(POOL_SIZE);
 
     /**
      * Saves a product to the repository.
      *
      * @param product The product to save
-     * @return The saved product
+     * @return The saved product, with the shared description and price
      */
     @Override
     public Product save(Product product) {
-        products.put(product.getId(), product);
-        return product;
+        Product stored = share(product);
+        writeLock.lock();
+        try {
+            products.put(stored.id(), stored);
+            version++;
+        } finally {
+            writeLock.unlock();
+        }
+        return stored;
+    }
+
+    /**
+     * Saves several products under a single acquisition of the write lock.
+     *
+     * @param products The products to save
+     * @return The saved products, with the shared descriptions and prices
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        List<Product> stored = new ArrayList<>(products.size());
+        for (Product product : products) {
+            stored.add(share(product));
+        }
+        writeLock.lock();
+        try {
+            for (Product product : stored) {
+                this.products.put(product.id(), product);
+            }
+            version++;
+        } finally {
+            writeLock.unlock();
+        }
+        return stored;
+    }
+
+    /**
+     * Saves the products still stored as they were read, checking and writing them under a single
+     * acquisition of the write lock.
+     *
+     * @param expected The products as the caller read them, by ID
+     * @param updated  The products to save
+     * @return The products saved, with the shared descriptions and prices
+     */
+    @Override
+    public List<Product> saveAllIfUnchanged(Map<UUID, Product> expected, List<Product> updated) {
+        List<Product> stored = new ArrayList<>(updated.size());
+        for (Product product : updated) {
+            stored.add(share(product));
+        }
+        List<Product> saved = new ArrayList<>(stored.size());
+        writeLock.lock();
+        try {
+            for (Product product : stored) {
+                Product read = expected.get(product.id());
+                if (read != null && read.equals(products.get(product.id()))) {
+                    products.put(product.id(), product);
+                    saved.add(product);
+                }
+            }
+            if (!saved.isEmpty()) {
+                version++;
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return saved;
     }
 
     /**
@@ -44,14 +137,46 @@ public class InMemoryProductRepository implements ProductRepository {
         return Optional.ofNullable(products.get(id));
     }
 
+    /**
+     * Finds several products in a single pass over the map.
+     *
+     * @param ids The IDs of the products to find
+     * @return The products found, in the order of their first ID
+     */
+    @Override
+    public List<Product> findAllById(Collection<UUID> ids) {
+        List<Product> found = new ArrayList<>(ids.size());
+        Set<UUID> seen = new HashSet<>();
+        for (UUID id : ids) {
+            Product product = products.get(id);
+            if (product != null && seen.add(id)) {
+                found.add(product);
+            }
+        }
+        return found;
+    }
+
     /**
      * Finds all products in the repository.
+     * The returned list is an unmodifiable copy; it is shared between
+     * callers until the next write and is not affected by later writes.
      *
      * @return A list of all products
      */
     @Override
     public List<Product> findAll() {
-        return new ArrayList<>(products.values());
+        long current = version;
+        Values cached = values;
+        if (cached.version == current) {
+            return cached.products;
+        }
+        List<Product> result = List.copyOf(products.values());
+        // A write that completed during the copy has moved the version on: do not cache
+        // a list that may miss it
+        if (version == current) {
+            values = new Values(current, result);
+        }
+        return result;
     }
 
     /**
@@ -62,7 +187,41 @@ public class InMemoryProductRepository implements ProductRepository {
      */
     @Override
     public boolean deleteById(UUID id) {
-        return products.remove(id) != null;
+        writeLock.lock();
+        try {
+            if (products.remove(id) == null) {
+                return false;
+            }
+            version++;
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Deletes several products under a single acquisition of the write lock.
+     *
+     * @param ids The IDs of the products to delete
+     * @return The IDs of the products that were deleted
+     */
+    @Override
+    public List<UUID> deleteAllById(Collection<UUID> ids) {
+        writeLock.lock();
+        try {
+            List<UUID> deleted = new ArrayList<>();
+            for (UUID id : ids) {
+                if (products.remove(id) != null) {
+                    deleted.add(id);
+                }
+            }
+            if (!deleted.isEmpty()) {
+                version++;
+            }
+            return deleted;
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     /**
@@ -75,4 +234,22 @@ public class InMemoryProductRepository implements ProductRepository {
     public boolean existsById(UUID id) {
         return products.containsKey(id);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the product with the pooled instances of its description and price.
+     */
+    private Product share(Product product) {
+        String description = descriptions.canonical(product.description());
+        BigDecimal price = prices.canonical(product.price());
+        if (description == product.description() && price == product.price()) {
+            return product;
+        }
+        return new Product(product.id(), product.name(), description, price, product.stockQuantity());
+    }
+
+    /**
+     * The list returned by {@link #findAll()} for one version of the map.
+     */
+    private record Values(long version, List<Product> products) {
+    }
+}
@@ -0,0 +1,41 @@
+package org.ph.infrastructure.adapter.repository;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded pool that maps equal immutable values to one shared instance.
+ * Once the pool is full, new values are returned as-is instead of evicting
+ * existing entries, so the memory held by the pool never grows past its bound.
+ *
+ * @param <T> The type of the pooled values; must be immutable with value-based equals
+ */
+final class ValuePool<T> {
+
+    private final ConcurrentHashMap<T, T> values = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    ValuePool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the shared instance equal to the given value.
+     *
+     * @param value The value to canonicalize, may be null
+     * @return The pooled instance, or the value itself if it is null or the pool is full
+     */
+    T canonical(T value) {
+        if (value == null) {
+            return null;
+        }
+        T existing = values.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (values.size() >= maxSize) {
+            return value;
+        }
+        existing = values.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+}
@@ -0,0 +1,43 @@
+package org.ph.infrastructure.adapter.repository.history;
+
+import org.ph.application.port.out.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Wraps the active ProductRepository adapter in a {@link PriceHistoryProductRepository}.
+ * Ordered after the single-flight and write-behind decorators, so that it records every write
+ * made to this node's products, and before the revision and partition ones.
+ */
+@Component
+@ConditionalOnProperty(name = "acme.repository.history.enabled", havingValue = "true")
+public class HistoryRepositoryPostProcessor implements BeanPostProcessor, Ordered {
+
+    private final Duration retention;
+    private final int maxVersions;
+
+    public HistoryRepositoryPostProcessor(
+            @Value("${acme.repository.history.retention:P30D}") Duration retention,
+            @Value("${acme.repository.history.max-versions:1000}") int maxVersions) {
+        this.retention = retention;
+        this.maxVersions = maxVersions;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ProductRepository repository && !(bean instanceof PriceHistoryProductRepository)) {
+            return new PriceHistoryProductRepository(repository, retention, maxVersions);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return 3;
+    }
+}
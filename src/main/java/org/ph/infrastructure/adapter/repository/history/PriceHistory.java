@@ -0,0 +1,337 @@
+package org.ph.infrastructure.adapter.repository.history;
+
+import org.ph.domain.model.Product;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * The price and stock quantity versions of one product, oldest first, as a delta chain in a byte
+ * array. Each version takes a varint header holding the milliseconds since the previous version
+ * and three flags, followed by the zigzag varint differences of the unscaled price and of the stock
+ * quantity. The price scale is only written when it changes, prices whose unscaled value does not
+ * fit in a long are written whole, and a deletion carries no values at all. A typical update takes
+ * four to six bytes.
+ *
+ * <p>Every {@value #KEY_INTERVAL}th version is a keyframe, encoded against zero values, whose time
+ * and offset are kept in two arrays. A lookup binary-searches the keyframes and decodes forward
+ * from the one found, so it reads at most {@value #KEY_INTERVAL} versions; compaction drops whole
+ * keyframe intervals from the front. The name and description are not versioned: lookups return
+ * those of the latest version.
+ *
+ * <p>Not thread-safe; {@link PriceHistoryProductRepository} synchronizes on the instance.
+ */
+final class PriceHistory {
+
+    static final int KEY_INTERVAL = 16;
+
+    private static final int DELETED = 1;
+    private static final int SCALE = 2;
+    private static final int WHOLE = 4;
+    private static final int FLAG_BITS = 3;
+
+    private Product latest;
+    private byte[] data = new byte[16];
+    private int length;
+    private long[] keyTimes = new long[1];
+    private int[] keyOffsets = new int[1];
+    private int keyCount;
+    private int versions;
+
+    // Values of the last version, which the next one is encoded against
+    private final Cursor last = new Cursor(null, 0, 0);
+
+    /**
+     * Appends a version, unless the product's price and stock quantity are the same as in the last one.
+     *
+     * @param time    The time of the write, in epoch milliseconds; never before the last version
+     * @param product The product as written
+     */
+    void append(long time, Product product) {
+        latest = product;
+        if (versions > 0 && !last.deleted && last.stock == product.stockQuantity()
+                && last.price().equals(product.price())) {
+            return;
+        }
+        append(time, false, product.price(), product.stockQuantity());
+    }
+
+    /**
+     * Appends a deletion, unless the product is already deleted.
+     *
+     * @param time The time of the deletion, in epoch milliseconds; never before the last version
+     */
+    void appendDeletion(long time) {
+        if (versions > 0 && !last.deleted) {
+            append(time, true, null, 0);
+        }
+    }
+
+    /**
+     * Returns the product as of a time.
+     *
+     * @param time The time, in epoch milliseconds
+     * @return The product with the price and stock quantity of the last version at or before the
+     * time, or empty if that version is a deletion or there is none
+     */
+    Optional<Product> find(long time) {
+        if (keyCount == 0 || time < keyTimes[0]) {
+            return Optional.empty();
+        }
+        // The last keyframe at or before the time
+        int low = 0;
+        int high = keyCount - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (keyTimes[mid] <= time) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        Cursor cursor = new Cursor(data, keyOffsets[low], keyTimes[low]);
+        int end = low + 1 < keyCount ? keyOffsets[low + 1] : length;
+        do {
+            cursor.next();
+        } while (cursor.offset < end && cursor.nextTime() <= time);
+        if (cursor.deleted) {
+            return Optional.empty();
+        }
+        return Optional.of(latest.withPrice(cursor.price()).withStockQuantity(cursor.stock));
+    }
+
+    /**
+     * Drops the oldest keyframe intervals while the state at the cutoff can be read from the next
+     * one, and while more than {@code maxVersions} versions would remain without them.
+     *
+     * @param cutoff      The oldest time lookups must still answer, in epoch milliseconds
+     * @param maxVersions The number of versions to keep at least and, give or take a keyframe
+     *                    interval, at most
+     */
+    void compact(long cutoff, int maxVersions) {
+        int drop = 0;
+        while (drop + 1 < keyCount
+                && (keyTimes[drop + 1] <= cutoff || versions - (drop + 1) * KEY_INTERVAL >= maxVersions)) {
+            drop++;
+        }
+        if (drop == 0) {
+            return;
+        }
+        int offset = keyOffsets[drop];
+        length -= offset;
+        System.arraycopy(data, offset, data, 0, length);
+        keyCount -= drop;
+        System.arraycopy(keyTimes, drop, keyTimes, 0, keyCount);
+        for (int i = 0; i < keyCount; i++) {
+            keyOffsets[i] = keyOffsets[i + drop] - offset;
+        }
+        versions -= drop * KEY_INTERVAL;
+        if (length < data.length / 4) {
+            data = Arrays.copyOf(data, Math.max(16, length * 2));
+        }
+    }
+
+    /**
+     * @return true if the last version is a deletion made at or before the time
+     */
+    boolean deletedBefore(long time) {
+        return versions > 0 && last.deleted && last.time <= time;
+    }
+
+    int versions() {
+        return versions;
+    }
+
+    /**
+     * @return The bytes taken by the encoded versions and the keyframe index, slack included
+     */
+    long footprint() {
+        return data.length + 8L * keyTimes.length + 4L * keyOffsets.length;
+    }
+
+    private void append(long time, boolean deleted, BigDecimal price, int stock) {
+        if (versions > 0) {
+            // A clock set back must not make the chain go back in time
+            time = Math.max(time, last.time);
+        }
+        Cursor previous = last;
+        if (versions % KEY_INTERVAL == 0) {
+            if (keyCount == keyTimes.length) {
+                keyTimes = Arrays.copyOf(keyTimes, keyCount * 2);
+                keyOffsets = Arrays.copyOf(keyOffsets, keyCount * 2);
+            }
+            keyTimes[keyCount] = time;
+            keyOffsets[keyCount] = length;
+            keyCount++;
+            // Keyframes are encoded against zero values; a deletion leaves them as they are
+            previous = new Cursor(data, length, time);
+            if (deleted) {
+                last.unscaled = 0;
+                last.whole = null;
+                last.scale = 0;
+                last.stock = 0;
+            }
+        }
+
+        int flags = deleted ? DELETED : 0;
+        long unscaled = 0;
+        BigInteger whole = null;
+        long priceDelta = 0;
+        int scale = previous.scale;
+        if (!deleted) {
+            BigInteger value = price.unscaledValue();
+            scale = price.scale();
+            if (scale != previous.scale) {
+                flags |= SCALE;
+            }
+            if (value.bitLength() < Long.SIZE && previous.whole == null) {
+                unscaled = value.longValue();
+                try {
+                    priceDelta = Math.subtractExact(unscaled, previous.unscaled);
+                } catch (ArithmeticException e) {
+                    flags |= WHOLE;
+                }
+            } else {
+                flags |= WHOLE;
+            }
+            if ((flags & WHOLE) != 0) {
+                if (value.bitLength() < Long.SIZE) {
+                    unscaled = value.longValue();
+                } else {
+                    whole = value;
+                }
+            }
+        }
+
+        ensureCapacity(40 + (whole == null ? 0 : whole.bitLength() / 8 + 1));
+        writeVarLong(((time - previous.time) << FLAG_BITS) | flags);
+        if (!deleted) {
+            if ((flags & SCALE) != 0) {
+                writeVarLong(zigzag(scale));
+            }
+            if ((flags & WHOLE) != 0) {
+                byte[] bytes = (whole != null ? whole : BigInteger.valueOf(unscaled)).toByteArray();
+                writeVarLong(bytes.length);
+                System.arraycopy(bytes, 0, data, length, bytes.length);
+                length += bytes.length;
+            } else {
+                writeVarLong(zigzag(priceDelta));
+            }
+            writeVarLong(zigzag((long) stock - previous.stock));
+
+            last.unscaled = unscaled;
+            last.whole = whole;
+            last.scale = scale;
+            last.stock = stock;
+        }
+        last.time = time;
+        last.deleted = deleted;
+        versions++;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(length + extra, data.length + (data.length >> 1)));
+        }
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * The values of one version, and the position of the next one while the chain is decoded.
+     */
+    private static final class Cursor {
+
+        private final byte[] data;
+        int offset;
+        long time;
+        boolean deleted;
+        long unscaled;
+        BigInteger whole;
+        int scale;
+        int stock;
+
+        /**
+         * Starts decoding at a keyframe, with zero values and the keyframe's time.
+         */
+        Cursor(byte[] data, int offset, long time) {
+            this.data = data;
+            this.offset = offset;
+            this.time = time;
+        }
+
+        BigDecimal price() {
+            return whole != null ? new BigDecimal(whole, scale) : BigDecimal.valueOf(unscaled, scale);
+        }
+
+        /**
+         * @return The time of the next version, without applying it
+         */
+        long nextTime() {
+            int start = offset;
+            long header = readVarLong();
+            offset = start;
+            return time + (header >>> FLAG_BITS);
+        }
+
+        /**
+         * Applies the next version.
+         */
+        void next() {
+            long header = readVarLong();
+            time += header >>> FLAG_BITS;
+            int flags = (int) (header & ((1 << FLAG_BITS) - 1));
+            deleted = (flags & DELETED) != 0;
+            if (deleted) {
+                return;
+            }
+            if ((flags & SCALE) != 0) {
+                scale = (int) unzigzag(readVarLong());
+            }
+            if ((flags & WHOLE) != 0) {
+                int size = (int) readVarLong();
+                BigInteger value = new BigInteger(data, offset, size);
+                offset += size;
+                if (value.bitLength() < Long.SIZE) {
+                    unscaled = value.longValue();
+                    whole = null;
+                } else {
+                    whole = value;
+                }
+            } else {
+                unscaled += unzigzag(readVarLong());
+                whole = null;
+            }
+            stock += (int) unzigzag(readVarLong());
+        }
+
+        private long readVarLong() {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return result;
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+}
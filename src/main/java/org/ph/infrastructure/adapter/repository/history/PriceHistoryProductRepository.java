@@ -0,0 +1,340 @@
+package org.ph.infrastructure.adapter.repository.history;
+
+import org.ph.application.port.out.ProductHistory;
+import org.ph.application.port.out.ProductRepository;
+import org.ph.domain.model.Product;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * ProductRepository decorator that keeps the price and stock quantity history of every product,
+ * offered as its {@link ProductHistory}.
+ *
+ * <p>Each write appends a version to the product's {@link PriceHistory}, stamped with the time it
+ * completed; writes that leave the price and stock quantity unchanged add none. The first write of
+ * a product stored before this instance started also records the state it replaces, as of the
+ * startup. A product with no history has not been written since, and is looked up as it is now.
+ * Writes hold the locks of their products' IDs, taken from {@value #LOCK_STRIPES} stripes in
+ * stripe order, from before the delegate is called until the versions are appended, so that
+ * concurrent writes of one product are recorded in the order they were stored.
+ *
+ * <p>Versions are kept for the configured retention, and at most about {@code maxVersions} per
+ * product: a product's history is compacted when it is written or read, every history once an
+ * hour by a background sweep, and the history of a deleted product is dropped once its deletion
+ * is older than the retention. Lookups before the oldest version kept find nothing.
+ * All other calls are passed straight through.
+ */
+@SuppressWarnings("try")
+public class PriceHistoryProductRepository implements ProductRepository, ProductHistory, AutoCloseable {
+
+    static final long SWEEP_INTERVAL_MILLIS = Duration.ofHours(1).toMillis();
+    static final int LOCK_STRIPES = 256;
+
+    private final ProductRepository delegate;
+    private final long retentionMillis;
+    private final int maxVersions;
+    private final LongSupplier clock;
+    private final long startedAt;
+
+    private final Map<UUID, PriceHistory> histories = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    private final ScheduledExecutorService sweeper;
+
+    public PriceHistoryProductRepository(ProductRepository delegate, Duration retention, int maxVersions) {
+        this(delegate, retention, maxVersions, System::currentTimeMillis);
+    }
+
+    PriceHistoryProductRepository(ProductRepository delegate, Duration retention, int maxVersions,
+                                  LongSupplier clock) {
+        if (maxVersions < 1) {
+            throw new IllegalArgumentException("maxVersions must be positive: " + maxVersions);
+        }
+        this.delegate = delegate;
+        this.retentionMillis = retention.toMillis();
+        this.maxVersions = maxVersions;
+        this.clock = clock;
+        this.startedAt = clock.getAsLong();
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "price-history-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(this::sweep, SWEEP_INTERVAL_MILLIS, SWEEP_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Saves a product and appends its price and stock quantity to its history.
+     *
+     * @param product The product to save
+     * @return The saved product
+     */
+    @Override
+    public Product save(Product product) {
+        return locked(List.of(product.id()), () -> {
+            Product previous = histories.containsKey(product.id()) ? null : delegate.findById(product.id()).orElse(null);
+            Product saved = delegate.save(product);
+            record(saved.id(), previous, saved);
+            return saved;
+        });
+    }
+
+    /**
+     * Saves several products and appends each one to its history.
+     *
+     * @param products The products to save
+     * @return The saved products
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        List<UUID> ids = products.stream().map(Product::id).toList();
+        return locked(ids, () -> {
+            Map<UUID, Product> previous = previous(ids);
+            List<Product> saved = delegate.saveAll(products);
+            for (Product product : saved) {
+                record(product.id(), previous.get(product.id()), product);
+            }
+            return saved;
+        });
+    }
+
+    /**
+     * Saves the products still stored as they were read, and appends the ones saved to their
+     * histories.
+     *
+     * @param expected The products as the caller read them, by ID
+     * @param updated  The products to save
+     * @return The products saved
+     */
+    @Override
+    public List<Product> saveAllIfUnchanged(Map<UUID, Product> expected, List<Product> updated) {
+        List<UUID> ids = updated.stream().map(Product::id).toList();
+        return locked(ids, () -> {
+            Map<UUID, Product> previous = previous(ids);
+            List<Product> saved = delegate.saveAllIfUnchanged(expected, updated);
+            for (Product product : saved) {
+                record(product.id(), previous.get(product.id()), product);
+            }
+            return saved;
+        });
+    }
+
+    @Override
+    public Optional<Product> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    /**
+     * Finds a product as it was at a point in time, from its history.
+     *
+     * @param id   The ID of the product
+     * @param asOf The point in time
+     * @return The product with its price and stock quantity at that time, or empty if it did not
+     * exist then, or the time is before the retained history
+     */
+    @Override
+    public Optional<Product> findById(UUID id, Instant asOf) {
+        long time = asOf.toEpochMilli();
+        PriceHistory history = histories.get(id);
+        if (history == null) {
+            return time >= startedAt ? delegate.findById(id) : Optional.empty();
+        }
+        synchronized (history) {
+            history.compact(clock.getAsLong() - retentionMillis, maxVersions);
+            return history.find(time);
+        }
+    }
+
+    @Override
+    public List<Product> findAllById(Collection<UUID> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * Deletes a product and appends the deletion to its history.
+     *
+     * @param id The ID of the product to delete
+     * @return true if the product was deleted, false if it was not found
+     */
+    @Override
+    public boolean deleteById(UUID id) {
+        return locked(List.of(id), () -> {
+            Product previous = histories.containsKey(id) ? null : delegate.findById(id).orElse(null);
+            boolean deleted = delegate.deleteById(id);
+            if (deleted) {
+                record(id, previous, null);
+            }
+            return deleted;
+        });
+    }
+
+    /**
+     * Deletes several products and appends the deletions to their histories.
+     *
+     * @param ids The IDs of the products to delete
+     * @return The IDs of the products that were deleted
+     */
+    @Override
+    public List<UUID> deleteAllById(Collection<UUID> ids) {
+        return locked(ids, () -> {
+            Map<UUID, Product> previous = previous(ids);
+            List<UUID> deleted = delegate.deleteAllById(ids);
+            for (UUID id : deleted) {
+                record(id, previous.get(id), null);
+            }
+            return deleted;
+        });
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public Optional<ProductHistory> history() {
+        return Optional.of(this);
+    }
+
+    /**
+     * @return The number of products with a history
+     */
+    int historyCount() {
+        return histories.size();
+    }
+
+    /**
+     * @return The bytes taken by the encoded histories, slack included
+     */
+    long footprint() {
+        long total = 0;
+        for (PriceHistory history : histories.values()) {
+            synchronized (history) {
+                total += history.footprint();
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public void close() throws Exception {
+        sweeper.shutdownNow();
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    /**
+     * Runs a write while holding the locks of the IDs it writes, taken in stripe order so that
+     * batches sharing stripes cannot deadlock.
+     */
+    private <T> T locked(Collection<UUID> ids, Supplier<T> write) {
+        BitSet stripes = new BitSet(LOCK_STRIPES);
+        for (UUID id : ids) {
+            stripes.set(Math.floorMod(id.hashCode(), LOCK_STRIPES));
+        }
+        int taken = -1;
+        try {
+            for (int stripe = stripes.nextSetBit(0); stripe >= 0; stripe = stripes.nextSetBit(stripe + 1)) {
+                locks[stripe].lock();
+                taken = stripe;
+            }
+            return write.get();
+        } finally {
+            for (int stripe = stripes.nextSetBit(0); stripe >= 0 && stripe <= taken; stripe = stripes.nextSetBit(stripe + 1)) {
+                locks[stripe].unlock();
+            }
+        }
+    }
+
+    /**
+     * Looks up the products among the IDs that have no history yet, in one call.
+     */
+    private Map<UUID, Product> previous(Collection<UUID> ids) {
+        List<UUID> unknown = new ArrayList<>();
+        for (UUID id : ids) {
+            if (!histories.containsKey(id)) {
+                unknown.add(id);
+            }
+        }
+        if (unknown.isEmpty()) {
+            return Map.of();
+        }
+        return delegate.findAllById(unknown).stream()
+                .collect(Collectors.toMap(Product::id, Function.identity(), (first, second) -> first));
+    }
+
+    /**
+     * Appends a write to a product's history, creating it with the state before the write if needed.
+     *
+     * @param previous The product before the write, if it was stored before its history started
+     * @param product  The product as written, or null for a deletion
+     */
+    private void record(UUID id, Product previous, Product product) {
+        long now = clock.getAsLong();
+        histories.compute(id, (key, history) -> {
+            if (history == null) {
+                if (product == null && previous == null) {
+                    return null;
+                }
+                history = new PriceHistory();
+                if (previous != null) {
+                    history.append(startedAt, previous);
+                }
+            }
+            synchronized (history) {
+                if (product != null) {
+                    history.append(now, product);
+                } else {
+                    history.appendDeletion(now);
+                }
+                history.compact(now - retentionMillis, maxVersions);
+            }
+            return history;
+        });
+    }
+
+    /**
+     * Compacts every history and drops the histories of products deleted before the retention.
+     * Runs every {@link #SWEEP_INTERVAL_MILLIS} on the sweeper thread.
+     */
+    void sweep() {
+        long now = clock.getAsLong();
+        long cutoff = now - retentionMillis;
+        for (UUID id : histories.keySet()) {
+            histories.computeIfPresent(id, (key, history) -> {
+                synchronized (history) {
+                    if (history.deletedBefore(cutoff)) {
+                        return null;
+                    }
+                    history.compact(cutoff, maxVersions);
+                    return history;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package org.ph.infrastructure.adapter.repository.jdbc;
+
+import org.ph.application.port.out.ProductRepository;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.rest.validation.ProductRequestValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Relational implementation of the ProductRepository interface.
+ * This is part of the infrastructure layer and stores products in the {@code products}
+ * table of the configured DataSource (see {@code schema.sql}).
+ *
+ * <p>Every statement is a constant SQL string with bind parameters, so the driver and the
+ * database can reuse the parsed statement across calls (H2 caches it per session, the
+ * PostgreSQL driver promotes it to a server-side prepared statement). {@code save} is a
+ * single standard SQL {@code MERGE}, {@code saveAll} sends the same statement as JDBC
+ * batches, and {@code findAll} reads the table in keyset-paginated pages ordered by ID, so
+ * neither the database nor the driver has to hold the whole catalog in one result set.
+ * {@code saveAllIfUnchanged} is an {@code UPDATE} conditioned on every column, so the database
+ * checks and writes each row atomically.
+ *
+ * <p>Prices are stored as {@code NUMERIC(19, 4)} next to their original scale, so a price such
+ * as {@code 10.00} reads back with the same scale as it was saved with. A price with more than
+ * four decimal places or fifteen integer digits would be rounded or overflow, so it is rejected
+ * with an IllegalArgumentException before anything is written; the REST layer already rejects
+ * such prices with a validation error.
+ */
+@Repository
+@ConditionalOnProperty(name = "acme.repository.type", havingValue = "jdbc")
+public class JdbcProductRepository implements ProductRepository {
+
+    private static final String UPSERT = """
+            MERGE INTO products t
+            USING (VALUES (CAST(? AS UUID), CAST(? AS VARCHAR(255)), CAST(? AS VARCHAR(4000)),
+                CAST(? AS NUMERIC(19, 4)), CAST(? AS SMALLINT), CAST(? AS INTEGER)))
+                s (id, name, description, price, price_scale, stock_quantity)
+            ON t.id = s.id
+            WHEN MATCHED THEN UPDATE SET name = s.name, description = s.description,
+                price = s.price, price_scale = s.price_scale, stock_quantity = s.stock_quantity
+            WHEN NOT MATCHED THEN INSERT (id, name, description, price, price_scale, stock_quantity)
+                VALUES (s.id, s.name, s.description, s.price, s.price_scale, s.stock_quantity)""";
+    private static final String UPDATE_IF_UNCHANGED = """
+            UPDATE products SET name = ?, description = ?, price = ?, price_scale = ?, stock_quantity = ?
+            WHERE id = ? AND name IS NOT DISTINCT FROM CAST(? AS VARCHAR(255))
+                AND description IS NOT DISTINCT FROM CAST(? AS VARCHAR(4000))
+                AND price IS NOT DISTINCT FROM CAST(? AS NUMERIC(19, 4))
+                AND price_scale IS NOT DISTINCT FROM CAST(? AS SMALLINT) AND stock_quantity = ?""";
+    private static final String SELECT_BY_ID =
+            "SELECT id, name, description, price, price_scale, stock_quantity FROM products WHERE id = ?";
+    private static final String SELECT_BY_IDS =
+            "SELECT id, name, description, price, price_scale, stock_quantity FROM products WHERE id IN (%s)";
+    private static final String SELECT_FIRST_PAGE =
+            "SELECT id, name, description, price, price_scale, stock_quantity FROM products ORDER BY id LIMIT ?";
+    private static final String SELECT_NEXT_PAGE =
+            "SELECT id, name, description, price, price_scale, stock_quantity FROM products WHERE id > ? ORDER BY id LIMIT ?";
+    private static final String DELETE_BY_ID = "DELETE FROM products WHERE id = ?";
+    private static final String EXISTS_BY_ID = "SELECT COUNT(*) FROM products WHERE id = ?";
+
+    private static final RowMapper<Product> ROW_MAPPER = (rs, rowNum) -> {
+        BigDecimal price = rs.getBigDecimal(4);
+        return new Product(
+                rs.getObject(1, UUID.class),
+                rs.getString(2),
+                rs.getString(3),
+                price == null ? null : price.setScale(rs.getInt(5), RoundingMode.UNNECESSARY),
+                rs.getInt(6));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final int pageSize;
+
+    @Autowired
+    public JdbcProductRepository(JdbcTemplate jdbcTemplate,
+                                 @Value("${acme.repository.jdbc.batch-size:500}") int batchSize,
+                                 @Value("${acme.repository.jdbc.page-size:1000}") int pageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Inserts or updates a product with a single statement.
+     *
+     * @param product The product to save
+     * @return The saved product
+     */
+    @Override
+    public Product save(Product product) {
+        checkPrice(product);
+        jdbcTemplate.update(UPSERT, ps -> bind(ps, product));
+        return product;
+    }
+
+    /**
+     * Inserts or updates several products as JDBC batches of {@code acme.repository.jdbc.batch-size}.
+     *
+     * @param products The products to save
+     * @return The saved products
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        products.forEach(JdbcProductRepository::checkPrice);
+        jdbcTemplate.batchUpdate(UPSERT, products, batchSize, JdbcProductRepository::bind);
+        return products;
+    }
+
+    /**
+     * Updates the products whose rows still hold what the caller read, as JDBC batches of
+     * {@code acme.repository.jdbc.batch-size} conditional updates.
+     *
+     * @param expected The products as the caller read them, by ID
+     * @param updated  The products to save
+     * @return The products saved
+     */
+    @Override
+    public List<Product> saveAllIfUnchanged(Map<UUID, Product> expected, List<Product> updated) {
+        List<Product> candidates = updated.stream().filter(product -> expected.containsKey(product.id())).toList();
+        candidates.forEach(JdbcProductRepository::checkPrice);
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_IF_UNCHANGED, candidates, batchSize, (ps, product) -> {
+            Product read = expected.get(product.id());
+            ps.setString(1, product.name());
+            ps.setString(2, product.description());
+            ps.setBigDecimal(3, product.price());
+            setScale(ps, 4, product.price());
+            ps.setInt(5, product.stockQuantity());
+            ps.setObject(6, product.id());
+            ps.setString(7, read.name());
+            ps.setString(8, read.description());
+            ps.setBigDecimal(9, read.price());
+            setScale(ps, 10, read.price());
+            ps.setInt(11, read.stockQuantity());
+        });
+        List<Product> saved = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0) {
+                    saved.add(candidates.get(index));
+                }
+                index++;
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Finds a product by its ID.
+     *
+     * @param id The ID of the product to find
+     * @return An Optional containing the product if found, or empty if not found
+     */
+    @Override
+    public Optional<Product> findById(UUID id) {
+        return jdbcTemplate.query(SELECT_BY_ID, ROW_MAPPER, id).stream().findFirst();
+    }
+
+    /**
+     * Finds several products with one {@code IN} query per {@code acme.repository.jdbc.batch-size} IDs.
+     *
+     * @param ids The IDs of the products to find
+     * @return The products found, in the order of their first ID
+     */
+    @Override
+    public List<Product> findAllById(Collection<UUID> ids) {
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<UUID, Product> found = new HashMap<>();
+        for (int from = 0; from < distinct.size(); from += batchSize) {
+            List<UUID> chunk = distinct.subList(from, Math.min(distinct.size(), from + batchSize));
+            String sql = SELECT_BY_IDS.formatted(String.join(", ", Collections.nCopies(chunk.size(), "?")));
+            for (Product product : jdbcTemplate.query(sql, ROW_MAPPER, chunk.toArray())) {
+                found.put(product.id(), product);
+            }
+        }
+        List<Product> products = new ArrayList<>(found.size());
+        for (UUID id : distinct) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Finds all products in the repository, ordered by ID.
+     * The table is read page by page, so the result is not a single point-in-time snapshot.
+     *
+     * @return A list of all products
+     */
+    @Override
+    public List<Product> findAll() {
+        List<Product> products = new ArrayList<>();
+        List<Product> page = findPage(null, pageSize);
+        while (true) {
+            products.addAll(page);
+            if (page.size() < pageSize) {
+                return products;
+            }
+            page = findPage(page.get(page.size() - 1).id(), pageSize);
+        }
+    }
+
+    /**
+     * Finds the products following a given ID in ID order.
+     * Seeking past the last seen key keeps the cost of a page independent of its position.
+     *
+     * @param after The last ID of the previous page, or null for the first page
+     * @param limit The maximum number of products to return
+     * @return Up to {@code limit} products with an ID greater than {@code after}
+     */
+    public List<Product> findPage(UUID after, int limit) {
+        return after == null
+                ? jdbcTemplate.query(SELECT_FIRST_PAGE, ROW_MAPPER, limit)
+                : jdbcTemplate.query(SELECT_NEXT_PAGE, ROW_MAPPER, after, limit);
+    }
+
+    /**
+     * Deletes a product by its ID.
+     *
+     * @param id The ID of the product to delete
+     * @return true if the product was deleted, false if it was not found
+     */
+    @Override
+    public boolean deleteById(UUID id) {
+        return jdbcTemplate.update(DELETE_BY_ID, id) > 0;
+    }
+
+    /**
+     * Checks if a product with the given ID exists.
+     *
+     * @param id The ID to check
+     * @return true if a product with the ID exists, false otherwise
+     */
+    @Override
+    public boolean existsById(UUID id) {
+        Integer count = jdbcTemplate.queryForObject(EXISTS_BY_ID, Integer.class, id);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Rejects a price that {@code NUMERIC(19, 4)} cannot hold exactly.
+     */
+    private static void checkPrice(Product product) {
+        BigDecimal price = product.price();
+        if (price != null && (price.scale() > ProductRequestValidator.PRICE_MAX_FRACTION
+                || price.precision() - price.scale() > ProductRequestValidator.PRICE_MAX_INTEGER)) {
+            throw new IllegalArgumentException("Price " + price.toPlainString() + " of product " + product.id()
+                    + " has more than " + ProductRequestValidator.PRICE_MAX_INTEGER + " integer digits or "
+                    + ProductRequestValidator.PRICE_MAX_FRACTION + " decimal places");
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Product product) throws SQLException {
+        ps.setObject(1, product.id());
+        ps.setString(2, product.name());
+        ps.setString(3, product.description());
+        BigDecimal price = product.price();
+        ps.setBigDecimal(4, price);
+        setScale(ps, 5, price);
+        ps.setInt(6, product.stockQuantity());
+    }
+
+    private static void setScale(PreparedStatement ps, int index, BigDecimal price) throws SQLException {
+        if (price == null) {
+            ps.setNull(index, Types.SMALLINT);
+        } else {
+            ps.setShort(index, (short) price.scale());
+        }
+    }
+}
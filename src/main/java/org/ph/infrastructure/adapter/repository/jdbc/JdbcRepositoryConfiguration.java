@@ -0,0 +1,30 @@
+package org.ph.infrastructure.adapter.repository.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * DataSource of the {@link JdbcProductRepository}, set up only when that repository is selected.
+ * {@link DataSourceAutoConfiguration} is excluded in application.properties, so that no connection
+ * pool is started in the other modes; this configuration builds the same HikariCP pool from the
+ * {@code spring.datasource.*} and {@code spring.datasource.hikari.*} properties instead. The
+ * JdbcTemplate, transaction manager and {@code schema.sql} initialization are auto-configured
+ * once a DataSource exists.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "acme.repository.type", havingValue = "jdbc")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class JdbcRepositoryConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+}
@@ -0,0 +1,87 @@
+package org.ph.infrastructure.adapter.repository.lsm;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Bloom filter over the keys of one SSTable, so lookups of absent keys skip the disk.
+ * Probe positions come from double hashing of two mixed 64-bit hashes of the UUID.
+ */
+final class BloomFilter {
+
+    private final long[] bits;
+    private final int hashCount;
+
+    private BloomFilter(long[] bits, int hashCount) {
+        this.bits = bits;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Creates an empty filter sized for the expected number of keys.
+     *
+     * @param expectedKeys The number of keys that will be added
+     * @param bitsPerKey   The number of bits per key; 10 gives about 1% false positives
+     * @return The filter
+     */
+    static BloomFilter create(long expectedKeys, int bitsPerKey) {
+        long bitCount = Math.max(64, expectedKeys * bitsPerKey);
+        int hashCount = Math.max(1, (int) Math.round(bitsPerKey * Math.log(2)));
+        return new BloomFilter(new long[(int) ((bitCount + 63) / 64)], hashCount);
+    }
+
+    void add(UUID key) {
+        long h1 = mix(key.getMostSignificantBits() ^ key.getLeastSignificantBits());
+        long h2 = mix(key.getLeastSignificantBits() + 0x9E3779B97F4A7C15L) | 1;
+        long bitCount = (long) bits.length * 64;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(UUID key) {
+        long h1 = mix(key.getMostSignificantBits() ^ key.getLeastSignificantBits());
+        long h2 = mix(key.getLeastSignificantBits() + 0x9E3779B97F4A7C15L) | 1;
+        long bitCount = (long) bits.length * 64;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int serializedSize() {
+        return Integer.BYTES * 2 + bits.length * Long.BYTES;
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        buffer.putInt(hashCount).putInt(bits.length);
+        for (long word : bits) {
+            buffer.putLong(word);
+        }
+    }
+
+    static BloomFilter readFrom(ByteBuffer buffer) {
+        int hashCount = buffer.getInt();
+        long[] bits = new long[buffer.getInt()];
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] = buffer.getLong();
+        }
+        return new BloomFilter(bits, hashCount);
+    }
+
+    /**
+     * MurmurHash3 64-bit finalizer.
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
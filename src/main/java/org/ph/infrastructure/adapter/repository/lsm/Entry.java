@@ -0,0 +1,32 @@
+package org.ph.infrastructure.adapter.repository.lsm;
+
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * A key/value pair as stored in the tree. A {@link #TOMBSTONE} value marks a deletion
+ * that shadows older values of the same key until compaction drops it.
+ *
+ * @param key   The product ID
+ * @param value The encoded product, or {@link #TOMBSTONE}
+ */
+record Entry(UUID key, byte[] value) {
+
+    /**
+     * Sentinel value of deleted keys; compared by identity.
+     */
+    static final byte[] TOMBSTONE = new byte[0];
+
+    /**
+     * Unsigned byte-wise UUID order, the order of keys in memtables and SSTables.
+     * With time-ordered UUIDs this is also creation order.
+     */
+    static final Comparator<UUID> KEY_ORDER = (a, b) -> {
+        int result = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    };
+
+    boolean isTombstone() {
+        return value == TOMBSTONE;
+    }
+}
@@ -0,0 +1,21 @@
+package org.ph.infrastructure.adapter.repository.lsm;
+
+/**
+ * Tuning knobs of the {@link LsmProductRepository}.
+ *
+ * @param memtableBytes     Approximate memtable size that triggers a flush to a new SSTable
+ * @param blockBytes        Target size of an SSTable data block, the unit of a point-lookup read
+ * @param bloomBitsPerKey   Bloom filter bits per key; 10 gives about 1% false positives
+ * @param compactionTrigger Number of adjacent SSTables of about the same size merged by one compaction
+ * @param syncWrites        Whether every write is forced to disk before it is acknowledged
+ */
+public record LsmOptions(long memtableBytes, int blockBytes, int bloomBitsPerKey, int compactionTrigger,
+                         boolean syncWrites) {
+
+    /**
+     * @return Options suited to a catalog of a few million products
+     */
+    public static LsmOptions defaults() {
+        return new LsmOptions(4L * 1024 * 1024, 4 * 1024, 10, 4, false);
+    }
+}
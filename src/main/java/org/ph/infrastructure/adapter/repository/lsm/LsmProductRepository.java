@@ -0,0 +1,553 @@
+package org.ph.infrastructure.adapter.repository.lsm;
+
+import org.ph.application.port.out.ProductRepository;
+import org.ph.domain.model.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ProductRepository adapter backed by an embedded log-structured merge tree on local disk.
+ * This is part of the infrastructure layer and lets the catalog grow beyond the heap.
+ *
+ * <p>Writes are appended to a write-ahead log and applied to a sorted memtable; both are
+ * sequential. A full memtable is frozen and flushed to a new SSTable on a background thread,
+ * and once enough adjacent SSTables of about the same size accumulate they are merged into
+ * one, dropping overwritten values. Each compaction thus reads a bounded set of tables, and
+ * an entry is rewritten about once per size tier rather than once per compaction. Reads consult the memtables, then the SSTables from newest to oldest;
+ * thanks to the in-memory block index and bloom filter, every SSTable costs at most one
+ * block read and usually none, so {@code findById} needs at most one disk seek in the
+ * common case of a key living in a single table.
+ *
+ * <p>Writers serialize on a lock; readers work on an immutable {@link State} snapshot and
+ * never block. The live tables are recorded in a {@link Manifest}, so a restart reopens
+ * them and replays the logs of memtables that were not flushed yet.
+ */
+@Repository
+@ConditionalOnProperty(name = "acme.repository.type", havingValue = "lsm")
+public class LsmProductRepository implements ProductRepository, AutoCloseable {
+
+    private static final String TABLE_SUFFIX = ".sst";
+    private static final String LOG_SUFFIX = ".wal";
+    // Tables whose sizes are within this factor of each other are in the same tier
+    private static final int TIER_RATIO = 2;
+
+    private final Path directory;
+    private final LsmOptions options;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ExecutorService background;
+    private final AtomicLong fileSequence = new AtomicLong();
+    private volatile State state;
+    private WriteAheadLog log;
+
+    @Autowired
+    public LsmProductRepository(
+            @Value("${acme.repository.lsm.directory:data/products}") String directory,
+            @Value("${acme.repository.lsm.memtable-bytes:4194304}") long memtableBytes,
+            @Value("${acme.repository.lsm.block-bytes:4096}") int blockBytes,
+            @Value("${acme.repository.lsm.bloom-bits-per-key:10}") int bloomBitsPerKey,
+            @Value("${acme.repository.lsm.compaction-trigger:4}") int compactionTrigger,
+            @Value("${acme.repository.lsm.sync-writes:false}") boolean syncWrites) throws IOException {
+        this(Paths.get(directory),
+                new LsmOptions(memtableBytes, blockBytes, bloomBitsPerKey, compactionTrigger, syncWrites));
+    }
+
+    public LsmProductRepository(Path directory, LsmOptions options) throws IOException {
+        this.directory = directory;
+        this.options = options;
+        this.background = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lsm-background");
+            thread.setDaemon(true);
+            return thread;
+        });
+        recover();
+    }
+
+    /**
+     * Saves a product to the repository.
+     *
+     * @param product The product to save
+     * @return The saved product
+     */
+    @Override
+    public Product save(Product product) {
+        write(List.of(new Entry(product.id(), ProductCodec.encode(product))));
+        return product;
+    }
+
+    /**
+     * Saves several products with a single log append.
+     *
+     * @param products The products to save
+     * @return The saved products
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        List<Entry> entries = new ArrayList<>(products.size());
+        for (Product product : products) {
+            entries.add(new Entry(product.id(), ProductCodec.encode(product)));
+        }
+        write(entries);
+        return products;
+    }
+
+    /**
+     * Saves the products still stored as they were read, checking them and appending them to the
+     * log under the write lock.
+     *
+     * @param expected The products as the caller read them, by ID
+     * @param updated  The products to save
+     * @return The products saved
+     */
+    @Override
+    public List<Product> saveAllIfUnchanged(Map<UUID, Product> expected, List<Product> updated) {
+        List<Product> saved = new ArrayList<>(updated.size());
+        List<Entry> entries = new ArrayList<>(updated.size());
+        writeLock.lock();
+        try {
+            for (Product product : updated) {
+                Product read = expected.get(product.id());
+                byte[] value = findValue(product.id());
+                if (read != null && value != null && read.equals(ProductCodec.decode(product.id(), value))) {
+                    saved.add(product);
+                    entries.add(new Entry(product.id(), ProductCodec.encode(product)));
+                }
+            }
+            if (!entries.isEmpty()) {
+                write(entries);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return saved;
+    }
+
+    /**
+     * Finds a product by its ID.
+     *
+     * @param id The ID of the product to find
+     * @return An Optional containing the product if found, or empty if not found
+     */
+    @Override
+    public Optional<Product> findById(UUID id) {
+        byte[] value = findValue(id);
+        return value == null ? Optional.empty() : Optional.of(ProductCodec.decode(id, value));
+    }
+
+    /**
+     * Finds all products in the repository, in key order.
+     * The memtable being written is read weakly consistently: concurrent writes may or may not be seen.
+     *
+     * @return A list of all products
+     */
+    @Override
+    public List<Product> findAll() {
+        while (true) {
+            State current = state;
+            try {
+                List<Product> products = new ArrayList<>();
+                Iterator<Entry> entries = current.iterator();
+                while (entries.hasNext()) {
+                    Entry entry = entries.next();
+                    if (!entry.isTombstone()) {
+                        products.add(ProductCodec.decode(entry.key(), entry.value()));
+                    }
+                }
+                return products;
+            } catch (UncheckedIOException e) {
+                retryIfCompacted(current, e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Deletes a product by its ID.
+     *
+     * @param id The ID of the product to delete
+     * @return true if the product was deleted, false if it was not found
+     */
+    @Override
+    public boolean deleteById(UUID id) {
+        writeLock.lock();
+        try {
+            if (findValue(id) == null) {
+                return false;
+            }
+            write(List.of(new Entry(id, Entry.TOMBSTONE)));
+            return true;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Checks if a product with the given ID exists.
+     *
+     * @param id The ID to check
+     * @return true if a product with the ID exists, false otherwise
+     */
+    @Override
+    public boolean existsById(UUID id) {
+        return findValue(id) != null;
+    }
+
+    /**
+     * Waits for pending flushes and compactions, then closes all files.
+     * Unflushed writes stay in the write-ahead log and are replayed on the next start.
+     */
+    @Override
+    public void close() throws IOException {
+        background.shutdown();
+        try {
+            background.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        writeLock.lock();
+        try {
+            log.close();
+            for (SSTable table : state.tables) {
+                table.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of live SSTables
+     */
+    int tableCount() {
+        return state.tables.size();
+    }
+
+    /**
+     * Freezes the current memtable and waits until it and any resulting compaction are on disk.
+     */
+    void flush() {
+        writeLock.lock();
+        try {
+            if (!state.active.isEmpty()) {
+                rotate();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            background.submit(() -> { }).get();
+        } catch (Exception e) {
+            throw new IllegalStateException("Background flush failed", e);
+        }
+    }
+
+    private byte[] findValue(UUID id) {
+        while (true) {
+            State current = state;
+            try {
+                byte[] value = current.lookup(id);
+                return value == Entry.TOMBSTONE ? null : value;
+            } catch (IOException e) {
+                retryIfCompacted(current, e);
+            }
+        }
+    }
+
+    /**
+     * A reader that still holds a snapshot from before a compaction may hit a table that was
+     * closed in the meantime; the newer snapshot no longer references it, so the read is retried.
+     */
+    private void retryIfCompacted(State snapshot, Throwable failure) {
+        if (!(failure instanceof ClosedChannelException) || snapshot == state) {
+            throw failure instanceof IOException io ? new UncheckedIOException(io) : new IllegalStateException(failure);
+        }
+    }
+
+    private void write(List<Entry> entries) {
+        writeLock.lock();
+        try {
+            log.append(entries);
+            MemTable active = state.active;
+            for (Entry entry : entries) {
+                active.put(entry.key(), entry.value());
+            }
+            if (active.approximateBytes() >= options.memtableBytes()) {
+                rotate();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Freezes the active memtable, starts a new log segment and schedules the flush. Caller holds the write lock.
+     */
+    private void rotate() throws IOException {
+        WriteAheadLog frozenLog = log;
+        log = WriteAheadLog.open(nextFile(LOG_SUFFIX), options.syncWrites());
+        State current = state;
+        MemTable frozen = current.active;
+        state = new State(new MemTable(), prepend(frozen, current.immutables), current.tables);
+        background.execute(() -> flushInBackground(frozen, frozenLog));
+    }
+
+    private void flushInBackground(MemTable frozen, WriteAheadLog frozenLog) {
+        try {
+            SSTable table = SSTable.write(nextFile(TABLE_SUFFIX), frozen.iterator(), frozen.size(),
+                    options.blockBytes(), options.bloomBitsPerKey());
+            writeLock.lock();
+            try {
+                State current = state;
+                List<SSTable> tables = prepend(table, current.tables);
+                Manifest.write(directory, tables);
+                List<MemTable> immutables = new ArrayList<>(current.immutables);
+                immutables.remove(frozen);
+                state = new State(current.active, List.copyOf(immutables), tables);
+            } finally {
+                writeLock.unlock();
+            }
+            frozenLog.close();
+            Files.deleteIfExists(frozenLog.path());
+            compactIfNeeded();
+        } catch (IOException e) {
+            // The memtable stays readable and its log stays on disk, so no write is lost.
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Merges tiers of SSTables for as long as there are some. Runs on the background thread,
+     * so no flush can add a table in the meantime.
+     */
+    private void compactIfNeeded() throws IOException {
+        while (true) {
+            List<SSTable> tables = state.tables;
+            int start = selectTier(tables);
+            if (start < 0) {
+                return;
+            }
+            compact(tables.subList(start, start + options.compactionTrigger()),
+                    start + options.compactionTrigger() == tables.size());
+        }
+    }
+
+    /**
+     * Finds the newest run of {@code compactionTrigger} adjacent tables of about the same size.
+     * Only adjacent tables may be merged, so that the result takes their place in the newest-first
+     * order. Tables smaller than a memtable count as memtable-sized, so that small flushes are
+     * merged together rather than left behind.
+     *
+     * @return The index of the newest table of the run, or -1 if there is none
+     */
+    private int selectTier(List<SSTable> tables) {
+        int trigger = options.compactionTrigger();
+        for (int start = 0; start + trigger <= tables.size(); start++) {
+            long smallest = Long.MAX_VALUE;
+            long largest = 0;
+            for (int i = start; i < start + trigger; i++) {
+                long size = Math.max(tables.get(i).sizeBytes(), options.memtableBytes());
+                smallest = Math.min(smallest, size);
+                largest = Math.max(largest, size);
+            }
+            if (largest <= smallest * TIER_RATIO) {
+                return start;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Merges adjacent tables into one that takes their place. Tombstones are dropped only when
+     * the oldest table takes part, since otherwise they may still shadow values in older tables.
+     *
+     * @param inputs         The tables to merge, newest first
+     * @param includesOldest Whether the last input is the oldest live table
+     */
+    private void compact(List<SSTable> inputs, boolean includesOldest) throws IOException {
+        List<Iterator<Entry>> sources = new ArrayList<>(inputs.size());
+        long expected = 0;
+        for (SSTable table : inputs) {
+            sources.add(table.iterator());
+            expected += table.entryCount();
+        }
+        Iterator<Entry> merged = new MergingIterator(sources);
+        SSTable output = SSTable.write(nextFile(TABLE_SUFFIX), includesOldest ? new LiveEntries(merged) : merged,
+                expected, options.blockBytes(), options.bloomBitsPerKey());
+
+        writeLock.lock();
+        try {
+            State current = state;
+            List<SSTable> tables = new ArrayList<>(current.tables);
+            int position = tables.indexOf(inputs.get(0));
+            tables.removeAll(inputs);
+            tables.add(position, output);
+            Manifest.write(directory, tables);
+            state = new State(current.active, current.immutables, List.copyOf(tables));
+        } finally {
+            writeLock.unlock();
+        }
+        for (SSTable table : inputs) {
+            table.close();
+            Files.deleteIfExists(table.path());
+        }
+    }
+
+    /**
+     * Opens the tables named in the manifest, removes leftovers of interrupted flushes or
+     * compactions, and replays unflushed log segments into a new table.
+     */
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        List<String> liveNames = Manifest.read(directory);
+        Set<String> live = Set.copyOf(liveNames);
+        for (Path file : list(TABLE_SUFFIX)) {
+            if (!live.contains(file.getFileName().toString())) {
+                Files.delete(file);
+            }
+        }
+        List<Path> logs = list(LOG_SUFFIX);
+        Stream.concat(liveNames.stream(), logs.stream().map(path -> path.getFileName().toString()))
+                .mapToLong(LsmProductRepository::sequenceOf)
+                .max()
+                .ifPresent(fileSequence::set);
+
+        List<SSTable> tables = new ArrayList<>(liveNames.size());
+        for (String name : liveNames) {
+            tables.add(SSTable.open(directory.resolve(name)));
+        }
+
+        MemTable recovered = new MemTable();
+        for (Path segment : logs) {
+            WriteAheadLog.replay(segment, entry -> recovered.put(entry.key(), entry.value()));
+        }
+        if (!recovered.isEmpty()) {
+            tables.add(0, SSTable.write(nextFile(TABLE_SUFFIX), recovered.iterator(), recovered.size(),
+                    options.blockBytes(), options.bloomBitsPerKey()));
+            Manifest.write(directory, tables);
+        }
+        for (Path segment : logs) {
+            Files.delete(segment);
+        }
+
+        log = WriteAheadLog.open(nextFile(LOG_SUFFIX), options.syncWrites());
+        state = new State(new MemTable(), List.of(), List.copyOf(tables));
+    }
+
+    private List<Path> list(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private Path nextFile(String suffix) {
+        return directory.resolve(String.format("%08d%s", fileSequence.incrementAndGet(), suffix));
+    }
+
+    private static long sequenceOf(String fileName) {
+        return Long.parseLong(fileName.substring(0, fileName.indexOf('.')));
+    }
+
+    private static <T> List<T> prepend(T first, List<T> rest) {
+        List<T> result = new ArrayList<>(rest.size() + 1);
+        result.add(first);
+        result.addAll(rest);
+        return List.copyOf(result);
+    }
+
+    /**
+     * Immutable view of the tree: the active memtable, frozen memtables awaiting flush and
+     * the live SSTables, each list ordered newest first.
+     */
+    private record State(MemTable active, List<MemTable> immutables, List<SSTable> tables) {
+
+        byte[] lookup(UUID id) throws IOException {
+            byte[] value = active.get(id);
+            if (value != null) {
+                return value;
+            }
+            for (MemTable memTable : immutables) {
+                value = memTable.get(id);
+                if (value != null) {
+                    return value;
+                }
+            }
+            for (SSTable table : tables) {
+                value = table.get(id);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return null;
+        }
+
+        Iterator<Entry> iterator() {
+            List<Iterator<Entry>> sources = new ArrayList<>(1 + immutables.size() + tables.size());
+            sources.add(active.iterator());
+            immutables.forEach(memTable -> sources.add(memTable.iterator()));
+            tables.forEach(table -> sources.add(table.iterator()));
+            return new MergingIterator(sources);
+        }
+    }
+
+    /**
+     * Skips tombstones of the wrapped iterator.
+     */
+    private static final class LiveEntries implements Iterator<Entry> {
+
+        private final Iterator<Entry> delegate;
+        private Entry next;
+
+        LiveEntries(Iterator<Entry> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && delegate.hasNext()) {
+                Entry candidate = delegate.next();
+                if (!candidate.isTombstone()) {
+                    next = candidate;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Entry next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry result = next;
+            next = null;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.ph.infrastructure.adapter.repository.lsm;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The list of live SSTable files, newest first.
+ * It is rewritten to a temporary file and atomically moved into place, so after a crash
+ * it names either the old or the new set of tables, never a mix.
+ */
+final class Manifest {
+
+    static final String FILE_NAME = "MANIFEST";
+
+    private Manifest() {
+    }
+
+    static List<String> read(Path directory) throws IOException {
+        Path file = directory.resolve(FILE_NAME);
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        return Files.readAllLines(file, StandardCharsets.UTF_8).stream()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    static void write(Path directory, List<SSTable> tablesNewestFirst) throws IOException {
+        Path temp = directory.resolve(FILE_NAME + ".tmp");
+        List<String> lines = tablesNewestFirst.stream()
+                .map(table -> table.path().getFileName().toString())
+                .collect(Collectors.toList());
+        Files.write(temp, lines, StandardCharsets.UTF_8);
+        Files.move(temp, directory.resolve(FILE_NAME),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
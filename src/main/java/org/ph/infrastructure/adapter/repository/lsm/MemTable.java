@@ -0,0 +1,67 @@
+package org.ph.infrastructure.adapter.repository.lsm;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sorted in-memory buffer of the most recent writes.
+ * Readers access it concurrently with the single writer; once it is full it becomes
+ * immutable and is flushed to an SSTable in the background.
+ */
+final class MemTable {
+
+    /**
+     * Rough per-entry overhead of the skip list node and key, used for sizing.
+     */
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final ConcurrentNavigableMap<UUID, byte[]> entries = new ConcurrentSkipListMap<>(Entry.KEY_ORDER);
+    private final AtomicLong approximateBytes = new AtomicLong();
+
+    void put(UUID key, byte[] value) {
+        entries.put(key, value);
+        approximateBytes.addAndGet(ENTRY_OVERHEAD + value.length);
+    }
+
+    /**
+     * @return The value, {@link Entry#TOMBSTONE} if deleted here, or null if this table does not know the key
+     */
+    byte[] get(UUID key) {
+        return entries.get(key);
+    }
+
+    long approximateBytes() {
+        return approximateBytes.get();
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * @return The number of entries; O(n), meant for sizing a flush
+     */
+    int size() {
+        return entries.size();
+    }
+
+    Iterator<Entry> iterator() {
+        Iterator<Map.Entry<UUID, byte[]>> delegate = entries.entrySet().iterator();
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return delegate.hasNext();
+            }
+
+            @Override
+            public Entry next() {
+                Map.Entry<UUID, byte[]> next = delegate.next();
+                return new Entry(next.getKey(), next.getValue());
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package org.ph.infrastructure.adapter.repository.lsm;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * K-way merge of sorted entry sources. Sources are given newest first; when several
+ * sources hold the same key, only the newest entry is returned.
+ */
+final class MergingIterator implements Iterator<Entry> {
+
+    private final PriorityQueue<Head> heads = new PriorityQueue<>((a, b) -> {
+        int order = Entry.KEY_ORDER.compare(a.entry.key(), b.entry.key());
+        return order != 0 ? order : Integer.compare(a.source, b.source);
+    });
+
+    MergingIterator(List<Iterator<Entry>> sourcesNewestFirst) {
+        for (int i = 0; i < sourcesNewestFirst.size(); i++) {
+            advance(new Head(i, sourcesNewestFirst.get(i)));
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !heads.isEmpty();
+    }
+
+    @Override
+    public Entry next() {
+        Head newest = heads.poll();
+        if (newest == null) {
+            throw new NoSuchElementException();
+        }
+        Entry result = newest.entry;
+        advance(newest);
+        while (!heads.isEmpty() && heads.peek().entry.key().equals(result.key())) {
+            advance(heads.poll());
+        }
+        return result;
+    }
+
+    private void advance(Head head) {
+        if (head.iterator.hasNext()) {
+            head.entry = head.iterator.next();
+            heads.add(head);
+        }
+    }
+
+    private static final class Head {
+        private final int source;
+        private final Iterator<Entry> iterator;
+        private Entry entry;
+
+        Head(int source, Iterator<Entry> iterator) {
+            this.source = source;
+            this.iterator = iterator;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.ph.infrastructure.adapter.repository.lsm;
+
+import org.ph.domain.model.Product;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Binary encoding of a product value (everything but the ID, which is the key).
+ * Layout: name, description (length-prefixed UTF-8, length -1 for null), price
+ * (scale and length-prefixed two's-complement unscaled value, length -1 for null),
+ * stock quantity.
+ */
+final class ProductCodec {
+
+    private ProductCodec() {
+    }
+
+    static byte[] encode(Product product) {
+        byte[] name = utf8(product.name());
+        byte[] description = utf8(product.description());
+        BigDecimal price = product.price();
+        byte[] unscaled = price == null ? null : price.unscaledValue().toByteArray();
+
+        ByteBuffer buffer = ByteBuffer.allocate(
+                sizeOf(name) + sizeOf(description) + Integer.BYTES + sizeOf(unscaled) + Integer.BYTES);
+        putBytes(buffer, name);
+        putBytes(buffer, description);
+        buffer.putInt(price == null ? 0 : price.scale());
+        putBytes(buffer, unscaled);
+        buffer.putInt(product.stockQuantity());
+        return buffer.array();
+    }
+
+    static Product decode(UUID id, byte[] value) {
+        ByteBuffer buffer = ByteBuffer.wrap(value);
+        String name = string(getBytes(buffer));
+        String description = string(getBytes(buffer));
+        int scale = buffer.getInt();
+        byte[] unscaled = getBytes(buffer);
+        BigDecimal price = unscaled == null ? null : new BigDecimal(new BigInteger(unscaled), scale);
+        return new Product(id, name, description, price, buffer.getInt());
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] bytes) {
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] bytes) {
+        return Integer.BYTES + (bytes == null ? 0 : bytes.length);
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+    }
+
+    private static byte[] getBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
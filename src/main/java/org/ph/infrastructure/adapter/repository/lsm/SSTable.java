@@ -0,0 +1,316 @@
+package org.ph.infrastructure.adapter.repository.lsm;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Immutable sorted table file.
+ *
+ * <p>Layout: data blocks of sorted entries ({@code key(16) valueLength(4) value}, length -1
+ * for tombstones), then the block index ({@code firstKey(16) offset(8) length(4)} per block),
+ * the bloom filter and a fixed-size footer pointing at both. The index and the bloom filter
+ * are loaded into memory on open, so a point lookup costs at most one positional read of a
+ * single block, and none when the bloom filter rules the key out.
+ */
+final class SSTable implements Closeable {
+
+    private static final long MAGIC = 0x41434D454C534D31L; // "ACMELSM1"
+    private static final int FOOTER_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES;
+    private static final int INDEX_ENTRY_BYTES = 16 + Long.BYTES + Integer.BYTES;
+
+    private final Path path;
+    private final UUID[] blockFirstKeys;
+    private final long[] blockOffsets;
+    private final int[] blockLengths;
+    private final BloomFilter bloomFilter;
+    private final long entryCount;
+    private final long sizeBytes;
+    private volatile FileChannel channel;
+    private volatile boolean closed;
+
+    private SSTable(Path path, FileChannel channel, UUID[] blockFirstKeys, long[] blockOffsets, int[] blockLengths,
+                    BloomFilter bloomFilter, long entryCount, long sizeBytes) {
+        this.path = path;
+        this.channel = channel;
+        this.blockFirstKeys = blockFirstKeys;
+        this.blockOffsets = blockOffsets;
+        this.blockLengths = blockLengths;
+        this.bloomFilter = bloomFilter;
+        this.entryCount = entryCount;
+        this.sizeBytes = sizeBytes;
+    }
+
+    /**
+     * Writes sorted entries to a new table file, sequentially, and opens it.
+     *
+     * @param path          The file to create
+     * @param entries       Entries in {@link Entry#KEY_ORDER}, without duplicate keys
+     * @param expectedCount Upper bound of the number of entries, used to size the bloom filter
+     * @param blockBytes    The target size of a data block
+     * @param bitsPerKey    The bloom filter bits per key
+     * @return The opened table
+     */
+    static SSTable write(Path path, Iterator<Entry> entries, long expectedCount, int blockBytes, int bitsPerKey)
+            throws IOException {
+        BloomFilter bloomFilter = BloomFilter.create(expectedCount, bitsPerKey);
+        ByteArrayOutputStream index = new ByteArrayOutputStream();
+        DataOutputStream indexOut = new DataOutputStream(index);
+        ByteArrayOutputStream block = new ByteArrayOutputStream(blockBytes * 2);
+        DataOutputStream blockOut = new DataOutputStream(block);
+        long entryCount = 0;
+        long offset = 0;
+
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+             OutputStream out = new BufferedOutputStream(Channels.newOutputStream(file), 64 * 1024)) {
+            UUID blockFirstKey = null;
+            while (entries.hasNext()) {
+                Entry entry = entries.next();
+                if (blockFirstKey == null) {
+                    blockFirstKey = entry.key();
+                }
+                blockOut.writeLong(entry.key().getMostSignificantBits());
+                blockOut.writeLong(entry.key().getLeastSignificantBits());
+                if (entry.isTombstone()) {
+                    blockOut.writeInt(-1);
+                } else {
+                    blockOut.writeInt(entry.value().length);
+                    blockOut.write(entry.value());
+                }
+                bloomFilter.add(entry.key());
+                entryCount++;
+
+                if (block.size() >= blockBytes) {
+                    offset = flushBlock(out, block, blockFirstKey, offset, indexOut);
+                    blockFirstKey = null;
+                }
+            }
+            if (blockFirstKey != null) {
+                offset = flushBlock(out, block, blockFirstKey, offset, indexOut);
+            }
+
+            long indexOffset = offset;
+            index.writeTo(out);
+            long bloomOffset = indexOffset + index.size();
+            ByteBuffer tail = ByteBuffer.allocate(bloomFilter.serializedSize() + FOOTER_BYTES);
+            bloomFilter.writeTo(tail);
+            tail.putLong(indexOffset).putInt(index.size())
+                    .putLong(bloomOffset).putInt(bloomFilter.serializedSize())
+                    .putLong(entryCount).putLong(MAGIC);
+            out.write(tail.array());
+            out.flush();
+            file.force(true);
+        }
+        return open(path);
+    }
+
+    private static long flushBlock(OutputStream out, ByteArrayOutputStream block, UUID firstKey, long offset,
+                                   DataOutputStream indexOut) throws IOException {
+        indexOut.writeLong(firstKey.getMostSignificantBits());
+        indexOut.writeLong(firstKey.getLeastSignificantBits());
+        indexOut.writeLong(offset);
+        indexOut.writeInt(block.size());
+        block.writeTo(out);
+        long next = offset + block.size();
+        block.reset();
+        return next;
+    }
+
+    /**
+     * Opens an existing table file and loads its index and bloom filter.
+     *
+     * @param path The table file
+     * @return The opened table
+     */
+    static SSTable open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < FOOTER_BYTES) {
+                throw new IOException("Truncated SSTable " + path);
+            }
+            ByteBuffer footer = readFully(channel, size - FOOTER_BYTES, FOOTER_BYTES);
+            long indexOffset = footer.getLong();
+            int indexLength = footer.getInt();
+            long bloomOffset = footer.getLong();
+            int bloomLength = footer.getInt();
+            long entryCount = footer.getLong();
+            if (footer.getLong() != MAGIC) {
+                throw new IOException("Not an SSTable: " + path);
+            }
+
+            ByteBuffer index = readFully(channel, indexOffset, indexLength);
+            int blocks = indexLength / INDEX_ENTRY_BYTES;
+            UUID[] firstKeys = new UUID[blocks];
+            long[] offsets = new long[blocks];
+            int[] lengths = new int[blocks];
+            for (int i = 0; i < blocks; i++) {
+                firstKeys[i] = new UUID(index.getLong(), index.getLong());
+                offsets[i] = index.getLong();
+                lengths[i] = index.getInt();
+            }
+            BloomFilter bloomFilter = BloomFilter.readFrom(readFully(channel, bloomOffset, bloomLength));
+            return new SSTable(path, channel, firstKeys, offsets, lengths, bloomFilter, entryCount, size);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Looks a key up with at most one block read.
+     *
+     * @param key The key
+     * @return The value, {@link Entry#TOMBSTONE}, or null if the table does not contain the key
+     */
+    byte[] get(UUID key) throws IOException {
+        if (!bloomFilter.mightContain(key)) {
+            return null;
+        }
+        int block = findBlock(key);
+        if (block < 0) {
+            return null;
+        }
+        ByteBuffer buffer = readBlock(block);
+        while (buffer.hasRemaining()) {
+            UUID candidate = new UUID(buffer.getLong(), buffer.getLong());
+            int length = buffer.getInt();
+            int order = Entry.KEY_ORDER.compare(candidate, key);
+            if (order == 0) {
+                return length < 0 ? Entry.TOMBSTONE : readValue(buffer, length);
+            }
+            if (order > 0) {
+                return null;
+            }
+            if (length > 0) {
+                buffer.position(buffer.position() + length);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Iterates over all entries in key order, reading one block at a time.
+     *
+     * @return The entries, including tombstones
+     */
+    Iterator<Entry> iterator() {
+        return new Iterator<>() {
+            private int nextBlock;
+            private ByteBuffer buffer;
+
+            @Override
+            public boolean hasNext() {
+                while ((buffer == null || !buffer.hasRemaining()) && nextBlock < blockOffsets.length) {
+                    try {
+                        buffer = readBlock(nextBlock++);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return buffer != null && buffer.hasRemaining();
+            }
+
+            @Override
+            public Entry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                UUID key = new UUID(buffer.getLong(), buffer.getLong());
+                int length = buffer.getInt();
+                return new Entry(key, length < 0 ? Entry.TOMBSTONE : readValue(buffer, length));
+            }
+        };
+    }
+
+    long entryCount() {
+        return entryCount;
+    }
+
+    /**
+     * @return The size of the table file
+     */
+    long sizeBytes() {
+        return sizeBytes;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+
+    private int findBlock(UUID key) {
+        int low = 0;
+        int high = blockFirstKeys.length - 1;
+        int result = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (Entry.KEY_ORDER.compare(blockFirstKeys[mid], key) <= 0) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    private ByteBuffer readBlock(int block) throws IOException {
+        try {
+            return readFully(channel, blockOffsets[block], blockLengths[block]);
+        } catch (ClosedChannelException e) {
+            // An interrupted reader closes a FileChannel for everyone; reopen unless we closed it ourselves.
+            if (closed) {
+                throw e;
+            }
+            reopen();
+            return readFully(channel, blockOffsets[block], blockLengths[block]);
+        }
+    }
+
+    private synchronized void reopen() throws IOException {
+        if (!closed && !channel.isOpen()) {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        }
+    }
+
+    private static byte[] readValue(ByteBuffer buffer, int length) {
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return value;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    @Override
+    public String toString() {
+        return "SSTable[" + path.getFileName() + ", entries=" + entryCount + ", blocks=" + blockOffsets.length + "]";
+    }
+}
@@ -0,0 +1,135 @@
+package org.ph.infrastructure.adapter.repository.lsm;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log segment holding the writes of one memtable, replayed after a restart.
+ * Records are {@code length(4) crc32c(4) key(16) valueLength(4) value}; replay stops at
+ * the first torn or corrupt record and truncates the segment there.
+ */
+final class WriteAheadLog implements Closeable {
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final int KEY_BYTES = 16;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final boolean sync;
+
+    private WriteAheadLog(Path path, FileChannel channel, boolean sync) {
+        this.path = path;
+        this.channel = channel;
+        this.sync = sync;
+    }
+
+    /**
+     * Opens a segment for appending, creating it if needed.
+     *
+     * @param path The segment file
+     * @param sync Whether every append is forced to disk before it returns
+     * @return The segment
+     */
+    static WriteAheadLog open(Path path, boolean sync) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        return new WriteAheadLog(path, channel, sync);
+    }
+
+    /**
+     * Appends a batch of entries with a single write and, if configured, a single force.
+     *
+     * @param entries The entries to append
+     */
+    void append(List<Entry> entries) throws IOException {
+        int size = 0;
+        for (Entry entry : entries) {
+            size += HEADER_BYTES + payloadSize(entry);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        CRC32C crc = new CRC32C();
+        for (Entry entry : entries) {
+            int payloadStart = buffer.position() + HEADER_BYTES;
+            buffer.putInt(payloadSize(entry)).putInt(0);
+            buffer.putLong(entry.key().getMostSignificantBits()).putLong(entry.key().getLeastSignificantBits());
+            if (entry.isTombstone()) {
+                buffer.putInt(-1);
+            } else {
+                buffer.putInt(entry.value().length).put(entry.value());
+            }
+            crc.reset();
+            crc.update(buffer.array(), payloadStart, buffer.position() - payloadStart);
+            buffer.putInt(payloadStart - Integer.BYTES, (int) crc.getValue());
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (sync) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Replays a segment in write order.
+     *
+     * @param path     The segment file
+     * @param consumer Receives every intact entry
+     */
+    static void replay(Path path, Consumer<Entry> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer data = ByteBuffer.allocate((int) channel.size());
+            while (data.hasRemaining() && channel.read(data) >= 0) {
+                // read the whole segment
+            }
+            data.flip();
+            CRC32C crc = new CRC32C();
+            long valid = 0;
+            while (data.remaining() >= HEADER_BYTES) {
+                int length = data.getInt();
+                int checksum = data.getInt();
+                if (length < KEY_BYTES + Integer.BYTES || length > data.remaining()) {
+                    break;
+                }
+                crc.reset();
+                crc.update(data.array(), data.position(), length);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                UUID key = new UUID(data.getLong(), data.getLong());
+                int valueLength = data.getInt();
+                byte[] value = Entry.TOMBSTONE;
+                if (valueLength >= 0) {
+                    value = new byte[valueLength];
+                    data.get(value);
+                }
+                consumer.accept(new Entry(key, value));
+                valid = data.position();
+            }
+            if (valid < channel.size()) {
+                channel.truncate(valid);
+            }
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int payloadSize(Entry entry) {
+        return KEY_BYTES + Integer.BYTES + (entry.isTombstone() ? 0 : entry.value().length);
+    }
+}
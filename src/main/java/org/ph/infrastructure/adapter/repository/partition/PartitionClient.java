@@ -0,0 +1,259 @@
+package org.ph.infrastructure.adapter.repository.partition;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.ph.domain.model.Product;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * HTTP client for the internal partition API of the other nodes, served by {@link PartitionController}.
+ * Calls are asynchronous, so a request fanned out to several nodes runs on all of them at once; a
+ * node that cannot be reached or answers with an error fails the call with a
+ * {@link PartitionUnavailableException}. Every call carries the shared secret of the nodes in the
+ * {@value #SECRET_HEADER} header, which {@link PartitionSecretFilter} checks.
+ */
+class PartitionClient {
+
+    static final String BASE_PATH = "/internal/partition";
+    static final String SECRET_HEADER = "X-Partition-Secret";
+    private static final String JSON = "application/json";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectReader productReader;
+    private final ObjectReader productsReader;
+    private final ObjectReader idsReader;
+    private final ObjectReader countReader;
+    private final ObjectWriter writer;
+    private final Duration requestTimeout;
+    private final String secret;
+
+    PartitionClient(ObjectMapper objectMapper, Duration requestTimeout, String secret) {
+        this.productReader = objectMapper.readerFor(Product.class);
+        this.productsReader = objectMapper.readerFor(new TypeReference<List<Product>>() {
+        });
+        this.idsReader = objectMapper.readerFor(new TypeReference<List<UUID>>() {
+        });
+        this.countReader = objectMapper.readerFor(Long.class);
+        this.writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        this.requestTimeout = requestTimeout;
+        this.secret = secret;
+    }
+
+    CompletableFuture<Optional<Product>> findById(String node, UUID id) {
+        HttpRequest request = request(node, "/products/" + id).timeout(requestTimeout).GET().build();
+        return send(node, request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> response.statusCode() == 404
+                        ? Optional.empty()
+                        : Optional.of(read(node, productReader, response.body())));
+    }
+
+    /**
+     * Finds a product as it was at a point in time, in the history a node keeps.
+     * Fails with a {@link PartitionUnavailableException} if the node keeps no history.
+     */
+    CompletableFuture<Optional<Product>> findById(String node, UUID id, Instant asOf) {
+        HttpRequest request = request(node, "/products/" + id + "?asOf=" + asOf).timeout(requestTimeout).GET().build();
+        return send(node, request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() == 501) {
+                        throw new PartitionUnavailableException(node, "GET " + request.uri().getPath()
+                                + " answered 501: the node keeps no history");
+                    }
+                    return response.statusCode() == 404
+                            ? Optional.empty()
+                            : Optional.of(read(node, productReader, response.body()));
+                });
+    }
+
+    CompletableFuture<List<Product>> findAllById(String node, Collection<UUID> ids) {
+        HttpRequest request = request(node, "/products/lookup")
+                .timeout(requestTimeout)
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(write(ids)))
+                .build();
+        return send(node, request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> read(node, productsReader, response.body()));
+    }
+
+    /**
+     * Streams every product a node holds.
+     */
+    CompletableFuture<List<Product>> findAll(String node) {
+        HttpRequest request = request(node, "/products").GET().build();
+        return send(node, request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> {
+                    List<Product> products = new ArrayList<>();
+                    try (InputStream body = response.body();
+                         MappingIterator<Product> lines = productReader.readValues(body)) {
+                        while (lines.hasNextValue()) {
+                            products.add(lines.nextValue());
+                        }
+                    } catch (IOException | UncheckedIOException e) {
+                        throw new PartitionUnavailableException(node, e);
+                    }
+                    return products;
+                });
+    }
+
+    /**
+     * Stores products on a node.
+     *
+     * @param ifAbsent Whether to keep the products the node already holds, as a hand-off does
+     */
+    CompletableFuture<Void> saveAll(String node, List<Product> products, boolean ifAbsent) {
+        HttpRequest request = request(node, "/products?ifAbsent=" + ifAbsent)
+                .timeout(requestTimeout)
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(write(products)))
+                .build();
+        return send(node, request, HttpResponse.BodyHandlers.discarding()).thenApply(response -> null);
+    }
+
+    /**
+     * Stores the products a node still holds as they were read.
+     *
+     * @return The IDs of the products the node stored
+     */
+    CompletableFuture<List<UUID>> saveAllIfUnchanged(String node, Map<UUID, Product> expected, List<Product> updated) {
+        HttpRequest request = request(node, "/products/conditional")
+                .timeout(requestTimeout)
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(write(new PartitionController.ConditionalSave(expected, updated))))
+                .build();
+        return send(node, request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> read(node, idsReader, response.body()));
+    }
+
+    CompletableFuture<Boolean> deleteById(String node, UUID id) {
+        HttpRequest request = request(node, "/products/" + id).timeout(requestTimeout).DELETE().build();
+        return send(node, request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> response.statusCode() != 404);
+    }
+
+    CompletableFuture<List<UUID>> deleteAllById(String node, Collection<UUID> ids) {
+        HttpRequest request = request(node, "/products/delete")
+                .timeout(requestTimeout)
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(write(ids)))
+                .build();
+        return send(node, request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> read(node, idsReader, response.body()));
+    }
+
+    /**
+     * Switches a node to a new node set, without rebalancing it.
+     */
+    void setNodes(String node, List<String> nodes) {
+        HttpRequest request = request(node, "/nodes?propagate=false")
+                .timeout(requestTimeout)
+                .header("Content-Type", JSON)
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(write(nodes)))
+                .build();
+        join(send(node, request, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    /**
+     * Has a node hand off the products it no longer owns.
+     *
+     * @return The number of products the node moved
+     */
+    long rebalance(String node) {
+        HttpRequest request = request(node, "/rebalance").POST(HttpRequest.BodyPublishers.noBody()).build();
+        return join(send(node, request, HttpResponse.BodyHandlers.ofByteArray()).thenApply(response ->
+                read(node, countReader, response.body())));
+    }
+
+    /**
+     * Tells a node that every node has rebalanced.
+     */
+    void completeHandoff(String node) {
+        HttpRequest request = request(node, "/previous-nodes").timeout(requestTimeout).DELETE().build();
+        join(send(node, request, HttpResponse.BodyHandlers.discarding()));
+    }
+
+    /**
+     * Waits for a call, failing with the {@link PartitionUnavailableException} it failed with.
+     */
+    static <T> T join(CompletableFuture<T> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private HttpRequest.Builder request(String node, String path) {
+        return HttpRequest.newBuilder(URI.create(node + BASE_PATH + path)).header(SECRET_HEADER, secret);
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> send(String node, HttpRequest request,
+                                                        HttpResponse.BodyHandler<T> handler) {
+        return client.sendAsync(request, handler).handle((response, failure) -> {
+            if (failure != null) {
+                throw new PartitionUnavailableException(node, failure instanceof CompletionException
+                        ? failure.getCause() : failure);
+            }
+            int status = response.statusCode();
+            if (status >= 400 && status != 404 && status != 501) {
+                if (response.body() instanceof InputStream body) {
+                    closeQuietly(body);
+                }
+                throw new PartitionUnavailableException(node, request.method() + " " + request.uri().getPath()
+                        + " answered " + status);
+            }
+            return response;
+        });
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return writer.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + value.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static <T> T read(String node, ObjectReader reader, byte[] body) {
+        try {
+            return reader.readValue(body);
+        } catch (IOException e) {
+            throw new PartitionUnavailableException(node, e);
+        }
+    }
+
+    private static void closeQuietly(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException ignored) {
+            // The response is failed either way
+        }
+    }
+}
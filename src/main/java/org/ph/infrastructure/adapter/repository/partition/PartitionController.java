@@ -0,0 +1,215 @@
+package org.ph.infrastructure.adapter.repository.partition;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletResponse;
+import org.ph.application.port.out.ProductHistory;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.dto.ValidationErrorResponse;
+import org.ph.infrastructure.adapter.rest.validation.ProductRequestValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Internal API between the nodes of a partitioned catalog.
+ *
+ * <p>The product endpoints act on this node's partition only, bypassing the routing: the other
+ * nodes forward the calls for products this node owns to them, and gather its partition from
+ * {@code GET /internal/partition/products}, streamed as NDJSON. The node endpoints change the node
+ * set: {@code PUT /internal/partition/nodes} on any node coordinates the change across all of them.
+ * The local repository carries the revision and history decorators, so the writes made here are
+ * numbered and recorded like those made through this node's own API. Only the other nodes can call
+ * this API: {@link PartitionSecretFilter} checks their shared secret.
+ */
+@RestController
+@RequestMapping(PartitionClient.BASE_PATH)
+@ConditionalOnProperty(name = "acme.repository.partition.enabled", havingValue = "true")
+public class PartitionController {
+
+    static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final PartitionNode partitionNode;
+    private final ProductRequestValidator productRequestValidator;
+    private final ObjectWriter productWriter;
+
+    @Autowired
+    public PartitionController(PartitionNode partitionNode, ProductRequestValidator productRequestValidator,
+                               ObjectMapper objectMapper) {
+        this.partitionNode = partitionNode;
+        this.productRequestValidator = productRequestValidator;
+        this.productWriter = objectMapper.writerFor(Product.class).without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Streams the products of this node's partition.
+     *
+     * @param response The response the products are streamed to
+     * @throws IOException if the caller disconnected
+     */
+    @GetMapping(path = "/products", produces = NDJSON_VALUE)
+    public void streamProducts(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+        for (Product product : partitionNode.local().findAll()) {
+            out.write(productWriter.writeValueAsBytes(product));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    /**
+     * Finds a product of this node's partition.
+     *
+     * @param id   The ID of the product
+     * @param asOf The point in time to find the product as of, from its history; now if absent
+     * @return The product, 404 if not found, or 501 for a point in time if no history is kept
+     */
+    @GetMapping("/products/{id}")
+    public ResponseEntity<Product> getProduct(@PathVariable UUID id, @RequestParam(required = false) Instant asOf) {
+        if (asOf == null) {
+            return ResponseEntity.of(partitionNode.local().findById(id));
+        }
+        Optional<ProductHistory> history = partitionNode.local().history();
+        if (history.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+        return ResponseEntity.of(history.get().findById(id, asOf));
+    }
+
+    @PostMapping("/products/lookup")
+    public List<Product> lookupProducts(@RequestBody List<UUID> ids) {
+        return partitionNode.local().findAllById(ids);
+    }
+
+    /**
+     * Stores products in this node's partition.
+     *
+     * @param products The products
+     * @param ifAbsent Whether to keep the products already stored, as a hand-off does
+     * @return 204 No Content, or 400 with every violation if a product has no ID or is not valid
+     */
+    @PostMapping("/products")
+    public ResponseEntity<?> saveProducts(@RequestBody List<Product> products,
+                                          @RequestParam(defaultValue = "false") boolean ifAbsent) {
+        List<ValidationErrorResponse.FieldError> errors = validate(products);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ValidationErrorResponse(errors));
+        }
+        List<Product> saved = ifAbsent
+                ? products.stream().filter(product -> !partitionNode.local().existsById(product.id())).toList()
+                : products;
+        partitionNode.local().saveAll(saved);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Stores the products of this node's partition that are still stored as they were read.
+     *
+     * @param save The products as read and the products to store
+     * @return The IDs of the products stored, or 400 with every violation if a product to store
+     * has no ID or is not valid
+     */
+    @PostMapping("/products/conditional")
+    public ResponseEntity<?> saveProductsIfUnchanged(@RequestBody ConditionalSave save) {
+        List<ValidationErrorResponse.FieldError> errors = validate(save.updated());
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ValidationErrorResponse(errors));
+        }
+        return ResponseEntity.ok(partitionNode.local().saveAllIfUnchanged(save.expected(), save.updated()).stream()
+                .map(Product::id)
+                .toList());
+    }
+
+    @DeleteMapping("/products/{id}")
+    public ResponseEntity<Void> deleteProduct(@PathVariable UUID id) {
+        return partitionNode.local().deleteById(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    @PostMapping("/products/delete")
+    public List<UUID> deleteProducts(@RequestBody List<UUID> ids) {
+        return partitionNode.local().deleteAllById(ids);
+    }
+
+    @GetMapping("/nodes")
+    public List<String> getNodes() {
+        return partitionNode.nodes();
+    }
+
+    /**
+     * Changes the node set.
+     *
+     * @param nodes     The URLs of the new node set
+     * @param propagate Whether to switch, rebalance and end the hand-off on every node, or only
+     *                  switch this one
+     * @return The number of products moved
+     */
+    @PutMapping("/nodes")
+    public long updateNodes(@RequestBody List<String> nodes, @RequestParam(defaultValue = "true") boolean propagate) {
+        return partitionNode.updateNodes(nodes, propagate);
+    }
+
+    @PostMapping("/rebalance")
+    public long rebalance() {
+        return partitionNode.rebalance();
+    }
+
+    @DeleteMapping("/previous-nodes")
+    public ResponseEntity<Void> completeHandoff() {
+        partitionNode.completeHandoff();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Body of {@code POST /internal/partition/products/conditional}.
+     *
+     * @param expected The products as the caller read them, by ID
+     * @param updated  The products to store
+     */
+    public record ConditionalSave(Map<UUID, Product> expected, List<Product> updated) {
+    }
+
+    /**
+     * Checks the products with the rules of the product API, which the nodes forwarding them have
+     * already applied, and that they have an ID.
+     */
+    private List<ValidationErrorResponse.FieldError> validate(List<Product> products) {
+        List<ValidationErrorResponse.FieldError> errors = new ArrayList<>();
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            if (product == null) {
+                errors.add(new ValidationErrorResponse.FieldError(i, null, "Product is required"));
+                continue;
+            }
+            if (product.id() == null) {
+                errors.add(new ValidationErrorResponse.FieldError(i, "id", "ID is required"));
+            }
+            productRequestValidator.validate(i, new ProductRequest(product.name(), product.description(),
+                    product.price(), product.stockQuantity()), errors);
+        }
+        return errors;
+    }
+}
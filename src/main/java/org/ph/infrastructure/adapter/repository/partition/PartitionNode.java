@@ -0,0 +1,222 @@
+package org.ph.infrastructure.adapter.repository.partition;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.ph.application.port.out.ProductRepository;
+import org.ph.domain.model.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This instance's place in a partitioned catalog: its own URL, the ring of nodes the catalog is
+ * spread over, and the local repository holding its partition.
+ *
+ * <p>When the node set changes, products move to their new owners. {@link #updateNodes} switches
+ * every node of the old and the new set to the new ring first, so that all of them route writes to
+ * the new owners, then has each node hand off the products it holds but no longer owns, and
+ * finally tells them the hand-off is over. Until then, nodes keep the previous ring, and a product
+ * not found at its new owner is looked up at its previous one. Handed-off products are stored at
+ * the new owner only if it does not hold them yet, so a write made there during the hand-off is
+ * not overwritten by the older copy.
+ *
+ * <p>On startup, a node also hands off whatever its repository holds that it does not own, which
+ * covers a persistent store restarted with a different node list. Moved products are counted in
+ * {@code acme.partition.moved}.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "acme.repository.partition.enabled", havingValue = "true")
+public class PartitionNode implements ApplicationRunner {
+
+    /**
+     * The ring products are routed by, and while a hand-off runs, the ring before it.
+     *
+     * @param ring     The current ring
+     * @param previous The previous ring, or null once every node has rebalanced
+     */
+    record Membership(PartitionRing ring, PartitionRing previous) {
+    }
+
+    private final String self;
+    private final int virtualNodes;
+    private final int batchSize;
+    private final PartitionClient client;
+    private final Counter moved;
+    private final Object rebalanceLock = new Object();
+
+    private volatile Membership membership;
+    private volatile ProductRepository local;
+
+    @Autowired
+    public PartitionNode(ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${acme.repository.partition.self:}") String self,
+                         @Value("${acme.repository.partition.nodes:}") List<String> nodes,
+                         @Value("${acme.repository.partition.virtual-nodes:128}") int virtualNodes,
+                         @Value("${acme.repository.partition.request-timeout:PT5S}") Duration requestTimeout,
+                         @Value("${acme.repository.partition.batch-size:1000}") int batchSize,
+                         @Value("${acme.repository.partition.secret:}") String secret) {
+        this(self, nodes, virtualNodes, batchSize, new PartitionClient(objectMapper, requestTimeout, secret),
+                meterRegistry);
+    }
+
+    PartitionNode(String self, List<String> nodes, int virtualNodes, int batchSize, PartitionClient client,
+                  MeterRegistry meterRegistry) {
+        if (self.isBlank()) {
+            throw new IllegalArgumentException("acme.repository.partition.self is required on a partitioned node");
+        }
+        this.self = normalize(self);
+        this.virtualNodes = virtualNodes;
+        this.batchSize = batchSize;
+        this.client = client;
+        this.membership = new Membership(new PartitionRing(normalize(nodes), virtualNodes), null);
+        this.moved = meterRegistry.counter("acme.partition.moved");
+    }
+
+    /**
+     * Makes a repository the store of this node's partition.
+     *
+     * @param local The repository holding the products this node owns
+     * @return The repository routing every product to its owner
+     */
+    PartitionedProductRepository attach(ProductRepository local) {
+        this.local = local;
+        return new PartitionedProductRepository(local, this);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            rebalance();
+        } catch (PartitionUnavailableException e) {
+            log.warn("Could not hand off the products this node no longer owns: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Changes the node set. With {@code propagate}, switches every node of the old and the new set,
+     * rebalances them and ends the hand-off; otherwise only switches this node, as one step of that.
+     *
+     * @param nodes     The URLs of the new node set
+     * @param propagate Whether to coordinate the change across the nodes
+     * @return The number of products moved, 0 without {@code propagate}
+     */
+    public long updateNodes(List<String> nodes, boolean propagate) {
+        List<String> next = normalize(nodes);
+        if (!propagate) {
+            switchTo(next);
+            return 0;
+        }
+        synchronized (rebalanceLock) {
+            Set<String> others = new LinkedHashSet<>(membership.ring().nodes());
+            others.addAll(next);
+            others.remove(self);
+            for (String node : others) {
+                client.setNodes(node, next);
+            }
+            switchTo(next);
+            long count = rebalance();
+            for (String node : others) {
+                count += client.rebalance(node);
+            }
+            for (String node : others) {
+                client.completeHandoff(node);
+            }
+            completeHandoff();
+            return count;
+        }
+    }
+
+    /**
+     * Hands off the products in the local repository that belong to other nodes.
+     *
+     * @return The number of products moved
+     */
+    public long rebalance() {
+        synchronized (rebalanceLock) {
+            PartitionRing ring = membership.ring();
+            Map<String, List<Product>> handoffs = new LinkedHashMap<>();
+            for (Product product : local.findAll()) {
+                String owner = ring.ownerOf(product.id());
+                if (!owner.equals(self)) {
+                    handoffs.computeIfAbsent(owner, key -> new ArrayList<>()).add(product);
+                }
+            }
+            long count = 0;
+            for (Map.Entry<String, List<Product>> handoff : handoffs.entrySet()) {
+                List<Product> products = handoff.getValue();
+                for (int from = 0; from < products.size(); from += batchSize) {
+                    List<Product> batch = products.subList(from, Math.min(products.size(), from + batchSize));
+                    PartitionClient.join(client.saveAll(handoff.getKey(), batch, true));
+                    local.deleteAllById(batch.stream().map(Product::id).toList());
+                    count += batch.size();
+                    moved.increment(batch.size());
+                }
+            }
+            if (count > 0) {
+                log.info("Handed off {} products to {}", count, handoffs.keySet());
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Drops the previous ring once every node has rebalanced.
+     */
+    public void completeHandoff() {
+        membership = new Membership(membership.ring(), null);
+    }
+
+    /**
+     * Returns the URLs of the nodes on the ring.
+     *
+     * @return The node URLs
+     */
+    public List<String> nodes() {
+        return membership.ring().nodes();
+    }
+
+    Membership membership() {
+        return membership;
+    }
+
+    boolean isSelf(String node) {
+        return self.equals(node);
+    }
+
+    PartitionClient client() {
+        return client;
+    }
+
+    ProductRepository local() {
+        return local;
+    }
+
+    private void switchTo(List<String> nodes) {
+        Membership current = membership;
+        membership = new Membership(new PartitionRing(nodes, virtualNodes), current.ring());
+        log.info("Partitioned over {} (was {})", nodes, current.ring().nodes());
+    }
+
+    private static List<String> normalize(List<String> nodes) {
+        return nodes.stream().filter(node -> !node.isBlank()).map(PartitionNode::normalize).toList();
+    }
+
+    private static String normalize(String node) {
+        return node.trim().replaceAll("/+$", "");
+    }
+}
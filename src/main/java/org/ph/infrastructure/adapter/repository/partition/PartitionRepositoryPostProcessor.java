@@ -0,0 +1,39 @@
+package org.ph.infrastructure.adapter.repository.partition;
+
+import org.ph.application.port.out.ProductRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the active ProductRepository adapter in a {@link PartitionedProductRepository}, and hands
+ * the adapter to the {@link PartitionNode} as the store of this node's partition.
+ * Ordered last among the repository decorators, so that it is the outermost one and all the others
+ * apply to the local partition: the owner of a product numbers and records every write of it,
+ * whichever node the write came through.
+ */
+@Component
+@ConditionalOnProperty(name = "acme.repository.partition.enabled", havingValue = "true")
+public class PartitionRepositoryPostProcessor implements BeanPostProcessor, Ordered {
+
+    private final ObjectProvider<PartitionNode> partitionNode;
+
+    public PartitionRepositoryPostProcessor(ObjectProvider<PartitionNode> partitionNode) {
+        this.partitionNode = partitionNode;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ProductRepository repository && !(bean instanceof PartitionedProductRepository)) {
+            return partitionNode.getObject().attach(repository);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+}
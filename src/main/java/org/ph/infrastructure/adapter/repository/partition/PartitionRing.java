@@ -0,0 +1,118 @@
+package org.ph.infrastructure.adapter.repository.partition;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Consistent-hash ring that assigns every product ID to one node.
+ *
+ * <p>Each node is placed on a 64-bit ring at {@code virtualNodes} points derived from its URL, and
+ * an ID belongs to the node of the first point at or after the ID's hash, wrapping around. The
+ * points spread every node's share over the whole ring, so the nodes own about equal parts of the
+ * catalog, and adding or removing a node only moves the IDs next to its own points: about one in
+ * {@code n} when going to {@code n} nodes. Every node computes the same ring from the same node
+ * list, in any order, so they all agree on the owners without talking to each other.
+ *
+ * <p>Product IDs are time-ordered, so they are mixed before they are placed on the ring.
+ * Instances are immutable.
+ */
+final class PartitionRing {
+
+    private final List<String> nodes;
+    private final long[] points;
+    private final String[] owners;
+
+    PartitionRing(Collection<String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A partition ring needs at least one node");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("Virtual nodes must be at least 1");
+        }
+        this.nodes = List.copyOf(new LinkedHashSet<>(nodes));
+        List<Point> placed = new ArrayList<>(this.nodes.size() * virtualNodes);
+        for (String node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                placed.add(new Point(position(node + "#" + i), node));
+            }
+        }
+        // Ties, however unlikely, go to the same node on every instance
+        placed.sort(Comparator.comparingLong(Point::position).thenComparing(Point::node));
+        this.points = new long[placed.size()];
+        this.owners = new String[placed.size()];
+        for (int i = 0; i < placed.size(); i++) {
+            points[i] = placed.get(i).position();
+            owners[i] = placed.get(i).node();
+        }
+    }
+
+    /**
+     * Returns the node that owns a product.
+     *
+     * @param id The product ID
+     * @return The URL of the owning node
+     */
+    String ownerOf(UUID id) {
+        int index = Arrays.binarySearch(points, hash(id));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return owners[index == points.length ? 0 : index];
+    }
+
+    /**
+     * Returns the nodes on the ring.
+     *
+     * @return The node URLs, without duplicates, in the order given
+     */
+    List<String> nodes() {
+        return nodes;
+    }
+
+    /**
+     * Checks whether a node is on the ring.
+     *
+     * @param node The node URL
+     * @return true if the node owns part of the ring
+     */
+    boolean contains(String node) {
+        return nodes.contains(node);
+    }
+
+    static long hash(UUID id) {
+        return mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+    }
+
+    /**
+     * The 64-bit finalizer of MurmurHash3, which makes every input bit affect every output bit.
+     */
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static long position(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(digest).getLong();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+
+    private record Point(long position, String node) {
+    }
+}
@@ -0,0 +1,53 @@
+package org.ph.infrastructure.adapter.repository.partition;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Restricts the internal partition API to the other nodes, as it writes to this node's partition
+ * and changes the node set. Requests under {@value PartitionClient#BASE_PATH} must carry the
+ * secret shared by the nodes in the {@value PartitionClient#SECRET_HEADER} header, and are
+ * answered with 401 otherwise. The secret is compared in constant time.
+ */
+@Component
+@ConditionalOnProperty(name = "acme.repository.partition.enabled", havingValue = "true")
+public class PartitionSecretFilter extends OncePerRequestFilter {
+
+    private final byte[] secret;
+
+    public PartitionSecretFilter(@Value("${acme.repository.partition.secret:}") String secret) {
+        if (secret.isBlank()) {
+            throw new IllegalArgumentException("acme.repository.partition.secret is required on a partitioned node");
+        }
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // The decoded and normalized path, which the handler mapping matches as well
+        String path = request.getServletPath() + (request.getPathInfo() == null ? "" : request.getPathInfo());
+        return !path.startsWith(PartitionClient.BASE_PATH + "/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String given = request.getHeader(PartitionClient.SECRET_HEADER);
+        if (given == null || !MessageDigest.isEqual(secret, given.getBytes(StandardCharsets.UTF_8))) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,22 @@
+package org.ph.infrastructure.adapter.repository.partition;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the node owning a partition of the catalog cannot be reached or fails the request
+ * forwarded to it.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Partition unavailable, try again later")
+public class PartitionUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PartitionUnavailableException(String node, String message) {
+        super("Partition node " + node + ": " + message);
+    }
+
+    public PartitionUnavailableException(String node, Throwable cause) {
+        super("Partition node " + node + " unreachable: " + cause, cause);
+    }
+}
@@ -0,0 +1,358 @@
+package org.ph.infrastructure.adapter.repository.partition;
+
+import org.ph.application.port.out.ProductChangeLog;
+import org.ph.application.port.out.ProductHistory;
+import org.ph.application.port.out.ProductRepository;
+import org.ph.domain.model.Product;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * ProductRepository decorator that spreads the catalog over several nodes by product ID.
+ *
+ * <p>Every product belongs to one node of the {@link PartitionNode}'s consistent-hash ring. Calls
+ * for products this node owns go to the local repository, the others are forwarded to their owner.
+ * Batch calls are split by owner and sent to all of them at once, and {@link #findAll} gathers the
+ * partitions of every node in parallel, each streamed as NDJSON, and merges them.
+ *
+ * <p>While a change of the node set is being handed off, a product not found at its owner is
+ * looked up at its previous owner, deletions go to both, and {@code findAll} also gathers from the
+ * nodes that are leaving, keeping the copy of the current owner where both have one.
+ *
+ * <p>The local repository carries the other decorators, so the owner of a product numbers its
+ * writes and keeps its history, whichever node they came through. The change log of this node is
+ * the one of its partition, and lookups as of a point in time are forwarded to the owner.
+ */
+@SuppressWarnings("try")
+public class PartitionedProductRepository implements ProductRepository, ProductHistory, AutoCloseable {
+
+    private final ProductRepository local;
+    private final PartitionNode node;
+
+    public PartitionedProductRepository(ProductRepository local, PartitionNode node) {
+        this.local = local;
+        this.node = node;
+    }
+
+    @Override
+    public Product save(Product product) {
+        String owner = node.membership().ring().ownerOf(product.id());
+        if (node.isSelf(owner)) {
+            return local.save(product);
+        }
+        PartitionClient.join(node.client().saveAll(owner, List.of(product), false));
+        return product;
+    }
+
+    /**
+     * Saves several products, on all of their owners at once.
+     *
+     * @param products The products to save
+     * @return The saved products
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        PartitionRing ring = node.membership().ring();
+        List<CompletableFuture<Void>> forwarded = new ArrayList<>();
+        List<Product> own = List.of();
+        for (Map.Entry<String, List<Product>> partition : groupBy(products, product -> ring.ownerOf(product.id())).entrySet()) {
+            if (node.isSelf(partition.getKey())) {
+                own = partition.getValue();
+            } else {
+                forwarded.add(node.client().saveAll(partition.getKey(), partition.getValue(), false));
+            }
+        }
+        if (!own.isEmpty()) {
+            local.saveAll(own);
+        }
+        forwarded.forEach(PartitionClient::join);
+        return products;
+    }
+
+    /**
+     * Saves the products still stored as they were read, on all of their owners at once; each
+     * owner checks and writes its products. During a hand-off, a product not yet moved to its new
+     * owner is left as it is.
+     *
+     * @param expected The products as the caller read them, by ID
+     * @param updated  The products to save
+     * @return The products saved, in the given order
+     */
+    @Override
+    public List<Product> saveAllIfUnchanged(Map<UUID, Product> expected, List<Product> updated) {
+        PartitionRing ring = node.membership().ring();
+        List<CompletableFuture<List<UUID>>> forwarded = new ArrayList<>();
+        Set<UUID> saved = new HashSet<>();
+        List<Product> own = List.of();
+        for (Map.Entry<String, List<Product>> partition : groupBy(updated, product -> ring.ownerOf(product.id())).entrySet()) {
+            if (node.isSelf(partition.getKey())) {
+                own = partition.getValue();
+            } else {
+                Map<UUID, Product> read = new HashMap<>();
+                for (Product product : partition.getValue()) {
+                    Product expectedProduct = expected.get(product.id());
+                    if (expectedProduct != null) {
+                        read.put(product.id(), expectedProduct);
+                    }
+                }
+                forwarded.add(node.client().saveAllIfUnchanged(partition.getKey(), read, partition.getValue()));
+            }
+        }
+        if (!own.isEmpty()) {
+            local.saveAllIfUnchanged(expected, own).forEach(product -> saved.add(product.id()));
+        }
+        for (CompletableFuture<List<UUID>> partition : forwarded) {
+            saved.addAll(PartitionClient.join(partition));
+        }
+        return updated.stream().filter(product -> saved.contains(product.id())).toList();
+    }
+
+    @Override
+    public Optional<Product> findById(UUID id) {
+        PartitionNode.Membership membership = node.membership();
+        String owner = membership.ring().ownerOf(id);
+        Optional<Product> product = find(owner, id);
+        if (product.isEmpty() && membership.previous() != null) {
+            String previousOwner = membership.previous().ownerOf(id);
+            if (!previousOwner.equals(owner)) {
+                return find(previousOwner, id);
+            }
+        }
+        return product;
+    }
+
+    /**
+     * Finds several products, on all of their owners at once.
+     *
+     * @param ids The IDs of the products to find
+     * @return The products found, in the order of their first ID
+     */
+    @Override
+    public List<Product> findAllById(Collection<UUID> ids) {
+        PartitionNode.Membership membership = node.membership();
+        Map<UUID, Product> found = new HashMap<>();
+        findAllById(groupBy(new LinkedHashSet<>(ids), membership.ring()::ownerOf), found);
+        if (membership.previous() != null) {
+            List<UUID> missing = new ArrayList<>();
+            for (UUID id : ids) {
+                if (!found.containsKey(id) && !membership.previous().ownerOf(id).equals(membership.ring().ownerOf(id))) {
+                    missing.add(id);
+                }
+            }
+            findAllById(groupBy(new LinkedHashSet<>(missing), membership.previous()::ownerOf), found);
+        }
+        List<Product> products = new ArrayList<>(found.size());
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Gathers the products of every node, in parallel.
+     *
+     * @return All products
+     */
+    @Override
+    public List<Product> findAll() {
+        PartitionNode.Membership membership = node.membership();
+        Set<String> nodes = new LinkedHashSet<>(membership.ring().nodes());
+        if (membership.previous() != null) {
+            nodes.addAll(membership.previous().nodes());
+        }
+        Map<String, CompletableFuture<List<Product>>> partitions = new LinkedHashMap<>();
+        for (String other : nodes) {
+            if (!node.isSelf(other)) {
+                partitions.put(other, node.client().findAll(other));
+            }
+        }
+        Map<String, List<Product>> gathered = new LinkedHashMap<>();
+        for (String owner : nodes) {
+            if (node.isSelf(owner)) {
+                gathered.put(owner, local.findAll());
+            }
+        }
+        partitions.forEach((owner, partition) -> gathered.put(owner, PartitionClient.join(partition)));
+
+        if (membership.previous() == null) {
+            List<Product> products = new ArrayList<>();
+            gathered.values().forEach(products::addAll);
+            return products;
+        }
+        Map<UUID, Product> merged = new LinkedHashMap<>();
+        gathered.forEach((owner, products) -> products.forEach(product -> {
+            if (membership.ring().ownerOf(product.id()).equals(owner)) {
+                merged.put(product.id(), product);
+            }
+        }));
+        gathered.values().forEach(products -> products.forEach(product -> merged.putIfAbsent(product.id(), product)));
+        return new ArrayList<>(merged.values());
+    }
+
+    @Override
+    public boolean deleteById(UUID id) {
+        PartitionNode.Membership membership = node.membership();
+        String owner = membership.ring().ownerOf(id);
+        boolean deleted = delete(owner, id);
+        if (membership.previous() != null) {
+            String previousOwner = membership.previous().ownerOf(id);
+            if (!previousOwner.equals(owner)) {
+                deleted |= delete(previousOwner, id);
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Deletes several products, on all of their owners at once.
+     *
+     * @param ids The IDs of the products to delete
+     * @return The IDs of the products that were deleted, in the given order
+     */
+    @Override
+    public List<UUID> deleteAllById(Collection<UUID> ids) {
+        PartitionNode.Membership membership = node.membership();
+        Map<String, List<UUID>> partitions = groupBy(ids, membership.ring()::ownerOf);
+        if (membership.previous() != null) {
+            for (UUID id : ids) {
+                String previousOwner = membership.previous().ownerOf(id);
+                if (!previousOwner.equals(membership.ring().ownerOf(id))) {
+                    partitions.computeIfAbsent(previousOwner, key -> new ArrayList<>()).add(id);
+                }
+            }
+        }
+        List<CompletableFuture<List<UUID>>> forwarded = new ArrayList<>();
+        Set<UUID> deleted = new HashSet<>();
+        List<UUID> own = List.of();
+        for (Map.Entry<String, List<UUID>> partition : partitions.entrySet()) {
+            if (node.isSelf(partition.getKey())) {
+                own = partition.getValue();
+            } else {
+                forwarded.add(node.client().deleteAllById(partition.getKey(), partition.getValue()));
+            }
+        }
+        if (!own.isEmpty()) {
+            deleted.addAll(local.deleteAllById(own));
+        }
+        for (CompletableFuture<List<UUID>> partition : forwarded) {
+            deleted.addAll(PartitionClient.join(partition));
+        }
+        return new LinkedHashSet<>(ids).stream().filter(deleted::contains).toList();
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        PartitionNode.Membership membership = node.membership();
+        String owner = membership.ring().ownerOf(id);
+        if (node.isSelf(owner) && membership.previous() == null) {
+            return local.existsById(id);
+        }
+        return findById(id).isPresent();
+    }
+
+    /**
+     * Finds a product as it was at a point in time, in the history kept by its owner.
+     *
+     * @param id   The ID of the product
+     * @param asOf The point in time
+     * @return The product as it was then, or empty if it did not exist then
+     */
+    @Override
+    public Optional<Product> findById(UUID id, Instant asOf) {
+        PartitionNode.Membership membership = node.membership();
+        String owner = membership.ring().ownerOf(id);
+        Optional<Product> product = find(owner, id, asOf);
+        if (product.isEmpty() && membership.previous() != null) {
+            String previousOwner = membership.previous().ownerOf(id);
+            if (!previousOwner.equals(owner)) {
+                return find(previousOwner, id, asOf);
+            }
+        }
+        return product;
+    }
+
+    /**
+     * Returns the history of the whole catalog, if this node keeps that of its partition; the other
+     * nodes are expected to keep theirs.
+     *
+     * @return This repository, which looks products up in the history of their owner
+     */
+    @Override
+    public Optional<ProductHistory> history() {
+        return local.history().map(history -> this);
+    }
+
+    /**
+     * Returns the change log of this node's partition.
+     *
+     * @return The change log of the local repository, if it numbers its writes
+     */
+    @Override
+    public Optional<ProductChangeLog> changeLog() {
+        return local.changeLog();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (local instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void findAllById(Map<String, List<UUID>> partitions, Map<UUID, Product> found) {
+        List<CompletableFuture<List<Product>>> forwarded = new ArrayList<>();
+        List<UUID> own = List.of();
+        for (Map.Entry<String, List<UUID>> partition : partitions.entrySet()) {
+            if (node.isSelf(partition.getKey())) {
+                own = partition.getValue();
+            } else {
+                forwarded.add(node.client().findAllById(partition.getKey(), partition.getValue()));
+            }
+        }
+        if (!own.isEmpty()) {
+            local.findAllById(own).forEach(product -> found.put(product.id(), product));
+        }
+        for (CompletableFuture<List<Product>> partition : forwarded) {
+            PartitionClient.join(partition).forEach(product -> found.put(product.id(), product));
+        }
+    }
+
+    private Optional<Product> find(String owner, UUID id) {
+        return node.isSelf(owner) ? local.findById(id) : PartitionClient.join(node.client().findById(owner, id));
+    }
+
+    private Optional<Product> find(String owner, UUID id, Instant asOf) {
+        if (node.isSelf(owner)) {
+            return local.history().flatMap(history -> history.findById(id, asOf));
+        }
+        return PartitionClient.join(node.client().findById(owner, id, asOf));
+    }
+
+    private boolean delete(String owner, UUID id) {
+        return node.isSelf(owner) ? local.deleteById(id) : PartitionClient.join(node.client().deleteById(owner, id));
+    }
+
+    private static <T> Map<String, List<T>> groupBy(Collection<T> items, Function<T, String> owner) {
+        Map<String, List<T>> groups = new LinkedHashMap<>();
+        for (T item : items) {
+            groups.computeIfAbsent(owner.apply(item), key -> new ArrayList<>()).add(item);
+        }
+        return groups;
+    }
+}
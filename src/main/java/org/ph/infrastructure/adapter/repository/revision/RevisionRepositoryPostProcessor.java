@@ -0,0 +1,38 @@
+package org.ph.infrastructure.adapter.repository.revision;
+
+import org.ph.application.port.out.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Wraps the active ProductRepository adapter in a {@link RevisionedProductRepository}.
+ * Ordered after the other repository decorators but the partition one, so that it numbers the
+ * writes in the order they reach the store of this node's products.
+ */
+@Component
+public class RevisionRepositoryPostProcessor implements BeanPostProcessor, Ordered {
+
+    private final Duration tombstoneRetention;
+
+    public RevisionRepositoryPostProcessor(
+            @Value("${acme.repository.revisions.tombstone-retention:PT24H}") Duration tombstoneRetention) {
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ProductRepository repository && !(bean instanceof RevisionedProductRepository)) {
+            return new RevisionedProductRepository(repository, tombstoneRetention);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 1;
+    }
+}
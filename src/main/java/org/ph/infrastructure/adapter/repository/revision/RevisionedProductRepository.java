@@ -0,0 +1,415 @@
+package org.ph.infrastructure.adapter.repository.revision;
+
+import org.ph.application.port.out.ProductChangeLog;
+import org.ph.application.port.out.ProductHistory;
+import org.ph.application.port.out.ProductRepository;
+import org.ph.domain.model.Product;
+import org.ph.domain.model.ProductChanges;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * ProductRepository decorator that numbers every write and offers itself as the repository's
+ * {@link ProductChangeLog}.
+ *
+ * <p>Each saved or deleted product gets the next revision of a global sequence. A revision-ordered
+ * index holds one entry per product: the revision of its latest write, so a product written again
+ * moves to the end of the index instead of piling up entries. Whether an entry is an upsert or a
+ * tombstone is decided by looking the product up when the changes are read, which also returns it
+ * in its current state. Tombstones are kept for the configured retention and then compacted away;
+ * a caller whose revision predates a compacted tombstone, or this instance, gets a reset with the
+ * whole catalog instead. A reset is paged like the changes: the IDs of the catalog are sorted once
+ * per reset revision, and each page looks up the next {@code limit} of them. Changes made while the
+ * pages are read are delivered by the changes after the reset revision, which follow them.
+ *
+ * <p>Writes run concurrently, so revisions are published out of order. Readers only see the
+ * revisions below the oldest write still in flight, and never skip a change that is published later.
+ * Callers waiting for a change are woken whenever a write completes.
+ *
+ * <p>The sequence starts at the startup time in microseconds, so it keeps increasing across
+ * restarts; the index itself is in memory and starts empty, and products stored before the
+ * startup are only delivered by resets. Reads are passed straight through.
+ */
+@SuppressWarnings("try")
+public class RevisionedProductRepository implements ProductRepository, ProductChangeLog, AutoCloseable {
+
+    private final ProductRepository delegate;
+    private final long retentionNanos;
+    private final LongSupplier nanoClock;
+
+    private final NavigableMap<Long, UUID> index = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Long> latest = new ConcurrentHashMap<>();
+    private final Queue<Tombstone> tombstones = new ConcurrentLinkedQueue<>();
+
+    private final Object revisionLock = new Object();
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+    private long lastRevision;
+    private volatile long floor;
+    private volatile ResetSnapshot resetSnapshot;
+
+    public RevisionedProductRepository(ProductRepository delegate, Duration tombstoneRetention) {
+        this(delegate, tombstoneRetention, System.currentTimeMillis() * 1000, System::nanoTime);
+    }
+
+    RevisionedProductRepository(ProductRepository delegate, Duration tombstoneRetention, long initialRevision,
+                                LongSupplier nanoClock) {
+        this.delegate = delegate;
+        this.retentionNanos = tombstoneRetention.toNanos();
+        this.nanoClock = nanoClock;
+        this.lastRevision = initialRevision;
+        this.floor = initialRevision;
+    }
+
+    /**
+     * Saves a product under the next revision.
+     *
+     * @param product The product to save
+     * @return The saved product
+     */
+    @Override
+    public Product save(Product product) {
+        long revision = begin(1);
+        try {
+            Product saved = delegate.save(product);
+            record(product.id(), revision);
+            return saved;
+        } finally {
+            end(revision);
+        }
+    }
+
+    /**
+     * Saves several products under consecutive revisions, in list order.
+     *
+     * @param products The products to save
+     * @return The saved products
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        if (products.isEmpty()) {
+            return delegate.saveAll(products);
+        }
+        long first = begin(products.size());
+        try {
+            List<Product> saved = delegate.saveAll(products);
+            for (int i = 0; i < products.size(); i++) {
+                record(products.get(i).id(), first + i);
+            }
+            return saved;
+        } finally {
+            end(first);
+        }
+    }
+
+    /**
+     * Saves the products still stored as they were read, each under its revision of a consecutive
+     * range for the whole batch; the revisions of the products left as they are go unused.
+     *
+     * @param expected The products as the caller read them, by ID
+     * @param updated  The products to save
+     * @return The products saved
+     */
+    @Override
+    public List<Product> saveAllIfUnchanged(Map<UUID, Product> expected, List<Product> updated) {
+        if (updated.isEmpty()) {
+            return delegate.saveAllIfUnchanged(expected, updated);
+        }
+        long first = begin(updated.size());
+        try {
+            List<Product> saved = delegate.saveAllIfUnchanged(expected, updated);
+            Set<UUID> savedIds = new HashSet<>();
+            for (Product product : saved) {
+                savedIds.add(product.id());
+            }
+            for (int i = 0; i < updated.size(); i++) {
+                if (savedIds.contains(updated.get(i).id())) {
+                    record(updated.get(i).id(), first + i);
+                }
+            }
+            return saved;
+        } finally {
+            end(first);
+        }
+    }
+
+    @Override
+    public Optional<Product> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+
+    @Override
+    public List<Product> findAllById(Collection<UUID> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * Deletes a product under the next revision, leaving a tombstone for the retention period.
+     *
+     * @param id The ID of the product to delete
+     * @return true if the product was deleted, false if it was not found
+     */
+    @Override
+    public boolean deleteById(UUID id) {
+        long revision = begin(1);
+        boolean deleted;
+        try {
+            deleted = delegate.deleteById(id);
+            if (deleted) {
+                record(id, revision);
+                tombstones.add(new Tombstone(revision, id, nanoClock.getAsLong()));
+            }
+        } finally {
+            end(revision);
+        }
+        compact();
+        return deleted;
+    }
+
+    /**
+     * Deletes several products under consecutive revisions, leaving a tombstone for each.
+     *
+     * @param ids The IDs of the products to delete
+     * @return The IDs of the products that were deleted
+     */
+    @Override
+    public List<UUID> deleteAllById(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        long first = begin(ids.size());
+        List<UUID> deleted;
+        try {
+            deleted = delegate.deleteAllById(ids);
+            long now = nanoClock.getAsLong();
+            for (int i = 0; i < deleted.size(); i++) {
+                record(deleted.get(i), first + i);
+                tombstones.add(new Tombstone(first + i, deleted.get(i), now));
+            }
+        } finally {
+            end(first);
+        }
+        compact();
+        return deleted;
+    }
+
+    @Override
+    public boolean existsById(UUID id) {
+        return delegate.existsById(id);
+    }
+
+    @Override
+    public Optional<ProductHistory> history() {
+        return delegate.history();
+    }
+
+    @Override
+    public Optional<ProductChangeLog> changeLog() {
+        return Optional.of(this);
+    }
+
+    /**
+     * Lists the changes after a revision from the index, or a page of the whole catalog if the
+     * index no longer covers that revision or a reset is being paged.
+     *
+     * @param revision The revision the caller is current at
+     * @param after    The cursor of the last reset page received, or null
+     * @param limit    The maximum number of changes to return
+     * @return The changes after the revision, oldest first, or the next page of a reset
+     */
+    @Override
+    public ProductChanges changesSince(long revision, UUID after, int limit) {
+        compact();
+        long stable = stableRevision();
+        if (revision < floor || revision > stable) {
+            return resetPage(stable, null, limit);
+        }
+        if (after != null) {
+            return resetPage(revision, after, limit);
+        }
+
+        List<Product> upserts = new ArrayList<>();
+        List<UUID> deletions = new ArrayList<>();
+        long last = revision;
+        int count = 0;
+        for (Map.Entry<Long, UUID> entry : index.subMap(revision, false, stable, true).entrySet()) {
+            if (count == limit) {
+                return new ProductChanges(last, false, true, upserts, deletions, null);
+            }
+            Optional<Product> product = delegate.findById(entry.getValue());
+            if (product.isPresent()) {
+                upserts.add(product.get());
+            } else {
+                deletions.add(entry.getValue());
+            }
+            last = entry.getKey();
+            count++;
+        }
+        return new ProductChanges(stable, false, false, upserts, deletions, null);
+    }
+
+    /**
+     * Waits until the stable revision passes the given one.
+     *
+     * @param revision      The revision the caller is current at
+     * @param timeoutMillis The longest time to wait, in milliseconds
+     * @return true if there are changes after the revision, false if the time ran out
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    @Override
+    public boolean awaitChangesAfter(long revision, long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        synchronized (revisionLock) {
+            while (stableRevision() <= revision) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                revisionLock.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Returns a page of the whole catalog as of a revision, ordered by ID.
+     *
+     * @param revision The revision the reset brings the caller to
+     * @param after    The last ID of the previous page, or null for the first page
+     * @param limit    The maximum number of products to return
+     * @return The page, carrying the cursor to the next one if there is more
+     */
+    private ProductChanges resetPage(long revision, UUID after, int limit) {
+        ResetSnapshot snapshot = resetSnapshot;
+        if (snapshot == null || snapshot.revision != revision) {
+            List<Product> products = delegate.findAll();
+            UUID[] ids = new UUID[products.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = products.get(i).id();
+            }
+            Arrays.sort(ids);
+            snapshot = new ResetSnapshot(revision, ids);
+            resetSnapshot = snapshot;
+        }
+        UUID[] ids = snapshot.ids;
+        int from = 0;
+        if (after != null) {
+            int position = Arrays.binarySearch(ids, after);
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+        int to = Math.min(from + limit, ids.length);
+        List<Product> upserts = delegate.findAllById(Arrays.asList(ids).subList(from, to));
+        boolean more = to < ids.length;
+        return new ProductChanges(revision, after == null, more || stableRevision() > revision, upserts, List.of(),
+                more ? ids[to - 1] : null);
+    }
+
+    /**
+     * Returns the highest revision below every write still in flight.
+     *
+     * @return The revision up to which the index is complete
+     */
+    long stableRevision() {
+        synchronized (revisionLock) {
+            return inFlight.isEmpty() ? lastRevision : inFlight.first() - 1;
+        }
+    }
+
+    /**
+     * Returns the number of entries in the index, tombstones included.
+     *
+     * @return The index size
+     */
+    int indexSize() {
+        return index.size();
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private long begin(int count) {
+        synchronized (revisionLock) {
+            long first = lastRevision + 1;
+            lastRevision += count;
+            inFlight.add(first);
+            return first;
+        }
+    }
+
+    private void end(long first) {
+        synchronized (revisionLock) {
+            inFlight.remove(first);
+            revisionLock.notifyAll();
+        }
+    }
+
+    private void record(UUID id, long revision) {
+        latest.compute(id, (key, previous) -> {
+            if (previous != null && previous > revision) {
+                return previous;
+            }
+            if (previous != null) {
+                index.remove(previous);
+            }
+            index.put(revision, id);
+            return revision;
+        });
+    }
+
+    /**
+     * Drops the tombstones past their retention and raises the floor above them.
+     */
+    private void compact() {
+        Tombstone head = tombstones.peek();
+        if (head == null || nanoClock.getAsLong() - head.deletedAt < retentionNanos) {
+            return;
+        }
+        synchronized (tombstones) {
+            long now = nanoClock.getAsLong();
+            while ((head = tombstones.peek()) != null && now - head.deletedAt >= retentionNanos) {
+                Tombstone tombstone = tombstones.poll();
+                // A product saved again since its deletion has a newer entry, which stays
+                if (latest.remove(tombstone.id, tombstone.revision)) {
+                    index.remove(tombstone.revision);
+                    floor = Math.max(floor, tombstone.revision);
+                }
+            }
+        }
+    }
+
+    private record Tombstone(long revision, UUID id, long deletedAt) {
+    }
+
+    /**
+     * The sorted IDs of the catalog when a reset to a revision started; later pages of that reset
+     * are read from it.
+     */
+    private record ResetSnapshot(long revision, UUID[] ids) {
+    }
+}
@@ -0,0 +1,197 @@
+package org.ph.infrastructure.adapter.repository.singleflight;
+
+import org.ph.application.port.out.ProductRepository;
+import org.ph.domain.model.Product;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ProductRepository decorator that coalesces concurrent lookups of the same product.
+ *
+ * <p>The first {@code findById} for an ID loads it from the backing adapter; callers asking
+ * for the same ID while that load is in flight wait for it and share its result instead of
+ * issuing their own. Nothing is cached: once the load completes, the next caller starts a
+ * new one. A write of an ID detaches the load in flight for it, so a lookup that starts
+ * after the write has returned never receives a value read before it.
+ *
+ * <p>All other operations are passed straight through.
+ */
+@SuppressWarnings("try")
+public class SingleFlightProductRepository implements ProductRepository, AutoCloseable {
+
+    private final ProductRepository delegate;
+    private final Map<UUID, CompletableFuture<Optional<Product>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder backendLoads = new LongAdder();
+    private final LongAdder sharedLoads = new LongAdder();
+
+    public SingleFlightProductRepository(ProductRepository delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Saves a product and detaches any lookup of it that is in flight.
+     *
+     * @param product The product to save
+     * @return The saved product
+     */
+    @Override
+    public Product save(Product product) {
+        Product saved = delegate.save(product);
+        inFlight.remove(product.id());
+        return saved;
+    }
+
+    /**
+     * Saves several products and detaches any lookups of them that are in flight.
+     *
+     * @param products The products to save
+     * @return The saved products
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        List<Product> saved = delegate.saveAll(products);
+        for (Product product : products) {
+            inFlight.remove(product.id());
+        }
+        return saved;
+    }
+
+    /**
+     * Saves the products still stored as they were read, and detaches any lookups of them that
+     * are in flight.
+     *
+     * @param expected The products as the caller read them, by ID
+     * @param updated  The products to save
+     * @return The products saved
+     */
+    @Override
+    public List<Product> saveAllIfUnchanged(Map<UUID, Product> expected, List<Product> updated) {
+        List<Product> saved = delegate.saveAllIfUnchanged(expected, updated);
+        for (Product product : saved) {
+            inFlight.remove(product.id());
+        }
+        return saved;
+    }
+
+    /**
+     * Finds a product by its ID, joining a lookup of the same ID that is already in flight.
+     *
+     * @param id The ID of the product to find
+     * @return An Optional containing the product if found, or empty if not found
+     */
+    @Override
+    public Optional<Product> findById(UUID id) {
+        CompletableFuture<Optional<Product>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<Product>> existing = inFlight.putIfAbsent(id, load);
+        if (existing != null) {
+            sharedLoads.increment();
+            return join(existing);
+        }
+        backendLoads.increment();
+        Optional<Product> product;
+        try {
+            product = delegate.findById(id);
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(id, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+        // Detach before completing, so that no caller arriving later joins a finished load
+        inFlight.remove(id, load);
+        load.complete(product);
+        return product;
+    }
+
+    /**
+     * Finds several products with one call to the backing adapter, which already spares it
+     * the per-product calls that single-flight would otherwise merge.
+     *
+     * @param ids The IDs of the products to find
+     * @return The products found, in the order of their first ID
+     */
+    @Override
+    public List<Product> findAllById(Collection<UUID> ids) {
+        return delegate.findAllById(ids);
+    }
+
+    /**
+     * Finds all products in the repository.
+     *
+     * @return A list of all products
+     */
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * Deletes a product by its ID and detaches any lookup of it that is in flight.
+     *
+     * @param id The ID of the product to delete
+     * @return true if the product was deleted, false if it was not found
+     */
+    @Override
+    public boolean deleteById(UUID id) {
+        boolean deleted = delegate.deleteById(id);
+        inFlight.remove(id);
+        return deleted;
+    }
+
+    /**
+     * Checks if a product with the given ID exists.
+     *
+     * @param id The ID to check
+     * @return true if a product with the ID exists, false otherwise
+     */
+    @Override
+    public boolean existsById(UUID id) {
+        return delegate.existsById(id);
+    }
+
+    /**
+     * @return The number of lookups that went to the backing adapter
+     */
+    public long backendLoads() {
+        return backendLoads.sum();
+    }
+
+    /**
+     * @return The number of lookups answered by joining a load already in flight
+     */
+    public long sharedLoads() {
+        return sharedLoads.sum();
+    }
+
+    /**
+     * Closes the backing adapter if it is closeable.
+     */
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static Optional<Product> join(CompletableFuture<Optional<Product>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            // Rethrow the loader's own exception so callers see the same failure either way
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.ph.infrastructure.adapter.repository.singleflight;
+
+import org.ph.application.port.out.ProductRepository;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wraps the active ProductRepository adapter in a {@link SingleFlightProductRepository}.
+ * Ordered first among the repository decorators, so that it sits directly in front of the
+ * adapter and only coalesces the lookups that actually reach it.
+ */
+@Component
+@ConditionalOnProperty(name = "acme.repository.single-flight.enabled", havingValue = "true")
+public class SingleFlightRepositoryPostProcessor implements BeanPostProcessor, Ordered {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ProductRepository repository && !(bean instanceof SingleFlightProductRepository)) {
+            return new SingleFlightProductRepository(repository);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+}
@@ -0,0 +1,483 @@
+package org.ph.infrastructure.adapter.repository.writebehind;
+
+import lombok.extern.slf4j.Slf4j;
+import org.ph.application.port.out.ProductRepository;
+import org.ph.domain.model.Product;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+/**
+ * ProductRepository decorator that acknowledges writes before they reach the backing adapter.
+ *
+ * <p>Every mutation is recorded in an in-memory view of pending changes and is visible to
+ * reads immediately. A single flusher thread drains the changed IDs in batches: upserts go
+ * to the backend as one {@code saveAll}, deletes one by one. Each ID is pending at most
+ * once, so repeated updates of a hot product between two flushes coalesce into a single
+ * backend write of the latest version.
+ *
+ * <p>The number of pending IDs is bounded. When the backend falls behind, writers of new
+ * IDs wait up to the offer timeout for room and then fail with
+ * {@link WriteBehindQueueFullException}, instead of buffering without limit. A failed
+ * batch stays pending and is retried. {@link #close()} stops accepting writes and returns
+ * once everything pending has been written, or once the shutdown timeout has elapsed while the
+ * backend keeps failing; the changes then given up on are logged. The flusher is never
+ * interrupted, as an interrupt inside a backend call can leave the backend unusable (a
+ * {@code FileChannel} interrupted mid-write is closed for good).
+ *
+ * <p>Reads are weakly consistent: {@code findAll} overlays the pending view on the
+ * backend's result, so a product updated while the call runs may appear in either version.
+ * Conditional writes, deletes included, are atomic per product; they read the backend before
+ * taking the view's lock for the product, never while holding it.
+ */
+@Slf4j
+@SuppressWarnings("try")
+public class WriteBehindProductRepository implements ProductRepository, AutoCloseable {
+
+    private static final long RETRY_BACKOFF_MILLIS = 100;
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final int LOGGED_IDS = 10;
+    private static final int REMOVAL_STRIPES = 1024;
+
+    private final ProductRepository delegate;
+    private final int capacity;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+    private final Map<UUID, Pending> pending = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<UUID> dirty = new LinkedBlockingQueue<>();
+    private final Semaphore permits;
+    // Changes that left the view, by stripe of their ID, so that a backend read can be validated
+    private final AtomicLongArray removals = new AtomicLongArray(REMOVAL_STRIPES);
+    private final Object flushed = new Object();
+    private final Thread flusher;
+    private volatile boolean closed;
+    private volatile long drainDeadline;
+
+    /**
+     * @param delegate        The slow adapter that receives the writes
+     * @param capacity        The maximum number of distinct pending IDs
+     * @param batchSize       The maximum number of IDs written per backend call
+     * @param offerTimeout    How long a writer waits for room when the buffer is full
+     * @param shutdownTimeout How long {@link #close()} keeps trying to write what is pending
+     */
+    public WriteBehindProductRepository(ProductRepository delegate, int capacity, int batchSize,
+                                        Duration offerTimeout, Duration shutdownTimeout) {
+        this.delegate = delegate;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+        this.permits = new Semaphore(capacity);
+        this.flusher = new Thread(this::runFlusher, "write-behind-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Records the product and returns without waiting for the backend.
+     *
+     * @param product The product to save
+     * @return The saved product
+     */
+    @Override
+    public Product save(Product product) {
+        record(product.id(), new Pending(product));
+        return product;
+    }
+
+    /**
+     * Records the products and returns without waiting for the backend.
+     *
+     * @param products The products to save
+     * @return The saved products
+     */
+    @Override
+    public List<Product> saveAll(List<Product> products) {
+        for (Product product : products) {
+            record(product.id(), new Pending(product));
+        }
+        return products;
+    }
+
+    /**
+     * Records the products whose latest version, pending or in the backend, is still the one the
+     * caller read. Each product is checked and recorded atomically with other writes of it.
+     *
+     * @param expected The products as the caller read them, by ID
+     * @param updated  The products to save
+     * @return The products saved
+     */
+    @Override
+    public List<Product> saveAllIfUnchanged(Map<UUID, Product> expected, List<Product> updated) {
+        List<Product> saved = new ArrayList<>(updated.size());
+        for (Product product : updated) {
+            Product read = expected.get(product.id());
+            if (read != null && recordIf(product.id(), new Pending(product), read::equals)) {
+                saved.add(product);
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Finds a product by its ID, preferring a pending change over the backend.
+     *
+     * @param id The ID of the product to find
+     * @return An Optional containing the product if found, or empty if not found
+     */
+    @Override
+    public Optional<Product> findById(UUID id) {
+        // Pending first: a change leaves the view only after the backend has it
+        Pending change = pending.get(id);
+        if (change != null) {
+            return Optional.ofNullable(change.product);
+        }
+        return delegate.findById(id);
+    }
+
+    /**
+     * Finds several products, preferring pending changes and looking the others up in the
+     * backend as one batch.
+     *
+     * @param ids The IDs of the products to find
+     * @return The products found, in the order of their first ID
+     */
+    @Override
+    public List<Product> findAllById(Collection<UUID> ids) {
+        if (pending.isEmpty()) {
+            return delegate.findAllById(ids);
+        }
+        Map<UUID, Pending> changes = new HashMap<>();
+        List<UUID> unchanged = new ArrayList<>();
+        for (UUID id : ids) {
+            Pending change = pending.get(id);
+            if (change != null) {
+                changes.put(id, change);
+            } else {
+                unchanged.add(id);
+            }
+        }
+        Map<UUID, Product> stored = new HashMap<>();
+        for (Product product : delegate.findAllById(unchanged)) {
+            stored.put(product.id(), product);
+        }
+        List<Product> found = new ArrayList<>();
+        for (UUID id : new LinkedHashSet<>(ids)) {
+            Pending change = changes.get(id);
+            Product product = change != null ? change.product : stored.get(id);
+            if (product != null) {
+                found.add(product);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Finds all products: the backend's products with the pending changes applied.
+     *
+     * @return A list of all products
+     */
+    @Override
+    public List<Product> findAll() {
+        if (pending.isEmpty()) {
+            return delegate.findAll();
+        }
+        Map<UUID, Pending> changes = Map.copyOf(pending);
+        Map<UUID, Product> products = new LinkedHashMap<>();
+        for (Product product : delegate.findAll()) {
+            products.put(product.id(), product);
+        }
+        changes.forEach((id, change) -> {
+            if (change.product == null) {
+                products.remove(id);
+            } else {
+                products.put(id, change.product);
+            }
+        });
+        return new ArrayList<>(products.values());
+    }
+
+    /**
+     * Records the deletion of a product, if it exists. The check and the deletion are atomic, so of
+     * concurrent deletions of one product only one succeeds.
+     *
+     * @param id The ID of the product to delete
+     * @return true if the product was deleted, false if it was not found
+     */
+    @Override
+    public boolean deleteById(UUID id) {
+        return recordIf(id, Pending.DELETED, Objects::nonNull);
+    }
+
+    /**
+     * Checks if a product with the given ID exists, preferring a pending change over the backend.
+     *
+     * @param id The ID to check
+     * @return true if a product with the ID exists, false otherwise
+     */
+    @Override
+    public boolean existsById(UUID id) {
+        Pending change = pending.get(id);
+        if (change != null) {
+            return change.product != null;
+        }
+        return delegate.existsById(id);
+    }
+
+    /**
+     * Blocks until every change recorded before the call has been written to the backend.
+     *
+     * @param timeout The maximum time to wait
+     * @return true if the buffer was drained, false if the timeout elapsed first
+     */
+    public boolean flush(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (flushed) {
+            while (!pending.isEmpty()) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                flushed.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return The number of IDs with changes not yet written to the backend
+     */
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Stops accepting writes, waits until every pending change has reached the backend or the
+     * shutdown timeout has elapsed, and then closes the backend if it is closeable. Changes still
+     * pending by then are lost; their number and the first IDs are logged.
+     */
+    @Override
+    public void close() throws Exception {
+        drainDeadline = System.nanoTime() + shutdownTimeout.toNanos();
+        closed = true;
+        // The flusher sees the flag within IDLE_POLL_MILLIS; a backend call that hangs past the
+        // deadline is left to its daemon thread rather than interrupted
+        flusher.join(shutdownTimeout.toMillis() + RETRY_BACKOFF_MILLIS + IDLE_POLL_MILLIS);
+        if (flusher.isAlive()) {
+            log.error("Write-behind flusher is still waiting for the backend after {}", shutdownTimeout);
+        }
+        if (!pending.isEmpty()) {
+            List<UUID> lost = pending.keySet().stream().limit(LOGGED_IDS).toList();
+            log.error("Write-behind repository closed with {} changes not written to the backend, including {}",
+                    pending.size(), lost);
+        }
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private void record(UUID id, Pending change) {
+        record(id, change, previous -> true);
+    }
+
+    /**
+     * Records a change if the condition holds for the latest version of the product, pending or in
+     * the backend, or null if there is none. The backend is read first, without holding the view's
+     * lock for the ID, and the read is only trusted if no change of an ID in the same stripe has
+     * left the view since: the backend only changes when a pending change is flushed, which happens
+     * before that change leaves the view. Otherwise the backend is read again.
+     *
+     * @return true if the change was recorded
+     */
+    private boolean recordIf(UUID id, Pending change, Predicate<Product> condition) {
+        int stripe = Math.floorMod(id.hashCode(), REMOVAL_STRIPES);
+        while (true) {
+            long stamp = removals.get(stripe);
+            Pending current = pending.get(id);
+            Product latest = current != null ? current.product : delegate.findById(id).orElse(null);
+            if (!condition.test(latest)) {
+                return false;
+            }
+            boolean[] stale = new boolean[1];
+            boolean recorded = record(id, change, previous -> {
+                if (previous != null) {
+                    stale[0] = false;
+                    return condition.test(previous.product);
+                }
+                stale[0] = removals.get(stripe) != stamp;
+                return !stale[0];
+            });
+            if (!stale[0]) {
+                return recorded;
+            }
+        }
+    }
+
+    /**
+     * Records a change if the condition holds for the change pending for the ID, or null if none
+     * is, checked atomically with other changes of the ID. The condition runs inside the view's
+     * lock for the ID, so it must not block.
+     *
+     * @return true if the change was recorded
+     * @throws WriteBehindQueueFullException if a new ID finds no room within the offer timeout
+     */
+    private boolean record(UUID id, Pending change, Predicate<Pending> condition) {
+        if (closed) {
+            throw new IllegalStateException("Write-behind repository is closed");
+        }
+        boolean reserved = !pending.containsKey(id) && reserve();
+        while (true) {
+            boolean permitted = reserved;
+            Outcome[] outcome = new Outcome[1];
+            pending.compute(id, (key, previous) -> {
+                if (previous == null && !permitted) {
+                    outcome[0] = Outcome.NEEDS_ROOM;
+                    return null;
+                }
+                if (!condition.test(previous)) {
+                    outcome[0] = Outcome.SKIPPED;
+                    return previous;
+                }
+                outcome[0] = previous == null ? Outcome.ADDED : Outcome.REPLACED;
+                return change;
+            });
+            if (outcome[0] == Outcome.NEEDS_ROOM) {
+                // The ID was flushed between the check and the update; it now needs a slot after all
+                reserved = reserve();
+                continue;
+            }
+            if (outcome[0] == Outcome.ADDED) {
+                dirty.add(id);
+            } else if (reserved) {
+                permits.release();
+            }
+            return outcome[0] != Outcome.SKIPPED;
+        }
+    }
+
+    private boolean reserve() {
+        try {
+            if (!permits.tryAcquire(offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new WriteBehindQueueFullException(capacity);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WriteBehindQueueFullException(capacity);
+        }
+    }
+
+    private void runFlusher() {
+        List<UUID> ids = new ArrayList<>(batchSize);
+        while (!closed || (!pending.isEmpty() && System.nanoTime() - drainDeadline < 0)) {
+            try {
+                UUID first = dirty.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                ids.add(first);
+                dirty.drainTo(ids, batchSize - 1);
+                if (!writeBatch(ids)) {
+                    Thread.sleep(RETRY_BACKOFF_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                // Only the JVM going down interrupts the flusher
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                ids.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes the latest change of each ID and removes the ones that did not change meanwhile.
+     *
+     * @return false if the backend failed; the IDs are then queued again
+     */
+    private boolean writeBatch(List<UUID> ids) {
+        List<Pending> changes = new ArrayList<>(ids.size());
+        List<Product> upserts = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Pending change = pending.get(id);
+            changes.add(change);
+            if (change.product != null) {
+                upserts.add(change.product);
+            }
+        }
+        try {
+            if (!upserts.isEmpty()) {
+                delegate.saveAll(upserts);
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                if (changes.get(i).product == null) {
+                    delegate.deleteById(ids.get(i));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Write-behind flush of {} products failed, retrying", ids.size(), e);
+            dirty.addAll(ids);
+            return false;
+        }
+        for (int i = 0; i < ids.size(); i++) {
+            UUID id = ids.get(i);
+            // Counted before the removal, so that a backend read made before it is never trusted after it
+            removals.incrementAndGet(Math.floorMod(id.hashCode(), REMOVAL_STRIPES));
+            // Identity comparison: Pending does not override equals
+            if (pending.remove(id, changes.get(i))) {
+                permits.release();
+            } else {
+                dirty.add(id);
+            }
+        }
+        synchronized (flushed) {
+            flushed.notifyAll();
+        }
+        return true;
+    }
+
+    /**
+     * What recording a change did with the view.
+     */
+    private enum Outcome {
+        /** The ID had no pending change and now has this one */
+        ADDED,
+        /** The change replaced the ID's pending change */
+        REPLACED,
+        /** The condition did not hold */
+        SKIPPED,
+        /** The ID left the view since a slot was deemed unnecessary; retried with one */
+        NEEDS_ROOM
+    }
+
+    /**
+     * A pending change: the latest version of a product, or a deletion when the product is null.
+     * Compared by identity, so a newer change for the same ID is never mistaken for a flushed one.
+     */
+    private static final class Pending {
+
+        static final Pending DELETED = new Pending(null);
+
+        private final Product product;
+
+        Pending(Product product) {
+            this.product = product;
+        }
+    }
+}
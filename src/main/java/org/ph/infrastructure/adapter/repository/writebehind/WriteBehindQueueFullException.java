@@ -0,0 +1,18 @@
+package org.ph.infrastructure.adapter.repository.writebehind;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the write-behind buffer stays full for longer than the configured offer timeout,
+ * i.e. the backing store cannot keep up with the write rate.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Too many pending writes, try again later")
+public class WriteBehindQueueFullException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public WriteBehindQueueFullException(int capacity) {
+        super("Write-behind buffer is full (" + capacity + " pending products)");
+    }
+}
@@ -0,0 +1,51 @@
+package org.ph.infrastructure.adapter.repository.writebehind;
+
+import org.ph.application.port.out.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Wraps the active ProductRepository adapter in a {@link WriteBehindProductRepository}, so the
+ * application layer keeps depending on the port alone. Spring closes the decorator on
+ * shutdown, which flushes the buffered writes, for up to the shutdown timeout, and then closes the
+ * adapter.
+ * Ordered after the single-flight decorator and before the revision one.
+ */
+@Component
+@ConditionalOnProperty(name = "acme.repository.write-behind.enabled", havingValue = "true")
+public class WriteBehindRepositoryPostProcessor implements BeanPostProcessor, Ordered {
+
+    private final int capacity;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final Duration shutdownTimeout;
+
+    public WriteBehindRepositoryPostProcessor(
+            @Value("${acme.repository.write-behind.capacity:10000}") int capacity,
+            @Value("${acme.repository.write-behind.batch-size:500}") int batchSize,
+            @Value("${acme.repository.write-behind.offer-timeout:PT1S}") Duration offerTimeout,
+            @Value("${acme.repository.write-behind.shutdown-timeout:PT30S}") Duration shutdownTimeout) {
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.shutdownTimeout = shutdownTimeout;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ProductRepository repository && !(bean instanceof WriteBehindProductRepository)) {
+            return new WriteBehindProductRepository(repository, capacity, batchSize, offerTimeout, shutdownTimeout);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return 1;
+    }
+}
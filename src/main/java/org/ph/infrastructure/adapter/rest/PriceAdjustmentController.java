@@ -0,0 +1,146 @@
+package org.ph.infrastructure.adapter.rest;
+
+import lombok.RequiredArgsConstructor;
+import org.ph.application.port.in.PriceAdjustmentUseCase;
+import org.ph.domain.model.PriceAdjustment;
+import org.ph.domain.model.PriceAdjustmentJob;
+import org.ph.domain.model.ProductSelector;
+import org.ph.infrastructure.adapter.rest.dto.PriceAdjustmentJobResponse;
+import org.ph.infrastructure.adapter.rest.dto.PriceAdjustmentRequest;
+import org.ph.infrastructure.adapter.rest.dto.ValidationErrorResponse;
+import org.ph.infrastructure.adapter.rest.validation.ProductRequestValidator;
+import org.ph.infrastructure.adapter.rest.mapper.PriceAdjustmentMapper;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * REST controller for bulk price adjustments, such as promotions that change the price of many
+ * products at a set time. Jobs run in the background; this controller schedules, reports on and
+ * cancels them.
+ */
+@RestController
+@RequestMapping("/api/products/price-adjustments")
+@RequiredArgsConstructor
+public class PriceAdjustmentController {
+
+    static final int MAX_SCALE = ProductRequestValidator.PRICE_MAX_FRACTION;
+
+    private static final BigDecimal MINUS_HUNDRED = BigDecimal.valueOf(-100);
+
+    private final PriceAdjustmentUseCase priceAdjustmentUseCase;
+    private final PriceAdjustmentMapper priceAdjustmentMapper;
+
+    /**
+     * Schedules a price adjustment. Without {@code runAt}, or with a past one, it starts right away.
+     *
+     * @param request The selector, the adjustment and the start time
+     * @return 202 with the scheduled job and its URL, or 400 with all validation errors
+     */
+    @PostMapping
+    // The wildcard return type hides the response bodies from AOT; a native image needs their hints
+    @RegisterReflectionForBinding({PriceAdjustmentJobResponse.class, ValidationErrorResponse.class})
+    public ResponseEntity<?> scheduleAdjustment(@RequestBody PriceAdjustmentRequest request) {
+        List<ValidationErrorResponse.FieldError> errors = validate(request);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ValidationErrorResponse(errors));
+        }
+
+        ProductSelector selector = priceAdjustmentMapper.toDomain(request.selector());
+        PriceAdjustment adjustment = priceAdjustmentMapper.toDomain(request.adjustment());
+        PriceAdjustmentJob job = priceAdjustmentUseCase.scheduleAdjustment(selector, adjustment, request.runAt());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/products/price-adjustments/" + job.id()))
+                .body(priceAdjustmentMapper.toResponse(job));
+    }
+
+    /**
+     * Retrieves the scheduled, running and recently finished price adjustments.
+     *
+     * @return The jobs, by scheduled time
+     */
+    @GetMapping
+    public ResponseEntity<List<PriceAdjustmentJobResponse>> getAdjustments() {
+        return ResponseEntity.ok(priceAdjustmentUseCase.getAdjustments().stream()
+                .map(priceAdjustmentMapper::toResponse)
+                .toList());
+    }
+
+    /**
+     * Retrieves a price adjustment, with its progress.
+     *
+     * @param id The job ID
+     * @return The job, or 404 if not found
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<PriceAdjustmentJobResponse> getAdjustment(@PathVariable UUID id) {
+        return priceAdjustmentUseCase.getAdjustment(id)
+                .map(job -> ResponseEntity.ok(priceAdjustmentMapper.toResponse(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Cancels a price adjustment. A running job stops after the batches in progress, so its status
+     * only turns {@code CANCELLED} once they are stored.
+     *
+     * @param id The job ID
+     * @return The job after the cancellation, 409 with the job if it had already finished, or 404 if not found
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<PriceAdjustmentJobResponse> cancelAdjustment(@PathVariable UUID id) {
+        PriceAdjustmentJob before = priceAdjustmentUseCase.getAdjustment(id).orElse(null);
+        if (before == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (before.status().isFinished()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(priceAdjustmentMapper.toResponse(before));
+        }
+        return priceAdjustmentUseCase.cancelAdjustment(id)
+                .map(job -> ResponseEntity.ok(priceAdjustmentMapper.toResponse(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    private static List<ValidationErrorResponse.FieldError> validate(PriceAdjustmentRequest request) {
+        List<ValidationErrorResponse.FieldError> errors = new ArrayList<>();
+        PriceAdjustmentRequest.Selector selector = request.selector();
+        if (selector == null || (selector.ids() == null && isBlank(selector.nameContains())
+                && isBlank(selector.descriptionContains()) && selector.minPrice() == null
+                && selector.maxPrice() == null)) {
+            errors.add(new ValidationErrorResponse.FieldError(0, "selector",
+                    "Selector needs IDs or at least one criterion"));
+        } else if (selector.ids() != null && selector.ids().contains(null)) {
+            errors.add(new ValidationErrorResponse.FieldError(0, "selector.ids", "IDs must not be null"));
+        }
+
+        PriceAdjustmentRequest.Adjustment adjustment = request.adjustment();
+        if (adjustment == null || adjustment.kind() == null) {
+            errors.add(new ValidationErrorResponse.FieldError(0, "adjustment.kind",
+                    "Adjustment kind is required"));
+        }
+        if (adjustment == null || adjustment.amount() == null) {
+            errors.add(new ValidationErrorResponse.FieldError(0, "adjustment.amount",
+                    "Adjustment amount is required"));
+        } else if (adjustment.kind() == PriceAdjustment.Kind.PERCENTAGE
+                && adjustment.amount().compareTo(MINUS_HUNDRED) < 0) {
+            errors.add(new ValidationErrorResponse.FieldError(0, "adjustment.amount",
+                    "Percentage must be greater than or equal to -100"));
+        }
+        if (adjustment != null && adjustment.scale() != null
+                && (adjustment.scale() < 0 || adjustment.scale() > MAX_SCALE)) {
+            errors.add(new ValidationErrorResponse.FieldError(0, "adjustment.scale",
+                    "Scale must be between 0 and " + MAX_SCALE));
+        }
+        return errors;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -1,16 +1,29 @@
 package org.ph.infrastructure.adapter.rest;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.ph.application.port.in.ProductUseCase;
 import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.rest.concurrency.ConcurrencyLimits;
+import org.ph.infrastructure.adapter.rest.dto.ProductChangesResponse;
+import org.ph.infrastructure.adapter.rest.dto.ProductLookupResponse;
 import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
 import org.ph.infrastructure.adapter.rest.dto.ProductResponse;
+import org.ph.infrastructure.adapter.rest.dto.ValidationErrorResponse;
+import org.ph.infrastructure.adapter.rest.idempotency.IdempotencyStore;
 import org.ph.infrastructure.adapter.rest.mapper.ProductMapper;
+import org.ph.infrastructure.adapter.rest.ratelimit.ClientIdentifier;
+import org.ph.infrastructure.adapter.rest.ratelimit.RateLimitFilter;
+import org.ph.infrastructure.adapter.rest.validation.ProductRequestValidator;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -18,28 +31,105 @@ import java.util.stream.Collectors;
 /**
  * REST controller for product operations.
  * This controller exposes the API endpoints for CRUD operations on products.
+ *
+ * <p>Never lazily initialized, even with {@code spring.main.lazy-initialization}: creating it
+ * creates the whole request path, down to the repository adapter, before the first request
+ * arrives, and storage problems fail the startup rather than that request.
+ *
+ * <p>Point reads and writes go through the read or the write {@link ConcurrencyLimits}, so that a
+ * slow backend gets fewer calls at once rather than a backlog; calls over the limit are answered
+ * 503. Lists, lookups and changes are left to admission control, which charges them by their size:
+ * their latency, serialization included, grows with the catalog or the request, and under the read
+ * limit it would shrink the limit for point reads.
  */
+@Lazy(false)
 @RestController
 @RequestMapping("/api/products")
 @RequiredArgsConstructor
 public class ProductController {
 
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final int MAX_CHANGES = 10_000;
+    static final int MAX_LOOKUP_IDS = 1_000;
+
     private final ProductUseCase productUseCase;
     private final ProductMapper productMapper;
+    private final ProductRequestValidator productRequestValidator;
+    private final IdempotencyStore idempotencyStore;
+    private final ClientIdentifier clientIdentifier;
+    private final ConcurrencyLimits concurrencyLimits;
 
     /**
      * Creates a new product.
+     * With an {@code Idempotency-Key} header, retries of the same request return the
+     * original response instead of creating the product again. Keys are scoped to the client.
      *
      * @param request The product data
+     * @param idempotencyKey Optional key identifying retries of the same request
+     * @param httpRequest The HTTP request, which identifies the client
      * @return The created product
      */
     @PostMapping
-    public ResponseEntity<ProductResponse> createProduct(@Valid @RequestBody ProductRequest request) {
+    public ResponseEntity<ProductResponse> createProduct(
+            @Valid @RequestBody ProductRequest request,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            HttpServletRequest httpRequest) {
+
+        if (idempotencyKey == null) {
+            return doCreateProduct(request);
+        }
+        return idempotencyStore.execute(clientIdentifier.identify(httpRequest), "create:" + idempotencyKey, request,
+                () -> doCreateProduct(request));
+    }
+
+    private ResponseEntity<ProductResponse> doCreateProduct(ProductRequest request) {
         Product product = productMapper.toDomain(request);
-        Product createdProduct = productUseCase.createProduct(product);
+        Product createdProduct = concurrencyLimits.write(() -> productUseCase.createProduct(product));
         return new ResponseEntity<>(productMapper.toResponse(createdProduct), HttpStatus.CREATED);
     }
 
+    /**
+     * Creates several products in one request.
+     * The whole batch is validated first and every violation is reported at once;
+     * nothing is created unless all products are valid.
+     * Supports the {@code Idempotency-Key} header like {@link #createProduct}.
+     *
+     * @param requests The product data
+     * @param idempotencyKey Optional key identifying retries of the same request
+     * @param httpRequest The HTTP request, which identifies the client
+     * @return The created products, or 400 with all validation errors
+     */
+    @PostMapping("/batch")
+    // The wildcard return type hides the response bodies from AOT; a native image needs their hints
+    @RegisterReflectionForBinding({ProductResponse.class, ValidationErrorResponse.class})
+    public ResponseEntity<?> createProducts(
+            @RequestBody List<ProductRequest> requests,
+            @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            HttpServletRequest httpRequest) {
+
+        if (idempotencyKey == null) {
+            return doCreateProducts(requests);
+        }
+        return idempotencyStore.execute(clientIdentifier.identify(httpRequest), "batch:" + idempotencyKey, requests,
+                () -> doCreateProducts(requests));
+    }
+
+    private ResponseEntity<?> doCreateProducts(List<ProductRequest> requests) {
+        List<ValidationErrorResponse.FieldError> errors = productRequestValidator.validateAll(requests);
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(new ValidationErrorResponse(errors));
+        }
+
+        List<Product> products = new ArrayList<>(requests.size());
+        for (ProductRequest request : requests) {
+            products.add(productMapper.toDomain(request));
+        }
+        List<ProductResponse> createdProducts = concurrencyLimits.write(() -> productUseCase.createProducts(products)).stream()
+                .map(productMapper::toResponse)
+                .collect(Collectors.toList());
+        return new ResponseEntity<>(createdProducts, HttpStatus.CREATED);
+    }
+
     /**
      * Retrieves a product by its ID.
      *
@@ -48,11 +138,53 @@ public class ProductController {
      */
     @GetMapping("/{id}")
     public ResponseEntity<ProductResponse> getProductById(@PathVariable UUID id) {
-        return productUseCase.getProductById(id)
+        return concurrencyLimits.read(() -> productUseCase.getProductById(id))
                 .map(product -> ResponseEntity.ok(productMapper.toResponse(product)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Retrieves a product as it was at a point in time, for audits of past prices.
+     * Requires the product history to be kept ({@code acme.repository.history.enabled}).
+     *
+     * @param id The ID of the product to retrieve
+     * @param asOf The point in time, as an ISO-8601 instant
+     * @return The product with its price and stock quantity at that time, 404 if it did not exist
+     * then, or 501 if no history is kept
+     */
+    @GetMapping(value = "/{id}", params = "asOf")
+    public ResponseEntity<ProductResponse> getProductAsOf(@PathVariable UUID id, @RequestParam Instant asOf) {
+        if (!productUseCase.keepsHistory()) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build();
+        }
+        return concurrencyLimits.read(() -> productUseCase.getProductAsOf(id, asOf))
+                .map(found -> ResponseEntity.ok(productMapper.toResponse(found)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Retrieves several products by ID in one request, for callers that would otherwise fetch
+     * them one by one.
+     *
+     * @param ids The IDs of the products to retrieve, at most {@value #MAX_LOOKUP_IDS}
+     * @return The products found and the IDs not found, or 400 if there are too many IDs or one is null
+     */
+    @PostMapping("/lookup")
+    // The wildcard return type hides the response bodies from AOT; a native image needs their hints
+    @RegisterReflectionForBinding({ProductLookupResponse.class, ValidationErrorResponse.class})
+    public ResponseEntity<?> lookupProducts(@RequestBody List<UUID> ids) {
+        if (ids.size() > MAX_LOOKUP_IDS) {
+            return ResponseEntity.badRequest().body(new ValidationErrorResponse(List.of(new ValidationErrorResponse.FieldError(
+                    0, "ids", "at most " + MAX_LOOKUP_IDS + " IDs can be looked up at once"))));
+        }
+        if (ids.contains(null)) {
+            return ResponseEntity.badRequest().body(new ValidationErrorResponse(List.of(
+                    new ValidationErrorResponse.FieldError(0, "ids", "IDs must not be null"))));
+        }
+        List<Product> found = productUseCase.getProductsByIds(ids);
+        return ResponseEntity.ok(productMapper.toLookupResponse(ids, found));
+    }
+
     /**
      * Retrieves all products.
      *
@@ -66,6 +198,39 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
 
+    /**
+     * Retrieves the changes made to the catalog after a revision.
+     * Clients keep the returned revision and pass it as {@code since} on their next call; while
+     * {@code hasMore} is true they call again right away. Without {@code since}, or when the
+     * revision is too old, the response is a reset: the whole catalog, in pages of {@code limit}
+     * products, each but the last with a {@code cursor} to pass as {@code after}. A reset started
+     * by a revision that is too old is flagged to admission control, which charges it as a list.
+     *
+     * @param since   The revision the client's copy is current at
+     * @param after   The cursor of the previous response, while a reset is paged
+     * @param limit   The maximum number of changes to return, at most {@value #MAX_CHANGES}
+     * @param request The request, flagged when it starts a reset
+     * @return The upserts and deletions after the revision, or 501 if the catalog does not number its writes
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ProductChangesResponse> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(defaultValue = "1000") int limit,
+            HttpServletRequest request) {
+        int clampedLimit = Math.max(1, Math.min(limit, MAX_CHANGES));
+        return productUseCase.getChangesSince(since, after, clampedLimit)
+                .map(changes -> {
+                    if (changes.reset() && after == null) {
+                        request.setAttribute(RateLimitFilter.RESET_ATTRIBUTE, Boolean.TRUE);
+                    }
+                    return changes;
+                })
+                .map(productMapper::toResponse)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).build());
+    }
+
     /**
      * Updates an existing product.
      *
@@ -79,7 +244,7 @@ public class ProductController {
             @Valid @RequestBody ProductRequest request) {
         
         Product product = productMapper.toDomain(request);
-        Product updatedProduct = productUseCase.updateProduct(id, product);
+        Product updatedProduct = concurrencyLimits.write(() -> productUseCase.updateProduct(id, product));
         
         if (updatedProduct == null) {
             return ResponseEntity.notFound().build();
@@ -96,7 +261,7 @@ public class ProductController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteProduct(@PathVariable UUID id) {
-        boolean deleted = productUseCase.deleteProduct(id);
+        boolean deleted = concurrencyLimits.write(() -> productUseCase.deleteProduct(id));
         
         if (!deleted) {
             return ResponseEntity.notFound().build();
@@ -0,0 +1,91 @@
+package org.ph.infrastructure.adapter.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.ph.infrastructure.adapter.rest.dto.ImportEvent;
+import org.ph.infrastructure.adapter.rest.importer.ProductImporter;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * REST controller for bulk imports of products.
+ * Kept apart from {@link ProductController} because it streams: the upload is read and stored
+ * while it arrives, and progress is written back while the upload is still being read.
+ */
+@RestController
+@RequestMapping("/api/products")
+public class ProductImportController {
+
+    static final String NDJSON_VALUE = "application/x-ndjson";
+    static final String CSV_VALUE = "text/csv";
+
+    private static final MediaType CSV = MediaType.parseMediaType(CSV_VALUE);
+
+    private final ProductImporter productImporter;
+    private final ObjectWriter eventWriter;
+
+    public ProductImportController(ProductImporter productImporter, ObjectMapper objectMapper) {
+        this.productImporter = productImporter;
+        this.eventWriter = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Imports products from an NDJSON or CSV upload.
+     * The response is an NDJSON stream of {@link ImportEvent}s: one after each stored chunk, with the
+     * violations found in it, and a final {@code COMPLETED} or {@code FAILED} event with the totals.
+     * A CSV upload without a usable header is rejected with 400 before anything is imported.
+     *
+     * @param request The request carrying the upload
+     * @param response The response the events are streamed to
+     * @throws IOException if the upload cannot be read or the events cannot be written
+     */
+    @PostMapping(path = "/import", consumes = {NDJSON_VALUE, CSV_VALUE}, produces = NDJSON_VALUE)
+    public void importProducts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ProductImporter.Format format = CSV.includes(MediaType.parseMediaType(request.getContentType()))
+                ? ProductImporter.Format.CSV
+                : ProductImporter.Format.NDJSON;
+
+        EventStream events = new EventStream(response);
+        ImportEvent summary = productImporter.importProducts(request.getInputStream(), format, event -> {
+            try {
+                events.write(event);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        events.write(summary);
+    }
+
+    /**
+     * Writes events as NDJSON, flushing each one so clients see progress as it happens.
+     * The response is committed with the first event, so errors found before it still get a 4xx.
+     */
+    private final class EventStream {
+
+        private final HttpServletResponse response;
+        private OutputStream out;
+
+        EventStream(HttpServletResponse response) {
+            this.response = response;
+        }
+
+        void write(ImportEvent event) throws IOException {
+            if (out == null) {
+                response.setContentType(NDJSON_VALUE);
+                out = response.getOutputStream();
+            }
+            out.write(eventWriter.writeValueAsBytes(event));
+            out.write('\n');
+            out.flush();
+        }
+    }
+}
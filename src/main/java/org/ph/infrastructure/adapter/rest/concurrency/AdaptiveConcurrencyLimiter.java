@@ -0,0 +1,210 @@
+package org.ph.infrastructure.adapter.rest.concurrency;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Concurrency limit that adapts to the latency of the calls it admits.
+ *
+ * <p>The limit is adjusted in the manner of TCP Vegas, once per window of calls: the fastest call
+ * seen is taken as the latency of a call that did not queue anywhere, and the average latency of
+ * the window against it tells how many of the admitted calls are queued behind the limit, in the
+ * backend or its connection pool. While fewer than {@code tolerance} times log10 of the limit are,
+ * the limit grows by log10 of itself; once more than twice that many are, it shrinks in proportion
+ * to the slowdown, by up to half per window. A backend that degrades therefore sees fewer calls at
+ * once instead of a growing backlog, and the latency of admitted calls stays bounded. The limit
+ * only grows while it is actually used, so that an idle period does not inflate it, and the
+ * baseline rises slowly towards the fastest recent calls, so that a backend that became slower for
+ * good gets its throughput back. The baseline is never taken below {@code latencyFloor}: a call that
+ * takes well under a microsecond is slowed down relatively more by a context switch than by any
+ * queue, and would otherwise make the limit collapse on a healthy backend. Only calls that return
+ * are measured; a failed call frees its slot without counting towards the latency.
+ *
+ * <p>A call that finds the limit reached waits for a slot for up to {@code maxWait}; when that
+ * passes, or when {@code maxQueued} calls are already waiting, it is rejected with a
+ * {@link ConcurrencyLimitExceededException}. New calls do not overtake waiting ones, but the
+ * waiting calls are not served in any particular order among themselves.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /** Calls averaged into one latency sample */
+    static final int WINDOW_SIZE = 10;
+    /** Windows over which the baseline rises most of the way to a higher latency */
+    private static final int BASELINE_WINDOWS = 600;
+
+    private final String name;
+    private final LimitSettings settings;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+
+    private double estimatedLimit;
+    // Written under the lock, read without it by the metrics
+    private volatile int limit;
+    private volatile int inFlight;
+    private volatile int queued;
+    private volatile long rejected;
+    private double baselineNanos;
+    private long windowNanos;
+    private long windowMinNanos = Long.MAX_VALUE;
+    private int windowCalls;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(String name, LimitSettings settings) {
+        this(name, settings, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, LimitSettings settings, LongSupplier nanoClock) {
+        this.name = name;
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.estimatedLimit = settings.initialLimit();
+        this.limit = settings.initialLimit();
+    }
+
+    /**
+     * Runs a call once a slot is free, and feeds its latency back into the limit.
+     *
+     * @param call The call to run
+     * @param <T>  The type of the call's result
+     * @return The call's result
+     * @throws ConcurrencyLimitExceededException if no slot was freed in time
+     */
+    public <T> T execute(Supplier<T> call) {
+        acquire();
+        long start = nanoClock.getAsLong();
+        T result;
+        try {
+            result = call.get();
+        } catch (Throwable e) {
+            // The latency of a failure, such as a timeout, says nothing about queueing
+            release(-1);
+            throw e;
+        }
+        release(nanoClock.getAsLong() - start);
+        return result;
+    }
+
+    /**
+     * @return The current limit
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * @return The number of calls running
+     */
+    public int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * @return The number of calls waiting for a slot
+     */
+    public int queued() {
+        return queued;
+    }
+
+    /**
+     * @return The number of calls rejected so far
+     */
+    public long rejected() {
+        return rejected;
+    }
+
+    private void acquire() {
+        lock.lock();
+        try {
+            // Calls already waiting go first
+            if (queued == 0 && inFlight < limit) {
+                inFlight++;
+                return;
+            }
+            if (queued >= settings.maxQueued()) {
+                throw reject();
+            }
+            queued++;
+            try {
+                long remaining = settings.maxWait().toNanos();
+                while (inFlight >= limit) {
+                    if (remaining <= 0) {
+                        throw reject();
+                    }
+                    remaining = slotFreed.awaitNanos(remaining);
+                }
+                inFlight++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw reject();
+            } finally {
+                queued--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ConcurrencyLimitExceededException reject() {
+        rejected++;
+        return new ConcurrencyLimitExceededException(name, limit);
+    }
+
+    /**
+     * Frees a slot, and counts the call's latency towards the window unless it is negative.
+     */
+    private void release(long latencyNanos) {
+        lock.lock();
+        try {
+            windowMaxInFlight = Math.max(windowMaxInFlight, inFlight);
+            inFlight--;
+            if (latencyNanos >= 0) {
+                windowNanos += latencyNanos;
+                windowMinNanos = Math.min(windowMinNanos, latencyNanos);
+                windowCalls++;
+            }
+            if (windowCalls == WINDOW_SIZE) {
+                update((double) windowNanos / windowCalls, windowMinNanos);
+                windowNanos = 0;
+                windowMinNanos = Long.MAX_VALUE;
+                windowCalls = 0;
+                windowMaxInFlight = 0;
+            }
+            if (inFlight < limit) {
+                slotFreed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(double recentNanos, long fastestNanos) {
+        // The fastest call of a window is the closest to one that did not queue anywhere
+        if (baselineNanos == 0 || fastestNanos < baselineNanos) {
+            baselineNanos = fastestNanos;
+        } else {
+            baselineNanos += (fastestNanos - baselineNanos) / BASELINE_WINDOWS;
+        }
+
+        // Calls faster than the floor are taken as not queued, however much faster the fastest one was
+        double expectedNanos = Math.max(baselineNanos, settings.latencyFloor().toNanos());
+
+        // The calls queued somewhere behind the limit, going by how much slower than the baseline they are
+        double queued = estimatedLimit * (1 - Math.min(1, expectedNanos / recentNanos));
+        double log = Math.max(1, Math.log10(estimatedLimit));
+        double next;
+        if (queued > settings.tolerance() * 2 * log) {
+            // Shrink in proportion to the slowdown, by up to half
+            next = estimatedLimit * Math.max(0.5, expectedNanos / recentNanos);
+        } else if (queued < settings.tolerance() * log && windowMaxInFlight >= estimatedLimit / 2) {
+            // Only grow a limit that is used, as an unused one says nothing about the backend
+            next = estimatedLimit + log;
+        } else {
+            return;
+        }
+        estimatedLimit = Math.max(settings.minLimit(), Math.min(settings.maxLimit(), next));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,18 @@
+package org.ph.infrastructure.adapter.rest.concurrency;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a call finds its concurrency limit reached and cannot get a slot within the
+ * queue timeout, or finds the queue full, i.e. the application is slower than the request rate.
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Too many concurrent requests, try again later")
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConcurrencyLimitExceededException(String name, int limit) {
+        super("Concurrency limit of " + name + " calls reached (" + limit + ")");
+    }
+}
@@ -0,0 +1,106 @@
+package org.ph.infrastructure.adapter.rest.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * The concurrency limits the REST adapter calls the application through: one for point reads and
+ * one for writes, which have different costs and usually different bottlenecks, so that slow writes
+ * do not hold back reads or the other way round. Calls whose cost grows with their size, such as
+ * lists, are not run through either: their latency says nothing about the point reads'.
+ *
+ * <p>The limits are {@link AdaptiveConcurrencyLimiter}s, off unless {@code acme.concurrency-limit.enabled}
+ * is set: they pay off in front of a store whose calls take long enough to queue, such as the jdbc,
+ * lsm or write-behind ones, not in front of the in-memory map. Without them every call runs right away. Their state is published as the {@code acme.concurrency.limit},
+ * {@code acme.concurrency.in-flight} and {@code acme.concurrency.queued} gauges and the
+ * {@code acme.concurrency.rejected} counter, tagged with the {@code kind} of call.
+ */
+@Component
+public class ConcurrencyLimits {
+
+    private final AdaptiveConcurrencyLimiter reads;
+    private final AdaptiveConcurrencyLimiter writes;
+
+    @Autowired
+    public ConcurrencyLimits(MeterRegistry meterRegistry,
+                             @Value("${acme.concurrency-limit.enabled:false}") boolean enabled,
+                             @Value("${acme.concurrency-limit.read.initial-limit:64}") int readInitialLimit,
+                             @Value("${acme.concurrency-limit.read.max-limit:1000}") int readMaxLimit,
+                             @Value("${acme.concurrency-limit.write.initial-limit:16}") int writeInitialLimit,
+                             @Value("${acme.concurrency-limit.write.max-limit:250}") int writeMaxLimit,
+                             @Value("${acme.concurrency-limit.min-limit:4}") int minLimit,
+                             @Value("${acme.concurrency-limit.tolerance:3}") double tolerance,
+                             @Value("${acme.concurrency-limit.max-queued:100}") int maxQueued,
+                             @Value("${acme.concurrency-limit.max-wait:PT0.05S}") Duration maxWait,
+                             @Value("${acme.concurrency-limit.latency-floor:PT0.001S}") Duration latencyFloor) {
+        this(enabled ? new AdaptiveConcurrencyLimiter("read", new LimitSettings(readInitialLimit, minLimit,
+                        readMaxLimit, tolerance, maxQueued, maxWait, latencyFloor)) : null,
+                enabled ? new AdaptiveConcurrencyLimiter("write", new LimitSettings(writeInitialLimit, minLimit,
+                        writeMaxLimit, tolerance, maxQueued, maxWait, latencyFloor)) : null,
+                meterRegistry);
+    }
+
+    ConcurrencyLimits(AdaptiveConcurrencyLimiter reads, AdaptiveConcurrencyLimiter writes, MeterRegistry meterRegistry) {
+        this.reads = reads;
+        this.writes = writes;
+        register(meterRegistry, "read", reads);
+        register(meterRegistry, "write", writes);
+    }
+
+    /**
+     * Creates limits that run every call right away, for tests and benchmarks.
+     *
+     * @return Limits that never queue or reject a call
+     */
+    public static ConcurrencyLimits unlimited() {
+        return new ConcurrencyLimits(null, null, null);
+    }
+
+    /**
+     * Runs a call that only reads a product, within the read limit.
+     *
+     * @param call The call to run
+     * @param <T>  The type of the call's result
+     * @return The call's result
+     * @throws ConcurrencyLimitExceededException if the read limit stays reached
+     */
+    public <T> T read(Supplier<T> call) {
+        return execute(reads, call);
+    }
+
+    /**
+     * Runs a call that changes the catalog, within the write limit.
+     *
+     * @param call The call to run
+     * @param <T>  The type of the call's result
+     * @return The call's result
+     * @throws ConcurrencyLimitExceededException if the write limit stays reached
+     */
+    public <T> T write(Supplier<T> call) {
+        return execute(writes, call);
+    }
+
+    private static <T> T execute(AdaptiveConcurrencyLimiter limiter, Supplier<T> call) {
+        return limiter == null ? call.get() : limiter.execute(call);
+    }
+
+    private static void register(MeterRegistry meterRegistry, String kind, AdaptiveConcurrencyLimiter limiter) {
+        if (limiter == null) {
+            return;
+        }
+        Tags tags = Tags.of("kind", kind);
+        meterRegistry.gauge("acme.concurrency.limit", tags, limiter, AdaptiveConcurrencyLimiter::limit);
+        meterRegistry.gauge("acme.concurrency.in-flight", tags, limiter, AdaptiveConcurrencyLimiter::inFlight);
+        meterRegistry.gauge("acme.concurrency.queued", tags, limiter, AdaptiveConcurrencyLimiter::queued);
+        FunctionCounter.builder("acme.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::rejected)
+                .tags(tags)
+                .register(meterRegistry);
+    }
+}
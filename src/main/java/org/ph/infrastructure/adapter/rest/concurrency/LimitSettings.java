@@ -0,0 +1,29 @@
+package org.ph.infrastructure.adapter.rest.concurrency;
+
+import java.time.Duration;
+
+/**
+ * Tuning knobs of an {@link AdaptiveConcurrencyLimiter}.
+ *
+ * @param initialLimit The limit before any latency has been observed
+ * @param minLimit     The lowest the limit goes, however slow calls become
+ * @param maxLimit     The highest the limit goes, however fast calls are
+ * @param tolerance    How many calls may queue behind the limit, in multiples of log10 of the limit; the
+ *                     limit grows below that and shrinks above twice that
+ * @param maxQueued    How many calls may wait for a slot at once; further calls are rejected right away
+ * @param maxWait      How long a call waits for a slot before it is rejected
+ * @param latencyFloor The latency below which calls are taken as not queued at all, so that the
+ *                     scheduling jitter of calls far faster than it never shrinks the limit
+ */
+public record LimitSettings(int initialLimit, int minLimit, int maxLimit, double tolerance, int maxQueued,
+                            Duration maxWait, Duration latencyFloor) {
+
+    public LimitSettings {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        if (tolerance <= 0) {
+            throw new IllegalArgumentException("Tolerance must be positive");
+        }
+    }
+}
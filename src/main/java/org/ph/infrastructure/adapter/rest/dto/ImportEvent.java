@@ -0,0 +1,27 @@
+package org.ph.infrastructure.adapter.rest.dto;
+
+import java.util.List;
+
+/**
+ * DTO for one line of the NDJSON progress stream returned by the product import.
+ * Counts are cumulative; the last event of a stream is {@code COMPLETED} or {@code FAILED}.
+ *
+ * @param status   The state of the import
+ * @param lines    The number of records read so far
+ * @param imported The number of products created so far
+ * @param rejected The number of records rejected so far
+ * @param errors   The violations found since the previous event, indexed by line number; null if none
+ * @param message  Why the import stopped, for {@code FAILED}; otherwise null
+ */
+public record ImportEvent(Status status, long lines, long imported, long rejected,
+                          List<ValidationErrorResponse.FieldError> errors, String message) {
+
+    /**
+     * The state of an import.
+     */
+    public enum Status {
+        IN_PROGRESS,
+        COMPLETED,
+        FAILED
+    }
+}
@@ -0,0 +1,25 @@
+package org.ph.infrastructure.adapter.rest.dto;
+
+import org.ph.domain.model.PriceAdjustmentJob;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * DTO for the state of a bulk price adjustment job.
+ *
+ * @param id         The job ID
+ * @param status     {@code SCHEDULED}, {@code RUNNING}, {@code COMPLETED}, {@code CANCELLED} or {@code FAILED}
+ * @param runAt      When the job is to start
+ * @param startedAt  When the job started; null before
+ * @param finishedAt When the job finished; null before
+ * @param selected   The number of products selected
+ * @param processed  The number of selected products handled so far
+ * @param adjusted   The number of products whose price was changed so far
+ * @param skipped    The number of selected products left unchanged so far
+ * @param message    Why the job failed; null unless {@code FAILED}
+ */
+public record PriceAdjustmentJobResponse(UUID id, PriceAdjustmentJob.Status status, Instant runAt,
+                                         Instant startedAt, Instant finishedAt, long selected, long processed,
+                                         long adjusted, long skipped, String message) {
+}
@@ -0,0 +1,43 @@
+package org.ph.infrastructure.adapter.rest.dto;
+
+import org.ph.domain.model.PriceAdjustment;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for bulk price adjustment requests.
+ *
+ * @param selector   The products to adjust
+ * @param adjustment The price change
+ * @param runAt      When to start; null to start right away
+ */
+public record PriceAdjustmentRequest(Selector selector, Adjustment adjustment, Instant runAt) {
+
+    /**
+     * The products to adjust: the listed ones, or the whole catalog, narrowed by the criteria given.
+     *
+     * @param ids                 The IDs of the products to consider; null for the whole catalog
+     * @param nameContains        Text the name must contain, ignoring case
+     * @param descriptionContains Text the description must contain, ignoring case
+     * @param minPrice            The lowest price selected, inclusive
+     * @param maxPrice            The highest price selected, inclusive
+     */
+    public record Selector(List<UUID> ids, String nameContains, String descriptionContains,
+                           BigDecimal minPrice, BigDecimal maxPrice) {
+    }
+
+    /**
+     * The price change.
+     *
+     * @param kind         {@code PERCENTAGE} or {@code ABSOLUTE}
+     * @param amount       The percentage to change prices by, or the amount to add to them
+     * @param scale        The number of decimals of the new prices; null to keep those of each price
+     * @param roundingMode How new prices are rounded, such as {@code HALF_UP} (the default) or {@code DOWN}
+     */
+    public record Adjustment(PriceAdjustment.Kind kind, BigDecimal amount, Integer scale, RoundingMode roundingMode) {
+    }
+}
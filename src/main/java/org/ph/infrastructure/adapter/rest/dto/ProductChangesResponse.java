@@ -0,0 +1,19 @@
+package org.ph.infrastructure.adapter.rest.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for the changes made to the catalog after a revision.
+ *
+ * @param revision  The revision to pass as {@code since} on the next request
+ * @param reset     True if the upserts are the first page of the whole catalog, which replaces the client's copy
+ * @param hasMore   True if further changes are pending; request again right away
+ * @param upserts   The products created or updated, in their current state
+ * @param deletions The IDs of the products deleted
+ * @param cursor    While the whole catalog is sent in pages, the value to pass as {@code after} on the
+ *                  next request; null otherwise
+ */
+public record ProductChangesResponse(long revision, boolean reset, boolean hasMore,
+                                     List<ProductResponse> upserts, List<UUID> deletions, UUID cursor) {
+}
@@ -0,0 +1,13 @@
+package org.ph.infrastructure.adapter.rest.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO for the result of looking up several products by ID.
+ *
+ * @param products The products found, in the order of their IDs in the request
+ * @param missing  The requested IDs of products that do not exist, in request order
+ */
+public record ProductLookupResponse(List<ProductResponse> products, List<UUID> missing) {
+}
@@ -1,34 +1,37 @@
 package org.ph.infrastructure.adapter.rest.dto;
 
+import jakarta.validation.constraints.Digits;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import lombok.AllArgsConstructor;
+import jakarta.validation.constraints.Size;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 
 /**
  * DTO for product creation and update requests.
- * This class includes validation annotations to ensure the request data is valid.
+ * This record includes validation annotations to ensure the request data is valid.
+ *
+ * @param name          The product name
+ * @param description   The product description
+ * @param price         The product price
+ * @param stockQuantity The quantity in stock
  */
-@Data
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class ProductRequest {
-    
-    @NotBlank(message = "Product name is required")
-    private String name;
-    
-    private String description;
-    
-    @NotNull(message = "Product price is required")
-    @Min(value = 0, message = "Price must be greater than or equal to 0")
-    private BigDecimal price;
-    
-    @Min(value = 0, message = "Stock quantity must be greater than or equal to 0")
-    private int stockQuantity;
-}
\ No newline at end of file
+public record ProductRequest(
+        @NotBlank(message = "Product name is required")
+        @Size(max = 255, message = "Product name must have at most 255 characters")
+        String name,
+
+        @Size(max = 4000, message = "Product description must have at most 4000 characters")
+        String description,
+
+        @NotNull(message = "Product price is required")
+        @Min(value = 0, message = "Price must be greater than or equal to 0")
+        @Digits(integer = 15, fraction = 4, message = "Price must have at most 15 integer digits and 4 decimal places")
+        BigDecimal price,
+
+        @Min(value = 0, message = "Stock quantity must be greater than or equal to 0")
+        int stockQuantity) {
+}
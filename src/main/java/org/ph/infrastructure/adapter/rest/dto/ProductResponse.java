@@ -1,25 +1,20 @@
 package org.ph.infrastructure.adapter.rest.dto;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.util.UUID;
 
 /**
  * DTO for product responses.
- * This class represents the data structure returned by the API.
+ * This record represents the data structure returned by the API.
+ *
+ * @param id            The product ID
+ * @param name          The product name
+ * @param description   The product description
+ * @param price         The product price
+ * @param stockQuantity The quantity in stock
  */
-@Data
 @Builder
-@NoArgsConstructor
-@AllArgsConstructor
-public class ProductResponse {
-    private UUID id;
-    private String name;
-    private String description;
-    private BigDecimal price;
-    private int stockQuantity;
-}
\ No newline at end of file
+public record ProductResponse(UUID id, String name, String description, BigDecimal price, int stockQuantity) {
+}
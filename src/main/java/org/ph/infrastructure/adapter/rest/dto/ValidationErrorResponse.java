@@ -0,0 +1,22 @@
+package org.ph.infrastructure.adapter.rest.dto;
+
+import java.util.List;
+
+/**
+ * DTO for validation failures of batch requests.
+ * Lists every violation found, so clients can fix a whole batch in one round trip.
+ *
+ * @param errors The violations, in request order
+ */
+public record ValidationErrorResponse(List<FieldError> errors) {
+
+    /**
+     * A single constraint violation.
+     *
+     * @param index   The position of the offending item in the batch
+     * @param field   The offending field, or null if the whole item is invalid
+     * @param message The constraint message
+     */
+    public record FieldError(int index, String field, String message) {
+    }
+}
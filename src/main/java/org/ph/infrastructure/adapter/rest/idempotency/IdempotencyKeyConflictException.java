@@ -0,0 +1,17 @@
+package org.ph.infrastructure.adapter.rest.idempotency;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an idempotency key is reused with a different request payload.
+ */
+@ResponseStatus(value = HttpStatus.UNPROCESSABLE_ENTITY, reason = "Idempotency key was already used with a different payload")
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public IdempotencyKeyConflictException(String key) {
+        super("Idempotency key already used with a different payload: " + key);
+    }
+}
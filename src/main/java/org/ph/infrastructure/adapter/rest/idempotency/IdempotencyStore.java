@@ -0,0 +1,173 @@
+package org.ph.infrastructure.adapter.rest.idempotency;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicting table of responses keyed by client-supplied idempotency keys.
+ * Keys are scoped to the client that sent them, so that two clients choosing the same key never
+ * see each other's responses. The first request with a key runs its action and records the
+ * response; retries from the same client with the same key and the same payload get the recorded response back without running the action
+ * again. Concurrent retries wait for the in-flight original instead of racing it. The payload
+ * is kept with the entry and compared in full with {@code equals}, so that a different payload
+ * is never taken for a replay; it costs about as much memory as the recorded response.
+ *
+ * <p>Entries expire after the configured TTL. Because every entry has the same TTL, the
+ * insertion-ordered queue is also the expiry order, so eviction only ever looks at its head.
+ * When the table is full, the oldest completed entries are evicted early to stay within the bound;
+ * entries still in flight are kept, so that a concurrent retry waits for them rather than running
+ * the action a second time, and the table can exceed the bound by the number of requests in flight.
+ */
+@Component
+public class IdempotencyStore {
+
+    /**
+     * Response header set on replayed responses.
+     */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final Queue<Entry> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public IdempotencyStore(@Value("${acme.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${acme.idempotency.max-entries:100000}") int maxEntries) {
+        this(ttl, maxEntries, System::nanoTime);
+    }
+
+    IdempotencyStore(Duration ttl, int maxEntries, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Runs the action once per idempotency key and replays its response afterwards.
+     *
+     * @param client      The client that sent the key, see
+     *                    {@link org.ph.infrastructure.adapter.rest.ratelimit.ClientIdentifier}
+     * @param key         The idempotency key, already scoped to the endpoint
+     * @param fingerprint The request payload, immutable with value-based equals; a replay must
+     *                    carry an equal payload
+     * @param action      The action producing the response for the first request
+     * @param <T>         The response body type
+     * @return The response of the action, or the recorded one on replay
+     * @throws IdempotencyKeyConflictException if the key was used with a different payload
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ResponseEntity<T> execute(String client, String key, Object fingerprint,
+                                         Supplier<ResponseEntity<T>> action) {
+        Key scoped = new Key(client, key);
+        while (true) {
+            long now = nanoClock.getAsLong();
+            evictExpired(now);
+
+            Entry candidate = new Entry(scoped, fingerprint, now + ttlNanos);
+            Entry existing = entries.putIfAbsent(scoped, candidate);
+            if (existing == null) {
+                insertionOrder.add(candidate);
+                evictOverflow();
+                return (ResponseEntity<T>) run(candidate, action);
+            }
+            if (existing.isExpired(now)) {
+                entries.remove(scoped, existing);
+                continue;
+            }
+            if (!Objects.equals(existing.fingerprint, fingerprint)) {
+                throw new IdempotencyKeyConflictException(key);
+            }
+            ResponseEntity<?> recorded = existing.response.join();
+            if (recorded != null) {
+                return (ResponseEntity<T>) replay(recorded);
+            }
+            // The original failed and released the key; retry as a first request.
+        }
+    }
+
+    /**
+     * Number of keys currently held.
+     *
+     * @return The table size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private ResponseEntity<?> run(Entry entry, Supplier<? extends ResponseEntity<?>> action) {
+        try {
+            ResponseEntity<?> response = action.get();
+            entry.response.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            // Failures are not recorded, so that a retry can succeed; waiters see null and retry too.
+            entries.remove(entry.key, entry);
+            entry.response.complete(null);
+            throw e;
+        }
+    }
+
+    private static ResponseEntity<?> replay(ResponseEntity<?> recorded) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(recorded.getHeaders());
+        headers.set(REPLAYED_HEADER, "true");
+        return new ResponseEntity<>(recorded.getBody(), headers, recorded.getStatusCode());
+    }
+
+    private void evictExpired(long now) {
+        Entry head;
+        while ((head = insertionOrder.peek()) != null && head.isExpired(now)) {
+            if (insertionOrder.remove(head)) {
+                entries.remove(head.key, head);
+            }
+        }
+    }
+
+    private void evictOverflow() {
+        Iterator<Entry> oldest = insertionOrder.iterator();
+        while (entries.size() > maxEntries && oldest.hasNext()) {
+            Entry entry = oldest.next();
+            if (entry.response.isDone()) {
+                oldest.remove();
+                entries.remove(entry.key, entry);
+            }
+        }
+    }
+
+    private record Key(String client, String key) {
+    }
+
+    private static final class Entry {
+
+        private final Key key;
+        private final Object fingerprint;
+        private final long expiresAtNanos;
+        private final CompletableFuture<ResponseEntity<?>> response = new CompletableFuture<>();
+
+        Entry(Key key, Object fingerprint, long expiresAtNanos) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
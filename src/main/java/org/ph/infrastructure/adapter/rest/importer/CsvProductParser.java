@@ -0,0 +1,173 @@
+package org.ph.infrastructure.adapter.rest.importer;
+
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.dto.ValidationErrorResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses CSV records (RFC 4180) into {@link ProductRequest}s.
+ * The header names the columns, in any order: {@code name} and {@code price} are required,
+ * {@code description} and {@code stockQuantity} are optional, other columns are ignored.
+ * Fields may be quoted, with {@code ""} for a quote inside a quoted field.
+ * Empty unquoted fields are null.
+ */
+final class CsvProductParser {
+
+    private static final int ABSENT = -1;
+
+    private final int columnCount;
+    private final int nameColumn;
+    private final int descriptionColumn;
+    private final int priceColumn;
+    private final int stockQuantityColumn;
+
+    private CsvProductParser(List<String> header) {
+        this.columnCount = header.size();
+        this.nameColumn = header.indexOf("name");
+        this.descriptionColumn = header.indexOf("description");
+        this.priceColumn = header.indexOf("price");
+        this.stockQuantityColumn = header.indexOf("stockQuantity");
+    }
+
+    /**
+     * Creates a parser for the columns named by a header record.
+     *
+     * @param header The header record
+     * @return The parser
+     * @throws InvalidImportException if the header is malformed or lacks a required column
+     */
+    static CsvProductParser forHeader(String header) {
+        if (header == null) {
+            throw new InvalidImportException("CSV import must start with a header");
+        }
+        if (!header.isEmpty() && header.charAt(0) == '\uFEFF') {
+            header = header.substring(1);
+        }
+        List<String> columns = split(header);
+        if (columns == null) {
+            throw new InvalidImportException("Malformed CSV header");
+        }
+        columns.replaceAll(column -> column == null ? "" : column.trim());
+        CsvProductParser parser = new CsvProductParser(columns);
+        if (parser.nameColumn == ABSENT || parser.priceColumn == ABSENT) {
+            throw new InvalidImportException("CSV header must name the columns name and price, found " + columns);
+        }
+        return parser;
+    }
+
+    /**
+     * Parses one record.
+     *
+     * @param record The record, without its line terminator
+     * @param line   The line the record starts on, reported with each error
+     * @param errors Receives the errors found
+     * @return The request, or null if the record cannot be parsed
+     */
+    ProductRequest parse(String record, int line, List<ValidationErrorResponse.FieldError> errors) {
+        List<String> fields = split(record);
+        if (fields == null) {
+            errors.add(new ValidationErrorResponse.FieldError(line, null, "Malformed CSV record"));
+            return null;
+        }
+        if (fields.size() != columnCount) {
+            errors.add(new ValidationErrorResponse.FieldError(line, null,
+                    "Expected " + columnCount + " fields, found " + fields.size()));
+            return null;
+        }
+
+        int found = errors.size();
+        BigDecimal price = null;
+        String priceField = fields.get(priceColumn);
+        if (priceField != null) {
+            try {
+                price = new BigDecimal(priceField.trim());
+            } catch (NumberFormatException e) {
+                errors.add(new ValidationErrorResponse.FieldError(line, "price", "Price must be a number"));
+            }
+        }
+        int stockQuantity = 0;
+        String stockQuantityField = stockQuantityColumn == ABSENT ? null : fields.get(stockQuantityColumn);
+        if (stockQuantityField != null) {
+            try {
+                stockQuantity = Integer.parseInt(stockQuantityField.trim());
+            } catch (NumberFormatException e) {
+                errors.add(new ValidationErrorResponse.FieldError(line, "stockQuantity", "Stock quantity must be an integer"));
+            }
+        }
+        if (errors.size() != found) {
+            return null;
+        }
+        return new ProductRequest(
+                fields.get(nameColumn),
+                descriptionColumn == ABSENT ? null : fields.get(descriptionColumn),
+                price,
+                stockQuantity);
+    }
+
+    /**
+     * Tells whether a record is complete, that is, not inside a quoted field.
+     * A quoted field may contain line breaks, so a record can span several lines.
+     *
+     * @param record The record read so far
+     * @return true if every quoted field is closed
+     */
+    static boolean isComplete(CharSequence record) {
+        int quotes = 0;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return (quotes & 1) == 0;
+    }
+
+    /**
+     * Splits a record into its fields.
+     *
+     * @param record The record
+     * @return The fields, with empty unquoted fields as null; null if the record is malformed
+     */
+    static List<String> split(String record) {
+        List<String> fields = new ArrayList<>();
+        int length = record.length();
+        int i = 0;
+        while (true) {
+            if (i < length && record.charAt(i) == '"') {
+                StringBuilder field = new StringBuilder();
+                i++;
+                while (true) {
+                    if (i >= length) {
+                        return null;
+                    }
+                    char c = record.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < length && record.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < length && record.charAt(i) != ',') {
+                    return null;
+                }
+                fields.add(field.toString());
+            } else {
+                int end = record.indexOf(',', i);
+                if (end < 0) {
+                    end = length;
+                }
+                fields.add(end == i ? null : record.substring(i, end));
+                i = end;
+            }
+            if (i >= length) {
+                return fields;
+            }
+            i++;
+        }
+    }
+}
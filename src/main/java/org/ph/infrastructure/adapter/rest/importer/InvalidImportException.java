@@ -0,0 +1,18 @@
+package org.ph.infrastructure.adapter.rest.importer;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when an import upload cannot be read at all, such as a CSV upload without a usable header.
+ * Problems with single records are reported per line instead.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidImportException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidImportException(String message) {
+        super(message);
+    }
+}
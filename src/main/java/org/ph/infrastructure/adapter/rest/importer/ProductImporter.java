@@ -0,0 +1,271 @@
+package org.ph.infrastructure.adapter.rest.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.ph.application.port.in.ProductUseCase;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.rest.dto.ImportEvent;
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.dto.ValidationErrorResponse;
+import org.ph.infrastructure.adapter.rest.mapper.ProductMapper;
+import org.ph.infrastructure.adapter.rest.validation.ProductRequestValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Streams products from an NDJSON or CSV upload into the catalog.
+ * The calling thread reads records and hands them out in chunks; worker threads parse, validate
+ * with the {@link ProductRequest} rules, and store each chunk's valid products with one
+ * {@link ProductUseCase#createProducts} call. At most {@code parallelism} chunks of an import are
+ * in flight: when the workers fall behind, the reader stops reading, and the upload is throttled by
+ * TCP flow control instead of being buffered. Concurrent imports share a pool of
+ * {@code parallelism} workers, which is shut down with the application context.
+ *
+ * <p>Invalid records are skipped and reported with their line number; the first
+ * {@code max-errors} violations are listed, later ones are only counted. A chunk that fails to
+ * store ends the import; products stored by earlier chunks are kept.
+ */
+@Slf4j
+@Component
+public class ProductImporter implements AutoCloseable {
+
+    /**
+     * Upload formats.
+     */
+    public enum Format {
+        /** One JSON product per line, in the shape of {@link ProductRequest}. */
+        NDJSON,
+        /** Comma-separated values with a header, see {@link CsvProductParser}. */
+        CSV
+    }
+
+    private final ProductUseCase productUseCase;
+    private final ProductMapper productMapper;
+    private final ProductRequestValidator productRequestValidator;
+    private final ObjectReader requestReader;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maxErrors;
+    private final ExecutorService executor;
+
+    @Autowired
+    public ProductImporter(ProductUseCase productUseCase,
+                           ProductMapper productMapper,
+                           ProductRequestValidator productRequestValidator,
+                           ObjectMapper objectMapper,
+                           @Value("${acme.import.chunk-size:1000}") int chunkSize,
+                           @Value("${acme.import.parallelism:0}") int parallelism,
+                           @Value("${acme.import.max-errors:1000}") int maxErrors) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("acme.import.chunk-size must be positive: " + chunkSize);
+        }
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("acme.import.max-errors must not be negative: " + maxErrors);
+        }
+        this.productUseCase = productUseCase;
+        this.productMapper = productMapper;
+        this.productRequestValidator = productRequestValidator;
+        this.requestReader = objectMapper.readerFor(ProductRequest.class);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxErrors = maxErrors;
+        this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "product-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Imports every record of an upload.
+     *
+     * @param in       The upload
+     * @param format   The upload format
+     * @param progress Receives an {@code IN_PROGRESS} event after each chunk; called by one thread at a time
+     * @return The final {@code COMPLETED} or {@code FAILED} event
+     * @throws IOException if the upload cannot be read
+     * @throws InvalidImportException if a CSV upload has no usable header
+     */
+    public ImportEvent importProducts(InputStream in, Format format, Consumer<ImportEvent> progress) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        RecordParser parser;
+        int lineNumber = 0;
+        if (format == Format.CSV) {
+            String header = reader.readLine();
+            lineNumber++;
+            CsvProductParser csv = CsvProductParser.forHeader(header);
+            parser = csv::parse;
+        } else {
+            parser = this::parseJson;
+        }
+
+        Import job = new Import(parser, progress);
+        Chunk chunk = new Chunk(chunkSize);
+        String line;
+        while (!job.failed() && (line = reader.readLine()) != null) {
+            int recordLine = ++lineNumber;
+            if (format == Format.CSV && !CsvProductParser.isComplete(line)) {
+                StringBuilder record = new StringBuilder(line);
+                while (!CsvProductParser.isComplete(record) && (line = reader.readLine()) != null) {
+                    lineNumber++;
+                    record.append('\n').append(line);
+                }
+                line = record.toString();
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            chunk.add(line, recordLine);
+            if (chunk.size() == chunkSize) {
+                job.submit(chunk);
+                chunk = new Chunk(chunkSize);
+            }
+        }
+        if (chunk.size() > 0 && !job.failed()) {
+            job.submit(chunk);
+        }
+        return job.await();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private ProductRequest parseJson(String record, int line, List<ValidationErrorResponse.FieldError> errors) {
+        try {
+            ProductRequest request = requestReader.readValue(record);
+            if (request == null) {
+                errors.add(new ValidationErrorResponse.FieldError(line, null, "Product is required"));
+            }
+            return request;
+        } catch (JsonProcessingException e) {
+            errors.add(new ValidationErrorResponse.FieldError(line, null, "Malformed JSON: " + e.getOriginalMessage()));
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordParser {
+        ProductRequest parse(String record, int line, List<ValidationErrorResponse.FieldError> errors);
+    }
+
+    /**
+     * Records of one chunk with the line each starts on.
+     */
+    private static final class Chunk {
+
+        private final List<String> records;
+        private final int[] lines;
+
+        Chunk(int capacity) {
+            this.records = new ArrayList<>(capacity);
+            this.lines = new int[capacity];
+        }
+
+        void add(String record, int line) {
+            lines[records.size()] = line;
+            records.add(record);
+        }
+
+        int size() {
+            return records.size();
+        }
+    }
+
+    /**
+     * State of one running import: the chunks in flight, the running totals and the failure, if any.
+     */
+    private final class Import {
+
+        private final RecordParser parser;
+        private final Consumer<ImportEvent> progress;
+        private final Semaphore permits = new Semaphore(parallelism);
+        private final AtomicInteger reportedErrors = new AtomicInteger();
+        private long lines;
+        private long imported;
+        private long rejected;
+        private volatile String failure;
+
+        Import(RecordParser parser, Consumer<ImportEvent> progress) {
+            this.parser = parser;
+            this.progress = progress;
+        }
+
+        boolean failed() {
+            return failure != null;
+        }
+
+        void submit(Chunk chunk) {
+            permits.acquireUninterruptibly();
+            try {
+                executor.execute(() -> {
+                    try {
+                        process(chunk);
+                    } catch (RuntimeException e) {
+                        log.warn("Product import failed", e);
+                        failure = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                permits.release();
+                failure = "Importer is shut down";
+            }
+        }
+
+        private void process(Chunk chunk) {
+            List<ValidationErrorResponse.FieldError> errors = new ArrayList<>();
+            List<Product> products = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                int line = chunk.lines[i];
+                ProductRequest request = parser.parse(chunk.records.get(i), line, errors);
+                if (request != null && productRequestValidator.validate(line, request, errors)) {
+                    products.add(productMapper.toDomain(request));
+                }
+            }
+            if (!products.isEmpty()) {
+                productUseCase.createProducts(products);
+            }
+            report(chunk.size(), products.size(), errors);
+        }
+
+        private void report(int chunkLines, int chunkImported, List<ValidationErrorResponse.FieldError> errors) {
+            int listed = Math.max(0, Math.min(errors.size(), maxErrors - reportedErrors.getAndAdd(errors.size())));
+            List<ValidationErrorResponse.FieldError> reported = listed == 0 ? null : errors.subList(0, listed);
+            synchronized (this) {
+                lines += chunkLines;
+                imported += chunkImported;
+                rejected += chunkLines - chunkImported;
+                progress.accept(new ImportEvent(ImportEvent.Status.IN_PROGRESS, lines, imported, rejected, reported, null));
+            }
+        }
+
+        ImportEvent await() {
+            permits.acquireUninterruptibly(parallelism);
+            synchronized (this) {
+                return failure == null
+                        ? new ImportEvent(ImportEvent.Status.COMPLETED, lines, imported, rejected, null, null)
+                        : new ImportEvent(ImportEvent.Status.FAILED, lines, imported, rejected, null, failure);
+            }
+        }
+    }
+}
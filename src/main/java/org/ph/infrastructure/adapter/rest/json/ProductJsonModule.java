@@ -0,0 +1,24 @@
+package org.ph.infrastructure.adapter.rest.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.dto.ProductResponse;
+import org.springframework.stereotype.Component;
+
+/**
+ * Jackson module with hand-written (de)serializers for the product DTOs.
+ * Spring Boot registers every {@link com.fasterxml.jackson.databind.Module} bean with the
+ * application's ObjectMapper, so declaring this component is enough to replace the
+ * reflection-based bean (de)serializers on the product endpoints.
+ */
+@Component
+public class ProductJsonModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public ProductJsonModule() {
+        super(ProductJsonModule.class.getSimpleName());
+        addSerializer(ProductResponse.class, new ProductResponseSerializer());
+        addDeserializer(ProductRequest.class, new ProductRequestDeserializer());
+    }
+}
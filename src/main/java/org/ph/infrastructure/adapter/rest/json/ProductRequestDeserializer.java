@@ -0,0 +1,71 @@
+package org.ph.infrastructure.adapter.rest.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Streaming deserializer for {@link ProductRequest}.
+ * The common token types are read straight from the parser; anything unusual (numbers
+ * sent as strings, nulls, unknown properties) is delegated to the context so that the
+ * result and the error reporting match the default record deserializer.
+ */
+class ProductRequestDeserializer extends StdDeserializer<ProductRequest> {
+
+    private static final long serialVersionUID = 1L;
+
+    ProductRequestDeserializer() {
+        super(ProductRequest.class);
+    }
+
+    @Override
+    public ProductRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return (ProductRequest) ctxt.handleUnexpectedToken(ProductRequest.class, p);
+        }
+        String name = null;
+        String description = null;
+        BigDecimal price = null;
+        int stockQuantity = 0;
+
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            JsonToken token = p.nextToken();
+            switch (field) {
+                case "name" -> name = readString(p, ctxt, token);
+                case "description" -> description = readString(p, ctxt, token);
+                case "price" -> price = readDecimal(p, ctxt, token);
+                case "stockQuantity" -> stockQuantity = readInt(p, ctxt, token);
+                default -> ctxt.handleUnknownProperty(p, this, ProductRequest.class, field);
+            }
+        }
+        return new ProductRequest(name, description, price, stockQuantity);
+    }
+
+    private static String readString(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_STRING) {
+            return p.getText();
+        }
+        return token == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, String.class);
+    }
+
+    private static BigDecimal readDecimal(JsonParser p, DeserializationContext ctxt, JsonToken token)
+            throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT) {
+            return p.getDecimalValue();
+        }
+        return token == JsonToken.VALUE_NULL ? null : ctxt.readValue(p, BigDecimal.class);
+    }
+
+    private static int readInt(JsonParser p, DeserializationContext ctxt, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getIntValue();
+        }
+        Integer value = ctxt.readValue(p, Integer.class);
+        return value != null ? value : 0;
+    }
+}
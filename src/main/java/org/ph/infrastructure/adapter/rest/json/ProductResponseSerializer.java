@@ -0,0 +1,109 @@
+package org.ph.infrastructure.adapter.rest.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.ph.infrastructure.adapter.rest.dto.ProductResponse;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * Serializer that writes a {@link ProductResponse} field by field.
+ * Field names are pre-encoded, the UUID is formatted into a per-thread character buffer
+ * and handed to the generator without creating a String, and prices are written with
+ * {@link JsonGenerator#writeNumber(BigDecimal)}, which reuses the string that
+ * {@link BigDecimal} caches for the shared price instances.
+ * The output matches the default bean serializer, including the configured null inclusion.
+ */
+class ProductResponseSerializer extends StdSerializer<ProductResponse> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString PRICE = new SerializedString("price");
+    private static final SerializableString STOCK_QUANTITY = new SerializedString("stockQuantity");
+
+    private static final int UUID_LENGTH = 36;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<char[]> UUID_BUFFER = ThreadLocal.withInitial(() -> new char[UUID_LENGTH]);
+
+    ProductResponseSerializer() {
+        super(ProductResponse.class);
+    }
+
+    @Override
+    public void serialize(ProductResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        boolean writeNulls = writesNulls(provider);
+        gen.writeStartObject(value);
+        if (value.id() != null) {
+            gen.writeFieldName(ID);
+            writeUuid(value.id(), gen);
+        } else if (writeNulls) {
+            gen.writeFieldName(ID);
+            gen.writeNull();
+        }
+        writeString(NAME, value.name(), writeNulls, gen);
+        writeString(DESCRIPTION, value.description(), writeNulls, gen);
+        if (value.price() != null) {
+            gen.writeFieldName(PRICE);
+            gen.writeNumber(value.price());
+        } else if (writeNulls) {
+            gen.writeFieldName(PRICE);
+            gen.writeNull();
+        }
+        gen.writeFieldName(STOCK_QUANTITY);
+        gen.writeNumber(value.stockQuantity());
+        gen.writeEndObject();
+    }
+
+    private static boolean writesNulls(SerializerProvider provider) {
+        JsonInclude.Include inclusion = provider.getConfig()
+                .getDefaultPropertyInclusion(ProductResponse.class)
+                .getValueInclusion();
+        return inclusion == JsonInclude.Include.ALWAYS || inclusion == JsonInclude.Include.USE_DEFAULTS;
+    }
+
+    private static void writeString(SerializableString field, String value, boolean writeNulls, JsonGenerator gen)
+            throws IOException {
+        if (value != null) {
+            gen.writeFieldName(field);
+            gen.writeString(value);
+        } else if (writeNulls) {
+            gen.writeFieldName(field);
+            gen.writeNull();
+        }
+    }
+
+    /**
+     * Writes the canonical 8-4-4-4-12 form of the UUID, as {@link UUID#toString()} would.
+     */
+    static void writeUuid(UUID uuid, JsonGenerator gen) throws IOException {
+        char[] buffer = UUID_BUFFER.get();
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        appendHex(buffer, 0, msb >>> 32, 8);
+        buffer[8] = '-';
+        appendHex(buffer, 9, msb >>> 16, 4);
+        buffer[13] = '-';
+        appendHex(buffer, 14, msb, 4);
+        buffer[18] = '-';
+        appendHex(buffer, 19, lsb >>> 48, 4);
+        buffer[23] = '-';
+        appendHex(buffer, 24, lsb, 12);
+        gen.writeString(buffer, 0, UUID_LENGTH);
+    }
+
+    private static void appendHex(char[] buffer, int offset, long value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            buffer[i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package org.ph.infrastructure.adapter.rest.mapper;
+
+import org.ph.domain.model.PriceAdjustment;
+import org.ph.domain.model.PriceAdjustmentJob;
+import org.ph.domain.model.ProductSelector;
+import org.ph.infrastructure.adapter.rest.dto.PriceAdjustmentJobResponse;
+import org.ph.infrastructure.adapter.rest.dto.PriceAdjustmentRequest;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper class to convert between the bulk price adjustment DTOs and domain objects.
+ */
+@Component
+public class PriceAdjustmentMapper {
+
+    /**
+     * Converts a selector DTO to a ProductSelector; blank texts are ignored.
+     *
+     * @param selector The selector DTO
+     * @return A ProductSelector
+     */
+    public ProductSelector toDomain(PriceAdjustmentRequest.Selector selector) {
+        return new ProductSelector(selector.ids(), blankToNull(selector.nameContains()),
+                blankToNull(selector.descriptionContains()), selector.minPrice(), selector.maxPrice());
+    }
+
+    /**
+     * Converts an adjustment DTO to a PriceAdjustment.
+     *
+     * @param adjustment The adjustment DTO
+     * @return A PriceAdjustment
+     */
+    public PriceAdjustment toDomain(PriceAdjustmentRequest.Adjustment adjustment) {
+        return new PriceAdjustment(adjustment.kind(), adjustment.amount(), adjustment.scale(),
+                adjustment.roundingMode());
+    }
+
+    /**
+     * Converts a job's state to a PriceAdjustmentJobResponse DTO.
+     *
+     * @param job The job's state
+     * @return A PriceAdjustmentJobResponse DTO
+     */
+    public PriceAdjustmentJobResponse toResponse(PriceAdjustmentJob job) {
+        return new PriceAdjustmentJobResponse(job.id(), job.status(), job.runAt(), job.startedAt(),
+                job.finishedAt(), job.selected(), job.processed(), job.adjusted(), job.skipped(), job.message());
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
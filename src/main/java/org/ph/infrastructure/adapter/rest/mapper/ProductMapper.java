@@ -1,13 +1,24 @@
 package org.ph.infrastructure.adapter.rest.mapper;
 
 import org.ph.domain.model.Product;
+import org.ph.domain.model.ProductChanges;
+import org.ph.infrastructure.adapter.rest.dto.ProductChangesResponse;
+import org.ph.infrastructure.adapter.rest.dto.ProductLookupResponse;
 import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
 import org.ph.infrastructure.adapter.rest.dto.ProductResponse;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
 /**
  * Mapper class to convert between DTOs and domain entities.
  * This helps maintain the separation between the infrastructure and domain layers.
+ * Each conversion allocates only the target record; field values are immutable and shared.
  */
 @Component
 public class ProductMapper {
@@ -19,12 +30,7 @@ public class ProductMapper {
      * @return A Product domain entity
      */
     public Product toDomain(ProductRequest request) {
-        return Product.builder()
-                .name(request.getName())
-                .description(request.getDescription())
-                .price(request.getPrice())
-                .stockQuantity(request.getStockQuantity())
-                .build();
+        return new Product(null, request.name(), request.description(), request.price(), request.stockQuantity());
     }
 
     /**
@@ -34,12 +40,51 @@ public class ProductMapper {
      * @return A ProductResponse DTO
      */
     public ProductResponse toResponse(Product product) {
-        return ProductResponse.builder()
-                .id(product.getId())
-                .name(product.getName())
-                .description(product.getDescription())
-                .price(product.getPrice())
-                .stockQuantity(product.getStockQuantity())
-                .build();
+        return new ProductResponse(product.id(), product.name(), product.description(),
+                product.price(), product.stockQuantity());
+    }
+
+    /**
+     * Converts catalog changes to a ProductChangesResponse DTO.
+     *
+     * @param changes The changes
+     * @return A ProductChangesResponse DTO
+     */
+    public ProductChangesResponse toResponse(ProductChanges changes) {
+        List<ProductResponse> upserts = new ArrayList<>(changes.upserts().size());
+        for (Product product : changes.upserts()) {
+            upserts.add(toResponse(product));
+        }
+        return new ProductChangesResponse(changes.revision(), changes.reset(), changes.hasMore(),
+                upserts, changes.deletions(), changes.cursor());
+    }
+
+    /**
+     * Converts the result of a lookup by IDs to a ProductLookupResponse DTO.
+     *
+     * @param ids   The requested IDs
+     * @param found The products found
+     * @return A ProductLookupResponse DTO listing the products and the IDs not found
+     */
+    public ProductLookupResponse toLookupResponse(Collection<UUID> ids, List<Product> found) {
+        List<ProductResponse> products = new ArrayList<>(found.size());
+        for (Product product : found) {
+            products.add(toResponse(product));
+        }
+        // Found products are distinct, so as many of them as IDs means none is missing
+        if (found.size() == ids.size()) {
+            return new ProductLookupResponse(products, List.of());
+        }
+        Set<UUID> seen = new HashSet<>();
+        for (Product product : found) {
+            seen.add(product.id());
+        }
+        List<UUID> missing = new ArrayList<>();
+        for (UUID id : ids) {
+            if (seen.add(id)) {
+                missing.add(id);
+            }
+        }
+        return new ProductLookupResponse(products, missing);
     }
-}
\ No newline at end of file
+}
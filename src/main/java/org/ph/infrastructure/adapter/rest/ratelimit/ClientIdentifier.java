@@ -0,0 +1,52 @@
+package org.ph.infrastructure.adapter.rest.ratelimit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Tells the clients of the API apart, for admission control and for anything else kept per client,
+ * such as idempotency keys.
+ *
+ * <p>A client is identified by the {@code client-header} if it is configured and the request comes
+ * from one of the {@code trusted-proxies}, which set it, and by its address otherwise.
+ */
+@Component
+public class ClientIdentifier {
+
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+
+    @Autowired
+    public ClientIdentifier(@Value("${acme.rate-limit.client-header:}") String clientHeader,
+                            @Value("${acme.rate-limit.trusted-proxies:}") String[] trustedProxies) {
+        this(clientHeader, Arrays.stream(trustedProxies).map(String::strip).filter(proxy -> !proxy.isEmpty())
+                .collect(Collectors.toSet()));
+    }
+
+    ClientIdentifier(String clientHeader, Set<String> trustedProxies) {
+        this.clientHeader = clientHeader;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+    }
+
+    /**
+     * Identifies the client that sent a request.
+     *
+     * @param request The request
+     * @return The client header's value, or the client's address
+     */
+    public String identify(HttpServletRequest request) {
+        if (!clientHeader.isEmpty() && trustedProxies.contains(request.getRemoteAddr())) {
+            String key = request.getHeader(clientHeader);
+            if (key != null && !key.isEmpty()) {
+                return key;
+            }
+        }
+        return request.getRemoteAddr();
+    }
+}
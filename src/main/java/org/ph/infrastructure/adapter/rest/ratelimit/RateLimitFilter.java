@@ -0,0 +1,239 @@
+package org.ph.infrastructure.adapter.rest.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Admission control for the product API with token buckets.
+ *
+ * <p>Every client has a bucket, and each request takes tokens from it according to what it costs
+ * the service: a point read takes few, a write a few more, a lookup of many products by ID more
+ * again, and a list, which copies and serializes the whole catalog, takes many; so does a request
+ * for the changes that starts a reset, which reads the whole catalog as well. On top of that,
+ * lists across all clients share one bucket, so that many clients together cannot saturate the
+ * service with them either. The client bucket is checked first, so a client that exceeds its own
+ * rate does not use up the shared one, and gets its tokens back if the shared one rejects the
+ * request, so that it does not pay for the other clients' lists. A request for the changes after a
+ * revision the log no longer covers is only known to be a reset once it has run: the controller
+ * then sets {@link #RESET_ATTRIBUTE}, and the request is charged as a list after the fact, its
+ * client owing the difference.
+ *
+ * <p>Rejected requests get 429 with a {@code Retry-After} header, before any work is done, and are
+ * counted in {@code acme.ratelimit.rejected}, tagged with the {@code scope} that rejected them
+ * ({@code client} or {@code endpoint}) and the {@code endpoint} class.
+ *
+ * <p>Clients are told apart by the {@link ClientIdentifier}. Idle
+ * clients' buckets are full and are dropped when {@code max-clients} are tracked, at most once per
+ * second; while none can be dropped, further clients share one bucket.
+ *
+ * <p>Requests are only limited once the application accepts traffic, so the warm-up before
+ * readiness, which comes from one local client, exercises the API instead of being rejected.
+ */
+@Component
+@ConditionalOnProperty(name = "acme.rate-limit.enabled", havingValue = "true")
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute set when a request for the changes after a revision turned into a reset.
+     */
+    public static final String RESET_ATTRIBUTE = RateLimitFilter.class.getName() + ".reset";
+
+    private static final String API_PATH = "/api/products";
+    private static final long EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Classes of endpoints with the same cost.
+     */
+    enum Endpoint {
+        /** {@code GET /api/products/{id}} and {@code GET /api/products/changes} after a revision */
+        READ,
+        /**
+         * {@code GET /api/products}, {@code GET /api/products/changes} without a revision,
+         * {@code POST /api/products/import} and {@code POST /api/products/price-adjustments}
+         */
+        LIST,
+        /** {@code POST /api/products/lookup} */
+        LOOKUP,
+        /** Every other call: creates, updates and deletes */
+        WRITE
+    }
+
+    private final Map<String, TokenBucket> clients = new ConcurrentHashMap<>();
+    private final Map<Endpoint, Integer> costs = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Counter> clientRejections = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, Counter> endpointRejections = new EnumMap<>(Endpoint.class);
+    private final long clientRate;
+    private final long clientBurst;
+    private final TokenBucket listBucket;
+    private final TokenBucket overflowBucket;
+    private final ClientIdentifier clientIdentifier;
+    private final int maxClients;
+    private final AtomicLong nextEviction;
+    private final LongSupplier nanoClock;
+    private final ApplicationAvailability availability;
+
+    @Autowired
+    public RateLimitFilter(MeterRegistry meterRegistry, ApplicationAvailability availability,
+                           @Value("${acme.rate-limit.client.rate:1000}") long clientRate,
+                           @Value("${acme.rate-limit.client.burst:2000}") long clientBurst,
+                           @Value("${acme.rate-limit.cost.read:1}") int readCost,
+                           @Value("${acme.rate-limit.cost.write:2}") int writeCost,
+                           @Value("${acme.rate-limit.cost.list:50}") int listCost,
+                           @Value("${acme.rate-limit.cost.lookup:10}") int lookupCost,
+                           @Value("${acme.rate-limit.list.rate:100}") long listRate,
+                           @Value("${acme.rate-limit.list.burst:200}") long listBurst,
+                           ClientIdentifier clientIdentifier,
+                           @Value("${acme.rate-limit.max-clients:100000}") int maxClients) {
+        this(meterRegistry, availability, clientRate, clientBurst, Map.of(Endpoint.READ, readCost, Endpoint.WRITE, writeCost,
+                Endpoint.LIST, listCost, Endpoint.LOOKUP, lookupCost), listRate, listBurst, clientIdentifier,
+                maxClients, System::nanoTime);
+    }
+
+    RateLimitFilter(MeterRegistry meterRegistry, ApplicationAvailability availability, long clientRate, long clientBurst,
+                    Map<Endpoint, Integer> costs, long listRate, long listBurst,
+                    ClientIdentifier clientIdentifier, int maxClients, LongSupplier nanoClock) {
+        for (Endpoint endpoint : Endpoint.values()) {
+            int cost = costs.get(endpoint);
+            if (cost < 1 || cost > clientBurst) {
+                throw new IllegalArgumentException("Cost of " + endpoint + " must be between 1 and the client burst");
+            }
+            this.costs.put(endpoint, cost);
+            String tag = endpoint.name().toLowerCase();
+            clientRejections.put(endpoint, Counter.builder("acme.ratelimit.rejected")
+                    .description("Requests rejected by admission control")
+                    .tag("scope", "client").tag("endpoint", tag)
+                    .register(meterRegistry));
+            endpointRejections.put(endpoint, Counter.builder("acme.ratelimit.rejected")
+                    .description("Requests rejected by admission control")
+                    .tag("scope", "endpoint").tag("endpoint", tag)
+                    .register(meterRegistry));
+        }
+        this.clientRate = clientRate;
+        this.clientBurst = clientBurst;
+        this.listBucket = new TokenBucket(listRate, listBurst, nanoClock.getAsLong());
+        this.overflowBucket = new TokenBucket(clientRate, clientBurst, nanoClock.getAsLong());
+        this.clientIdentifier = clientIdentifier;
+        this.maxClients = maxClients;
+        this.nextEviction = new AtomicLong(nanoClock.getAsLong());
+        this.nanoClock = nanoClock;
+        this.availability = availability;
+        meterRegistry.gauge("acme.ratelimit.clients", clients, Map::size);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !path(request).startsWith(API_PATH)
+                || availability.getReadinessState() != ReadinessState.ACCEPTING_TRAFFIC;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Endpoint endpoint = classify(request);
+        long now = nanoClock.getAsLong();
+
+        TokenBucket client = client(clientIdentifier.identify(request), now);
+        long wait = client.tryAcquire(costs.get(endpoint), now);
+        if (wait > 0) {
+            clientRejections.get(endpoint).increment();
+            reject(response, wait);
+            return;
+        }
+        if (endpoint == Endpoint.LIST) {
+            wait = listBucket.tryAcquire(1, now);
+            if (wait > 0) {
+                client.refund(costs.get(endpoint));
+                endpointRejections.get(endpoint).increment();
+                reject(response, wait);
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+
+        if (endpoint == Endpoint.READ && request.getAttribute(RESET_ATTRIBUTE) != null) {
+            long later = nanoClock.getAsLong();
+            client.charge(Math.max(0, costs.get(Endpoint.LIST) - costs.get(Endpoint.READ)), later);
+            listBucket.charge(1, later);
+        }
+    }
+
+    static Endpoint classify(HttpServletRequest request) {
+        String path = path(request);
+        String method = request.getMethod();
+        if (HttpMethod.GET.matches(method)) {
+            if (path.length() <= API_PATH.length() + 1) {
+                return Endpoint.LIST;
+            }
+            return isReset(request, path) ? Endpoint.LIST : Endpoint.READ;
+        }
+        if (HttpMethod.POST.matches(method) && (path.startsWith("/import", API_PATH.length())
+                || path.startsWith("/price-adjustments", API_PATH.length()))) {
+            return Endpoint.LIST;
+        }
+        if (HttpMethod.POST.matches(method) && path.startsWith("/lookup", API_PATH.length())) {
+            return Endpoint.LOOKUP;
+        }
+        return Endpoint.WRITE;
+    }
+
+    /**
+     * @return true for a request for the changes without a revision, which starts a reset; one with
+     * a revision too old for the log is found out by the controller, see {@link #RESET_ATTRIBUTE}
+     */
+    private static boolean isReset(HttpServletRequest request, String path) {
+        if (!path.startsWith("/changes", API_PATH.length()) || request.getParameter("after") != null) {
+            return false;
+        }
+        String since = request.getParameter("since");
+        return since == null || since.isBlank() || since.strip().equals("0");
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private TokenBucket client(String key, long now) {
+        TokenBucket bucket = clients.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (clients.size() >= maxClients) {
+            long scheduled = nextEviction.get();
+            if (now - scheduled >= 0 && nextEviction.compareAndSet(scheduled, now + EVICTION_INTERVAL_NANOS)) {
+                clients.values().removeIf(idle -> idle.isFull(now));
+            }
+            if (clients.size() >= maxClients) {
+                return overflowBucket;
+            }
+        }
+        return clients.computeIfAbsent(key, ignored -> new TokenBucket(clientRate, clientBurst, now));
+    }
+
+    private static void reject(HttpServletResponse response, long waitNanos) {
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+    }
+}
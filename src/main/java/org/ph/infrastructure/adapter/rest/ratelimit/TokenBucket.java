@@ -0,0 +1,88 @@
+package org.ph.infrastructure.adapter.rest.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * <p>Instead of a token count and a refill timestamp, the bucket keeps a single value, the time at
+ * which it will be full again (the generic cell rate algorithm); taking tokens pushes that time
+ * forward, and a request is admitted while it stays within one burst of the present. The whole
+ * state is one {@link AtomicLong}, updated with a compare-and-set.
+ */
+final class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param ratePerSecond The tokens added per second
+     * @param burst         The capacity of the bucket
+     * @param now           The current time in nanoseconds
+     */
+    TokenBucket(long ratePerSecond, long burst, long now) {
+        if (ratePerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.nanosPerToken = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        this.burstNanos = burst * nanosPerToken;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes tokens if the bucket holds enough of them.
+     *
+     * @param tokens The number of tokens to take
+     * @param now    The current time in nanoseconds
+     * @return 0 if the tokens were taken, otherwise how many nanoseconds until they are available
+     */
+    long tryAcquire(int tokens, long now) {
+        long cost = tokens * nanosPerToken;
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + cost;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back tokens taken for a request that was rejected after all.
+     *
+     * @param tokens The number of tokens taken
+     */
+    void refund(int tokens) {
+        fullAt.addAndGet(-tokens * nanosPerToken);
+    }
+
+    /**
+     * Takes tokens whether or not the bucket holds them, for a cost only known once the request has
+     * run. Tokens the bucket does not hold are owed, and delay the requests that follow.
+     *
+     * @param tokens The number of tokens to take
+     * @param now    The current time in nanoseconds
+     */
+    void charge(int tokens, long now) {
+        long cost = tokens * nanosPerToken;
+        fullAt.updateAndGet(current -> Math.max(current, now) + cost);
+    }
+
+    /**
+     * Tells whether the bucket is full, so that dropping it loses nothing.
+     *
+     * @param now The current time in nanoseconds
+     * @return true if no tokens are missing
+     */
+    boolean isFull(long now) {
+        return fullAt.get() <= now;
+    }
+}
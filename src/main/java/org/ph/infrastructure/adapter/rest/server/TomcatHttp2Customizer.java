@@ -0,0 +1,55 @@
+package org.ph.infrastructure.adapter.rest.server;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Tunes Tomcat's HTTP/2 (h2c) protocol when {@code server.http2.enabled} is set, which Spring Boot
+ * does not expose as properties. Tomcat runs at most 20 streams of one connection at once by
+ * default, which throttles a gateway that multiplexes its requests over few connections, and closes
+ * idle HTTP/2 connections after 20 seconds, which makes it reconnect.
+ *
+ * <p>Clients should open h2c connections with prior knowledge, or upgrade them with a request that
+ * has no body: Tomcat answers 413 to an upgrade request with a body over 4 KB.
+ *
+ * <p>Only active with Tomcat; Undertow takes its HTTP/2 settings from {@code server.undertow.options}.
+ */
+@Component
+@ConditionalOnClass(name = "org.apache.coyote.http2.Http2Protocol")
+@ConditionalOnProperty(name = "server.http2.enabled", havingValue = "true")
+public class TomcatHttp2Customizer implements WebServerFactoryCustomizer<TomcatServletWebServerFactory> {
+
+    private final int maxConcurrentStreams;
+    private final int maxConcurrentStreamExecution;
+    private final Duration keepAliveTimeout;
+
+    public TomcatHttp2Customizer(@Value("${acme.server.http2.max-concurrent-streams:100}") int maxConcurrentStreams,
+                                 @Value("${acme.server.http2.max-concurrent-stream-execution:20}") int maxConcurrentStreamExecution,
+                                 @Value("${acme.server.http2.keep-alive-timeout:PT20S}") Duration keepAliveTimeout) {
+        this.maxConcurrentStreams = maxConcurrentStreams;
+        this.maxConcurrentStreamExecution = maxConcurrentStreamExecution;
+        this.keepAliveTimeout = keepAliveTimeout;
+    }
+
+    @Override
+    public void customize(TomcatServletWebServerFactory factory) {
+        // Connector customizers run after Spring Boot has added the HTTP/2 upgrade protocol
+        factory.addConnectorCustomizers(connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol http2) {
+                    http2.setMaxConcurrentStreams(maxConcurrentStreams);
+                    http2.setMaxConcurrentStreamExecution(maxConcurrentStreamExecution);
+                    http2.setKeepAliveTimeout(keepAliveTimeout.toMillis());
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,32 @@
+package org.ph.infrastructure.adapter.rest.validation;
+
+import lombok.RequiredArgsConstructor;
+import org.ph.infrastructure.adapter.rest.ProductController;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.WebDataBinder;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.InitBinder;
+
+/**
+ * Switches {@code @Valid ProductRequest} arguments of {@link ProductController} to the
+ * {@link ProductRequestValidator} when {@code acme.validation.mode=fast}.
+ * Failures still surface as {@code MethodArgumentNotValidException} with the same field
+ * errors, so clients see no difference apart from latency.
+ */
+@ControllerAdvice(assignableTypes = ProductController.class)
+@ConditionalOnProperty(name = "acme.validation.mode", havingValue = "fast")
+@RequiredArgsConstructor
+public class FastValidationAdvice {
+
+    private final ProductRequestValidator productRequestValidator;
+
+    /**
+     * Replaces the Bean Validation validator for product request bodies.
+     *
+     * @param binder The binder for the {@code productRequest} argument
+     */
+    @InitBinder("productRequest")
+    public void useFastValidator(WebDataBinder binder) {
+        binder.setValidator(productRequestValidator);
+    }
+}
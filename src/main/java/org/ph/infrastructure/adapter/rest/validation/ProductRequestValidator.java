@@ -0,0 +1,155 @@
+package org.ph.infrastructure.adapter.rest.validation;
+
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.dto.ValidationErrorResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.Errors;
+import org.springframework.validation.Validator;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Specialized validator for {@link ProductRequest}.
+ * It enforces the same constraints as the Bean Validation annotations on the record
+ * ({@code @NotBlank}, {@code @Size}, {@code @NotNull}, {@code @Min}, {@code @Digits}) with the same error codes and
+ * messages, but with plain field checks instead of the reflective constraint engine.
+ * Keep the checks in sync with the annotations on {@link ProductRequest}.
+ */
+@Component
+public class ProductRequestValidator implements Validator {
+
+    static final String NAME_REQUIRED = "Product name is required";
+    static final String NAME_SIZE = "Product name must have at most 255 characters";
+    static final String DESCRIPTION_SIZE = "Product description must have at most 4000 characters";
+    static final String PRICE_REQUIRED = "Product price is required";
+    static final String PRICE_MIN = "Price must be greater than or equal to 0";
+    static final String PRICE_DIGITS = "Price must have at most 15 integer digits and 4 decimal places";
+    /**
+     * The most decimal places a price may have; the {@code jdbc} repository stores prices as {@code NUMERIC(19, 4)}.
+     */
+    public static final int PRICE_MAX_FRACTION = 4;
+    /**
+     * The most integer digits a price may have, the rest of {@code NUMERIC(19, 4)}.
+     */
+    public static final int PRICE_MAX_INTEGER = 15;
+    /**
+     * The longest name, and description, the {@code jdbc} repository's {@code VARCHAR} columns hold.
+     */
+    static final int NAME_MAX_LENGTH = 255;
+    static final int DESCRIPTION_MAX_LENGTH = 4000;
+
+    static final String STOCK_QUANTITY_MIN = "Stock quantity must be greater than or equal to 0";
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return ProductRequest.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        ProductRequest request = (ProductRequest) target;
+        if (isBlank(request.name())) {
+            errors.rejectValue("name", "NotBlank", NAME_REQUIRED);
+        }
+        if (request.name() != null && request.name().length() > NAME_MAX_LENGTH) {
+            errors.rejectValue("name", "Size", NAME_SIZE);
+        }
+        if (request.description() != null && request.description().length() > DESCRIPTION_MAX_LENGTH) {
+            errors.rejectValue("description", "Size", DESCRIPTION_SIZE);
+        }
+        if (request.price() == null) {
+            errors.rejectValue("price", "NotNull", PRICE_REQUIRED);
+        } else {
+            if (request.price().signum() < 0) {
+                errors.rejectValue("price", "Min", PRICE_MIN);
+            }
+            if (!hasPriceDigits(request.price())) {
+                errors.rejectValue("price", "Digits", PRICE_DIGITS);
+            }
+        }
+        if (request.stockQuantity() < 0) {
+            errors.rejectValue("stockQuantity", "Min", STOCK_QUANTITY_MIN);
+        }
+    }
+
+    /**
+     * Validates a batch of requests in a single pass.
+     * Unlike {@link #validate}, this does not stop at the first invalid request:
+     * every violation of every request is reported, tagged with the request's index.
+     *
+     * @param requests The requests to validate
+     * @return All violations, in request order; empty if every request is valid
+     */
+    public List<ValidationErrorResponse.FieldError> validateAll(List<ProductRequest> requests) {
+        List<ValidationErrorResponse.FieldError> violations = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            validate(i, requests.get(i), violations);
+        }
+        return violations;
+    }
+
+    /**
+     * Validates one request of a batch or import, reporting every violation.
+     *
+     * @param index      The position of the request, reported with each violation
+     * @param request    The request to validate; null is a violation
+     * @param violations Receives the violations found
+     * @return true if the request is valid
+     */
+    public boolean validate(int index, ProductRequest request, List<ValidationErrorResponse.FieldError> violations) {
+        if (request == null) {
+            violations.add(new ValidationErrorResponse.FieldError(index, null, "Product is required"));
+            return false;
+        }
+        int found = violations.size();
+        if (isBlank(request.name())) {
+            violations.add(new ValidationErrorResponse.FieldError(index, "name", NAME_REQUIRED));
+        }
+        if (request.name() != null && request.name().length() > NAME_MAX_LENGTH) {
+            violations.add(new ValidationErrorResponse.FieldError(index, "name", NAME_SIZE));
+        }
+        if (request.description() != null && request.description().length() > DESCRIPTION_MAX_LENGTH) {
+            violations.add(new ValidationErrorResponse.FieldError(index, "description", DESCRIPTION_SIZE));
+        }
+        BigDecimal price = request.price();
+        if (price == null) {
+            violations.add(new ValidationErrorResponse.FieldError(index, "price", PRICE_REQUIRED));
+        } else {
+            if (price.signum() < 0) {
+                violations.add(new ValidationErrorResponse.FieldError(index, "price", PRICE_MIN));
+            }
+            if (!hasPriceDigits(price)) {
+                violations.add(new ValidationErrorResponse.FieldError(index, "price", PRICE_DIGITS));
+            }
+        }
+        if (request.stockQuantity() < 0) {
+            violations.add(new ValidationErrorResponse.FieldError(index, "stockQuantity", STOCK_QUANTITY_MIN));
+        }
+        return violations.size() == found;
+    }
+
+    /**
+     * Same rule as Hibernate Validator's {@code @Digits} on a BigDecimal: the digits are counted as
+     * given, trailing zeros included.
+     */
+    private static boolean hasPriceDigits(BigDecimal price) {
+        return price.precision() - price.scale() <= PRICE_MAX_INTEGER && price.scale() <= PRICE_MAX_FRACTION;
+    }
+
+    /**
+     * Same rule as Hibernate Validator's {@code @NotBlank}: null, or nothing left after {@link String#trim()}.
+     */
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,285 @@
+package org.ph.infrastructure.adapter.startup;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.ph.application.port.in.ProductUseCase;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.dto.ProductResponse;
+import org.ph.infrastructure.adapter.rest.dto.ValidationErrorResponse;
+import org.ph.infrastructure.adapter.rest.validation.ProductRequestValidator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Loads the product catalog from a file before the application takes traffic.
+ * Runs as an {@link ApplicationRunner}, after the web server has started but before Spring Boot
+ * publishes the readiness state {@code ACCEPTING_TRAFFIC}; until then the readiness probe reports
+ * {@code OUT_OF_SERVICE}. A file that cannot be read or parsed, or holds a product that breaks the
+ * {@link ProductRequest} rules, fails the startup instead of leaving the instance serving an
+ * incomplete catalog.
+ *
+ * <p>Two formats are read, both with products in the shape the API returns them, optionally
+ * gzip-compressed ({@code .gz}):
+ * <ul>
+ *   <li>NDJSON, one product per line. Lines are parsed and stored in parallel, in chunks of
+ *   {@code batch-size} lines.</li>
+ *   <li>A snapshot, a JSON array as returned by {@code GET /api/products}, for file names ending
+ *   in {@code .json} or {@code .json.gz}. An array can only be parsed sequentially; storing the
+ *   chunks still overlaps with parsing.</li>
+ * </ul>
+ * Every product is checked with the {@link ProductRequestValidator}, as imports are, and stored
+ * through {@link ProductUseCase#createProducts}, one batch per chunk. Products with an ID keep it and
+ * replace any stored product with the same ID; the others get a new one.
+ */
+@Slf4j
+@Component
+@Order(0)
+public class CatalogPreloader implements ApplicationRunner {
+
+    private final ProductUseCase productUseCase;
+    private final ProductRequestValidator productRequestValidator;
+    private final ObjectReader productReader;
+    private final String file;
+    private final int batchSize;
+    private final int parallelism;
+
+    @Autowired
+    public CatalogPreloader(ProductUseCase productUseCase,
+                            ProductRequestValidator productRequestValidator,
+                            ObjectMapper objectMapper,
+                            @Value("${acme.preload.file:}") String file,
+                            @Value("${acme.preload.batch-size:10000}") int batchSize,
+                            @Value("${acme.preload.parallelism:0}") int parallelism) {
+        this.productUseCase = productUseCase;
+        this.productRequestValidator = productRequestValidator;
+        // The shape the API returns: the fields of a ProductRequest and an optional ID
+        this.productReader = objectMapper.readerFor(ProductResponse.class);
+        this.file = file;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        if (file.isBlank()) {
+            return;
+        }
+        long start = System.nanoTime();
+        long loaded = load(Path.of(file));
+        log.info("Preloaded {} products from {} in {} ms", loaded, file, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Loads every product in the file.
+     *
+     * @param path The NDJSON or snapshot file
+     * @return The number of products loaded
+     * @throws IOException if the file cannot be read
+     * @throws IllegalStateException if an entry cannot be parsed, is invalid or cannot be stored
+     */
+    long load(Path path) throws IOException {
+        String name = path.getFileName().toString();
+        boolean gzip = name.endsWith(".gz");
+        boolean snapshot = name.endsWith(".json") || name.endsWith(".json.gz");
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "catalog-preload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try (InputStream in = open(path, gzip)) {
+            ChunkSink sink = new ChunkSink(executor);
+            if (snapshot) {
+                readSnapshot(in, sink);
+            } else {
+                readNdjson(in, sink);
+            }
+            return sink.await();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static InputStream open(Path path, boolean gzip) throws IOException {
+        InputStream in = Files.newInputStream(path);
+        return gzip ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+
+    private void readNdjson(InputStream in, ChunkSink sink) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        List<String> lines = new ArrayList<>(batchSize);
+        long firstLine = 1;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lines.isEmpty()) {
+                firstLine = lineNumber;
+            }
+            lines.add(line);
+            if (lines.size() == batchSize) {
+                submitLines(lines, firstLine, sink);
+                lines = new ArrayList<>(batchSize);
+            }
+        }
+        if (!lines.isEmpty()) {
+            submitLines(lines, firstLine, sink);
+        }
+    }
+
+    private void submitLines(List<String> lines, long firstLine, ChunkSink sink) {
+        sink.submit(() -> {
+            List<Product> products = new ArrayList<>(lines.size());
+            for (int i = 0; i < lines.size(); i++) {
+                String line = lines.get(i);
+                if (line.isBlank()) {
+                    continue;
+                }
+                ProductResponse entry;
+                try {
+                    entry = productReader.readValue(line);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Invalid product on line " + (firstLine + i) + ": " + e.getOriginalMessage(), e);
+                }
+                products.add(validate(entry, "line " + (firstLine + i)));
+            }
+            return products;
+        });
+    }
+
+    private void readSnapshot(InputStream in, ChunkSink sink) throws IOException {
+        try (JsonParser parser = productReader.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalStateException("Snapshot must be a JSON array of products");
+            }
+            List<ProductResponse> chunk = new ArrayList<>(batchSize);
+            long first = 0;
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                chunk.add(productReader.readValue(parser));
+                if (chunk.size() == batchSize) {
+                    submitEntries(chunk, first, sink);
+                    first += chunk.size();
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_ARRAY) {
+                throw new IllegalStateException("Snapshot must be a JSON array of products, found "
+                        + parser.currentToken() + " at " + parser.currentLocation());
+            }
+            if (!chunk.isEmpty()) {
+                submitEntries(chunk, first, sink);
+            }
+        }
+    }
+
+    private void submitEntries(List<ProductResponse> entries, long firstIndex, ChunkSink sink) {
+        sink.submit(() -> {
+            List<Product> products = new ArrayList<>(entries.size());
+            for (int i = 0; i < entries.size(); i++) {
+                products.add(validate(entries.get(i), "entry " + (firstIndex + i)));
+            }
+            return products;
+        });
+    }
+
+    /**
+     * Checks an entry against the {@link ProductRequest} rules and converts it to a product.
+     *
+     * @param entry    The parsed entry
+     * @param position The line or array index of the entry, for the error message
+     * @throws IllegalStateException if the entry is invalid
+     */
+    private Product validate(ProductResponse entry, String position) {
+        ProductRequest request = entry == null ? null
+                : new ProductRequest(entry.name(), entry.description(), entry.price(), entry.stockQuantity());
+        List<ValidationErrorResponse.FieldError> violations = new ArrayList<>();
+        if (!productRequestValidator.validate(0, request, violations)) {
+            throw new IllegalStateException("Invalid product on " + position + ": " + violations.stream()
+                    .map(violation -> violation.field() == null
+                            ? violation.message() : violation.field() + ": " + violation.message())
+                    .collect(Collectors.joining(", ")));
+        }
+        return new Product(entry.id(), request.name(), request.description(), request.price(), request.stockQuantity());
+    }
+
+    /**
+     * Parses and stores chunks on the executor. At most {@code parallelism} chunks are in
+     * flight, so the reader blocks instead of buffering the whole file ahead of the workers.
+     * Once a chunk has failed, later chunks are skipped.
+     */
+    private final class ChunkSink {
+
+        private final ExecutorService executor;
+        private final Semaphore permits = new Semaphore(parallelism);
+        private final List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        private final AtomicLong loaded = new AtomicLong();
+        private volatile boolean failed;
+
+        ChunkSink(ExecutorService executor) {
+            this.executor = executor;
+        }
+
+        void submit(Supplier<List<Product>> parser) {
+            permits.acquireUninterruptibly();
+            if (failed) {
+                permits.release();
+                return;
+            }
+            chunks.add(CompletableFuture.runAsync(() -> {
+                try {
+                    List<Product> products = parser.get();
+                    productUseCase.createProducts(products);
+                    loaded.addAndGet(products.size());
+                } catch (RuntimeException e) {
+                    failed = true;
+                    throw e;
+                } finally {
+                    permits.release();
+                }
+            }, executor));
+        }
+
+        long await() {
+            try {
+                CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while preloading the catalog", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException("Failed to preload the catalog", e.getCause());
+            }
+            return loaded.get();
+        }
+    }
+}
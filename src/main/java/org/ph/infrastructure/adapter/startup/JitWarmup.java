@@ -0,0 +1,205 @@
+package org.ph.infrastructure.adapter.startup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.ph.application.port.in.ProductUseCase;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.mapper.ProductMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a synthetic workload over the product request path so that it is JIT-compiled before the
+ * application takes traffic. Runs as an {@link ApplicationRunner} after {@link CatalogPreloader};
+ * Spring Boot publishes the readiness state {@code ACCEPTING_TRAFFIC} only once it has finished.
+ *
+ * <p>The workload goes through the local HTTP port, so the servlet container, Spring MVC, Jackson
+ * and validation are warmed along with {@code ProductController}, and it never changes the catalog:
+ * <ul>
+ *   <li>{@code GET /api/products/{id}} for products already in the catalog</li>
+ *   <li>{@code PUT} and {@code DELETE} of IDs that do not exist, which run deserialization,
+ *   validation and mapping before answering 404</li>
+ *   <li>{@code POST} of an invalid product, which is rejected by validation</li>
+ * </ul>
+ * Each request is paired with a {@link ProductMapper} round trip and response serialization, which
+ * also covers the mapping paths when the catalog is empty. Failures are logged and end the warm-up
+ * early; they do not fail the startup.
+ */
+@Slf4j
+@Component
+@Order(1)
+public class JitWarmup implements ApplicationRunner {
+
+    private static final int SAMPLE_SIZE = 1000;
+
+    private final ProductUseCase productUseCase;
+    private final ProductMapper productMapper;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+    private final int iterations;
+    private final int concurrency;
+
+    @Autowired
+    public JitWarmup(ProductUseCase productUseCase,
+                     ProductMapper productMapper,
+                     ObjectMapper objectMapper,
+                     Environment environment,
+                     @Value("${acme.warmup.iterations:0}") int iterations,
+                     @Value("${acme.warmup.concurrency:4}") int concurrency) {
+        this.productUseCase = productUseCase;
+        this.productMapper = productMapper;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+        this.iterations = iterations;
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (iterations <= 0 || port == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        long requests = warmUp(URI.create("http://localhost:" + port + "/api/products"));
+        log.info("Warm-up sent {} requests in {} ms", requests, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Runs the warm-up workload against the product API.
+     *
+     * @param baseUri The URI of the product collection
+     * @return The number of requests sent
+     * @throws InterruptedException if interrupted while waiting for the workers
+     */
+    long warmUp(URI baseUri) throws InterruptedException {
+        List<UUID> ids = productUseCase.getAllProducts().stream()
+                .limit(SAMPLE_SIZE)
+                .map(Product::id)
+                .toList();
+        Workload workload = new Workload(baseUri, ids);
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "jit-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<CompletableFuture<Void>> workers = new ArrayList<>(concurrency);
+            for (int worker = 0; worker < concurrency; worker++) {
+                int share = iterations / concurrency + (worker < iterations % concurrency ? 1 : 0);
+                workers.add(CompletableFuture.runAsync(() -> workload.run(share), executor));
+            }
+            CompletableFuture.allOf(workers.toArray(new CompletableFuture<?>[0])).get();
+        } catch (ExecutionException e) {
+            log.warn("Warm-up stopped early", e.getCause());
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1, TimeUnit.SECONDS);
+        }
+        return workload.requests.get();
+    }
+
+    private final class Workload {
+
+        private final HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        private final AtomicLong requests = new AtomicLong();
+        private final URI baseUri;
+        private final List<UUID> ids;
+        private final ProductRequest validRequest;
+        private final byte[] validBody;
+        private final byte[] invalidBody;
+
+        Workload(URI baseUri, List<UUID> ids) {
+            this.baseUri = baseUri;
+            this.ids = ids;
+            this.validRequest = ProductRequest.builder()
+                    .name("Warm-up Product")
+                    .description("Product used to warm up the request path")
+                    .price(new BigDecimal("19.99"))
+                    .stockQuantity(42)
+                    .build();
+            try {
+                this.validBody = objectMapper.writeValueAsBytes(validRequest);
+                this.invalidBody = objectMapper.writeValueAsBytes(ProductRequest.builder()
+                        .name("")
+                        .price(validRequest.price())
+                        .build());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void run(int count) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            try {
+                for (int i = 0; i < count; i++) {
+                    send(nextRequest(i, random));
+                    Product product = productMapper.toDomain(validRequest).withId(UUID.randomUUID());
+                    objectMapper.writeValueAsBytes(productMapper.toResponse(product));
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private HttpRequest nextRequest(int i, ThreadLocalRandom random) {
+            UUID missingId = new UUID(random.nextLong(), random.nextLong());
+            return switch (i % 4) {
+                case 0 -> HttpRequest.newBuilder(product(ids.isEmpty() ? missingId : ids.get(random.nextInt(ids.size()))))
+                        .GET()
+                        .build();
+                case 1 -> json(HttpRequest.newBuilder(product(missingId)))
+                        .PUT(HttpRequest.BodyPublishers.ofByteArray(validBody))
+                        .build();
+                case 2 -> json(HttpRequest.newBuilder(baseUri))
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(invalidBody))
+                        .build();
+                default -> HttpRequest.newBuilder(product(missingId))
+                        .DELETE()
+                        .build();
+            };
+        }
+
+        private URI product(UUID id) {
+            return URI.create(baseUri + "/" + id);
+        }
+
+        private HttpRequest.Builder json(HttpRequest.Builder builder) {
+            return builder.header("Content-Type", "application/json");
+        }
+
+        private void send(HttpRequest request) throws IOException, InterruptedException {
+            client.send(request, HttpResponse.BodyHandlers.discarding());
+            requests.incrementAndGet();
+        }
+    }
+}
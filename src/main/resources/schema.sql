@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS products (
+    id             UUID          NOT NULL PRIMARY KEY,
+    name           VARCHAR(255),
+    description    VARCHAR(4000),
+    price          NUMERIC(19, 4),
+    price_scale    SMALLINT,
+    stock_quantity INTEGER       NOT NULL
+);
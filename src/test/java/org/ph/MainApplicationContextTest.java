@@ -0,0 +1,33 @@
+package org.ph;
+
+import org.junit.jupiter.api.Test;
+import org.ph.application.port.out.ProductRepository;
+import org.ph.config.ScannedApplicationConfig;
+import org.ph.infrastructure.adapter.rest.idempotency.IdempotencyStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test to verify that the application context of the real application, wired by component
+ * scanning and application.properties rather than by TestConfig, loads correctly.
+ */
+@SpringBootTest(classes = ScannedApplicationConfig.class)
+class MainApplicationContextTest {
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Test
+    void scannedBeansAreLoaded() {
+        assertNotNull(applicationContext.getBean(ProductRepository.class), "ProductRepository bean should be available");
+        assertNotNull(applicationContext.getBean(IdempotencyStore.class), "IdempotencyStore bean should be available");
+        assertTrue(applicationContext.getBeansOfType(DataSource.class).isEmpty(),
+                "No DataSource should be set up unless the jdbc repository is selected");
+    }
+}
@@ -0,0 +1,185 @@
+package org.ph.application.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ph.application.port.out.ProductRepository;
+import org.ph.domain.model.PriceAdjustment;
+import org.ph.domain.model.PriceAdjustmentJob;
+import org.ph.domain.model.Product;
+import org.ph.domain.model.ProductSelector;
+import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the PriceAdjustmentUseCaseImpl class.
+ */
+class PriceAdjustmentUseCaseImplTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+    private static final PriceAdjustment TEN_PERCENT_OFF =
+            new PriceAdjustment(PriceAdjustment.Kind.PERCENTAGE, new BigDecimal("-10"), null, null);
+
+    private InMemoryProductRepository productRepository;
+    private PriceAdjustmentUseCaseImpl priceAdjustmentUseCase;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = new InMemoryProductRepository();
+        priceAdjustmentUseCase = useCase(productRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        priceAdjustmentUseCase.close();
+    }
+
+    @Test
+    void scheduleAdjustment_ShouldAdjustProductsMatchingSelector() {
+        // Arrange
+        List<Product> garden = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            garden.add(product("Garden chair " + i, "Garden furniture", "20.00"));
+        }
+        productRepository.saveAll(garden);
+        Product desk = productRepository.save(product("Desk", "Office furniture", "20.00"));
+        ProductSelector selector = new ProductSelector(null, null, "GARDEN", null, null);
+
+        // Act
+        PriceAdjustmentJob job = awaitFinished(priceAdjustmentUseCase.scheduleAdjustment(selector, TEN_PERCENT_OFF, null));
+
+        // Assert
+        assertEquals(PriceAdjustmentJob.Status.COMPLETED, job.status());
+        assertEquals(25, job.selected());
+        assertEquals(25, job.processed());
+        assertEquals(25, job.adjusted());
+        for (Product product : garden) {
+            assertEquals(new BigDecimal("18.00"), productRepository.findById(product.id()).orElseThrow().price());
+        }
+        assertEquals(new BigDecimal("20.00"), productRepository.findById(desk.id()).orElseThrow().price());
+    }
+
+    @Test
+    void scheduleAdjustment_ShouldSkipUnknownAndUnchangedProducts() {
+        // Arrange
+        Product lamp = productRepository.save(product("Lamp", "Light", "10.00"));
+        Product free = productRepository.save(product("Sticker", "Free", "0.00"));
+        UUID unknown = UUID.randomUUID();
+        ProductSelector selector = new ProductSelector(List.of(lamp.id(), free.id(), unknown, lamp.id()), null, null, null, null);
+
+        // Act
+        PriceAdjustmentJob job = awaitFinished(priceAdjustmentUseCase.scheduleAdjustment(selector, TEN_PERCENT_OFF, null));
+
+        // Assert
+        assertEquals(3, job.selected());
+        assertEquals(1, job.adjusted());
+        assertEquals(2, job.skipped());
+        assertEquals(new BigDecimal("9.00"), productRepository.findById(lamp.id()).orElseThrow().price());
+    }
+
+    @Test
+    void scheduleAdjustment_ShouldLeaveProductsChangedOrDeletedAfterTheRead() {
+        // Arrange
+        Product lamp = product("Lamp", "Light", "10.00");
+        Product updated = lamp.withPrice(new BigDecimal("12.00"));
+        Product gone = product("Vase", "Decoration", "10.00");
+        Product kept = product("Mug", "Kitchen", "10.00");
+        InMemoryProductRepository racing = new InMemoryProductRepository() {
+            @Override
+            public List<Product> findAllById(Collection<UUID> ids) {
+                List<Product> found = super.findAllById(ids);
+                // Other requests write while the batch computes its prices
+                save(updated);
+                deleteById(gone.id());
+                return found;
+            }
+        };
+        racing.saveAll(List.of(lamp, gone, kept));
+        priceAdjustmentUseCase.close();
+        priceAdjustmentUseCase = useCase(racing);
+        ProductSelector selector = new ProductSelector(List.of(lamp.id(), gone.id(), kept.id()), null, null, null, null);
+
+        // Act
+        PriceAdjustmentJob job = awaitFinished(priceAdjustmentUseCase.scheduleAdjustment(selector, TEN_PERCENT_OFF, null));
+
+        // Assert
+        assertEquals(PriceAdjustmentJob.Status.COMPLETED, job.status());
+        assertEquals(1, job.adjusted());
+        assertEquals(2, job.skipped());
+        assertEquals(new BigDecimal("12.00"), racing.findById(lamp.id()).orElseThrow().price());
+        assertFalse(racing.existsById(gone.id()));
+        assertEquals(new BigDecimal("9.00"), racing.findById(kept.id()).orElseThrow().price());
+    }
+
+    @Test
+    void cancelAdjustment_WhenScheduled_ShouldNeverRun() {
+        // Arrange
+        Product lamp = productRepository.save(product("Lamp", "Light", "10.00"));
+        ProductSelector selector = new ProductSelector(List.of(lamp.id()), null, null, null, null);
+        PriceAdjustmentJob scheduled = priceAdjustmentUseCase.scheduleAdjustment(selector, TEN_PERCENT_OFF,
+                NOW.plus(Duration.ofHours(1)));
+
+        // Act
+        PriceAdjustmentJob cancelled = priceAdjustmentUseCase.cancelAdjustment(scheduled.id()).orElseThrow();
+
+        // Assert
+        assertEquals(PriceAdjustmentJob.Status.SCHEDULED, scheduled.status());
+        assertEquals(PriceAdjustmentJob.Status.CANCELLED, cancelled.status());
+        assertEquals(new BigDecimal("10.00"), productRepository.findById(lamp.id()).orElseThrow().price());
+        assertEquals(List.of(cancelled), priceAdjustmentUseCase.getAdjustments());
+    }
+
+    @Test
+    void scheduleAdjustment_WhenBatchFails_ShouldFailJob() {
+        // Arrange
+        ProductRepository failing = mock(ProductRepository.class);
+        when(failing.findAllById(anyList())).thenThrow(new IllegalStateException("store down"));
+        priceAdjustmentUseCase.close();
+        priceAdjustmentUseCase = useCase(failing);
+        ProductSelector selector = new ProductSelector(List.of(UUID.randomUUID()), null, null, null, null);
+
+        // Act
+        PriceAdjustmentJob job = awaitFinished(priceAdjustmentUseCase.scheduleAdjustment(selector, TEN_PERCENT_OFF, null));
+
+        // Assert
+        assertEquals(PriceAdjustmentJob.Status.FAILED, job.status());
+        assertEquals("store down", job.message());
+        verify(failing, never()).saveAllIfUnchanged(anyMap(), anyList());
+    }
+
+    private PriceAdjustmentJob awaitFinished(PriceAdjustmentJob job) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            PriceAdjustmentJob current = priceAdjustmentUseCase.getAdjustment(job.id()).orElseThrow();
+            if (current.status().isFinished()) {
+                return current;
+            }
+            LockSupport.parkNanos(Duration.ofMillis(5).toNanos());
+        }
+        return fail("Job did not finish: " + priceAdjustmentUseCase.getAdjustment(job.id()));
+    }
+
+    private static PriceAdjustmentUseCaseImpl useCase(ProductRepository repository) {
+        return new PriceAdjustmentUseCaseImpl(repository, UUID::randomUUID, 10, 2, 10,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private static Product product(String name, String description, String price) {
+        return new Product(UUID.randomUUID(), name, description, new BigDecimal(price), 1);
+    }
+}
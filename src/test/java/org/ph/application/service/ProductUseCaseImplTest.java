@@ -6,10 +6,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.ph.application.port.out.ProductChangeLog;
+import org.ph.application.port.out.ProductHistory;
 import org.ph.application.port.out.ProductRepository;
 import org.ph.domain.model.Product;
+import org.ph.domain.model.ProductChanges;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -59,8 +63,8 @@ class ProductUseCaseImplTest {
 
         // Assert
         assertNotNull(result);
-        assertEquals(testId, result.getId());
-        assertEquals("Test Product", result.getName());
+        assertEquals(testId, result.id());
+        assertEquals("Test Product", result.name());
         
         // Verify interactions
         verify(productService).createProduct(testProduct);
@@ -84,6 +88,20 @@ class ProductUseCaseImplTest {
         verifyNoInteractions(productService);
     }
 
+    @Test
+    void getProductsByIds_ShouldDelegateToRepository() {
+        // Arrange
+        List<UUID> ids = List.of(testId, UUID.randomUUID());
+        when(productRepository.findAllById(ids)).thenReturn(List.of(testProduct));
+
+        // Act
+        List<Product> result = productUseCase.getProductsByIds(ids);
+
+        // Assert
+        assertEquals(List.of(testProduct), result);
+        verifyNoInteractions(productService);
+    }
+
     @Test
     void getAllProducts_ShouldDelegateToRepository() {
         // Arrange
@@ -115,7 +133,7 @@ class ProductUseCaseImplTest {
 
         // Assert
         assertNotNull(result);
-        assertEquals(testId, result.getId());
+        assertEquals(testId, result.id());
         
         // Verify interactions
         verify(productRepository).existsById(testId);
@@ -155,4 +173,75 @@ class ProductUseCaseImplTest {
         verify(productRepository).deleteById(testId);
         verifyNoInteractions(productService);
     }
-}
\ No newline at end of file
+
+    @Test
+    void createProducts_ShouldApplyDomainLogicAndPersistAsOneBatch() {
+        // Arrange
+        Product other = testProduct.withId(UUID.randomUUID());
+        when(productService.createProduct(testProduct)).thenReturn(testProduct);
+        when(productService.createProduct(other)).thenReturn(other);
+        when(productRepository.saveAll(List.of(testProduct, other))).thenReturn(List.of(testProduct, other));
+
+        // Act
+        List<Product> result = productUseCase.createProducts(List.of(testProduct, other));
+
+        // Assert
+        assertEquals(List.of(testProduct, other), result);
+
+        // Verify interactions
+        verify(productRepository).saveAll(List.of(testProduct, other));
+        verify(productRepository, never()).save(any());
+    }
+
+    @Test
+    void getChangesSince_ShouldReturnRepositoryChanges() {
+        // Arrange
+        ProductChanges changes = new ProductChanges(5, false, false, List.of(testProduct), List.of(), null);
+        ProductChangeLog changeLog = mock(ProductChangeLog.class);
+        when(productRepository.changeLog()).thenReturn(Optional.of(changeLog));
+        when(changeLog.changesSince(3, null, 100)).thenReturn(changes);
+
+        // Act
+        Optional<ProductChanges> result = productUseCase.getChangesSince(3, null, 100);
+
+        // Assert
+        assertEquals(Optional.of(changes), result);
+        verify(changeLog).changesSince(3, null, 100);
+    }
+
+    @Test
+    void getChangesSince_WhenWritesAreNotNumbered_ShouldReturnEmpty() {
+        // Arrange
+        when(productRepository.changeLog()).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertEquals(Optional.empty(), productUseCase.getChangesSince(3, null, 100));
+    }
+
+    @Test
+    void getProductAsOf_ShouldReturnRepositoryHistory() {
+        // Arrange
+        Instant asOf = Instant.parse("2024-03-01T12:00:00Z");
+        ProductHistory history = mock(ProductHistory.class);
+        when(productRepository.history()).thenReturn(Optional.of(history));
+        when(history.findById(testId, asOf)).thenReturn(Optional.of(testProduct));
+
+        // Act
+        Optional<Product> result = productUseCase.getProductAsOf(testId, asOf);
+
+        // Assert
+        assertTrue(productUseCase.keepsHistory());
+        assertEquals(Optional.of(testProduct), result);
+        verify(history).findById(testId, asOf);
+    }
+
+    @Test
+    void getProductAsOf_WhenNoHistoryIsKept_ShouldReturnEmpty() {
+        // Arrange
+        when(productRepository.history()).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertFalse(productUseCase.keepsHistory());
+        assertEquals(Optional.empty(), productUseCase.getProductAsOf(testId, Instant.now()));
+    }
+}
@@ -0,0 +1,20 @@
+package org.ph.config;
+
+import org.ph.Main;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+
+/**
+ * Test configuration that wires the application the way {@link Main} does, by component
+ * scanning and application.properties. Unlike booting Main itself, it leaves out
+ * {@link TestConfig}, whose beans would otherwise replace or shadow the scanned ones;
+ * Main is excluded too, as its own component scan would pick TestConfig up again.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(basePackageClasses = Main.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = {Main.class, TestConfig.class}))
+public class ScannedApplicationConfig {
+}
@@ -1,18 +1,27 @@
 package org.ph.config;
 
 import org.ph.application.port.in.ProductUseCase;
+import org.ph.application.port.out.IdGenerator;
 import org.ph.application.port.out.ProductRepository;
 import org.ph.application.service.ProductUseCaseImpl;
 import org.ph.application.service.ProductService;
 import org.ph.application.service.impl.ProductServiceImpl;
+import org.ph.infrastructure.adapter.id.UuidV7Generator;
 import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
 import org.ph.infrastructure.adapter.rest.ProductController;
+import org.ph.infrastructure.adapter.rest.concurrency.ConcurrencyLimits;
+import org.ph.infrastructure.adapter.rest.idempotency.IdempotencyStore;
+import org.ph.infrastructure.adapter.rest.json.ProductJsonModule;
 import org.ph.infrastructure.adapter.rest.mapper.ProductMapper;
+import org.ph.infrastructure.adapter.rest.ratelimit.ClientIdentifier;
+import org.ph.infrastructure.adapter.rest.validation.ProductRequestValidator;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 /**
  * Test configuration for integration tests.
  * This class provides the necessary beans for the Spring context in tests.
@@ -21,14 +30,25 @@ import org.springframework.context.annotation.Configuration;
 @EnableAutoConfiguration
 public class TestConfig {
 
+    /**
+     * Creates an IdGenerator bean for testing.
+     *
+     * @return An IdGenerator instance
+     */
+    @Bean
+    public IdGenerator idGenerator() {
+        return new UuidV7Generator();
+    }
+
     /**
      * Creates a ProductService bean for testing.
      *
+     * @param idGenerator The IdGenerator bean
      * @return A ProductService instance
      */
     @Bean
-    public ProductService productService() {
-        return new ProductServiceImpl();
+    public ProductService productService(IdGenerator idGenerator) {
+        return new ProductServiceImpl(idGenerator);
     }
 
     /**
@@ -63,15 +83,74 @@ public class TestConfig {
         return new ProductMapper();
     }
 
+    /**
+     * Creates a ProductRequestValidator bean for testing.
+     *
+     * @return A ProductRequestValidator instance
+     */
+    @Bean
+    public ProductRequestValidator productRequestValidator() {
+        return new ProductRequestValidator();
+    }
+
+    /**
+     * Creates an IdempotencyStore bean for testing.
+     *
+     * @return An IdempotencyStore instance
+     */
+    @Bean
+    public IdempotencyStore idempotencyStore() {
+        return new IdempotencyStore(Duration.ofMinutes(5), 1_000);
+    }
+
+    /**
+     * Creates a ClientIdentifier bean for testing, which identifies clients by their address.
+     *
+     * @return A ClientIdentifier instance
+     */
+    @Bean
+    public ClientIdentifier clientIdentifier() {
+        return new ClientIdentifier("", new String[0]);
+    }
+
+    /**
+     * Creates ConcurrencyLimits for testing, which run every call right away.
+     *
+     * @return A ConcurrencyLimits instance
+     */
+    @Bean
+    public ConcurrencyLimits concurrencyLimits() {
+        return ConcurrencyLimits.unlimited();
+    }
+
     /**
      * Creates a ProductController bean for testing.
      *
      * @param productUseCase The ProductUseCase bean
      * @param productMapper The ProductMapper bean
+     * @param productRequestValidator The ProductRequestValidator bean
+     * @param idempotencyStore The IdempotencyStore bean
+     * @param clientIdentifier The ClientIdentifier bean
+     * @param concurrencyLimits The ConcurrencyLimits bean
      * @return A ProductController instance
      */
     @Bean
-    public ProductController productController(ProductUseCase productUseCase, ProductMapper productMapper) {
-        return new ProductController(productUseCase, productMapper);
+    public ProductController productController(ProductUseCase productUseCase, ProductMapper productMapper,
+                                               ProductRequestValidator productRequestValidator,
+                                               IdempotencyStore idempotencyStore,
+                                               ClientIdentifier clientIdentifier,
+                                               ConcurrencyLimits concurrencyLimits) {
+        return new ProductController(productUseCase, productMapper, productRequestValidator, idempotencyStore,
+                clientIdentifier, concurrencyLimits);
+    }
+
+    /**
+     * Creates the Jackson module with the product DTO (de)serializers for testing.
+     *
+     * @return A ProductJsonModule instance
+     */
+    @Bean
+    public ProductJsonModule productJsonModule() {
+        return new ProductJsonModule();
     }
 }
@@ -66,17 +66,17 @@ public class ProductStepDefinitions {
     @Then("the product should have an ID")
     public void theProductShouldHaveAnID() {
         Assertions.assertNotNull(productResponse.getBody());
-        Assertions.assertNotNull(productResponse.getBody().getId());
-        productId = productResponse.getBody().getId();
+        Assertions.assertNotNull(productResponse.getBody().id());
+        productId = productResponse.getBody().id();
     }
 
     @Then("the product details should match the input")
     public void theProductDetailsShouldMatchTheInput() {
         Assertions.assertNotNull(productResponse.getBody());
-        Assertions.assertEquals(productRequest.getName(), productResponse.getBody().getName());
-        Assertions.assertEquals(productRequest.getDescription(), productResponse.getBody().getDescription());
-        Assertions.assertEquals(productRequest.getPrice(), productResponse.getBody().getPrice());
-        Assertions.assertEquals(productRequest.getStockQuantity(), productResponse.getBody().getStockQuantity());
+        Assertions.assertEquals(productRequest.name(), productResponse.getBody().name());
+        Assertions.assertEquals(productRequest.description(), productResponse.getBody().description());
+        Assertions.assertEquals(productRequest.price(), productResponse.getBody().price());
+        Assertions.assertEquals(productRequest.stockQuantity(), productResponse.getBody().stockQuantity());
     }
 
     @Given("I have a product in the system")
@@ -90,7 +90,7 @@ public class ProductStepDefinitions {
                 .build();
 
         productResponse = restTemplate.postForEntity("/api/products", productRequest, ProductResponse.class);
-        productId = productResponse.getBody().getId();
+        productId = productResponse.getBody().id();
     }
 
     @When("I request the product by its ID")
@@ -102,7 +102,7 @@ public class ProductStepDefinitions {
     public void iShouldReceiveTheProductDetails() {
         Assertions.assertEquals(HttpStatus.OK, productResponse.getStatusCode());
         Assertions.assertNotNull(productResponse.getBody());
-        Assertions.assertEquals(productId, productResponse.getBody().getId());
+        Assertions.assertEquals(productId, productResponse.getBody().id());
     }
 
     @Given("I have multiple products in the system")
@@ -166,10 +166,10 @@ public class ProductStepDefinitions {
     @Then("the product details should match the updated values")
     public void theProductDetailsShouldMatchTheUpdatedValues() {
         Assertions.assertNotNull(productResponse.getBody());
-        Assertions.assertEquals(productRequest.getName(), productResponse.getBody().getName());
-        Assertions.assertEquals(productRequest.getDescription(), productResponse.getBody().getDescription());
-        Assertions.assertEquals(productRequest.getPrice(), productResponse.getBody().getPrice());
-        Assertions.assertEquals(productRequest.getStockQuantity(), productResponse.getBody().getStockQuantity());
+        Assertions.assertEquals(productRequest.name(), productResponse.getBody().name());
+        Assertions.assertEquals(productRequest.description(), productResponse.getBody().description());
+        Assertions.assertEquals(productRequest.price(), productResponse.getBody().price());
+        Assertions.assertEquals(productRequest.stockQuantity(), productResponse.getBody().stockQuantity());
     }
 
     @When("I delete the product")
@@ -0,0 +1,44 @@
+package org.ph.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PriceAdjustment record.
+ */
+class PriceAdjustmentTest {
+
+    @Test
+    void apply_WithPercentage_ShouldKeepScaleOfOldPrice() {
+        // Arrange
+        PriceAdjustment adjustment = new PriceAdjustment(PriceAdjustment.Kind.PERCENTAGE, new BigDecimal("-15"), null, null);
+
+        // Act & Assert
+        assertEquals(new BigDecimal("16.99"), adjustment.apply(new BigDecimal("19.99")));
+        assertEquals(new BigDecimal("85"), adjustment.apply(new BigDecimal("100")));
+    }
+
+    @Test
+    void apply_WithScaleAndRoundingMode_ShouldRoundNewPrice() {
+        // Arrange
+        PriceAdjustment adjustment = new PriceAdjustment(PriceAdjustment.Kind.PERCENTAGE, new BigDecimal("10"), 0, RoundingMode.DOWN);
+
+        // Act & Assert
+        assertEquals(new BigDecimal("21"), adjustment.apply(new BigDecimal("19.99")));
+    }
+
+    @Test
+    void apply_WithAbsoluteAmount_ShouldAddAmount() {
+        // Arrange
+        PriceAdjustment adjustment = new PriceAdjustment(PriceAdjustment.Kind.ABSOLUTE, new BigDecimal("-5.00"), 2, null);
+
+        // Act & Assert
+        assertEquals(new BigDecimal("14.99"), adjustment.apply(new BigDecimal("19.99")));
+        assertEquals(new BigDecimal("0.00"), adjustment.apply(new BigDecimal("5")));
+        assertNull(adjustment.apply(new BigDecimal("4.99")));
+    }
+}
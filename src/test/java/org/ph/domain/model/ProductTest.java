@@ -0,0 +1,42 @@
+package org.ph.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the Product record.
+ */
+class ProductTest {
+
+    @Test
+    void constructor_ShouldKeepPriceScale() {
+        // Act
+        Product product = new Product(null, "Product", null, new BigDecimal("9.990"), 1);
+
+        // Assert
+        assertEquals(new BigDecimal("9.990"), product.price());
+        assertNotEquals(new BigDecimal("9.99"), product.price());
+    }
+
+    @Test
+    void withId_ShouldReturnNewProductAndLeaveOriginalUnchanged() {
+        // Arrange
+        Product product = Product.builder()
+                .name("Product")
+                .price(BigDecimal.ONE)
+                .build();
+        UUID id = UUID.randomUUID();
+
+        // Act
+        Product identified = product.withId(id);
+
+        // Assert
+        assertNull(product.id());
+        assertEquals(id, identified.id());
+        assertEquals(product.name(), identified.name());
+    }
+}
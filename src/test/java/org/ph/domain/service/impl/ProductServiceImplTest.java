@@ -17,10 +17,12 @@ import static org.junit.jupiter.api.Assertions.*;
 class ProductServiceImplTest {
 
     private ProductServiceImpl productService;
+    private UUID generatedId;
 
     @BeforeEach
     void setUp() {
-        productService = new ProductServiceImpl();
+        generatedId = UUID.randomUUID();
+        productService = new ProductServiceImpl(() -> generatedId);
     }
 
     @Test
@@ -38,11 +40,11 @@ class ProductServiceImplTest {
 
         // Assert
         assertNotNull(createdProduct);
-        assertNotNull(createdProduct.getId(), "Product ID should be generated");
-        assertEquals("Test Product", createdProduct.getName());
-        assertEquals("Test Description", createdProduct.getDescription());
-        assertEquals(BigDecimal.valueOf(10.99), createdProduct.getPrice());
-        assertEquals(100, createdProduct.getStockQuantity());
+        assertEquals(generatedId, createdProduct.id(), "Product ID should come from the IdGenerator");
+        assertEquals("Test Product", createdProduct.name());
+        assertEquals("Test Description", createdProduct.description());
+        assertEquals(BigDecimal.valueOf(10.99), createdProduct.price());
+        assertEquals(100, createdProduct.stockQuantity());
     }
 
     @Test
@@ -62,7 +64,7 @@ class ProductServiceImplTest {
 
         // Assert
         assertNotNull(createdProduct);
-        assertEquals(id, createdProduct.getId(), "Product ID should remain unchanged");
+        assertEquals(id, createdProduct.id(), "Product ID should remain unchanged");
     }
 
     @Test
@@ -81,11 +83,11 @@ class ProductServiceImplTest {
 
         // Assert
         assertNotNull(updatedProduct);
-        assertEquals(id, updatedProduct.getId(), "Product ID should be set to the provided ID");
-        assertEquals("Updated Product", updatedProduct.getName());
-        assertEquals("Updated Description", updatedProduct.getDescription());
-        assertEquals(BigDecimal.valueOf(20.99), updatedProduct.getPrice());
-        assertEquals(200, updatedProduct.getStockQuantity());
+        assertEquals(id, updatedProduct.id(), "Product ID should be set to the provided ID");
+        assertEquals("Updated Product", updatedProduct.name());
+        assertEquals("Updated Description", updatedProduct.description());
+        assertEquals(BigDecimal.valueOf(20.99), updatedProduct.price());
+        assertEquals(200, updatedProduct.stockQuantity());
     }
 
     @Test
@@ -0,0 +1,115 @@
+package org.ph.infrastructure.adapter.id;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the UuidV7Generator class.
+ */
+class UuidV7GeneratorTest {
+
+    private UuidV7Generator generator;
+
+    @BeforeEach
+    void setUp() {
+        generator = new UuidV7Generator();
+    }
+
+    @Test
+    void nextId_ShouldProduceVersion7RfcVariantUuid() {
+        // Act
+        UUID id = generator.nextId();
+
+        // Assert
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(id, UUID.fromString(id.toString()));
+    }
+
+    @Test
+    void nextId_ShouldEmbedCurrentTimestamp() {
+        // Arrange
+        long before = System.currentTimeMillis();
+
+        // Act
+        UUID id = generator.nextId();
+
+        // Assert
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1, "Timestamp " + millis);
+    }
+
+    @Test
+    void nextId_ShouldBeStrictlyIncreasingWithinThread() {
+        // Arrange
+        UUID previous = generator.nextId();
+
+        for (int i = 0; i < 200_000; i++) {
+            // Act
+            UUID next = generator.nextId();
+
+            // Assert
+            assertTrue(compareUnsigned(previous, next) < 0, previous + " should sort before " + next);
+            previous = next;
+        }
+    }
+
+    @Test
+    void nextId_ShouldBeUniqueAcrossThreads() throws Exception {
+        // Arrange
+        int threads = 8;
+        int idsPerThread = 50_000;
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // Act
+            List<Future<?>> futures = IntStream.range(0, threads)
+                    .mapToObj(t -> executor.submit(() -> {
+                        for (int i = 0; i < idsPerThread; i++) {
+                            ids.add(generator.nextId());
+                        }
+                    }))
+                    .collect(Collectors.toList());
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+
+            // Assert
+            assertEquals(threads * idsPerThread, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void compose_WithMaximumCounter_ShouldKeepVersionAndVariant() {
+        // Act
+        UUID id = UuidV7Generator.compose(0xFFFF_FFFF_FFFFL, (1L << 42) - 1, -1);
+
+        // Assert
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(0xFFFF_FFFF_FFFFL, id.getMostSignificantBits() >>> 16);
+    }
+
+    /**
+     * Byte-wise (unsigned) ordering, as used by sorted stores; {@link UUID#compareTo} compares signed longs.
+     */
+    private static int compareUnsigned(UUID a, UUID b) {
+        int result = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return result != 0 ? result : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
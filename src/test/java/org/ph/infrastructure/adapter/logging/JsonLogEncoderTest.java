@@ -0,0 +1,67 @@
+package org.ph.infrastructure.adapter.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the JsonLogEncoder class.
+ */
+class JsonLogEncoderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final JsonLogEncoder encoder = new JsonLogEncoder();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void encode_ShouldWriteOneEscapedJsonObjectPerLine() throws Exception {
+        // Arrange
+        LoggingEvent event = event("Name \"{}\"\n\tnext line", new Object[]{"Widget\u0001"}, null,
+                Map.of("requestId", "abc"));
+
+        // Act
+        String line = new String(encoder.encode(event), StandardCharsets.UTF_8);
+
+        // Assert
+        assertTrue(line.endsWith("}\n"));
+        assertEquals(1, line.lines().count());
+        JsonNode json = objectMapper.readTree(line);
+        assertEquals("2024-01-02T03:04:05.678Z", json.get("timestamp").asText());
+        assertEquals("INFO", json.get("level").asText());
+        assertEquals("main", json.get("thread").asText());
+        assertEquals("org.ph.Test", json.get("logger").asText());
+        assertEquals("Name \"Widget\u0001\"\n\tnext line", json.get("message").asText());
+        assertEquals("abc", json.get("mdc").get("requestId").asText());
+        assertFalse(json.has("stackTrace"));
+    }
+
+    @Test
+    void encode_ShouldIncludeStackTraceOfException() throws Exception {
+        // Arrange
+        LoggingEvent event = event("Failed", null, new IllegalStateException("Boom"), Map.of());
+
+        // Act
+        JsonNode json = objectMapper.readTree(encoder.encode(event));
+
+        // Assert
+        assertTrue(json.get("stackTrace").asText().startsWith("java.lang.IllegalStateException: Boom"));
+        assertFalse(json.has("mdc"));
+    }
+
+    private LoggingEvent event(String message, Object[] arguments, Throwable throwable, Map<String, String> mdc) {
+        LoggingEvent event = new LoggingEvent("fqcn", context.getLogger("org.ph.Test"), Level.INFO, message,
+                throwable, arguments);
+        event.setTimeStamp(1704164645678L);
+        event.setThreadName("main");
+        event.setMDCPropertyMap(mdc);
+        return event;
+    }
+}
@@ -0,0 +1,70 @@
+package org.ph.infrastructure.adapter.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.core.spi.FilterReply;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RequestLogFilter class.
+ */
+class RequestLogFilterTest {
+
+    private final RequestSamplingTurboFilter turboFilter = new RequestSamplingTurboFilter();
+
+    @Test
+    void doFilter_ShouldTurnDebugOffInUnsampledRequest() throws Exception {
+        // Arrange
+        RequestLogFilter filter = new RequestLogFilter(0.1, () -> 0.5);
+        AtomicReference<FilterReply> debug = new AtomicReference<>();
+        AtomicReference<FilterReply> info = new AtomicReference<>();
+        FilterChain chain = (request, response) -> {
+            debug.set(decide(Level.DEBUG));
+            info.set(decide(Level.INFO));
+        };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(FilterReply.DENY, debug.get());
+        assertEquals(FilterReply.NEUTRAL, info.get());
+        assertEquals(FilterReply.NEUTRAL, decide(Level.DEBUG));
+    }
+
+    @Test
+    void doFilter_ShouldKeepDebugAndTagSampledRequest() throws Exception {
+        // Arrange
+        RequestLogFilter filter = new RequestLogFilter(0.1, () -> 0.05);
+        AtomicReference<FilterReply> debug = new AtomicReference<>();
+        AtomicReference<String> requestId = new AtomicReference<>();
+        FilterChain chain = (request, response) -> {
+            debug.set(decide(Level.DEBUG));
+            requestId.set(MDC.get(RequestLogFilter.REQUEST_ID));
+        };
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertEquals(FilterReply.NEUTRAL, debug.get());
+        assertNotNull(requestId.get());
+        assertNull(MDC.get(RequestLogFilter.REQUEST_ID));
+    }
+
+    @Test
+    void constructor_ShouldRejectSampleRateOutsideZeroToOne() {
+        assertThrows(IllegalArgumentException.class, () -> new RequestLogFilter(1.5, () -> 0));
+    }
+
+    private FilterReply decide(Level level) {
+        return turboFilter.decide(null, null, level, null, null, null);
+    }
+}
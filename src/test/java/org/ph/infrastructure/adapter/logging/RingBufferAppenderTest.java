@@ -0,0 +1,132 @@
+package org.ph.infrastructure.adapter.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RingBufferAppender class.
+ */
+class RingBufferAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+    private final CountDownLatch writing = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private RingBufferAppender appender;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        logger = context.getLogger("test");
+        logger.setLevel(Level.DEBUG);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        context.stop();
+    }
+
+    @Test
+    void append_ShouldWriteEventsAsJsonLinesInOrder() {
+        // Arrange
+        start(100, written);
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            logger.info("Event {}", i);
+        }
+        appender.stop();
+
+        // Assert
+        List<String> lines = lines();
+        assertEquals(50, lines.size());
+        for (int i = 0; i < 50; i++) {
+            assertTrue(lines.get(i).contains("\"message\":\"Event " + i + "\""), lines.get(i));
+        }
+        assertEquals(0, appender.getDropped());
+    }
+
+    @Test
+    void append_ShouldDropEventsBelowWarnFirstAndReportDrops() throws Exception {
+        // Arrange
+        start(10, blockingStream());
+        logger.info("First");
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            logger.info("Info {}", i);
+        }
+        for (int i = 0; i < 10; i++) {
+            logger.warn("Warn {}", i);
+        }
+        release.countDown();
+        appender.stop();
+
+        // Assert
+        assertEquals(20, appender.getDropped());
+        List<String> lines = lines();
+        assertEquals(12, lines.size());
+        assertTrue(lines.get(6).contains("Info 5"));
+        assertTrue(lines.get(10).contains("Warn 3"));
+        assertTrue(lines.get(11).contains("\"message\":\"Log buffer full, dropped 20 events\""));
+    }
+
+    private void start(int capacity, OutputStream out) {
+        appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("test");
+        appender.setCapacity(capacity);
+        appender.setDiscardingThreshold(capacity / 2);
+        appender.setOutputStream(out);
+        JsonLogEncoder encoder = new JsonLogEncoder();
+        encoder.setContext(context);
+        encoder.start();
+        appender.setEncoder(encoder);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    /**
+     * Holds the writer in its first write until released, so that the buffer fills up.
+     */
+    private OutputStream blockingStream() {
+        return new OutputStream() {
+            @Override
+            public void write(int b) {
+                written.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                writing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.write(b, off, len);
+            }
+        };
+    }
+
+    private List<String> lines() {
+        return written.toString(StandardCharsets.UTF_8).lines().toList();
+    }
+}
@@ -0,0 +1,150 @@
+package org.ph.infrastructure.adapter.replication;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ph.domain.model.Product;
+import org.ph.domain.model.ProductChanges;
+import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ReplicationFollower class.
+ */
+class ReplicationFollowerTest {
+
+    private InMemoryProductRepository repository;
+    private ReplicationFollower follower;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryProductRepository();
+        follower = new ReplicationFollower(repository, new ObjectMapper(), new SimpleMeterRegistry(),
+                "http://localhost:1/", Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(1));
+    }
+
+    @Test
+    void apply_WithReset_ShouldReplaceLocalCatalog() {
+        // Arrange
+        Product stale = product("Stale");
+        Product laptop = product("Laptop");
+        repository.saveAll(List.of(stale, laptop));
+        Product updated = laptop.withPrice(new BigDecimal("899.99"));
+        Product mouse = product("Mouse");
+
+        // Act
+        follower.apply(new ProductChanges(100, true, false, List.of(updated, mouse), List.of(), null));
+
+        // Assert
+        assertEquals(List.of(updated, mouse), repository.findAll().stream()
+                .sorted((a, b) -> a.name().compareTo(b.name())).toList());
+        assertEquals(100, follower.revision());
+        assertTrue(follower.stalenessSeconds() >= 0);
+    }
+
+    @Test
+    void apply_WithResetInBatches_ShouldDeleteOnlyAfterLastBatch() {
+        // Arrange
+        Product stale = product("Stale");
+        Product laptop = product("Laptop");
+        Product mouse = product("Mouse");
+        repository.saveAll(List.of(stale, laptop, mouse));
+
+        // Act
+        follower.apply(new ProductChanges(100, true, true, List.of(laptop), List.of(), laptop.id()));
+        boolean keptDuringReset = repository.existsById(stale.id());
+        follower.apply(new ProductChanges(100, false, false, List.of(mouse), List.of(), null));
+
+        // Assert
+        assertTrue(keptDuringReset);
+        assertFalse(repository.existsById(stale.id()));
+        assertTrue(repository.existsById(laptop.id()));
+        assertTrue(repository.existsById(mouse.id()));
+    }
+
+    @Test
+    void apply_ShouldSaveUpsertsAndDeleteDeletions() {
+        // Arrange
+        Product laptop = product("Laptop");
+        Product mouse = product("Mouse");
+        repository.saveAll(List.of(laptop, mouse));
+        Product desk = product("Desk");
+
+        // Act
+        follower.apply(new ProductChanges(101, false, true, List.of(desk), List.of(mouse.id()), null));
+
+        // Assert
+        assertEquals(2, repository.findAll().size());
+        assertTrue(repository.existsById(desk.id()));
+        assertFalse(repository.existsById(mouse.id()));
+        assertEquals(101, follower.revision());
+        assertTrue(Double.isNaN(follower.stalenessSeconds()));
+    }
+
+    @Test
+    void run_ShouldReconnectWhenLeaderFallsSilent() throws Exception {
+        // Arrange
+        CountDownLatch connections = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer leader = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        leader.setExecutor(Executors.newCachedThreadPool());
+        leader.createContext("/api/replication/log", exchange -> {
+            connections.countDown();
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream body = exchange.getResponseBody();
+            body.write("{\"revision\":7,\"reset\":true,\"hasMore\":false,\"upserts\":[],\"deletions\":[]}\n"
+                    .getBytes(StandardCharsets.UTF_8));
+            body.flush();
+            try {
+                // Neither batches nor heartbeats from now on
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.close();
+        });
+        leader.start();
+        follower = new ReplicationFollower(repository, new ObjectMapper(), new SimpleMeterRegistry(),
+                "http://localhost:" + leader.getAddress().getPort(), Duration.ofMillis(10), Duration.ofMillis(200),
+                Duration.ofSeconds(5));
+
+        try {
+            // Act
+            follower.run(null);
+            boolean reconnected = connections.await(5, TimeUnit.SECONDS);
+
+            // Assert
+            assertTrue(reconnected);
+            assertEquals(7, follower.revision());
+        } finally {
+            follower.destroy();
+            release.countDown();
+            leader.stop(0);
+        }
+    }
+
+    @Test
+    void constructor_WithoutLeaderUrl_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new ReplicationFollower(repository, new ObjectMapper(),
+                new SimpleMeterRegistry(), " ", Duration.ofSeconds(1), Duration.ofSeconds(2), Duration.ofSeconds(1)));
+    }
+
+    private static Product product(String name) {
+        return new Product(UUID.randomUUID(), name, "Description of " + name, new BigDecimal("9.99"), 1);
+    }
+}
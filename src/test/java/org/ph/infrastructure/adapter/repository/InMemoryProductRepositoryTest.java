@@ -6,6 +6,7 @@ import org.ph.domain.model.Product;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -141,4 +142,112 @@ class InMemoryProductRepositoryTest {
         // Assert
         assertFalse(result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAll_ShouldReturnPointInTimeSnapshot() {
+        // Arrange
+        repository.save(testProduct);
+        List<Product> snapshot = repository.findAll();
+
+        // Act
+        repository.save(testProduct.withName("Renamed Product"));
+        repository.save(testProduct.withId(UUID.randomUUID()));
+
+        // Assert
+        assertEquals(1, snapshot.size());
+        assertEquals("Test Product", snapshot.get(0).name());
+        assertEquals(2, repository.findAll().size());
+    }
+
+    @Test
+    void findAll_ShouldReturnUnmodifiableList() {
+        // Arrange
+        repository.save(testProduct);
+
+        // Act
+        List<Product> result = repository.findAll();
+
+        // Assert
+        assertThrows(UnsupportedOperationException.class, () -> result.remove(0));
+        assertSame(result, repository.findAll(), "Readers of the same snapshot should share its list");
+    }
+
+    @Test
+    void saveAll_ShouldStoreAllProducts() {
+        // Arrange
+        Product anotherProduct = testProduct.withId(UUID.randomUUID());
+
+        // Act
+        List<Product> result = repository.saveAll(List.of(testProduct, anotherProduct));
+
+        // Assert
+        assertEquals(List.of(testProduct, anotherProduct), result);
+        assertEquals(2, repository.findAll().size());
+        assertTrue(repository.existsById(anotherProduct.id()));
+    }
+
+    @Test
+    void deleteAllById_ShouldDeleteExistingProductsAndSkipUnknownIds() {
+        // Arrange
+        Product anotherProduct = testProduct.withId(UUID.randomUUID());
+        Product keptProduct = testProduct.withId(UUID.randomUUID());
+        repository.saveAll(List.of(testProduct, anotherProduct, keptProduct));
+        UUID unknownId = UUID.randomUUID();
+
+        // Act
+        List<UUID> deleted = repository.deleteAllById(List.of(anotherProduct.id(), unknownId, testId));
+
+        // Assert
+        assertEquals(List.of(anotherProduct.id(), testId), deleted);
+        assertEquals(List.of(keptProduct), repository.findAll());
+    }
+
+    @Test
+    void findAllById_ShouldReturnFoundProductsInRequestOrder() {
+        // Arrange
+        Product anotherProduct = testProduct.withId(UUID.randomUUID());
+        repository.saveAll(List.of(testProduct, anotherProduct));
+        UUID unknownId = UUID.randomUUID();
+
+        // Act
+        List<Product> found = repository.findAllById(List.of(anotherProduct.id(), unknownId, testId, anotherProduct.id()));
+
+        // Assert
+        assertEquals(List.of(anotherProduct, testProduct), found);
+    }
+
+    @Test
+    void saveAllIfUnchanged_WhenProductWasDeleted_ShouldNotRecreateIt() {
+        // Arrange
+        repository.save(testProduct);
+        repository.deleteById(testId);
+
+        // Act
+        List<Product> saved = repository.saveAllIfUnchanged(Map.of(testId, testProduct),
+                List.of(testProduct.withPrice(BigDecimal.ONE)));
+
+        // Assert
+        assertTrue(saved.isEmpty());
+        assertFalse(repository.existsById(testId));
+    }
+
+    @Test
+    void save_ShouldShareEqualDescriptionsAndPrices() {
+        // Arrange
+        Product first = new Product(UUID.randomUUID(), "First", new String("Shared description"),
+                new BigDecimal("9.99"), 1);
+        Product second = new Product(UUID.randomUUID(), "Second", new String("Shared description"),
+                new BigDecimal("9.99"), 2);
+
+        // Act
+        repository.save(first);
+        repository.saveAll(List.of(second));
+
+        // Assert
+        Product storedFirst = repository.findById(first.id()).orElseThrow();
+        Product storedSecond = repository.findById(second.id()).orElseThrow();
+        assertEquals(second, storedSecond);
+        assertSame(storedFirst.description(), storedSecond.description());
+        assertSame(storedFirst.price(), storedSecond.price());
+    }
+}
@@ -0,0 +1,226 @@
+package org.ph.infrastructure.adapter.repository.history;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PriceHistoryProductRepository class.
+ */
+class PriceHistoryProductRepositoryTest {
+
+    private static final long START = 1_700_000_000_000L;
+    private static final Duration RETENTION = Duration.ofDays(1);
+    private static final int MAX_VERSIONS = 64;
+
+    private final AtomicLong clock = new AtomicLong(START);
+    private InMemoryProductRepository backend;
+    private PriceHistoryProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        backend = new InMemoryProductRepository();
+        repository = new PriceHistoryProductRepository(backend, RETENTION, MAX_VERSIONS, clock::get);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        repository.close();
+    }
+
+    @Test
+    void history_ShouldBeThisRepository() {
+        // Act & Assert
+        assertSame(repository, repository.history().orElseThrow());
+        assertEquals(Optional.empty(), backend.history());
+    }
+
+    @Test
+    void findByIdAsOf_ShouldReturnPriceAndStockAtThatTime() {
+        // Arrange
+        Product laptop = product("Laptop", "999.99", 10);
+        clock.set(START + 1_000);
+        repository.save(laptop);
+        clock.set(START + 2_000);
+        repository.save(laptop.withPrice(new BigDecimal("899.99")));
+        clock.set(START + 3_000);
+        Product renamed = laptop.withName("Laptop Pro").withPrice(new BigDecimal("899.99")).withStockQuantity(7);
+        repository.save(renamed);
+
+        // Act & Assert
+        assertEquals(Optional.empty(), repository.findById(laptop.id(), Instant.ofEpochMilli(START + 999)));
+        assertEquals(Optional.of(renamed.withPrice(new BigDecimal("999.99")).withStockQuantity(10)),
+                repository.findById(laptop.id(), Instant.ofEpochMilli(START + 1_999)));
+        assertEquals(Optional.of(renamed.withStockQuantity(10)),
+                repository.findById(laptop.id(), Instant.ofEpochMilli(START + 2_000)));
+        assertEquals(Optional.of(renamed), repository.findById(laptop.id(), Instant.ofEpochMilli(START + 60_000)));
+    }
+
+    @Test
+    void findByIdAsOf_ShouldNotFindDeletedProductUntilSavedAgain() {
+        // Arrange
+        Product mouse = product("Mouse", "19.99", 100);
+        clock.set(START + 1_000);
+        repository.save(mouse);
+        clock.set(START + 2_000);
+        repository.deleteById(mouse.id());
+        clock.set(START + 3_000);
+        repository.save(mouse.withPrice(new BigDecimal("24.99")));
+
+        // Act & Assert
+        assertEquals(Optional.of(mouse), repository.findById(mouse.id(), Instant.ofEpochMilli(START + 1_500)));
+        assertEquals(Optional.empty(), repository.findById(mouse.id(), Instant.ofEpochMilli(START + 2_500)));
+        assertEquals(new BigDecimal("24.99"),
+                repository.findById(mouse.id(), Instant.ofEpochMilli(START + 3_000)).orElseThrow().price());
+    }
+
+    @Test
+    void findByIdAsOf_ShouldKnowProductsStoredBeforeStartup() {
+        // Arrange
+        Product desk = product("Desk", "249.00", 5);
+        backend.save(desk);
+        Product untouched = product("Chair", "99.00", 3);
+        backend.save(untouched);
+        clock.set(START + 5_000);
+        repository.save(desk.withStockQuantity(4));
+
+        // Act & Assert
+        assertEquals(Optional.of(desk.withStockQuantity(4)),
+                repository.findById(desk.id(), Instant.ofEpochMilli(START + 5_000)));
+        assertEquals(Optional.of(desk),
+                repository.findById(desk.id(), Instant.ofEpochMilli(START)));
+        assertEquals(Optional.of(untouched), repository.findById(untouched.id(), Instant.ofEpochMilli(START + 1)));
+        assertEquals(Optional.empty(), repository.findById(untouched.id(), Instant.ofEpochMilli(START - 1)));
+    }
+
+    @Test
+    void findByIdAsOf_ShouldReplayEveryVersionAcrossKeyframes() {
+        // Arrange
+        Random random = new Random(42);
+        UUID id = UUID.randomUUID();
+        List<Product> versions = new ArrayList<>();
+        String[] prices = {"0", "0.01", "19.99", "1999.5", "7", "123456789012345678901234567890.12", "3.14159"};
+        for (int i = 0; i < 50; i++) {
+            Product version = new Product(id, "Product", "Description",
+                    new BigDecimal(prices[random.nextInt(prices.length)]), random.nextInt(1_000) - 10);
+            clock.set(START + 10L * (i + 1));
+            repository.save(version);
+            versions.add(version);
+        }
+
+        // Act & Assert
+        for (int i = 0; i < versions.size(); i++) {
+            Product found = repository.findById(id, Instant.ofEpochMilli(START + 10L * (i + 1) + 5)).orElseThrow();
+            // Saves without a price or stock change add no version, so compare the values only
+            assertEquals(versions.get(i).price(), found.price(), "version " + i);
+            assertEquals(versions.get(i).stockQuantity(), found.stockQuantity(), "version " + i);
+        }
+    }
+
+    @Test
+    void save_ShouldKeepAtMostAboutMaxVersions() {
+        // Arrange
+        Product product = product("Lamp", "10.00", 0);
+
+        // Act
+        for (int i = 0; i < 1_000; i++) {
+            clock.set(START + i);
+            repository.save(product.withStockQuantity(i));
+        }
+
+        // Assert
+        assertEquals(999, repository.findById(product.id(), Instant.ofEpochMilli(START + 999)).orElseThrow().stockQuantity());
+        assertEquals(950, repository.findById(product.id(), Instant.ofEpochMilli(START + 950)).orElseThrow().stockQuantity());
+        assertEquals(Optional.empty(), repository.findById(product.id(), Instant.ofEpochMilli(START + 100)));
+        assertTrue(repository.footprint() < 64 * MAX_VERSIONS, "footprint " + repository.footprint());
+    }
+
+    @Test
+    void findByIdAsOf_ShouldDropVersionsOlderThanRetentionButKeepStateAtCutoff() {
+        // Arrange
+        Product product = product("Pen", "1.00", 0);
+        for (int i = 0; i < 40; i++) {
+            clock.set(START + i * 1_000L);
+            repository.save(product.withStockQuantity(i));
+        }
+        clock.set(START + 35_000 + RETENTION.toMillis());
+
+        // Act
+        Optional<Product> atCutoff = repository.findById(product.id(), Instant.ofEpochMilli(START + 35_000));
+        Optional<Product> beforeHorizon = repository.findById(product.id(), Instant.ofEpochMilli(START));
+
+        // Assert
+        assertEquals(35, atCutoff.orElseThrow().stockQuantity());
+        assertEquals(Optional.empty(), beforeHorizon);
+    }
+
+    @Test
+    void sweep_ShouldDropHistoriesOfProductsDeletedBeforeRetention() {
+        // Arrange
+        Product gone = product("Gone", "5.00", 1);
+        Product kept = product("Kept", "6.00", 1);
+        repository.saveAll(List.of(gone, kept));
+        repository.deleteAllById(List.of(gone.id()));
+
+        // Act
+        clock.addAndGet(RETENTION.toMillis() + 1);
+        repository.sweep();
+
+        // Assert
+        assertEquals(1, repository.historyCount());
+        assertEquals(Optional.empty(), repository.findById(gone.id(), Instant.ofEpochMilli(clock.get())));
+    }
+
+    @Test
+    void save_ShouldRecordConcurrentWritesOfOneProductInTheOrderTheyWereStored() throws Exception {
+        // Arrange
+        Product product = product("Cup", "1.00", 1);
+        Product overtaking = product.withStockQuantity(2);
+        Thread[] second = new Thread[1];
+        InMemoryProductRepository racing = new InMemoryProductRepository() {
+            @Override
+            public Product save(Product saved) {
+                Product result = super.save(saved);
+                if (saved.stockQuantity() == 1) {
+                    // A second write of the product, which must wait until the first is recorded
+                    second[0] = new Thread(() -> repository.save(overtaking));
+                    second[0].start();
+                    try {
+                        second[0].join(200);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return result;
+            }
+        };
+        repository.close();
+        repository = new PriceHistoryProductRepository(racing, RETENTION, MAX_VERSIONS, clock::get);
+
+        // Act
+        repository.save(product);
+        second[0].join();
+
+        // Assert
+        assertEquals(Optional.of(overtaking), racing.findById(product.id()));
+        assertEquals(Optional.of(overtaking), repository.findById(product.id(), Instant.ofEpochMilli(clock.get())));
+    }
+
+    private static Product product(String name, String price, int stock) {
+        return new Product(UUID.randomUUID(), name, "Description of " + name, new BigDecimal(price), stock);
+    }
+}
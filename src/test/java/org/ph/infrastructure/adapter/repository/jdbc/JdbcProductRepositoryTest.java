@@ -0,0 +1,230 @@
+package org.ph.infrastructure.adapter.repository.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ph.domain.model.Product;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the JdbcProductRepository class, against an embedded H2 database.
+ */
+class JdbcProductRepositoryTest {
+
+    private static final int PAGE_SIZE = 4;
+
+    private EmbeddedDatabase database;
+    private JdbcProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("schema.sql")
+                .build();
+        repository = new JdbcProductRepository(new JdbcTemplate(database), 3, PAGE_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void save_ShouldInsertProduct() {
+        // Arrange
+        Product product = product("Laptop");
+
+        // Act
+        repository.save(product);
+
+        // Assert
+        assertEquals(Optional.of(product), repository.findById(product.id()));
+        assertTrue(repository.existsById(product.id()));
+    }
+
+    @Test
+    void save_ShouldUpdateExistingProduct() {
+        // Arrange
+        Product product = product("Laptop");
+        repository.save(product);
+        Product updated = product.withName("Gaming Laptop").withPrice(new BigDecimal("1299.50"));
+
+        // Act
+        repository.save(updated);
+
+        // Assert
+        assertEquals(Optional.of(updated), repository.findById(product.id()));
+        assertEquals(1, repository.findAll().size());
+    }
+
+    @Test
+    void save_ShouldPreserveNullFields() {
+        // Arrange
+        Product product = new Product(UUID.randomUUID(), "Gift card", null, null, 0);
+
+        // Act
+        repository.save(product);
+
+        // Assert
+        assertEquals(Optional.of(product), repository.findById(product.id()));
+    }
+
+    @Test
+    void save_ShouldRejectPriceThatWouldBeRounded() {
+        // Arrange
+        Product product = product("Laptop").withPrice(new BigDecimal("999.99999"));
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> repository.save(product));
+        assertThrows(IllegalArgumentException.class,
+                () -> repository.saveAll(List.of(product("Mouse"), product.withPrice(new BigDecimal("1E+15")))));
+        assertTrue(repository.findAll().isEmpty());
+    }
+
+    @Test
+    void saveAll_ShouldUpsertAcrossSeveralBatches() {
+        // Arrange
+        List<Product> products = products(7);
+        repository.save(products.get(0));
+        products.set(0, products.get(0).withStockQuantity(0));
+
+        // Act
+        List<Product> saved = repository.saveAll(products);
+
+        // Assert
+        assertSame(products, saved);
+        assertEquals(sorted(products), repository.findAll());
+    }
+
+    @Test
+    void findById_ShouldReturnEmpty_WhenProductDoesNotExist() {
+        // Act & Assert
+        assertTrue(repository.findById(UUID.randomUUID()).isEmpty());
+        assertFalse(repository.existsById(UUID.randomUUID()));
+    }
+
+    @Test
+    void findAll_ShouldReadEveryPage() {
+        // Arrange
+        List<Product> products = products(PAGE_SIZE * 2);
+        repository.saveAll(products);
+
+        // Act
+        List<Product> all = repository.findAll();
+
+        // Assert
+        assertEquals(sorted(products), all);
+    }
+
+    @Test
+    void findPage_ShouldSeekPastLastId() {
+        // Arrange
+        List<Product> products = sorted(products(5));
+        repository.saveAll(products);
+
+        // Act
+        List<Product> page = repository.findPage(products.get(1).id(), 2);
+
+        // Assert
+        assertEquals(products.subList(2, 4), page);
+    }
+
+    @Test
+    void deleteById_ShouldRemoveProduct() {
+        // Arrange
+        Product product = product("Laptop");
+        repository.save(product);
+
+        // Act
+        boolean deleted = repository.deleteById(product.id());
+
+        // Assert
+        assertTrue(deleted);
+        assertFalse(repository.existsById(product.id()));
+        assertFalse(repository.deleteById(product.id()));
+    }
+
+    @Test
+    void findAllById_ShouldQueryInBatchesAndKeepRequestOrder() {
+        // Arrange
+        List<Product> products = products(6);
+        repository.saveAll(products);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = products.size() - 1; i >= 0; i--) {
+            ids.add(products.get(i).id());
+        }
+        ids.add(2, UUID.randomUUID());
+
+        // Act
+        List<Product> found = repository.findAllById(ids);
+
+        // Assert
+        List<Product> expected = new ArrayList<>(products);
+        Collections.reverse(expected);
+        assertEquals(expected, found);
+    }
+
+    @Test
+    void saveAllIfUnchanged_ShouldSkipProductsChangedOrDeletedSinceTheRead() {
+        // Arrange
+        List<Product> read = products(3);
+        repository.saveAll(read);
+        Product changed = read.get(1).withStockQuantity(99);
+        repository.save(changed);
+        repository.deleteById(read.get(2).id());
+        Map<UUID, Product> expected = read.stream().collect(Collectors.toMap(Product::id, Function.identity()));
+        List<Product> updated = read.stream().map(product -> product.withPrice(new BigDecimal("1.50"))).toList();
+
+        // Act
+        List<Product> saved = repository.saveAllIfUnchanged(expected, updated);
+
+        // Assert
+        assertEquals(List.of(updated.get(0)), saved);
+        assertEquals(Optional.of(updated.get(0)), repository.findById(read.get(0).id()));
+        assertEquals(Optional.of(changed), repository.findById(read.get(1).id()));
+        assertFalse(repository.existsById(read.get(2).id()));
+    }
+
+    private static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(product("Product " + i));
+        }
+        return products;
+    }
+
+    private static Product product(String name) {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .description("Description of " + name)
+                .price(new BigDecimal("19.99"))
+                .stockQuantity(10)
+                .build();
+    }
+
+    // Both H2 and PostgreSQL order UUID columns by their unsigned bytes
+    private static List<Product> sorted(List<Product> products) {
+        return products.stream()
+                .sorted(Comparator.comparing(product -> product.id().toString()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,286 @@
+package org.ph.infrastructure.adapter.repository.lsm;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ph.domain.model.Product;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LsmProductRepository class.
+ */
+class LsmProductRepositoryTest {
+
+    // Small memtable and blocks so that a few dozen products span several tables and blocks
+    private static final LsmOptions OPTIONS = new LsmOptions(2_048, 256, 10, 3, false);
+
+    @TempDir
+    Path directory;
+
+    private LsmProductRepository repository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        repository = new LsmProductRepository(directory, OPTIONS);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        repository.close();
+    }
+
+    @Test
+    void save_ShouldStoreProduct() {
+        // Arrange
+        Product product = product("Laptop");
+
+        // Act
+        repository.save(product);
+
+        // Assert
+        assertEquals(Optional.of(product), repository.findById(product.id()));
+        assertTrue(repository.existsById(product.id()));
+    }
+
+    @Test
+    void save_ShouldOverwriteExistingProduct() {
+        // Arrange
+        Product product = product("Laptop");
+        repository.save(product);
+
+        // Act
+        repository.save(product.withName("Gaming Laptop"));
+
+        // Assert
+        assertEquals("Gaming Laptop", repository.findById(product.id()).orElseThrow().name());
+        assertEquals(1, repository.findAll().size());
+    }
+
+    @Test
+    void findById_ShouldReturnEmpty_WhenProductDoesNotExist() {
+        // Act & Assert
+        assertTrue(repository.findById(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    void deleteById_ShouldRemoveProduct() {
+        // Arrange
+        Product product = product("Laptop");
+        repository.save(product);
+
+        // Act
+        boolean deleted = repository.deleteById(product.id());
+
+        // Assert
+        assertTrue(deleted);
+        assertFalse(repository.existsById(product.id()));
+        assertFalse(repository.deleteById(product.id()));
+    }
+
+    @Test
+    void findById_ShouldReadFromSSTables_AfterFlush() {
+        // Arrange
+        List<Product> products = products(50);
+        repository.saveAll(products);
+
+        // Act
+        repository.flush();
+
+        // Assert
+        assertTrue(repository.tableCount() > 0);
+        for (Product product : products) {
+            assertEquals(Optional.of(product), repository.findById(product.id()));
+        }
+    }
+
+    @Test
+    void deleteById_ShouldShadowProductInOlderTable() {
+        // Arrange
+        Product product = product("Laptop");
+        repository.save(product);
+        repository.flush();
+
+        // Act
+        repository.deleteById(product.id());
+        repository.flush();
+
+        // Assert
+        assertTrue(repository.findById(product.id()).isEmpty());
+        assertTrue(repository.findAll().isEmpty());
+    }
+
+    @Test
+    void flush_ShouldCompactTables_WhenTriggerIsReached() {
+        // Arrange
+        List<Product> kept = new ArrayList<>();
+        for (int round = 0; round < OPTIONS.compactionTrigger(); round++) {
+            List<Product> batch = products(5);
+            repository.saveAll(batch);
+            repository.deleteById(batch.get(0).id());
+            kept.addAll(batch.subList(1, batch.size()));
+
+            // Act
+            repository.flush();
+        }
+
+        // Assert
+        assertEquals(1, repository.tableCount());
+        assertEquals(sorted(kept), repository.findAll());
+    }
+
+    @Test
+    void flush_ShouldCompactOnlyTablesOfTheSameTierAndKeepTheirTombstones() throws IOException {
+        // Arrange: a memtable of one byte, so every write and flush makes a table of its own size
+        repository.close();
+        repository = new LsmProductRepository(directory, new LsmOptions(1, 256, 10, 3, false));
+        List<Product> large = products(30);
+        repository.saveAll(large);
+        Product small = product("Small");
+
+        // Act
+        repository.save(small);
+        repository.deleteById(large.get(0).id());
+        repository.save(small.withStockQuantity(1));
+        repository.flush();
+
+        // Assert
+        List<Product> expected = new ArrayList<>(large.subList(1, large.size()));
+        expected.add(small.withStockQuantity(1));
+        assertEquals(2, repository.tableCount());
+        assertTrue(repository.findById(large.get(0).id()).isEmpty());
+        assertEquals(sorted(expected), repository.findAll());
+    }
+
+    @Test
+    void findAll_ShouldMergeMemtableAndTablesInKeyOrder() {
+        // Arrange
+        List<Product> flushed = products(20);
+        repository.saveAll(flushed);
+        repository.flush();
+        Product updated = flushed.get(3).withStockQuantity(0);
+        Product added = product("Monitor");
+
+        // Act
+        repository.save(updated);
+        repository.save(added);
+        List<Product> all = repository.findAll();
+
+        // Assert
+        List<Product> expected = new ArrayList<>(flushed);
+        expected.set(3, updated);
+        expected.add(added);
+        assertEquals(sorted(expected), all);
+    }
+
+    @Test
+    void reopen_ShouldRecoverFlushedAndLoggedWrites() throws IOException {
+        // Arrange
+        List<Product> flushed = products(30);
+        repository.saveAll(flushed);
+        repository.flush();
+        Product logged = product("Only in the log");
+        repository.save(logged);
+        repository.deleteById(flushed.get(0).id());
+        repository.close();
+
+        // Act
+        repository = new LsmProductRepository(directory, OPTIONS);
+
+        // Assert
+        assertEquals(Optional.of(logged), repository.findById(logged.id()));
+        assertTrue(repository.findById(flushed.get(0).id()).isEmpty());
+        assertEquals(30, repository.findAll().size());
+    }
+
+    @Test
+    void reopen_ShouldIgnoreTornLogRecord() throws IOException {
+        // Arrange
+        Product product = product("Laptop");
+        repository.save(product);
+        repository.close();
+        try (var logs = Files.list(directory)) {
+            Path log = logs.filter(file -> file.toString().endsWith(".wal")).findFirst().orElseThrow();
+            Files.write(log, new byte[] {0, 0, 0, 42, 1, 2, 3}, StandardOpenOption.APPEND);
+        }
+
+        // Act
+        repository = new LsmProductRepository(directory, OPTIONS);
+
+        // Assert
+        assertEquals(List.of(product), repository.findAll());
+    }
+
+    @Test
+    void save_ShouldPreserveNullFields() {
+        // Arrange
+        Product product = new Product(UUID.randomUUID(), "Gift card", null, null, 0);
+
+        // Act
+        repository.save(product);
+        repository.flush();
+
+        // Assert
+        assertEquals(Optional.of(product), repository.findById(product.id()));
+    }
+
+    @Test
+    void saveAllIfUnchanged_ShouldSkipProductsChangedOrDeletedSinceTheRead() {
+        // Arrange
+        List<Product> read = products(3);
+        repository.saveAll(read);
+        Product changed = read.get(1).withStockQuantity(99);
+        repository.save(changed);
+        repository.deleteById(read.get(2).id());
+        Map<UUID, Product> expected = read.stream().collect(Collectors.toMap(Product::id, Function.identity()));
+        List<Product> updated = read.stream().map(product -> product.withPrice(new BigDecimal("1.50"))).toList();
+
+        // Act
+        List<Product> saved = repository.saveAllIfUnchanged(expected, updated);
+
+        // Assert
+        assertEquals(List.of(updated.get(0)), saved);
+        assertEquals(Optional.of(updated.get(0)), repository.findById(read.get(0).id()));
+        assertEquals(Optional.of(changed), repository.findById(read.get(1).id()));
+        assertFalse(repository.existsById(read.get(2).id()));
+    }
+
+    private static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(product("Product " + i));
+        }
+        return products;
+    }
+
+    private static Product product(String name) {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .description("Description of " + name)
+                .price(new BigDecimal("19.99"))
+                .stockQuantity(10)
+                .build();
+    }
+
+    private static List<Product> sorted(List<Product> products) {
+        return products.stream()
+                .sorted(Comparator.comparing(Product::id, Entry.KEY_ORDER))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,92 @@
+package org.ph.infrastructure.adapter.repository.partition;
+
+import org.junit.jupiter.api.Test;
+import org.ph.infrastructure.adapter.id.UuidV7Generator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PartitionRing class.
+ */
+class PartitionRingTest {
+
+    private static final List<String> NODES = List.of("http://node-a:8080", "http://node-b:8080", "http://node-c:8080");
+    private static final int PRODUCTS = 30_000;
+
+    @Test
+    void ownerOf_ShouldSpreadTimeOrderedIdsEvenly() {
+        // Arrange
+        PartitionRing ring = new PartitionRing(NODES, 128);
+        List<UUID> ids = ids();
+
+        // Act
+        Map<String, Integer> owned = new HashMap<>();
+        for (UUID id : ids) {
+            owned.merge(ring.ownerOf(id), 1, Integer::sum);
+        }
+
+        // Assert
+        assertEquals(NODES.size(), owned.size());
+        for (int count : owned.values()) {
+            assertTrue(count > PRODUCTS / 4 && count < PRODUCTS * 5 / 12, "Unbalanced ring: " + owned);
+        }
+    }
+
+    @Test
+    void ownerOf_ShouldNotDependOnNodeOrder() {
+        // Arrange
+        PartitionRing ring = new PartitionRing(NODES, 64);
+        List<String> reversedNodes = new ArrayList<>(NODES);
+        Collections.reverse(reversedNodes);
+        PartitionRing reversed = new PartitionRing(reversedNodes, 64);
+
+        // Act & Assert
+        for (UUID id : ids()) {
+            assertEquals(ring.ownerOf(id), reversed.ownerOf(id));
+        }
+    }
+
+    @Test
+    void ownerOf_ShouldOnlyMoveProductsToAddedNode() {
+        // Arrange
+        PartitionRing ring = new PartitionRing(NODES, 128);
+        List<String> grown = new ArrayList<>(NODES);
+        grown.add("http://node-d:8080");
+        PartitionRing grownRing = new PartitionRing(grown, 128);
+
+        // Act
+        int moved = 0;
+        for (UUID id : ids()) {
+            String owner = grownRing.ownerOf(id);
+            if (!owner.equals(ring.ownerOf(id))) {
+                assertEquals("http://node-d:8080", owner);
+                moved++;
+            }
+        }
+
+        // Assert
+        assertTrue(moved > PRODUCTS / 6 && moved < PRODUCTS / 3, "Moved " + moved + " of " + PRODUCTS);
+    }
+
+    @Test
+    void constructor_ShouldRejectEmptyNodeSet() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new PartitionRing(List.of(), 128));
+    }
+
+    private static List<UUID> ids() {
+        UuidV7Generator generator = new UuidV7Generator();
+        List<UUID> ids = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            ids.add(generator.nextId());
+        }
+        return ids;
+    }
+}
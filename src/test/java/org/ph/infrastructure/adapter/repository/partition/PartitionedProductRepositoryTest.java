@@ -0,0 +1,291 @@
+package org.ph.infrastructure.adapter.repository.partition;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ph.application.port.out.ProductRepository;
+import org.ph.domain.model.Product;
+import org.ph.domain.model.ProductChanges;
+import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
+import org.ph.infrastructure.adapter.repository.revision.RevisionedProductRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PartitionedProductRepository class, with the nodes of the partitioned
+ * catalog in memory and the partition client calling them directly.
+ */
+class PartitionedProductRepositoryTest {
+
+    private static final List<String> NODES = List.of("http://node-a", "http://node-b", "http://node-c");
+    private static final String ADDED = "http://node-d";
+
+    private final Map<String, PartitionNode> nodes = new HashMap<>();
+    private final Map<String, PartitionedProductRepository> repositories = new HashMap<>();
+    private final DirectClient client = new DirectClient();
+
+    @BeforeEach
+    void setUp() {
+        for (String node : NODES) {
+            start(node, NODES);
+        }
+    }
+
+    @Test
+    void saveAll_ShouldStoreEachProductOnItsOwnerOnly() {
+        // Arrange
+        List<Product> products = products(300);
+
+        // Act
+        repositories.get("http://node-a").saveAll(products);
+
+        // Assert
+        assertOwnedOnly(NODES);
+        assertEquals(300, repositories.get("http://node-b").findAll().size());
+        for (Product product : products) {
+            assertEquals(Optional.of(product), repositories.get("http://node-c").findById(product.id()));
+        }
+    }
+
+    @Test
+    void save_ShouldForwardToOwner() {
+        // Arrange
+        Product product = products(1).get(0);
+        String owner = nodes.get("http://node-a").membership().ring().ownerOf(product.id());
+        String other = NODES.stream().filter(node -> !node.equals(owner)).findFirst().orElseThrow();
+
+        // Act
+        repositories.get(other).save(product);
+
+        // Assert
+        assertEquals(Optional.of(product), nodes.get(owner).local().findById(product.id()));
+        assertTrue(nodes.get(other).local().findAll().isEmpty());
+        assertTrue(repositories.get(other).existsById(product.id()));
+    }
+
+    @Test
+    void changeLog_ShouldHaveWritesForwardedToThisNode() {
+        // Arrange
+        for (String node : NODES) {
+            start(node, NODES, new RevisionedProductRepository(new InMemoryProductRepository(), Duration.ofHours(1)));
+        }
+        Product product = products(1).get(0);
+        String owner = nodes.get("http://node-a").membership().ring().ownerOf(product.id());
+        String other = NODES.stream().filter(node -> !node.equals(owner)).findFirst().orElseThrow();
+
+        // Act
+        repositories.get(other).save(product);
+
+        // Assert
+        ProductChanges owned = repositories.get(owner).changeLog().orElseThrow().changesSince(0, null, 10);
+        ProductChanges forwarding = repositories.get(other).changeLog().orElseThrow().changesSince(0, null, 10);
+        assertEquals(List.of(product), owned.upserts());
+        assertTrue(forwarding.upserts().isEmpty());
+    }
+
+    @Test
+    void findAllById_ShouldGatherFromOwnersInRequestOrder() {
+        // Arrange
+        List<Product> products = products(30);
+        repositories.get("http://node-a").saveAll(products);
+        List<UUID> ids = new ArrayList<>(products.stream().map(Product::id).toList());
+        Collections.reverse(ids);
+        ids.add(3, UUID.randomUUID());
+
+        // Act
+        List<Product> found = repositories.get("http://node-b").findAllById(ids);
+
+        // Assert
+        List<Product> expected = new ArrayList<>(products);
+        Collections.reverse(expected);
+        assertEquals(expected, found);
+    }
+
+    @Test
+    void deleteAllById_ShouldDeleteOnOwnersAndKeepOrder() {
+        // Arrange
+        List<Product> products = products(30);
+        repositories.get("http://node-a").saveAll(products);
+        List<UUID> ids = new ArrayList<>(products.stream().map(Product::id).toList());
+        ids.add(5, UUID.randomUUID());
+
+        // Act
+        List<UUID> deleted = repositories.get("http://node-b").deleteAllById(ids);
+
+        // Assert
+        assertEquals(products.stream().map(Product::id).toList(), deleted);
+        assertTrue(repositories.get("http://node-c").findAll().isEmpty());
+    }
+
+    @Test
+    void updateNodes_ShouldMoveProductsToAddedNode() {
+        // Arrange
+        List<Product> products = products(300);
+        repositories.get("http://node-a").saveAll(products);
+        List<String> grown = new ArrayList<>(NODES);
+        grown.add(ADDED);
+        start(ADDED, grown);
+
+        // Act
+        long moved = nodes.get("http://node-b").updateNodes(grown, true);
+
+        // Assert
+        assertEquals(nodes.get(ADDED).local().findAll().size(), moved);
+        assertTrue(moved > 0);
+        assertOwnedOnly(grown);
+        for (String node : grown) {
+            assertNull(nodes.get(node).membership().previous());
+        }
+        assertEquals(300, repositories.get(ADDED).findAll().size());
+    }
+
+    @Test
+    void findById_ShouldFallBackToPreviousOwnerDuringHandoff() {
+        // Arrange
+        List<Product> products = products(300);
+        repositories.get("http://node-a").saveAll(products);
+        List<String> grown = new ArrayList<>(NODES);
+        grown.add(ADDED);
+        start(ADDED, grown);
+
+        // Act
+        nodes.get("http://node-a").updateNodes(grown, false);
+
+        // Assert
+        PartitionedProductRepository switched = repositories.get("http://node-a");
+        for (Product product : products) {
+            assertEquals(Optional.of(product), switched.findById(product.id()));
+        }
+        assertEquals(300, switched.findAll().size());
+    }
+
+    @Test
+    void findAll_ShouldPreferCopyOfNewOwnerDuringHandoff() {
+        // Arrange
+        List<Product> products = products(300);
+        repositories.get("http://node-a").saveAll(products);
+        List<String> grown = new ArrayList<>(NODES);
+        grown.add(ADDED);
+        start(ADDED, grown);
+        PartitionedProductRepository switched = repositories.get("http://node-a");
+        nodes.get("http://node-a").updateNodes(grown, false);
+        Product moving = products.stream()
+                .filter(product -> nodes.get("http://node-a").membership().ring().ownerOf(product.id()).equals(ADDED))
+                .findFirst().orElseThrow();
+        Product updated = moving.withPrice(new BigDecimal("1.00"));
+
+        // Act
+        switched.save(updated);
+        List<Product> all = switched.findAll();
+
+        // Assert
+        assertEquals(300, all.size());
+        assertTrue(all.contains(updated));
+        assertEquals(Optional.of(updated), switched.findById(moving.id()));
+    }
+
+    private void start(String url, List<String> ring) {
+        start(url, ring, new InMemoryProductRepository());
+    }
+
+    private void start(String url, List<String> ring, ProductRepository local) {
+        PartitionNode node = new PartitionNode(url, ring, 64, 50, client, new SimpleMeterRegistry());
+        repositories.put(url, node.attach(local));
+        nodes.put(url, node);
+    }
+
+    private void assertOwnedOnly(List<String> ring) {
+        PartitionRing expected = new PartitionRing(ring, 64);
+        for (String node : ring) {
+            for (Product product : nodes.get(node).local().findAll()) {
+                assertEquals(node, expected.ownerOf(product.id()));
+            }
+        }
+    }
+
+    private static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            products.add(new Product(UUID.randomUUID(), "Product " + i, "Description", new BigDecimal("9.99"), i));
+        }
+        return products;
+    }
+
+    /**
+     * Calls the other nodes' partitions as their PartitionController would.
+     */
+    private class DirectClient extends PartitionClient {
+
+        DirectClient() {
+            super(new ObjectMapper(), Duration.ofSeconds(1), "secret");
+        }
+
+        @Override
+        CompletableFuture<Optional<Product>> findById(String node, UUID id, Instant asOf) {
+            return CompletableFuture.completedFuture(nodes.get(node).local().history().orElseThrow().findById(id, asOf));
+        }
+
+        @Override
+        CompletableFuture<Optional<Product>> findById(String node, UUID id) {
+            return CompletableFuture.completedFuture(nodes.get(node).local().findById(id));
+        }
+
+        @Override
+        CompletableFuture<List<Product>> findAllById(String node, Collection<UUID> ids) {
+            return CompletableFuture.completedFuture(nodes.get(node).local().findAllById(ids));
+        }
+
+        @Override
+        CompletableFuture<List<Product>> findAll(String node) {
+            return CompletableFuture.completedFuture(nodes.get(node).local().findAll());
+        }
+
+        @Override
+        CompletableFuture<Void> saveAll(String node, List<Product> products, boolean ifAbsent) {
+            PartitionNode target = nodes.get(node);
+            target.local().saveAll(ifAbsent
+                    ? products.stream().filter(product -> !target.local().existsById(product.id())).toList()
+                    : products);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        CompletableFuture<Boolean> deleteById(String node, UUID id) {
+            return CompletableFuture.completedFuture(nodes.get(node).local().deleteById(id));
+        }
+
+        @Override
+        CompletableFuture<List<UUID>> deleteAllById(String node, Collection<UUID> ids) {
+            return CompletableFuture.completedFuture(nodes.get(node).local().deleteAllById(ids));
+        }
+
+        @Override
+        void setNodes(String node, List<String> ring) {
+            nodes.get(node).updateNodes(ring, false);
+        }
+
+        @Override
+        long rebalance(String node) {
+            return nodes.get(node).rebalance();
+        }
+
+        @Override
+        void completeHandoff(String node) {
+            nodes.get(node).completeHandoff();
+        }
+    }
+}
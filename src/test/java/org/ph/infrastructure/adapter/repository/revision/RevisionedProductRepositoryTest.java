@@ -0,0 +1,258 @@
+package org.ph.infrastructure.adapter.repository.revision;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ph.domain.model.Product;
+import org.ph.domain.model.ProductChanges;
+import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RevisionedProductRepository class.
+ */
+class RevisionedProductRepositoryTest {
+
+    private static final long INITIAL_REVISION = 1_000;
+    private static final Duration RETENTION = Duration.ofMinutes(10);
+
+    private final AtomicLong clock = new AtomicLong();
+    private InMemoryProductRepository backend;
+    private RevisionedProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        backend = new InMemoryProductRepository();
+        repository = new RevisionedProductRepository(backend, RETENTION, INITIAL_REVISION, clock::get);
+    }
+
+    @Test
+    void changesSince_ShouldReturnUpsertsAndDeletionsAfterRevision() {
+        // Arrange
+        Product laptop = product("Laptop");
+        Product mouse = product("Mouse");
+        Product desk = product("Desk");
+        repository.saveAll(List.of(laptop, mouse));
+        long revision = repository.changesSince(INITIAL_REVISION, null, 100).revision();
+        repository.save(desk);
+        repository.deleteById(mouse.id());
+
+        // Act
+        ProductChanges changes = repository.changesSince(revision, null, 100);
+
+        // Assert
+        assertFalse(changes.reset());
+        assertFalse(changes.hasMore());
+        assertEquals(List.of(desk), changes.upserts());
+        assertEquals(List.of(mouse.id()), changes.deletions());
+        assertEquals(INITIAL_REVISION + 4, changes.revision());
+    }
+
+    @Test
+    void changesSince_ShouldReturnEachProductOnceInItsCurrentState() {
+        // Arrange
+        Product laptop = product("Laptop");
+        repository.save(laptop);
+        repository.save(product("Mouse"));
+        Product updated = laptop.withPrice(new BigDecimal("899.99"));
+        repository.save(updated);
+
+        // Act
+        ProductChanges changes = repository.changesSince(INITIAL_REVISION, null, 100);
+
+        // Assert
+        assertEquals(2, changes.upserts().size());
+        assertEquals(updated, changes.upserts().get(1));
+        assertEquals(2, repository.indexSize());
+    }
+
+    @Test
+    void changesSince_ShouldPageByLimit() {
+        // Arrange
+        for (int i = 0; i < 5; i++) {
+            repository.save(product("Product " + i));
+        }
+
+        // Act
+        ProductChanges first = repository.changesSince(INITIAL_REVISION, null, 2);
+        ProductChanges second = repository.changesSince(first.revision(), null, 2);
+        ProductChanges third = repository.changesSince(second.revision(), null, 2);
+
+        // Assert
+        assertTrue(first.hasMore());
+        assertTrue(second.hasMore());
+        assertFalse(third.hasMore());
+        assertEquals(List.of("Product 0", "Product 1"), first.upserts().stream().map(Product::name).toList());
+        assertEquals(List.of("Product 4"), third.upserts().stream().map(Product::name).toList());
+        assertEquals(INITIAL_REVISION + 5, third.revision());
+    }
+
+    @Test
+    void changesSince_ShouldResetForRevisionBeforeThisInstance() {
+        // Arrange
+        Product existing = product("Existing");
+        backend.save(existing);
+
+        // Act
+        ProductChanges changes = repository.changesSince(0, null, 100);
+
+        // Assert
+        assertTrue(changes.reset());
+        assertEquals(List.of(existing), changes.upserts());
+        assertEquals(INITIAL_REVISION, changes.revision());
+    }
+
+    @Test
+    void changesSince_ShouldPageResetByIdAndThenDeliverChangesMadeMeanwhile() {
+        // Arrange
+        List<Product> existing = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            existing.add(product("Existing " + i));
+        }
+        backend.saveAll(existing);
+        List<UUID> expected = existing.stream().map(Product::id).sorted().toList();
+
+        // Act
+        ProductChanges first = repository.changesSince(0, null, 2);
+        repository.deleteById(expected.get(4));
+        ProductChanges second = repository.changesSince(first.revision(), first.cursor(), 2);
+        ProductChanges last = repository.changesSince(second.revision(), second.cursor(), 2);
+        ProductChanges changes = repository.changesSince(last.revision(), last.cursor(), 2);
+
+        // Assert
+        assertTrue(first.reset());
+        assertFalse(second.reset());
+        assertEquals(expected.subList(0, 2), first.upserts().stream().map(Product::id).toList());
+        assertEquals(expected.subList(2, 4), second.upserts().stream().map(Product::id).toList());
+        assertEquals(expected.get(1), first.cursor());
+        assertEquals(List.of(), last.upserts());
+        assertNull(last.cursor());
+        assertTrue(last.hasMore());
+        assertEquals(List.of(expected.get(4)), changes.deletions());
+        assertFalse(changes.hasMore());
+    }
+
+    @Test
+    void changesSince_ShouldResetAfterTombstoneIsCompacted() {
+        // Arrange
+        Product laptop = product("Laptop");
+        Product mouse = product("Mouse");
+        repository.saveAll(List.of(laptop, mouse));
+        long revision = repository.changesSince(INITIAL_REVISION, null, 100).revision();
+        repository.deleteById(laptop.id());
+        long afterDelete = repository.changesSince(revision, null, 100).revision();
+
+        // Act
+        clock.addAndGet(RETENTION.toNanos());
+        ProductChanges stale = repository.changesSince(revision, null, 100);
+        ProductChanges recent = repository.changesSince(afterDelete, null, 100);
+
+        // Assert
+        assertTrue(stale.reset());
+        assertEquals(List.of(mouse), stale.upserts());
+        assertFalse(recent.reset());
+        assertEquals(1, repository.indexSize());
+    }
+
+    @Test
+    void changesSince_ShouldKeepProductRecreatedAfterDeletion() {
+        // Arrange
+        Product laptop = product("Laptop");
+        repository.save(laptop);
+        repository.deleteById(laptop.id());
+        repository.save(laptop);
+        long revision = repository.changesSince(INITIAL_REVISION, null, 100).revision();
+
+        // Act
+        clock.addAndGet(RETENTION.toNanos());
+        ProductChanges changes = repository.changesSince(INITIAL_REVISION, null, 100);
+
+        // Assert
+        assertFalse(changes.reset());
+        assertEquals(List.of(laptop), changes.upserts());
+        assertEquals(revision, changes.revision());
+    }
+
+    @Test
+    void changesSince_ShouldNotPassWriteInFlight() throws Exception {
+        // Arrange
+        CountDownLatch saving = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        RevisionedProductRepository gated = new RevisionedProductRepository(new InMemoryProductRepository() {
+            @Override
+            public Product save(Product product) {
+                if (product.name().equals("Slow")) {
+                    saving.countDown();
+                    awaitQuietly(release);
+                }
+                return super.save(product);
+            }
+        }, RETENTION, INITIAL_REVISION, clock::get);
+        Thread slowWriter = new Thread(() -> gated.save(product("Slow")));
+        slowWriter.start();
+        assertTrue(saving.await(5, TimeUnit.SECONDS));
+        gated.save(product("Fast"));
+
+        // Act
+        ProductChanges during = gated.changesSince(INITIAL_REVISION, null, 100);
+        release.countDown();
+        slowWriter.join();
+        ProductChanges after = gated.changesSince(during.revision(), null, 100);
+
+        // Assert
+        assertEquals(INITIAL_REVISION, during.revision());
+        assertTrue(during.upserts().isEmpty());
+        assertEquals(List.of("Slow", "Fast"), after.upserts().stream().map(Product::name).toList());
+    }
+
+    @Test
+    void deleteAllById_ShouldNumberEachDeletedProduct() {
+        // Arrange
+        Product laptop = product("Laptop");
+        Product mouse = product("Mouse");
+        Product desk = product("Desk");
+        repository.saveAll(List.of(laptop, mouse, desk));
+        long revision = repository.changesSince(INITIAL_REVISION, null, 100).revision();
+
+        // Act
+        List<UUID> deleted = repository.deleteAllById(List.of(mouse.id(), UUID.randomUUID(), laptop.id()));
+        ProductChanges changes = repository.changesSince(revision, null, 100);
+
+        // Assert
+        assertEquals(List.of(mouse.id(), laptop.id()), deleted);
+        assertEquals(List.of(mouse.id(), laptop.id()), changes.deletions());
+        assertTrue(changes.upserts().isEmpty());
+        assertEquals(3, repository.indexSize());
+    }
+
+    @Test
+    void deleteById_ShouldNotNumberMissingProduct() {
+        // Act
+        boolean deleted = repository.deleteById(UUID.randomUUID());
+
+        // Assert
+        assertFalse(deleted);
+        assertEquals(0, repository.indexSize());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Product product(String name) {
+        return new Product(UUID.randomUUID(), name, "Description of " + name, new BigDecimal("9.99"), 1);
+    }
+}
@@ -0,0 +1,168 @@
+package org.ph.infrastructure.adapter.repository.singleflight;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SingleFlightProductRepository class.
+ */
+class SingleFlightProductRepositoryTest {
+
+    private static final int CALLERS = 8;
+
+    private GatedRepository backend;
+    private SingleFlightProductRepository repository;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        backend = new GatedRepository();
+        repository = new SingleFlightProductRepository(backend);
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backend.gate.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void findById_ShouldShareOneLoadBetweenConcurrentCallers() throws Exception {
+        // Arrange
+        Product product = product("Flash sale item");
+        backend.save(product);
+
+        // Act
+        List<Future<Optional<Product>>> results = lookUpConcurrently(product.id());
+        backend.gate.countDown();
+
+        // Assert
+        for (Future<Optional<Product>> result : results) {
+            assertEquals(Optional.of(product), result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, backend.lookups.get());
+        assertEquals(1, repository.backendLoads());
+        assertEquals(CALLERS - 1, repository.sharedLoads());
+    }
+
+    @Test
+    void findById_ShouldPropagateFailureToAllWaiters() throws Exception {
+        // Arrange
+        backend.failure = new IllegalStateException("Backend unavailable");
+
+        // Act
+        List<Future<Optional<Product>>> results = lookUpConcurrently(UUID.randomUUID());
+        backend.gate.countDown();
+
+        // Assert
+        for (Future<Optional<Product>> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertSame(backend.failure, e.getCause());
+        }
+        assertEquals(1, backend.lookups.get());
+    }
+
+    @Test
+    void findById_ShouldStartNewLoad_AfterPreviousCompleted() {
+        // Arrange
+        backend.gate.countDown();
+        Product product = product("Laptop");
+        backend.save(product);
+
+        // Act
+        repository.findById(product.id());
+        repository.findById(product.id());
+
+        // Assert
+        assertEquals(2, backend.lookups.get());
+        assertEquals(0, repository.sharedLoads());
+    }
+
+    @Test
+    void save_ShouldDetachLoadInFlight() throws Exception {
+        // Arrange
+        Product product = product("Laptop");
+        backend.save(product);
+        Future<Optional<Product>> stale = executor.submit(() -> repository.findById(product.id()));
+        assertTrue(backend.entered.await(5, TimeUnit.SECONDS));
+        Product updated = product.withStockQuantity(0);
+
+        // Act
+        repository.save(updated);
+        Future<Optional<Product>> fresh = executor.submit(() -> repository.findById(product.id()));
+        backend.gate.countDown();
+
+        // Assert
+        assertEquals(Optional.of(updated), fresh.get(5, TimeUnit.SECONDS));
+        stale.get(5, TimeUnit.SECONDS);
+        assertEquals(2, backend.lookups.get());
+    }
+
+    private List<Future<Optional<Product>>> lookUpConcurrently(UUID id) throws InterruptedException {
+        List<Future<Optional<Product>>> results = new ArrayList<>(CALLERS);
+        results.add(executor.submit(() -> repository.findById(id)));
+        assertTrue(backend.entered.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < CALLERS; i++) {
+            results.add(executor.submit(() -> repository.findById(id)));
+        }
+        // Give the followers time to join the load that is held at the gate
+        while (repository.sharedLoads() < CALLERS - 1) {
+            Thread.sleep(1);
+        }
+        return results;
+    }
+
+    private static Product product(String name) {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .description("Description of " + name)
+                .price(new BigDecimal("19.99"))
+                .stockQuantity(10)
+                .build();
+    }
+
+    /**
+     * In-memory backend whose lookups are counted and held at a gate until it is opened.
+     */
+    private static final class GatedRepository extends InMemoryProductRepository {
+
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final AtomicInteger lookups = new AtomicInteger();
+        private volatile RuntimeException failure;
+
+        @Override
+        public Optional<Product> findById(UUID id) {
+            lookups.incrementAndGet();
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return super.findById(id);
+        }
+    }
+}
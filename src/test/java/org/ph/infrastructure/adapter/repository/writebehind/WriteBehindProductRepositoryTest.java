@@ -0,0 +1,365 @@
+package org.ph.infrastructure.adapter.repository.writebehind;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the WriteBehindProductRepository class.
+ */
+class WriteBehindProductRepositoryTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private GatedRepository backend;
+    private WriteBehindProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        backend = new GatedRepository();
+        repository = new WriteBehindProductRepository(backend, 100, 10, Duration.ofMillis(50), TIMEOUT);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        backend.open();
+        repository.close();
+    }
+
+    @Test
+    void save_ShouldBeVisibleBeforeBackendWrite() throws Exception {
+        // Arrange
+        backend.close();
+        Product product = product("Laptop");
+
+        // Act
+        repository.save(product);
+
+        // Assert
+        assertEquals(Optional.of(product), repository.findById(product.id()));
+        assertTrue(repository.existsById(product.id()));
+        assertTrue(backend.findById(product.id()).isEmpty());
+        backend.open();
+        assertTrue(repository.flush(TIMEOUT));
+        assertEquals(Optional.of(product), backend.findById(product.id()));
+        assertEquals(0, repository.pendingCount());
+    }
+
+    @Test
+    void save_ShouldCoalesceUpdatesOfSameProduct() throws Exception {
+        // Arrange
+        Product hot = product("Hot item");
+        backend.close();
+        repository.save(product("Other item"));
+        backend.awaitBlockedWrite();
+
+        // Act
+        for (int stock = 0; stock < 1_000; stock++) {
+            repository.save(hot.withStockQuantity(stock));
+        }
+        backend.open();
+        assertTrue(repository.flush(TIMEOUT));
+
+        // Assert
+        assertEquals(999, backend.findById(hot.id()).orElseThrow().stockQuantity());
+        assertEquals(2, backend.savedProducts.get());
+    }
+
+    @Test
+    void deleteById_ShouldHideProductAndDeleteFromBackend() throws Exception {
+        // Arrange
+        Product product = product("Laptop");
+        backend.save(product);
+
+        // Act
+        boolean deleted = repository.deleteById(product.id());
+
+        // Assert
+        assertTrue(deleted);
+        assertTrue(repository.findById(product.id()).isEmpty());
+        assertFalse(repository.deleteById(product.id()));
+        assertTrue(repository.flush(TIMEOUT));
+        assertFalse(backend.existsById(product.id()));
+    }
+
+    @Test
+    void saveAllIfUnchanged_WhenProductIsFlushedDuringTheBackendRead_ShouldReadItAgain() throws Exception {
+        // Arrange
+        Product product = product("Lamp");
+        Product changed = product.withStockQuantity(3);
+        AtomicInteger reads = new AtomicInteger();
+        InMemoryProductRepository racing = new InMemoryProductRepository() {
+            @Override
+            public Optional<Product> findById(UUID id) {
+                Optional<Product> found = super.findById(id);
+                if (reads.getAndIncrement() == 0) {
+                    // Another request changes the product, and the change reaches the backend, after this read
+                    repository.save(changed);
+                    awaitFlush();
+                }
+                return found;
+            }
+        };
+        racing.save(product);
+        repository.close();
+        repository = new WriteBehindProductRepository(racing, 100, 10, Duration.ofMillis(50), TIMEOUT);
+
+        // Act
+        List<Product> saved = repository.saveAllIfUnchanged(Map.of(product.id(), product),
+                List.of(product.withPrice(new BigDecimal("1.00"))));
+
+        // Assert
+        assertEquals(List.of(), saved);
+        assertEquals(2, reads.get());
+        assertTrue(repository.flush(TIMEOUT));
+        assertEquals(Optional.of(changed), racing.findById(product.id()));
+    }
+
+    @Test
+    void deleteById_WhenCalledConcurrently_ShouldSucceedOnce() throws Exception {
+        // Arrange
+        Product product = product("Laptop");
+        CyclicBarrier bothRead = new CyclicBarrier(2);
+        InMemoryProductRepository racing = new InMemoryProductRepository() {
+            @Override
+            public Optional<Product> findById(UUID id) {
+                Optional<Product> found = super.findById(id);
+                awaitOther();
+                return found;
+            }
+
+            @Override
+            public boolean existsById(UUID id) {
+                boolean exists = super.existsById(id);
+                awaitOther();
+                return exists;
+            }
+
+            private void awaitOther() {
+                try {
+                    // Both deletions see the product before either records its deletion
+                    bothRead.await(1, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    // The second deletion may not read the backend at all
+                }
+            }
+        };
+        racing.save(product);
+        repository.close();
+        repository = new WriteBehindProductRepository(racing, 100, 10, Duration.ofMillis(50), TIMEOUT);
+
+        // Act
+        CompletableFuture<Boolean> first = CompletableFuture.supplyAsync(() -> repository.deleteById(product.id()));
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(() -> repository.deleteById(product.id()));
+
+        // Assert
+        assertNotEquals(first.get(5, TimeUnit.SECONDS), second.get(5, TimeUnit.SECONDS));
+        assertTrue(repository.flush(TIMEOUT));
+        assertFalse(racing.existsById(product.id()));
+    }
+
+    @Test
+    void findAll_ShouldOverlayPendingChanges() {
+        // Arrange
+        Product kept = product("Kept");
+        Product updated = product("Updated");
+        Product removed = product("Removed");
+        backend.saveAll(List.of(kept, updated, removed));
+        backend.close();
+        Product added = product("Added");
+
+        // Act
+        repository.save(updated.withName("Updated again"));
+        repository.deleteById(removed.id());
+        repository.save(added);
+        List<Product> all = repository.findAll();
+
+        // Assert
+        assertEquals(3, all.size());
+        assertTrue(all.contains(kept));
+        assertTrue(all.contains(updated.withName("Updated again")));
+        assertTrue(all.contains(added));
+    }
+
+    @Test
+    void saveAllIfUnchanged_ShouldCompareWithPendingChanges() throws Exception {
+        // Arrange
+        Product kept = product("Kept");
+        Product updated = product("Updated");
+        Product removed = product("Removed");
+        backend.saveAll(List.of(kept, updated, removed));
+        backend.close();
+        repository.save(updated.withStockQuantity(7));
+        repository.deleteById(removed.id());
+        Map<UUID, Product> expected = Map.of(kept.id(), kept, updated.id(), updated, removed.id(), removed);
+        List<Product> discounted = Stream.of(kept, updated, removed)
+                .map(product -> product.withPrice(new BigDecimal("5.00")))
+                .toList();
+
+        // Act
+        List<Product> saved = repository.saveAllIfUnchanged(expected, discounted);
+
+        // Assert
+        assertEquals(List.of(discounted.get(0)), saved);
+        backend.open();
+        assertTrue(repository.flush(TIMEOUT));
+        assertEquals(Optional.of(discounted.get(0)), backend.findById(kept.id()));
+        assertEquals(Optional.of(updated.withStockQuantity(7)), backend.findById(updated.id()));
+        assertFalse(backend.existsById(removed.id()));
+    }
+
+    @Test
+    void findAllById_ShouldPreferPendingChanges() {
+        // Arrange
+        Product kept = product("Kept");
+        Product updated = product("Updated");
+        Product removed = product("Removed");
+        backend.saveAll(List.of(kept, updated, removed));
+        backend.close();
+        Product added = product("Added");
+
+        // Act
+        repository.save(updated.withName("Updated again"));
+        repository.deleteById(removed.id());
+        repository.save(added);
+        List<Product> found = repository.findAllById(List.of(added.id(), removed.id(), kept.id(), updated.id()));
+
+        // Assert
+        assertEquals(List.of(added, kept, updated.withName("Updated again")), found);
+    }
+
+    @Test
+    void save_ShouldFail_WhenBufferStaysFull() throws Exception {
+        // Arrange
+        repository.close();
+        repository = new WriteBehindProductRepository(backend, 1, 10, Duration.ofMillis(50), TIMEOUT);
+        backend.close();
+        Product first = product("First");
+        repository.save(first);
+
+        // Act & Assert
+        assertThrows(WriteBehindQueueFullException.class, () -> repository.save(product("Second")));
+        repository.save(first.withStockQuantity(1));
+        assertEquals(1, repository.pendingCount());
+    }
+
+    @Test
+    void flush_ShouldRetryFailedBatch() throws Exception {
+        // Arrange
+        backend.failures.set(1);
+        Product product = product("Laptop");
+
+        // Act
+        repository.save(product);
+
+        // Assert
+        assertTrue(repository.flush(TIMEOUT));
+        assertEquals(Optional.of(product), backend.findById(product.id()));
+    }
+
+    @Test
+    void close_ShouldFlushPendingWrites() throws Exception {
+        // Arrange
+        backend.close();
+        List<Product> products = List.of(product("A"), product("B"), product("C"));
+        repository.saveAll(products);
+
+        // Act
+        backend.open();
+        repository.close();
+
+        // Assert
+        for (Product product : products) {
+            assertEquals(Optional.of(product), backend.findById(product.id()));
+        }
+        assertThrows(IllegalStateException.class, () -> repository.save(product("Late")));
+    }
+
+    @Test
+    void close_ShouldGiveUpAfterShutdownTimeout_WhenBackendKeepsFailing() throws Exception {
+        // Arrange
+        repository.close();
+        repository = new WriteBehindProductRepository(backend, 100, 10, Duration.ofMillis(50), Duration.ofMillis(300));
+        backend.failures.set(Integer.MAX_VALUE);
+        repository.save(product("Laptop"));
+
+        // Act
+        assertTimeoutPreemptively(TIMEOUT, repository::close);
+
+        // Assert
+        assertEquals(1, repository.pendingCount());
+    }
+
+    private static Product product(String name) {
+        return Product.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .description("Description of " + name)
+                .price(new BigDecimal("19.99"))
+                .stockQuantity(10)
+                .build();
+    }
+
+    /**
+     * In-memory backend whose batch writes can be held back, fail on demand and are counted.
+     */
+    private void awaitFlush() {
+        try {
+            assertTrue(repository.flush(TIMEOUT));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class GatedRepository extends InMemoryProductRepository {
+
+        private final AtomicInteger savedProducts = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private volatile CountDownLatch gate = new CountDownLatch(0);
+
+        void close() {
+            gate = new CountDownLatch(1);
+        }
+
+        void open() {
+            gate.countDown();
+        }
+
+        void awaitBlockedWrite() throws InterruptedException {
+            assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        }
+
+        @Override
+        public List<Product> saveAll(List<Product> products) {
+            blocked.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0) {
+                throw new IllegalStateException("Backend unavailable");
+            }
+            savedProducts.addAndGet(products.size());
+            return super.saveAll(products);
+        }
+    }
+}
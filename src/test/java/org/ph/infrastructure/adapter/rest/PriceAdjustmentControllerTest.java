@@ -0,0 +1,123 @@
+package org.ph.infrastructure.adapter.rest;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.ph.application.port.in.PriceAdjustmentUseCase;
+import org.ph.domain.model.PriceAdjustment;
+import org.ph.domain.model.PriceAdjustmentJob;
+import org.ph.domain.model.ProductSelector;
+import org.ph.infrastructure.adapter.rest.mapper.PriceAdjustmentMapper;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the PriceAdjustmentController class.
+ */
+@ExtendWith(MockitoExtension.class)
+class PriceAdjustmentControllerTest {
+
+    private static final Instant RUN_AT = Instant.parse("2024-06-01T00:00:00Z");
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private PriceAdjustmentUseCase priceAdjustmentUseCase;
+
+    @Spy
+    private PriceAdjustmentMapper priceAdjustmentMapper = new PriceAdjustmentMapper();
+
+    @InjectMocks
+    private PriceAdjustmentController priceAdjustmentController;
+
+    private UUID jobId;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(priceAdjustmentController).build();
+        jobId = UUID.randomUUID();
+    }
+
+    @Test
+    void scheduleAdjustment_ShouldReturnAcceptedJob() throws Exception {
+        // Arrange
+        ProductSelector selector = new ProductSelector(null, null, "garden", new BigDecimal("10"), null);
+        PriceAdjustment adjustment = new PriceAdjustment(PriceAdjustment.Kind.PERCENTAGE, new BigDecimal("-15"),
+                2, RoundingMode.HALF_EVEN);
+        when(priceAdjustmentUseCase.scheduleAdjustment(selector, adjustment, RUN_AT))
+                .thenReturn(job(PriceAdjustmentJob.Status.SCHEDULED, selector, adjustment));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/price-adjustments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"selector": {"descriptionContains": "garden", "nameContains": " ", "minPrice": 10},
+                                 "adjustment": {"kind": "PERCENTAGE", "amount": -15, "scale": 2, "roundingMode": "HALF_EVEN"},
+                                 "runAt": "2024-06-01T00:00:00Z"}"""))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/products/price-adjustments/" + jobId))
+                .andExpect(jsonPath("$.id").value(jobId.toString()))
+                .andExpect(jsonPath("$.status").value("SCHEDULED"));
+    }
+
+    @Test
+    void scheduleAdjustment_WhenInvalid_ShouldReportEveryError() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/products/price-adjustments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"selector": {}, "adjustment": {"kind": "PERCENTAGE", "amount": -150, "scale": 20}}"""))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.length()").value(3))
+                .andExpect(jsonPath("$.errors[0].field").value("selector"))
+                .andExpect(jsonPath("$.errors[1].field").value("adjustment.amount"))
+                .andExpect(jsonPath("$.errors[2].field").value("adjustment.scale"));
+        verify(priceAdjustmentUseCase, never()).scheduleAdjustment(any(), any(), any());
+    }
+
+    @Test
+    void getAdjustment_WhenJobDoesNotExist_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        when(priceAdjustmentUseCase.getAdjustment(jobId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/price-adjustments/{id}", jobId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cancelAdjustment_WhenJobFinished_ShouldReturnConflict() throws Exception {
+        // Arrange
+        when(priceAdjustmentUseCase.getAdjustment(jobId))
+                .thenReturn(Optional.of(job(PriceAdjustmentJob.Status.COMPLETED, null, null)));
+
+        // Act & Assert
+        mockMvc.perform(delete("/api/products/price-adjustments/{id}", jobId))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+        verify(priceAdjustmentUseCase, never()).cancelAdjustment(eq(jobId));
+    }
+
+    private PriceAdjustmentJob job(PriceAdjustmentJob.Status status, ProductSelector selector, PriceAdjustment adjustment) {
+        return new PriceAdjustmentJob(jobId, status, selector, adjustment, RUN_AT, null, null, 0, 0, 0, 0, null);
+    }
+}
@@ -6,23 +6,42 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.ph.application.port.in.ProductUseCase;
 import org.ph.domain.model.Product;
+import org.ph.domain.model.ProductChanges;
+import org.ph.infrastructure.adapter.rest.concurrency.ConcurrencyLimitExceededException;
+import org.ph.infrastructure.adapter.rest.concurrency.ConcurrencyLimits;
+import org.ph.infrastructure.adapter.rest.dto.ProductChangesResponse;
+import org.ph.infrastructure.adapter.rest.dto.ProductLookupResponse;
 import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
 import org.ph.infrastructure.adapter.rest.dto.ProductResponse;
+import org.ph.infrastructure.adapter.rest.idempotency.IdempotencyStore;
 import org.ph.infrastructure.adapter.rest.mapper.ProductMapper;
+import org.ph.infrastructure.adapter.rest.ratelimit.ClientIdentifier;
+import org.ph.infrastructure.adapter.rest.ratelimit.RateLimitFilter;
+import org.ph.infrastructure.adapter.rest.validation.FastValidationAdvice;
+import org.ph.infrastructure.adapter.rest.validation.ProductRequestValidator;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -41,6 +60,18 @@ class ProductControllerTest {
     @Mock
     private ProductMapper productMapper;
 
+    @Spy
+    private ProductRequestValidator productRequestValidator = new ProductRequestValidator();
+
+    @Spy
+    private IdempotencyStore idempotencyStore = new IdempotencyStore(Duration.ofMinutes(1), 100);
+
+    @Spy
+    private ClientIdentifier clientIdentifier = new ClientIdentifier("", new String[0]);
+
+    @Spy
+    private ConcurrencyLimits concurrencyLimits = ConcurrencyLimits.unlimited();
+
     @InjectMocks
     private ProductController productController;
 
@@ -122,6 +153,56 @@ class ProductControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void getAllProducts_ShouldNotGoThroughReadLimit() throws Exception {
+        // Arrange
+        when(productUseCase.getAllProducts()).thenReturn(List.of(testProduct));
+        when(productMapper.toResponse(testProduct)).thenReturn(testProductResponse);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(testId.toString()));
+        verify(concurrencyLimits, never()).read(any());
+    }
+
+    @Test
+    void getProductById_WhenReadLimitIsReached_ShouldReturnServiceUnavailable() throws Exception {
+        // Arrange
+        doThrow(new ConcurrencyLimitExceededException("read", 4)).when(concurrencyLimits).read(any());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/{id}", testId))
+                .andExpect(status().isServiceUnavailable());
+        verify(productUseCase, never()).getProductById(any());
+    }
+
+    @Test
+    void getProductAsOf_WhenProductExisted_ShouldReturnProduct() throws Exception {
+        // Arrange
+        Instant asOf = Instant.parse("2024-03-01T12:00:00Z");
+        when(productUseCase.keepsHistory()).thenReturn(true);
+        when(productUseCase.getProductAsOf(testId, asOf)).thenReturn(Optional.of(testProduct));
+        when(productMapper.toResponse(testProduct)).thenReturn(testProductResponse);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/{id}", testId).param("asOf", "2024-03-01T12:00:00Z"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(testId.toString()));
+        verify(productUseCase, never()).getProductById(any());
+    }
+
+    @Test
+    void getProductAsOf_WhenNoHistoryIsKept_ShouldReturnNotImplemented() throws Exception {
+        // Arrange
+        when(productUseCase.keepsHistory()).thenReturn(false);
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/{id}", testId).param("asOf", "2024-03-01T12:00:00Z"))
+                .andExpect(status().isNotImplemented());
+        verify(productUseCase, never()).getProductAsOf(any(), any());
+    }
+
     @Test
     void getAllProducts_ShouldReturnAllProducts() throws Exception {
         // Arrange
@@ -135,6 +216,127 @@ class ProductControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Test Product"));
     }
 
+    @Test
+    void lookupProducts_ShouldReturnFoundProductsAndMissingIds() throws Exception {
+        // Arrange
+        UUID missingId = UUID.randomUUID();
+        List<UUID> ids = List.of(testId, missingId);
+        when(productUseCase.getProductsByIds(ids)).thenReturn(List.of(testProduct));
+        when(productMapper.toLookupResponse(ids, List.of(testProduct)))
+                .thenReturn(new ProductLookupResponse(List.of(testProductResponse), List.of(missingId)));
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products[0].id").value(testId.toString()))
+                .andExpect(jsonPath("$.missing[0]").value(missingId.toString()));
+    }
+
+    @Test
+    void lookupProducts_WithTooManyIds_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i <= ProductController.MAX_LOOKUP_IDS; i++) {
+            ids.add(UUID.randomUUID());
+        }
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].index").value(0))
+                .andExpect(jsonPath("$.errors[0].field").value("ids"));
+        verify(productUseCase, never()).getProductsByIds(anyList());
+    }
+
+    @Test
+    void lookupProducts_WithNullId_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/products/lookup")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[\"" + UUID.randomUUID() + "\", null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0].field").value("ids"))
+                .andExpect(jsonPath("$.errors[0].message").value("IDs must not be null"));
+        verify(productUseCase, never()).getProductsByIds(anyList());
+    }
+
+    @Test
+    void getChanges_ShouldReturnChangesSinceRevision() throws Exception {
+        // Arrange
+        UUID deletedId = UUID.randomUUID();
+        ProductChanges changes = new ProductChanges(42, false, false, List.of(testProduct), List.of(deletedId), null);
+        when(productUseCase.getChangesSince(7, null, 50)).thenReturn(Optional.of(changes));
+        when(productMapper.toResponse(changes)).thenReturn(
+                new ProductChangesResponse(42, false, false, List.of(testProductResponse), List.of(deletedId), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/changes").param("since", "7").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.revision").value(42))
+                .andExpect(jsonPath("$.reset").value(false))
+                .andExpect(jsonPath("$.upserts[0].id").value(testId.toString()))
+                .andExpect(jsonPath("$.deletions[0]").value(deletedId.toString()));
+    }
+
+    @Test
+    void getChanges_WhenRevisionIsTooOld_ShouldFlagResetForAdmissionControl() throws Exception {
+        // Arrange
+        ProductChanges changes = new ProductChanges(42, true, false, List.of(testProduct), List.of(), null);
+        when(productUseCase.getChangesSince(7, null, 1000)).thenReturn(Optional.of(changes));
+        when(productMapper.toResponse(changes)).thenReturn(
+                new ProductChangesResponse(42, true, false, List.of(testProductResponse), List.of(), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/changes").param("since", "7"))
+                .andExpect(status().isOk())
+                .andExpect(request().attribute(RateLimitFilter.RESET_ATTRIBUTE, true));
+    }
+
+    @Test
+    void getChanges_ShouldCapLimit() throws Exception {
+        // Arrange
+        ProductChanges changes = new ProductChanges(0, true, false, List.of(), List.of(), null);
+        when(productUseCase.getChangesSince(0, null, ProductController.MAX_CHANGES)).thenReturn(Optional.of(changes));
+        when(productMapper.toResponse(changes))
+                .thenReturn(new ProductChangesResponse(0, true, false, List.of(), List.of(), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/changes").param("limit", "1000000"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reset").value(true));
+    }
+
+    @Test
+    void getChanges_ShouldPassResetCursor() throws Exception {
+        // Arrange
+        UUID cursor = UUID.randomUUID();
+        UUID next = UUID.randomUUID();
+        ProductChanges changes = new ProductChanges(9, false, true, List.of(testProduct), List.of(), next);
+        when(productUseCase.getChangesSince(9, cursor, 1)).thenReturn(Optional.of(changes));
+        when(productMapper.toResponse(changes)).thenReturn(
+                new ProductChangesResponse(9, false, true, List.of(testProductResponse), List.of(), next));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/changes")
+                        .param("since", "9").param("after", cursor.toString()).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.cursor").value(next.toString()));
+    }
+
+    @Test
+    void getChanges_WhenWritesAreNotNumbered_ShouldReturnNotImplemented() throws Exception {
+        // Arrange
+        when(productUseCase.getChangesSince(0, null, 1000)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/products/changes"))
+                .andExpect(status().isNotImplemented());
+    }
+
     @Test
     void updateProduct_WhenProductExists_ShouldReturnUpdatedProduct() throws Exception {
         // Arrange
@@ -183,4 +385,138 @@ class ProductControllerTest {
         mockMvc.perform(delete("/api/products/{id}", testId))
                 .andExpect(status().isNotFound());
     }
-}
\ No newline at end of file
+
+    @Test
+    void createProducts_ShouldReturnCreatedProducts() throws Exception {
+        // Arrange
+        when(productMapper.toDomain(any(ProductRequest.class))).thenReturn(testProduct);
+        when(productUseCase.createProducts(anyList())).thenReturn(List.of(testProduct, testProduct));
+        when(productMapper.toResponse(testProduct)).thenReturn(testProductResponse);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testProductRequest, testProductRequest))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(testId.toString()));
+    }
+
+    @Test
+    void createProducts_WithInvalidProducts_ShouldReturnAllErrors() throws Exception {
+        // Arrange
+        ProductRequest invalidRequest = ProductRequest.builder()
+                .stockQuantity(-1)
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testProductRequest, invalidRequest))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.length()").value(3))
+                .andExpect(jsonPath("$.errors[0].index").value(1))
+                .andExpect(jsonPath("$.errors[0].field").value("name"))
+                .andExpect(jsonPath("$.errors[0].message").value("Product name is required"));
+        verify(productUseCase, never()).createProducts(anyList());
+    }
+
+    @Test
+    void createProduct_WithFastValidation_ShouldRejectInvalidProduct() throws Exception {
+        // Arrange
+        mockMvc = MockMvcBuilders.standaloneSetup(productController)
+                .setControllerAdvice(new FastValidationAdvice(productRequestValidator))
+                .build();
+        ProductRequest invalidRequest = ProductRequest.builder()
+                .description("Invalid product")
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(invalidRequest)))
+                .andExpect(status().isBadRequest());
+        verify(productRequestValidator).validate(any(), any());
+        verify(productUseCase, never()).createProduct(any());
+    }
+
+    @Test
+    void createProduct_WithRepeatedIdempotencyKey_ShouldReplayOriginalResponse() throws Exception {
+        // Arrange
+        when(productMapper.toDomain(any(ProductRequest.class))).thenReturn(testProduct);
+        when(productUseCase.createProduct(any(Product.class))).thenReturn(testProduct);
+        when(productMapper.toResponse(any(Product.class))).thenReturn(testProductResponse);
+        String body = objectMapper.writeValueAsString(testProductRequest);
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER));
+        mockMvc.perform(post("/api/products")
+                .header("Idempotency-Key", "retry-1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+                .andExpect(jsonPath("$.id").value(testId.toString()));
+        verify(productUseCase, times(1)).createProduct(any(Product.class));
+    }
+
+    @Test
+    void createProduct_WithIdempotencyKeyAndDifferentPayload_ShouldReturnUnprocessableEntity() throws Exception {
+        // Arrange
+        when(productMapper.toDomain(any(ProductRequest.class))).thenReturn(testProduct);
+        when(productUseCase.createProduct(any(Product.class))).thenReturn(testProduct);
+        when(productMapper.toResponse(any(Product.class))).thenReturn(testProductResponse);
+        ProductRequest otherRequest = ProductRequest.builder()
+                .name("Other Product")
+                .price(BigDecimal.ONE)
+                .build();
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products")
+                .header("Idempotency-Key", "retry-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testProductRequest)))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/products")
+                .header("Idempotency-Key", "retry-2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(otherRequest)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    void createProduct_WithSameIdempotencyKeyFromAnotherClient_ShouldCreateProductAgain() throws Exception {
+        // Arrange
+        when(productMapper.toDomain(any(ProductRequest.class))).thenReturn(testProduct);
+        when(productUseCase.createProduct(any(Product.class))).thenReturn(testProduct);
+        when(productMapper.toResponse(any(Product.class))).thenReturn(testProductResponse);
+        String body = objectMapper.writeValueAsString(testProductRequest);
+        mockMvc.perform(post("/api/products")
+                .with(request -> {
+                    request.setRemoteAddr("10.0.0.1");
+                    return request;
+                })
+                .header("Idempotency-Key", "retry-3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated());
+
+        // Act & Assert
+        mockMvc.perform(post("/api/products")
+                .with(request -> {
+                    request.setRemoteAddr("10.0.0.2");
+                    return request;
+                })
+                .header("Idempotency-Key", "retry-3")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER));
+        verify(productUseCase, times(2)).createProduct(any(Product.class));
+    }
+}
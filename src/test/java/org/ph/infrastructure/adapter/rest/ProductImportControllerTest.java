@@ -0,0 +1,110 @@
+package org.ph.infrastructure.adapter.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ph.application.service.ProductUseCaseImpl;
+import org.ph.application.service.impl.ProductServiceImpl;
+import org.ph.infrastructure.adapter.id.UuidV7Generator;
+import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
+import org.ph.infrastructure.adapter.rest.dto.ImportEvent;
+import org.ph.infrastructure.adapter.rest.importer.ProductImporter;
+import org.ph.infrastructure.adapter.rest.mapper.ProductMapper;
+import org.ph.infrastructure.adapter.rest.validation.ProductRequestValidator;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for the ProductImportController class.
+ */
+class ProductImportControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MockMvc mockMvc;
+    private InMemoryProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryProductRepository();
+        ProductImporter importer = new ProductImporter(
+                new ProductUseCaseImpl(new ProductServiceImpl(new UuidV7Generator()), repository),
+                new ProductMapper(), new ProductRequestValidator(), objectMapper, 2, 2, 100);
+        mockMvc = MockMvcBuilders.standaloneSetup(new ProductImportController(importer, objectMapper)).build();
+    }
+
+    @Test
+    void importProducts_WithNdjson_ShouldStreamProgressAndSummary() throws Exception {
+        // Arrange
+        String upload = """
+                {"name":"Laptop","price":999.99,"stockQuantity":5}
+                {"name":"Mouse","price":19.99}
+                {"name":"","price":1}
+                """;
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/products/import")
+                        .contentType(ProductImportController.NDJSON_VALUE)
+                        .content(upload))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ProductImportController.NDJSON_VALUE))
+                .andReturn();
+
+        // Assert
+        List<ImportEvent> events = events(result);
+        assertEquals(3, events.size());
+        assertEquals(new ImportEvent(ImportEvent.Status.COMPLETED, 3, 2, 1, null, null), events.get(2));
+        assertEquals(2, repository.findAll().size());
+    }
+
+    @Test
+    void importProducts_WithCsv_ShouldImportProducts() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(post("/api/products/import")
+                        .contentType(MediaType.parseMediaType("text/csv;charset=UTF-8"))
+                        .content("name,price\nLaptop,999.99\n"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Assert
+        List<ImportEvent> events = events(result);
+        assertEquals(ImportEvent.Status.COMPLETED, events.get(events.size() - 1).status());
+        assertEquals(1, repository.findAll().size());
+    }
+
+    @Test
+    void importProducts_WithCsvWithoutHeader_ShouldReturnBadRequest() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/products/import")
+                        .contentType(ProductImportController.CSV_VALUE)
+                        .content("Laptop,999.99\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importProducts_WithUnsupportedContentType_ShouldReturnUnsupportedMediaType() throws Exception {
+        // Act & Assert
+        mockMvc.perform(post("/api/products/import")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    private List<ImportEvent> events(MvcResult result) throws Exception {
+        List<ImportEvent> events = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            events.add(objectMapper.readValue(line, ImportEvent.class));
+        }
+        return events;
+    }
+}
@@ -0,0 +1,190 @@
+package org.ph.infrastructure.adapter.rest.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AdaptiveConcurrencyLimiter class.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void execute_ShouldShrinkLimitWhenLatencyRises() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(new LimitSettings(100, 4, 1000, 3, 10, Duration.ZERO, Duration.ZERO));
+        calls(limiter, AdaptiveConcurrencyLimiter.WINDOW_SIZE, MILLISECOND);
+
+        // Act
+        calls(limiter, 10 * AdaptiveConcurrencyLimiter.WINDOW_SIZE, 10 * MILLISECOND);
+
+        // Assert
+        assertTrue(limiter.limit() < 50, "limit " + limiter.limit());
+        assertTrue(limiter.limit() >= 4);
+    }
+
+    @Test
+    void execute_ShouldKeepLimitWithinTolerance() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(new LimitSettings(100, 4, 1000, 3, 10, Duration.ZERO, Duration.ZERO));
+        calls(limiter, AdaptiveConcurrencyLimiter.WINDOW_SIZE, MILLISECOND);
+
+        // Act
+        calls(limiter, 10 * AdaptiveConcurrencyLimiter.WINDOW_SIZE, 11 * MILLISECOND / 10);
+
+        // Assert
+        assertEquals(100, limiter.limit());
+    }
+
+    @Test
+    void execute_ShouldNotShrinkLimitForJitterBelowLatencyFloor() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(
+                new LimitSettings(64, 4, 1000, 3, 10, Duration.ZERO, Duration.ofMillis(1)));
+        calls(limiter, AdaptiveConcurrencyLimiter.WINDOW_SIZE, 100);
+
+        // Act
+        // Fifty times slower than the fastest call, but still far from queueing
+        calls(limiter, 10 * AdaptiveConcurrencyLimiter.WINDOW_SIZE, 5_000);
+
+        // Assert
+        assertEquals(64, limiter.limit());
+    }
+
+    @Test
+    void execute_ShouldNotCountLatencyOfFailedCalls() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(new LimitSettings(100, 4, 1000, 3, 10, Duration.ZERO, Duration.ZERO));
+        calls(limiter, AdaptiveConcurrencyLimiter.WINDOW_SIZE, MILLISECOND);
+
+        // Act
+        for (int i = 0; i < 10 * AdaptiveConcurrencyLimiter.WINDOW_SIZE; i++) {
+            assertThrows(IllegalStateException.class, () -> limiter.execute(() -> {
+                clock.addAndGet(100 * MILLISECOND);
+                throw new IllegalStateException("Timed out");
+            }));
+        }
+
+        // Assert
+        assertEquals(100, limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void execute_ShouldGrowLimitOnlyWhileItIsUsed() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(new LimitSettings(4, 4, 1000, 3, 10, Duration.ZERO, Duration.ZERO));
+        calls(limiter, 20 * AdaptiveConcurrencyLimiter.WINDOW_SIZE, MILLISECOND);
+        int idle = limiter.limit();
+
+        // Act
+        for (int i = 0; i < 20 * AdaptiveConcurrencyLimiter.WINDOW_SIZE; i++) {
+            // Three calls at once use most of the limit
+            limiter.execute(() -> limiter.execute(() -> limiter.execute(() -> clock.addAndGet(MILLISECOND))));
+        }
+
+        // Assert
+        assertEquals(4, idle);
+        assertTrue(limiter.limit() > 4, "limit " + limiter.limit());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void execute_ShouldQueueCallUntilSlotIsFreed() throws Exception {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(new LimitSettings(1, 1, 1, 2, 10, Duration.ofSeconds(5), Duration.ZERO));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> holder = CompletableFuture.supplyAsync(() -> limiter.execute(() -> {
+            running.countDown();
+            awaitQuietly(release);
+            return "first";
+        }));
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+
+        // Act
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> limiter.execute(() -> "second"));
+        while (limiter.queued() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        // Assert
+        assertEquals("first", holder.get(5, TimeUnit.SECONDS));
+        assertEquals("second", waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(0, limiter.queued());
+    }
+
+    @Test
+    void execute_ShouldRejectCallAfterMaxWait() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(new LimitSettings(1, 1, 1, 2, 10, Duration.ofMillis(10), Duration.ZERO));
+
+        // Act & Assert
+        limiter.execute(() -> assertThrows(ConcurrencyLimitExceededException.class,
+                () -> limiter.execute(() -> "rejected")));
+        assertEquals(0, limiter.queued());
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void execute_ShouldRejectCallRightAwayWhenQueueIsFull() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(new LimitSettings(1, 1, 1, 2, 0, Duration.ofSeconds(5), Duration.ZERO));
+        long start = System.nanoTime();
+
+        // Act & Assert
+        limiter.execute(() -> assertThrows(ConcurrencyLimitExceededException.class,
+                () -> limiter.execute(() -> "rejected")));
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void execute_ShouldFreeSlotWhenCallFails() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = limiter(new LimitSettings(1, 1, 1, 2, 0, Duration.ZERO, Duration.ZERO));
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> limiter.execute(() -> {
+            throw new IllegalStateException("Backend unavailable");
+        }));
+
+        // Assert
+        assertEquals(0, limiter.inFlight());
+        assertEquals("next", limiter.execute(() -> "next"));
+    }
+
+    @Test
+    void settings_WithInitialLimitOutsideBounds_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new LimitSettings(2, 4, 10, 2, 0, Duration.ZERO, Duration.ZERO));
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(LimitSettings settings) {
+        return new AdaptiveConcurrencyLimiter("test", settings, clock::get);
+    }
+
+    private void calls(AdaptiveConcurrencyLimiter limiter, int count, long latencyNanos) {
+        for (int i = 0; i < count; i++) {
+            limiter.execute(() -> clock.addAndGet(latencyNanos));
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.ph.infrastructure.adapter.rest.concurrency;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ConcurrencyLimits class.
+ */
+class ConcurrencyLimitsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void read_ShouldNotBeHeldBackByWrites() {
+        // Arrange
+        ConcurrencyLimits limits = limits(1, 1);
+
+        // Act
+        String result = limits.write(() -> limits.read(() -> "read"));
+
+        // Assert
+        assertEquals("read", result);
+    }
+
+    @Test
+    void write_OverLimit_ShouldCountRejection() {
+        // Arrange
+        ConcurrencyLimits limits = limits(4, 1);
+
+        // Act
+        assertThrows(ConcurrencyLimitExceededException.class, () -> limits.write(() -> limits.write(() -> "nested")));
+
+        // Assert
+        assertEquals(1, meterRegistry.get("acme.concurrency.rejected").tag("kind", "write").functionCounter().count());
+        assertEquals(0, meterRegistry.get("acme.concurrency.rejected").tag("kind", "read").functionCounter().count());
+        assertEquals(1, meterRegistry.get("acme.concurrency.limit").tag("kind", "write").gauge().value());
+    }
+
+    @Test
+    void unlimited_ShouldRunEveryCall() {
+        // Arrange
+        ConcurrencyLimits limits = ConcurrencyLimits.unlimited();
+
+        // Act
+        String result = limits.write(() -> limits.write(() -> limits.read(() -> "nested")));
+
+        // Assert
+        assertEquals("nested", result);
+    }
+
+    private ConcurrencyLimits limits(int readLimit, int writeLimit) {
+        return new ConcurrencyLimits(meterRegistry, true, readLimit, readLimit, writeLimit, writeLimit, 1, 2, 0,
+                Duration.ZERO, Duration.ZERO);
+    }
+}
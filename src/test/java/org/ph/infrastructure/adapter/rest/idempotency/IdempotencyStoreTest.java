@@ -0,0 +1,201 @@
+package org.ph.infrastructure.adapter.rest.idempotency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the IdempotencyStore class.
+ */
+class IdempotencyStoreTest {
+
+    private AtomicLong clock;
+    private IdempotencyStore store;
+    private AtomicInteger invocations;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong();
+        store = new IdempotencyStore(Duration.ofSeconds(10), 3, clock::get);
+        invocations = new AtomicInteger();
+    }
+
+    private ResponseEntity<String> created() {
+        return new ResponseEntity<>("created-" + invocations.incrementAndGet(), HttpStatus.CREATED);
+    }
+
+    @Test
+    void execute_WithSameKey_ShouldRunActionOnceAndReplayResponse() {
+        // Act
+        ResponseEntity<String> first = store.execute("client", "key", "payload", this::created);
+        ResponseEntity<String> replay = store.execute("client", "key", "payload", this::created);
+
+        // Assert
+        assertEquals(1, invocations.get());
+        assertEquals(first.getBody(), replay.getBody());
+        assertEquals(HttpStatus.CREATED, replay.getStatusCode());
+        assertEquals("true", replay.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void execute_WithDifferentPayload_ShouldThrowConflict() {
+        // Arrange
+        store.execute("client", "key", "payload", this::created);
+
+        // Act & Assert
+        assertThrows(IdempotencyKeyConflictException.class, () -> store.execute("client", "key", "other", this::created));
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void execute_WithDifferentPayloadOfSameHashCode_ShouldThrowConflict() {
+        // Arrange
+        store.execute("client", "key", "Aa", this::created);
+
+        // Act & Assert
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        assertThrows(IdempotencyKeyConflictException.class, () -> store.execute("client", "key", "BB", this::created));
+        assertEquals(1, invocations.get());
+    }
+
+    @Test
+    void execute_AfterTtl_ShouldRunActionAgain() {
+        // Arrange
+        store.execute("client", "key", "payload", this::created);
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // Act
+        ResponseEntity<String> response = store.execute("client", "key", "payload", this::created);
+
+        // Assert
+        assertEquals("created-2", response.getBody());
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void execute_BeyondCapacity_ShouldEvictOldestKeys() {
+        // Act
+        for (int i = 0; i < 5; i++) {
+            store.execute("client", "key-" + i, "payload", this::created);
+        }
+
+        // Assert
+        assertEquals(3, store.size());
+        store.execute("client", "key-0", "payload", this::created);
+        assertEquals(6, invocations.get(), "Evicted key should run its action again");
+    }
+
+    @Test
+    void execute_WhenActionFails_ShouldNotRecordKey() {
+        // Act
+        assertThrows(IllegalStateException.class, () -> store.execute("client", "key", "payload", () -> {
+            throw new IllegalStateException("boom");
+        }));
+        ResponseEntity<String> retry = store.execute("client", "key", "payload", this::created);
+
+        // Assert
+        assertEquals("created-1", retry.getBody());
+    }
+
+    @Test
+    void execute_WithConcurrentRetries_ShouldRunActionOnce() throws Exception {
+        // Arrange
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            Future<?>[] futures = new Future<?>[threads];
+            for (int i = 0; i < threads; i++) {
+                futures[i] = executor.submit(() -> {
+                    start.await();
+                    return store.execute("client", "key", "payload", () -> {
+                        sleep(50);
+                        return created();
+                    }).getBody();
+                });
+            }
+
+            // Act
+            start.countDown();
+
+            // Assert
+            for (Future<?> future : futures) {
+                assertEquals("created-1", future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, invocations.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_WithSameKeyFromAnotherClient_ShouldRunActionAgain() {
+        // Arrange
+        store.execute("client-a", "key", "payload", this::created);
+
+        // Act
+        ResponseEntity<String> response = store.execute("client-b", "key", "payload", this::created);
+
+        // Assert
+        assertEquals("created-2", response.getBody());
+        assertNull(response.getHeaders().getFirst(IdempotencyStore.REPLAYED_HEADER));
+    }
+
+    @Test
+    void execute_BeyondCapacity_ShouldNotEvictKeysInFlight() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Future<String> original = executor.submit(() -> store.execute("client", "key", "payload", () -> {
+                running.countDown();
+                await(release);
+                return created();
+            }).getBody());
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < 5; i++) {
+                store.execute("client", "key-" + i, "payload", this::created);
+            }
+
+            // Act
+            release.countDown();
+            String replay = store.execute("client", "key", "payload", this::created).getBody();
+
+            // Assert
+            assertEquals(original.get(5, TimeUnit.SECONDS), replay);
+            assertEquals(6, invocations.get(), "Key in flight should not run its action again");
+            assertEquals(3, store.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
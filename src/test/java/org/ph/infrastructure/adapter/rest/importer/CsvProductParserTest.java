@@ -0,0 +1,93 @@
+package org.ph.infrastructure.adapter.rest.importer;
+
+import org.junit.jupiter.api.Test;
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.dto.ValidationErrorResponse;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CsvProductParser class.
+ */
+class CsvProductParserTest {
+
+    @Test
+    void split_ShouldHandleQuotedAndEmptyFields() {
+        // Act
+        List<String> fields = CsvProductParser.split("plain,\"quoted, with comma\",,\"say \"\"hi\"\"\",");
+
+        // Assert
+        assertEquals(Arrays.asList("plain", "quoted, with comma", null, "say \"hi\"", null), fields);
+    }
+
+    @Test
+    void split_ShouldRejectTextAfterClosingQuote() {
+        // Act & Assert
+        assertNull(CsvProductParser.split("\"quoted\"text,1"));
+        assertNull(CsvProductParser.split("\"unterminated"));
+    }
+
+    @Test
+    void isComplete_ShouldDetectOpenQuotedField() {
+        // Act & Assert
+        assertTrue(CsvProductParser.isComplete("a,\"b\",c"));
+        assertFalse(CsvProductParser.isComplete("a,\"multi"));
+        assertTrue(CsvProductParser.isComplete("a,\"multi\nline\",c"));
+    }
+
+    @Test
+    void parse_ShouldMapColumnsByHeader() {
+        // Arrange
+        CsvProductParser parser = CsvProductParser.forHeader("stockQuantity,price,sku,name,description");
+        List<ValidationErrorResponse.FieldError> errors = new ArrayList<>();
+
+        // Act
+        ProductRequest request = parser.parse("5, 19.99 ,X-1,Laptop,\"Fast,\nlight\"", 2, errors);
+
+        // Assert
+        assertEquals(new ProductRequest("Laptop", "Fast,\nlight", new BigDecimal("19.99"), 5), request);
+        assertTrue(errors.isEmpty());
+    }
+
+    @Test
+    void parse_ShouldReportUnparsableFields() {
+        // Arrange
+        CsvProductParser parser = CsvProductParser.forHeader("name,price,stockQuantity");
+        List<ValidationErrorResponse.FieldError> errors = new ArrayList<>();
+
+        // Act
+        ProductRequest request = parser.parse("Laptop,cheap,many", 7, errors);
+
+        // Assert
+        assertNull(request);
+        assertEquals(List.of(
+                new ValidationErrorResponse.FieldError(7, "price", "Price must be a number"),
+                new ValidationErrorResponse.FieldError(7, "stockQuantity", "Stock quantity must be an integer")), errors);
+    }
+
+    @Test
+    void parse_ShouldReportWrongFieldCount() {
+        // Arrange
+        CsvProductParser parser = CsvProductParser.forHeader("name,price");
+        List<ValidationErrorResponse.FieldError> errors = new ArrayList<>();
+
+        // Act
+        ProductRequest request = parser.parse("Laptop,10,extra", 3, errors);
+
+        // Assert
+        assertNull(request);
+        assertEquals(List.of(new ValidationErrorResponse.FieldError(3, null, "Expected 2 fields, found 3")), errors);
+    }
+
+    @Test
+    void forHeader_ShouldRequireNameAndPrice() {
+        // Act & Assert
+        assertThrows(InvalidImportException.class, () -> CsvProductParser.forHeader("name,description"));
+        assertThrows(InvalidImportException.class, () -> CsvProductParser.forHeader(null));
+    }
+}
@@ -0,0 +1,200 @@
+package org.ph.infrastructure.adapter.rest.importer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ph.application.port.in.ProductUseCase;
+import org.ph.application.port.out.ProductRepository;
+import org.ph.application.service.ProductUseCaseImpl;
+import org.ph.application.service.impl.ProductServiceImpl;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.id.UuidV7Generator;
+import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
+import org.ph.infrastructure.adapter.rest.dto.ImportEvent;
+import org.ph.infrastructure.adapter.rest.dto.ValidationErrorResponse;
+import org.ph.infrastructure.adapter.rest.mapper.ProductMapper;
+import org.ph.infrastructure.adapter.rest.validation.ProductRequestValidator;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ProductImporter class.
+ */
+class ProductImporterTest {
+
+    private final List<ImportEvent> events = Collections.synchronizedList(new ArrayList<>());
+
+    private InMemoryProductRepository repository;
+    private ProductImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryProductRepository();
+        importer = importer(repository, 3, 10);
+    }
+
+    @Test
+    void importProducts_ShouldStoreEveryValidNdjsonLine() throws IOException {
+        // Arrange
+        StringBuilder upload = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            upload.append("{\"name\":\"Product ").append(i).append("\",\"price\":9.99,\"stockQuantity\":").append(i).append("}\n");
+        }
+
+        // Act
+        ImportEvent summary = importer.importProducts(stream(upload.toString()), ProductImporter.Format.NDJSON, events::add);
+
+        // Assert
+        assertEquals(new ImportEvent(ImportEvent.Status.COMPLETED, 10, 10, 0, null, null), summary);
+        assertEquals(10, repository.findAll().size());
+        assertEquals(4, events.size());
+        assertEquals(10, events.get(events.size() - 1).imported());
+    }
+
+    @Test
+    void importProducts_ShouldReportInvalidLinesAndKeepValidOnes() throws IOException {
+        // Arrange
+        String upload = """
+                {"name":"Laptop","price":999.99,"stockQuantity":5}
+                {"name":"","price":-1}
+
+                {"name":"Broken",
+                null
+                {"name":"Mouse","price":19.99}
+                """;
+
+        // Act
+        ImportEvent summary = importer.importProducts(stream(upload), ProductImporter.Format.NDJSON, events::add);
+
+        // Assert
+        assertEquals(ImportEvent.Status.COMPLETED, summary.status());
+        assertEquals(5, summary.lines());
+        assertEquals(2, summary.imported());
+        assertEquals(3, summary.rejected());
+        List<ValidationErrorResponse.FieldError> errors = errors();
+        assertEquals(List.of(2, 2, 4, 5), errors.stream().map(ValidationErrorResponse.FieldError::index).toList());
+        assertEquals(List.of("Laptop", "Mouse"), repository.findAll().stream().map(Product::name).sorted().toList());
+    }
+
+    @Test
+    void importProducts_ShouldReadCsvWithMultiLineRecords() throws IOException {
+        // Arrange
+        String upload = """
+                name,description,price,stockQuantity
+                Laptop,"Fast,
+                light",999.99,5
+                Mouse,,19.99,
+                Desk,Oak,-5,1
+                """;
+
+        // Act
+        ImportEvent summary = importer.importProducts(stream(upload), ProductImporter.Format.CSV, events::add);
+
+        // Assert
+        assertEquals(new ImportEvent(ImportEvent.Status.COMPLETED, 3, 2, 1, null, null), summary);
+        assertEquals(List.of(new ValidationErrorResponse.FieldError(5, "price", "Price must be greater than or equal to 0")), errors());
+        Product laptop = repository.findAll().stream().filter(p -> p.name().equals("Laptop")).findFirst().orElseThrow();
+        assertEquals("Fast,\nlight", laptop.description());
+        assertEquals(new BigDecimal("999.99"), laptop.price());
+    }
+
+    @Test
+    void importProducts_ShouldListOnlyMaxErrors() throws IOException {
+        // Arrange
+        importer = importer(repository, 3, 2);
+        String upload = "{}\n".repeat(5);
+
+        // Act
+        ImportEvent summary = importer.importProducts(stream(upload), ProductImporter.Format.NDJSON, events::add);
+
+        // Assert
+        assertEquals(5, summary.rejected());
+        assertEquals(2, errors().size());
+    }
+
+    @Test
+    void importProducts_ShouldStopWhenStoringFails() throws IOException {
+        // Arrange
+        AtomicInteger batches = new AtomicInteger();
+        ProductRepository failing = new InMemoryProductRepository() {
+            @Override
+            public List<Product> saveAll(List<Product> products) {
+                if (batches.incrementAndGet() > 1) {
+                    throw new IllegalStateException("Storage unavailable");
+                }
+                return super.saveAll(products);
+            }
+        };
+        importer = importer(failing, 2, 10);
+        String upload = "{\"name\":\"Product\",\"price\":1}\n".repeat(1000);
+
+        // Act
+        ImportEvent summary = importer.importProducts(stream(upload), ProductImporter.Format.NDJSON, events::add);
+
+        // Assert
+        assertEquals(ImportEvent.Status.FAILED, summary.status());
+        assertEquals("Storage unavailable", summary.message());
+        assertEquals(2, summary.imported());
+        assertEquals(2, failing.findAll().size());
+    }
+
+    @Test
+    void importProducts_ShouldRejectCsvWithoutRequiredColumns() {
+        // Act & Assert
+        assertThrows(InvalidImportException.class,
+                () -> importer.importProducts(stream("name,stock\nLaptop,1\n"), ProductImporter.Format.CSV, events::add));
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void constructor_ShouldRejectChunkSizeBelowOne() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> importer(repository, 0, 10));
+    }
+
+    @Test
+    void importProducts_ShouldFailAfterClose() throws IOException {
+        // Arrange
+        importer.close();
+
+        // Act
+        ImportEvent summary = importer.importProducts(
+                stream("{\"name\":\"Laptop\",\"price\":9.99,\"stockQuantity\":1}\n"),
+                ProductImporter.Format.NDJSON, events::add);
+
+        // Assert
+        assertEquals(ImportEvent.Status.FAILED, summary.status());
+        assertTrue(repository.findAll().isEmpty());
+    }
+
+    private List<ValidationErrorResponse.FieldError> errors() {
+        List<ValidationErrorResponse.FieldError> errors = new ArrayList<>();
+        for (ImportEvent event : events) {
+            if (event.errors() != null) {
+                errors.addAll(event.errors());
+            }
+        }
+        errors.sort((a, b) -> Integer.compare(a.index(), b.index()));
+        return errors;
+    }
+
+    private static ProductImporter importer(ProductRepository repository, int chunkSize, int maxErrors) {
+        ProductUseCase productUseCase = new ProductUseCaseImpl(new ProductServiceImpl(new UuidV7Generator()), repository);
+        return new ProductImporter(productUseCase, new ProductMapper(), new ProductRequestValidator(),
+                new ObjectMapper(), chunkSize, 4, maxErrors);
+    }
+
+    private static InputStream stream(String upload) {
+        return new ByteArrayInputStream(upload.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,104 @@
+package org.ph.infrastructure.adapter.rest.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.dto.ProductResponse;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ProductJsonModule (de)serializers.
+ * The expected output is always produced by a plain ObjectMapper using the default bean (de)serializers.
+ */
+class ProductJsonModuleTest {
+
+    private ObjectMapper defaultMapper;
+    private ObjectMapper moduleMapper;
+
+    @BeforeEach
+    void setUp() {
+        defaultMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        moduleMapper = new ObjectMapper()
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+                .registerModule(new ProductJsonModule());
+    }
+
+    @Test
+    void serialize_ShouldMatchDefaultBeanSerializer() throws Exception {
+        // Arrange
+        ProductResponse response = new ProductResponse(UUID.randomUUID(), "Test \"Product\"", "Test Description",
+                new BigDecimal("10.99"), 100);
+
+        // Act & Assert
+        assertEquals(defaultMapper.writeValueAsString(response), moduleMapper.writeValueAsString(response));
+        assertEquals(defaultMapper.writeValueAsString(List.of(response, response)),
+                moduleMapper.writeValueAsString(List.of(response, response)));
+    }
+
+    @Test
+    void serialize_ShouldWriteUuidLikeToString() throws Exception {
+        // Arrange
+        UUID id = new UUID(0x0123456789abcdefL, 0xfedcba9876543210L);
+        ProductResponse response = new ProductResponse(id, "Product", null, BigDecimal.ONE, 1);
+
+        // Act
+        String json = moduleMapper.writeValueAsString(response);
+
+        // Assert
+        assertTrue(json.contains("\"id\":\"" + id + "\""), json);
+    }
+
+    @Test
+    void serialize_ShouldWriteNullsByDefault() throws Exception {
+        // Arrange
+        ProductResponse response = new ProductResponse(null, "Product", null, null, 0);
+
+        // Act & Assert
+        assertEquals(defaultMapper.writeValueAsString(response), moduleMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void serialize_WithNonNullInclusion_ShouldSkipNulls() throws Exception {
+        // Arrange
+        ProductResponse response = new ProductResponse(null, "Product", null, null, 0);
+        defaultMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        moduleMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+        // Act & Assert
+        assertEquals(defaultMapper.writeValueAsString(response), moduleMapper.writeValueAsString(response));
+    }
+
+    @Test
+    void deserialize_ShouldMatchDefaultRecordDeserializer() throws Exception {
+        // Arrange
+        String[] payloads = {
+                "{\"name\":\"Product\",\"description\":\"Desc\",\"price\":10.99,\"stockQuantity\":5}",
+                "{\"stockQuantity\":\"7\",\"price\":\"3.50\",\"unknown\":{\"nested\":[1,2]},\"name\":\"Product\"}",
+                "{\"name\":null,\"description\":null,\"price\":null,\"stockQuantity\":null}",
+                "{\"price\":10}",
+                "{}"
+        };
+
+        // Act & Assert
+        for (String payload : payloads) {
+            assertEquals(defaultMapper.readValue(payload, ProductRequest.class),
+                    moduleMapper.readValue(payload, ProductRequest.class), payload);
+        }
+    }
+
+    @Test
+    void deserialize_WithNonObject_ShouldFail() {
+        // Act & Assert
+        assertThrows(MismatchedInputException.class, () -> moduleMapper.readValue("[1]", ProductRequest.class));
+    }
+}
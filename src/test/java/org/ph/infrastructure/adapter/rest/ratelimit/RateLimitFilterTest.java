@@ -0,0 +1,274 @@
+package org.ph.infrastructure.adapter.rest.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.availability.ApplicationAvailabilityBean;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RateLimitFilter class.
+ */
+class RateLimitFilterTest {
+
+    private static final Map<RateLimitFilter.Endpoint, Integer> COSTS = Map.of(
+            RateLimitFilter.Endpoint.READ, 1,
+            RateLimitFilter.Endpoint.WRITE, 2,
+            RateLimitFilter.Endpoint.LIST, 5,
+            RateLimitFilter.Endpoint.LOOKUP, 3);
+
+    private final AtomicLong clock = new AtomicLong();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ApplicationAvailabilityBean availability = new ApplicationAvailabilityBean();
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        availability.onApplicationEvent(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+        filter = filter(2, 10);
+    }
+
+    @Test
+    void doFilter_ShouldRejectClientOverItsBudgetWithRetryAfter() throws Exception {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, perform("GET", "/api/products/1", "10.0.0.1").getStatus());
+        }
+
+        // Act
+        MockHttpServletResponse rejected = perform("GET", "/api/products/1", "10.0.0.1");
+        MockHttpServletResponse other = perform("GET", "/api/products/1", "10.0.0.2");
+
+        // Assert
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader("Retry-After"));
+        assertEquals(200, other.getStatus());
+        assertEquals(1, rejections("client", "read"));
+    }
+
+    @Test
+    void doFilter_ShouldChargeListsMoreThanPointReads() throws Exception {
+        // Arrange
+        perform("GET", "/api/products", "10.0.0.1");
+        perform("POST", "/api/products", "10.0.0.1");
+
+        // Act
+        MockHttpServletResponse read = perform("GET", "/api/products/1", "10.0.0.1");
+        MockHttpServletResponse list = perform("GET", "/api/products", "10.0.0.1");
+
+        // Assert
+        assertEquals(200, read.getStatus());
+        assertEquals(429, list.getStatus());
+        assertEquals(1, rejections("client", "list"));
+        assertEquals(0, rejections("endpoint", "list"));
+    }
+
+    @Test
+    void doFilter_ShouldLimitListsAcrossClients() throws Exception {
+        // Arrange
+        filter = filter(1, 1);
+        perform("GET", "/api/products", "10.0.0.1");
+
+        // Act
+        MockHttpServletResponse list = perform("GET", "/api/products", "10.0.0.2");
+        MockHttpServletResponse read = perform("GET", "/api/products/1", "10.0.0.2");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        MockHttpServletResponse later = perform("POST", "/api/products/import", "10.0.0.3");
+
+        // Assert
+        assertEquals(429, list.getStatus());
+        assertEquals(200, read.getStatus());
+        assertEquals(200, later.getStatus());
+        assertEquals(1, rejections("endpoint", "list"));
+    }
+
+    @Test
+    void doFilter_WhenSharedListBucketRejects_ShouldRefundClient() throws Exception {
+        // Arrange
+        filter = filter(1, 1);
+        perform("GET", "/api/products", "10.0.0.1");
+
+        // Act
+        MockHttpServletResponse list = perform("GET", "/api/products", "10.0.0.2");
+        int admitted = 0;
+        while (perform("GET", "/api/products/1", "10.0.0.2").getStatus() == 200) {
+            admitted++;
+        }
+
+        // Assert
+        assertEquals(429, list.getStatus());
+        assertEquals(10, admitted);
+    }
+
+    @Test
+    void doFilter_WhenChangesTurnIntoReset_ShouldChargeList() throws Exception {
+        // Arrange
+        filter = filter(1, 1);
+        MockHttpServletRequest stale = request("GET", "/api/products/changes", "10.0.0.1");
+        stale.setParameter("since", "7");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(stale, response, (request, ignored) ->
+                request.setAttribute(RateLimitFilter.RESET_ATTRIBUTE, Boolean.TRUE));
+        int admitted = 0;
+        while (perform("GET", "/api/products/1", "10.0.0.1").getStatus() == 200) {
+            admitted++;
+        }
+        MockHttpServletResponse list = perform("GET", "/api/products", "10.0.0.2");
+
+        // Assert
+        assertEquals(200, response.getStatus());
+        assertEquals(10 - 5, admitted);
+        assertEquals(429, list.getStatus());
+        assertEquals(1, rejections("endpoint", "list"));
+    }
+
+    @Test
+    void doFilter_ShouldIdentifyClientsByHeaderWhenSent() throws Exception {
+        // Arrange
+        filter = new RateLimitFilter(meterRegistry, availability, 1, 10, COSTS, 2, 10,
+                new ClientIdentifier("X-Client-Id", Set.of("10.0.0.1")), 10, clock::get);
+        MockHttpServletRequest first = request("GET", "/api/products/1", "10.0.0.1");
+        first.addHeader("X-Client-Id", "tenant-a");
+        MockHttpServletRequest second = request("GET", "/api/products/1", "10.0.0.1");
+        second.addHeader("X-Client-Id", "tenant-b");
+        for (int i = 0; i < 10; i++) {
+            perform(first);
+        }
+
+        // Act
+        MockHttpServletResponse sameClient = perform(first);
+        MockHttpServletResponse otherClient = perform(second);
+
+        // Assert
+        assertEquals(429, sameClient.getStatus());
+        assertEquals(200, otherClient.getStatus());
+    }
+
+    @Test
+    void doFilter_ShouldIgnoreHeaderFromUntrustedAddress() throws Exception {
+        // Arrange
+        filter = new RateLimitFilter(meterRegistry, availability, 1, 10, COSTS, 2, 10,
+                new ClientIdentifier("X-Client-Id", Set.of("10.0.0.1")), 10, clock::get);
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = request("GET", "/api/products/1", "10.0.0.9");
+            request.addHeader("X-Client-Id", "spoofed-" + i);
+            perform(request);
+        }
+        MockHttpServletRequest request = request("GET", "/api/products/1", "10.0.0.9");
+        request.addHeader("X-Client-Id", "spoofed-new");
+
+        // Act
+        MockHttpServletResponse response = perform(request);
+
+        // Assert
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void doFilter_BeyondMaxClients_ShouldShareOneBucket() throws Exception {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            perform("GET", "/api/products/1", "10.0.0." + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals(200, perform("GET", "/api/products/1", "10.0.1." + i).getStatus());
+        }
+
+        // Act
+        MockHttpServletResponse overflow = perform("GET", "/api/products/1", "10.0.2.1");
+        MockHttpServletResponse tracked = perform("GET", "/api/products/1", "10.0.0.1");
+
+        // Assert
+        assertEquals(429, overflow.getStatus());
+        assertEquals(200, tracked.getStatus());
+        assertEquals(10.0, meterRegistry.get("acme.ratelimit.clients").gauge().value());
+    }
+
+    @Test
+    void doFilter_ShouldNotLimitBeforeReadinessOrOutsideApi() throws Exception {
+        // Arrange
+        availability.onApplicationEvent(new AvailabilityChangeEvent<>(this, ReadinessState.REFUSING_TRAFFIC));
+
+        // Act
+        for (int i = 0; i < 20; i++) {
+            assertEquals(200, perform("GET", "/api/products", "10.0.0.1").getStatus());
+        }
+        availability.onApplicationEvent(new AvailabilityChangeEvent<>(this, ReadinessState.ACCEPTING_TRAFFIC));
+        for (int i = 0; i < 20; i++) {
+            assertEquals(200, perform("GET", "/actuator/health", "10.0.0.1").getStatus());
+        }
+
+        // Assert
+        assertEquals(0, meterRegistry.get("acme.ratelimit.rejected").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum());
+    }
+
+    @Test
+    void classify_ShouldGroupEndpointsByCost() {
+        // Act & Assert
+        assertEquals(RateLimitFilter.Endpoint.LIST, RateLimitFilter.classify(request("GET", "/api/products", null)));
+        assertEquals(RateLimitFilter.Endpoint.LIST, RateLimitFilter.classify(request("GET", "/api/products/", null)));
+        assertEquals(RateLimitFilter.Endpoint.LIST, RateLimitFilter.classify(request("GET", "/api/products/changes", null)));
+        MockHttpServletRequest delta = request("GET", "/api/products/changes", null);
+        delta.setParameter("since", "42");
+        assertEquals(RateLimitFilter.Endpoint.READ, RateLimitFilter.classify(delta));
+        MockHttpServletRequest resetPage = request("GET", "/api/products/changes", null);
+        resetPage.setParameter("since", "42");
+        resetPage.setParameter("after", "0b7f2c1e-6f7a-4d3e-9a51-3f0c2d8e7a10");
+        assertEquals(RateLimitFilter.Endpoint.READ, RateLimitFilter.classify(resetPage));
+        assertEquals(RateLimitFilter.Endpoint.LIST, RateLimitFilter.classify(request("POST", "/api/products/import", null)));
+        assertEquals(RateLimitFilter.Endpoint.LIST, RateLimitFilter.classify(request("POST", "/api/products/price-adjustments", null)));
+        assertEquals(RateLimitFilter.Endpoint.LOOKUP, RateLimitFilter.classify(request("POST", "/api/products/lookup", null)));
+        assertEquals(RateLimitFilter.Endpoint.WRITE, RateLimitFilter.classify(request("POST", "/api/products/batch", null)));
+        assertEquals(RateLimitFilter.Endpoint.WRITE, RateLimitFilter.classify(request("PUT", "/api/products/1", null)));
+    }
+
+    @Test
+    void constructor_WithCostAboveBurst_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitFilter(meterRegistry, availability, 1, 4,
+                COSTS, 1, 10, new ClientIdentifier("", Set.of()), 10, clock::get));
+    }
+
+    private RateLimitFilter filter(long listRate, long listBurst) {
+        return new RateLimitFilter(meterRegistry, availability, 1, 10, COSTS, listRate, listBurst,
+                new ClientIdentifier("", Set.of()), 10, clock::get);
+    }
+
+    private double rejections(String scope, String endpoint) {
+        return meterRegistry.get("acme.ratelimit.rejected").tag("scope", scope).tag("endpoint", endpoint)
+                .counter().count();
+    }
+
+    private MockHttpServletResponse perform(String method, String uri, String remoteAddress) throws Exception {
+        return perform(request(method, uri, remoteAddress));
+    }
+
+    private MockHttpServletResponse perform(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri, String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        if (remoteAddress != null) {
+            request.setRemoteAddr(remoteAddress);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,120 @@
+package org.ph.infrastructure.adapter.rest.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TokenBucket class.
+ */
+class TokenBucketTest {
+
+    private static final long MILLISECOND = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void tryAcquire_ShouldAdmitBurstThenReportWait() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1000, 10, 0);
+
+        // Act
+        long first = bucket.tryAcquire(6, 0);
+        long second = bucket.tryAcquire(4, 0);
+        long third = bucket.tryAcquire(2, 0);
+
+        // Assert
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertEquals(2 * MILLISECOND, third);
+        assertFalse(bucket.isFull(0));
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillAtRate() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1000, 10, 0);
+        bucket.tryAcquire(10, 0);
+
+        // Act
+        long early = bucket.tryAcquire(5, 4 * MILLISECOND);
+        long onTime = bucket.tryAcquire(5, 5 * MILLISECOND);
+
+        // Assert
+        assertEquals(MILLISECOND, early);
+        assertEquals(0, onTime);
+        assertTrue(bucket.isFull(15 * MILLISECOND));
+    }
+
+    @Test
+    void charge_ShouldOweTokensTheBucketDoesNotHold() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1000, 10, 0);
+        bucket.tryAcquire(8, 0);
+
+        // Act
+        bucket.charge(5, 0);
+        long owing = bucket.tryAcquire(1, 0);
+        bucket.refund(5);
+        long refunded = bucket.tryAcquire(1, 0);
+
+        // Assert
+        assertEquals(4 * MILLISECOND, owing);
+        assertEquals(0, refunded);
+    }
+
+    @Test
+    void tryAcquire_ShouldNotAccumulateBeyondBurst() {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1000, 10, 0);
+
+        // Act
+        long full = bucket.tryAcquire(10, TimeUnit.SECONDS.toNanos(60));
+        long over = bucket.tryAcquire(1, TimeUnit.SECONDS.toNanos(60));
+
+        // Assert
+        assertEquals(0, full);
+        assertEquals(MILLISECOND, over);
+    }
+
+    @Test
+    void tryAcquire_ShouldAdmitExactlyBurstUnderContention() throws InterruptedException {
+        // Arrange
+        TokenBucket bucket = new TokenBucket(1, 1000, 0);
+        AtomicInteger admitted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        for (int t = 0; t < 8; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 500; i++) {
+                    if (bucket.tryAcquire(1, 0) == 0) {
+                        admitted.incrementAndGet();
+                    }
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+
+        // Assert
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(1000, admitted.get());
+    }
+
+    @Test
+    void constructor_WithNonPositiveRate_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 10, 0));
+    }
+}
@@ -0,0 +1,34 @@
+package org.ph.infrastructure.adapter.rest.server;
+
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.http2.Http2Protocol;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TomcatHttp2Customizer class.
+ */
+class TomcatHttp2CustomizerTest {
+
+    @Test
+    void customize_ShouldApplyStreamLimitsAndKeepAliveToHttp2Protocol() {
+        // Arrange
+        TomcatServletWebServerFactory factory = new TomcatServletWebServerFactory();
+        Connector connector = new Connector();
+        Http2Protocol http2 = new Http2Protocol();
+        connector.addUpgradeProtocol(http2);
+
+        // Act
+        new TomcatHttp2Customizer(300, 150, Duration.ofSeconds(90)).customize(factory);
+        factory.getTomcatConnectorCustomizers().forEach(customizer -> customizer.customize(connector));
+
+        // Assert
+        assertEquals(300, http2.getMaxConcurrentStreams());
+        assertEquals(150, http2.getMaxConcurrentStreamExecution());
+        assertEquals(90_000, http2.getKeepAliveTimeout());
+    }
+}
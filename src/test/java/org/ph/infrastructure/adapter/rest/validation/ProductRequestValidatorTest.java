@@ -0,0 +1,132 @@
+package org.ph.infrastructure.adapter.rest.validation;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ph.infrastructure.adapter.rest.dto.ProductRequest;
+import org.ph.infrastructure.adapter.rest.dto.ValidationErrorResponse;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import org.springframework.validation.FieldError;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the ProductRequestValidator class.
+ * Every case is checked against Hibernate Validator so that both modes stay interchangeable.
+ */
+class ProductRequestValidatorTest {
+
+    private ProductRequestValidator validator;
+    private ValidatorFactory validatorFactory;
+    private Validator beanValidator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new ProductRequestValidator();
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidator = validatorFactory.getValidator();
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void validate_ShouldReportSameErrorsAsBeanValidation() {
+        // Arrange
+        List<ProductRequest> requests = List.of(
+                new ProductRequest("Product", "Description", new BigDecimal("10.99"), 5),
+                new ProductRequest("Product", null, BigDecimal.ZERO, 0),
+                new ProductRequest(null, null, null, 0),
+                new ProductRequest("", null, new BigDecimal("-0.01"), -1),
+                new ProductRequest(" \t\n", null, new BigDecimal("1E+3"), 1),
+                new ProductRequest("\u00A0", null, new BigDecimal("-1E-20"), Integer.MIN_VALUE),
+                new ProductRequest("Product", null, new BigDecimal("10.00000"), 1),
+                new ProductRequest("Product", null, new BigDecimal("999999999999999.9999"), 1),
+                new ProductRequest("Product", null, new BigDecimal("1000000000000000"), 1),
+                new ProductRequest("Product", null, new BigDecimal("1E+14"), 1),
+                new ProductRequest("Product", null, new BigDecimal("1E+15"), 1),
+                new ProductRequest("n".repeat(255), "d".repeat(4000), BigDecimal.ONE, 1),
+                new ProductRequest("n".repeat(256), "d".repeat(4001), BigDecimal.ONE, 1),
+                new ProductRequest(" ".repeat(256), null, BigDecimal.ONE, 1));
+
+        for (ProductRequest request : requests) {
+            // Act
+            Errors errors = new BeanPropertyBindingResult(request, "productRequest");
+            validator.validate(request, errors);
+
+            // Assert
+            Map<String, Set<String>> expected = beanValidator.validate(request).stream()
+                    .collect(Collectors.groupingBy(v -> v.getPropertyPath().toString(),
+                            Collectors.mapping(ConstraintViolation::getMessage, Collectors.toSet())));
+            Map<String, Set<String>> actual = errors.getFieldErrors().stream()
+                    .collect(Collectors.groupingBy(FieldError::getField,
+                            Collectors.mapping(FieldError::getDefaultMessage, Collectors.toSet())));
+            assertEquals(expected, actual, request.toString());
+        }
+    }
+
+    @Test
+    void validate_ShouldUseConstraintNamesAsErrorCodes() {
+        // Arrange
+        ProductRequest request = new ProductRequest(null, null, null, -1);
+        Errors errors = new BeanPropertyBindingResult(request, "productRequest");
+
+        // Act
+        validator.validate(request, errors);
+
+        // Assert
+        assertEquals("NotBlank", errors.getFieldError("name").getCode());
+        assertEquals("NotNull", errors.getFieldError("price").getCode());
+        assertEquals("Min", errors.getFieldError("stockQuantity").getCode());
+    }
+
+    @Test
+    void validateAll_ShouldReportEveryErrorOfEveryRequest() {
+        // Arrange
+        List<ProductRequest> requests = Arrays.asList(
+                new ProductRequest("Valid", null, BigDecimal.ONE, 1),
+                new ProductRequest(null, null, new BigDecimal("-1"), -1),
+                null,
+                new ProductRequest("Valid", null, null, 1),
+                new ProductRequest("Valid", "d".repeat(4001), BigDecimal.ONE, 1));
+
+        // Act
+        List<ValidationErrorResponse.FieldError> errors = validator.validateAll(requests);
+
+        // Assert
+        assertEquals(List.of(
+                new ValidationErrorResponse.FieldError(1, "name", "Product name is required"),
+                new ValidationErrorResponse.FieldError(1, "price", "Price must be greater than or equal to 0"),
+                new ValidationErrorResponse.FieldError(1, "stockQuantity",
+                        "Stock quantity must be greater than or equal to 0"),
+                new ValidationErrorResponse.FieldError(2, null, "Product is required"),
+                new ValidationErrorResponse.FieldError(3, "price", "Product price is required"),
+                new ValidationErrorResponse.FieldError(4, "description",
+                        "Product description must have at most 4000 characters")), errors);
+    }
+
+    @Test
+    void validateAll_WithValidRequests_ShouldReturnNoErrors() {
+        // Act
+        List<ValidationErrorResponse.FieldError> errors = validator.validateAll(List.of(
+                new ProductRequest("First", null, BigDecimal.ONE, 1),
+                new ProductRequest("Second", "Description", BigDecimal.ZERO, 0)));
+
+        // Assert
+        assertTrue(errors.isEmpty());
+    }
+}
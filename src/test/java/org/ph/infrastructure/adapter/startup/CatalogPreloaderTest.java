@@ -0,0 +1,198 @@
+package org.ph.infrastructure.adapter.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.ph.application.port.in.ProductUseCase;
+import org.ph.application.service.ProductUseCaseImpl;
+import org.ph.application.service.impl.ProductServiceImpl;
+import org.ph.domain.model.Product;
+import org.ph.infrastructure.adapter.id.UuidV7Generator;
+import org.ph.infrastructure.adapter.repository.InMemoryProductRepository;
+import org.ph.infrastructure.adapter.rest.validation.ProductRequestValidator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CatalogPreloader class.
+ */
+class CatalogPreloaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    private ProductUseCase productUseCase;
+    private CatalogPreloader preloader;
+
+    @BeforeEach
+    void setUp() {
+        productUseCase = new ProductUseCaseImpl(new ProductServiceImpl(new UuidV7Generator()), new InMemoryProductRepository());
+        // Small chunks and several workers so that a few products span parallel batches
+        preloader = new CatalogPreloader(productUseCase, new ProductRequestValidator(), objectMapper, "", 3, 4);
+    }
+
+    @Test
+    void load_ShouldStoreEveryNdjsonLine() throws IOException {
+        // Arrange
+        List<Product> products = products(10);
+        Path file = directory.resolve("catalog.ndjson");
+        Files.write(file, ndjson(products));
+
+        // Act
+        long loaded = preloader.load(file);
+
+        // Assert
+        assertEquals(10, loaded);
+        assertEquals(10, productUseCase.getAllProducts().size());
+        for (Product product : products) {
+            assertEquals(Optional.of(product), productUseCase.getProductById(product.id()));
+        }
+    }
+
+    @Test
+    void load_ShouldAssignIdsToProductsWithoutOne() throws IOException {
+        // Arrange
+        Path file = directory.resolve("catalog.ndjson");
+        Files.writeString(file, "{\"name\":\"Laptop\",\"price\":999.99,\"stockQuantity\":5}\n\n");
+
+        // Act
+        long loaded = preloader.load(file);
+
+        // Assert
+        assertEquals(1, loaded);
+        Product stored = productUseCase.getAllProducts().get(0);
+        assertNotNull(stored.id());
+        assertEquals("Laptop", stored.name());
+        assertEquals(new BigDecimal("999.99"), stored.price());
+    }
+
+    @Test
+    void load_ShouldReadGzippedSnapshot() throws IOException {
+        // Arrange
+        List<Product> products = products(7);
+        Path file = directory.resolve("catalog.json.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            objectMapper.writeValue(out, products);
+        }
+
+        // Act
+        long loaded = preloader.load(file);
+
+        // Assert
+        assertEquals(7, loaded);
+        for (Product product : products) {
+            assertEquals(Optional.of(product), productUseCase.getProductById(product.id()));
+        }
+    }
+
+    @Test
+    void load_ShouldReadEmptySnapshot() throws IOException {
+        // Arrange
+        Path file = directory.resolve("catalog.json");
+        Files.writeString(file, "[]");
+
+        // Act
+        long loaded = preloader.load(file);
+
+        // Assert
+        assertEquals(0, loaded);
+        assertTrue(productUseCase.getAllProducts().isEmpty());
+    }
+
+    @Test
+    void load_ShouldReportLineOfInvalidProduct() throws IOException {
+        // Arrange
+        List<String> lines = new ArrayList<>(ndjson(products(5)));
+        lines.set(3, "{\"name\":\"Broken\",\"price\":");
+        Path file = directory.resolve("catalog.ndjson");
+        Files.write(file, lines);
+
+        // Act
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> preloader.load(file));
+
+        // Assert
+        assertTrue(exception.getMessage().startsWith("Invalid product on line 4"), exception.getMessage());
+    }
+
+    @Test
+    void load_ShouldRejectProductThatFailsValidation() throws IOException {
+        // Arrange
+        List<String> lines = new ArrayList<>(ndjson(products(5)));
+        lines.set(2, "{\"name\":\"\",\"description\":\"Nameless\",\"price\":-1,\"stockQuantity\":1}");
+        Path file = directory.resolve("catalog.ndjson");
+        Files.write(file, lines);
+
+        // Act
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> preloader.load(file));
+
+        // Assert
+        assertTrue(exception.getMessage().startsWith("Invalid product on line 3"), exception.getMessage());
+        assertTrue(exception.getMessage().contains("price"), exception.getMessage());
+    }
+
+    @Test
+    void load_ShouldReportIndexOfInvalidSnapshotEntry() throws IOException {
+        // Arrange
+        List<Product> products = new ArrayList<>(products(5));
+        products.set(4, products.get(4).withPrice(new BigDecimal("0.00001")));
+        Path file = directory.resolve("catalog.json");
+        Files.write(file, objectMapper.writeValueAsBytes(products));
+
+        // Act
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> preloader.load(file));
+
+        // Assert
+        assertTrue(exception.getMessage().startsWith("Invalid product on entry 4"), exception.getMessage());
+    }
+
+    @Test
+    void load_ShouldRejectSnapshotThatIsNotAnArray() throws IOException {
+        // Arrange
+        Path file = directory.resolve("catalog.json");
+        Files.writeString(file, "{\"name\":\"Laptop\"}");
+
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> preloader.load(file));
+    }
+
+    @Test
+    void run_ShouldSkipWithoutFile() throws IOException {
+        // Act
+        preloader.run(null);
+
+        // Assert
+        assertTrue(productUseCase.getAllProducts().isEmpty());
+    }
+
+    private List<String> ndjson(List<Product> products) throws IOException {
+        List<String> lines = new ArrayList<>(products.size());
+        for (Product product : products) {
+            lines.add(new String(objectMapper.writeValueAsBytes(product), StandardCharsets.UTF_8));
+        }
+        return lines;
+    }
+
+    private static List<Product> products(int count) {
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(new Product(UUID.randomUUID(), "Product " + i, "Description " + i,
+                    new BigDecimal("9.99"), i));
+        }
+        return products;
+    }
+}
@@ -0,0 +1,62 @@
+package org.ph.infrastructure.adapter.startup;
+
+import org.junit.jupiter.api.Test;
+import org.ph.application.port.in.ProductUseCase;
+import org.ph.config.ScannedApplicationConfig;
+import org.ph.domain.model.Product;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the JitWarmup class, run against the application on a random port.
+ */
+@SpringBootTest(classes = ScannedApplicationConfig.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"acme.warmup.iterations=40", "acme.warmup.concurrency=2"})
+class JitWarmupTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JitWarmup warmup;
+
+    @Autowired
+    private ProductUseCase productUseCase;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Test
+    void warmUp_ShouldSendEveryRequestWithoutChangingCatalog() throws InterruptedException {
+        // Arrange
+        productUseCase.createProduct(Product.builder()
+                .name("Laptop")
+                .description("High-performance laptop")
+                .price(new BigDecimal("999.99"))
+                .stockQuantity(10)
+                .build());
+        List<Product> before = productUseCase.getAllProducts();
+
+        // Act
+        long requests = warmup.warmUp(URI.create("http://localhost:" + port + "/api/products"));
+
+        // Assert
+        assertEquals(40, requests);
+        assertEquals(before, productUseCase.getAllProducts());
+    }
+
+    @Test
+    void startup_ShouldAcceptTrafficAfterWarmUp() {
+        // Assert
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+    }
+}
@@ -0,0 +1,160 @@
+package org.ph.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.ph.application.port.in.ProductUseCase;
+import org.ph.config.ScannedApplicationConfig;
+import org.ph.domain.model.Product;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the partitioned catalog, with several nodes running side by side.
+ */
+class PartitionIntegrationTest {
+
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+    private static final String SECRET = "partition-secret";
+
+    private final Map<String, ConfigurableApplicationContext> nodes = new LinkedHashMap<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.values().forEach(ConfigurableApplicationContext::close);
+    }
+
+    @Test
+    void nodes_ShouldServeWholeCatalogFromTheirPartitions() throws Exception {
+        // Arrange
+        List<String> urls = List.of(freeUrl(), freeUrl(), freeUrl());
+        urls.forEach(url -> start(url, urls));
+        ProductUseCase first = useCase(urls.get(0));
+        List<Product> created = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            created.add(first.createProduct(product("Product " + i)));
+        }
+
+        // Act
+        Map<String, String> partitions = new LinkedHashMap<>();
+        for (String url : urls) {
+            partitions.put(url, get(url + "/internal/partition/products"));
+        }
+
+        // Assert
+        for (String url : urls) {
+            assertEquals(sorted(created), sorted(useCase(url).getAllProducts()));
+            assertFalse(partitions.get(url).isBlank(), "Empty partition on " + url);
+        }
+        assertEquals(created.size(), partitions.values().stream().mapToLong(lines -> lines.lines().count()).sum());
+        Product last = created.get(created.size() - 1);
+        assertEquals(Optional.of(last), useCase(urls.get(2)).getProductById(last.id()));
+    }
+
+    @Test
+    void updateNodes_ShouldMoveProductsToAddedNode() throws Exception {
+        // Arrange
+        List<String> urls = new ArrayList<>(List.of(freeUrl(), freeUrl()));
+        urls.forEach(url -> start(url, urls));
+        List<Product> created = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            created.add(useCase(urls.get(0)).createProduct(product("Product " + i)));
+        }
+        String added = freeUrl();
+        urls.add(added);
+        start(added, urls);
+
+        // Act
+        HttpResponse<String> response = CLIENT.send(HttpRequest.newBuilder(URI.create(urls.get(0) + "/internal/partition/nodes"))
+                .header("Content-Type", "application/json")
+                .header("X-Partition-Secret", SECRET)
+                .PUT(HttpRequest.BodyPublishers.ofString(urls.stream().collect(Collectors.joining("\",\"", "[\"", "\"]"))))
+                .build(), HttpResponse.BodyHandlers.ofString());
+
+        // Assert
+        assertEquals(200, response.statusCode());
+        long moved = Long.parseLong(response.body().trim());
+        assertTrue(moved > 0);
+        assertEquals(moved, get(added + "/internal/partition/products").lines().count());
+        for (String url : urls) {
+            assertEquals(sorted(created), sorted(useCase(url).getAllProducts()));
+        }
+    }
+
+    @Test
+    void internalApi_ShouldRejectCallsWithoutTheSecret() throws Exception {
+        // Arrange
+        String url = freeUrl();
+        start(url, List.of(url));
+
+        // Act
+        HttpResponse<String> withoutSecret = CLIENT.send(HttpRequest.newBuilder(URI.create(url + "/internal/partition/nodes"))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("[\"" + url + "\"]"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> wrongSecret = CLIENT.send(HttpRequest.newBuilder(URI.create(url + "/internal/partition/products"))
+                .header("X-Partition-Secret", "wrong")
+                .GET().build(), HttpResponse.BodyHandlers.ofString());
+
+        // Assert
+        assertEquals(401, withoutSecret.statusCode());
+        assertEquals(401, wrongSecret.statusCode());
+    }
+
+    private void start(String url, List<String> ring) {
+        nodes.put(url, new SpringApplicationBuilder(ScannedApplicationConfig.class).run(
+                "--server.port=" + URI.create(url).getPort(),
+                "--acme.warmup.iterations=0",
+                "--acme.repository.partition.enabled=true",
+                "--acme.repository.partition.self=" + url,
+                "--acme.repository.partition.nodes=" + String.join(",", ring),
+                "--acme.repository.partition.secret=" + SECRET));
+    }
+
+    private ProductUseCase useCase(String url) {
+        return nodes.get(url).getBean(ProductUseCase.class);
+    }
+
+    private static String get(String url) throws Exception {
+        HttpResponse<String> response = CLIENT.send(HttpRequest.newBuilder(URI.create(url))
+                        .header("X-Partition-Secret", SECRET).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        return response.body();
+    }
+
+    private static String freeUrl() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return "http://localhost:" + socket.getLocalPort();
+        }
+    }
+
+    private static List<Product> sorted(List<Product> products) {
+        return products.stream().sorted(Comparator.comparing(Product::name)).toList();
+    }
+
+    private static Product product(String name) {
+        return Product.builder()
+                .name(name)
+                .description("Description of " + name)
+                .price(new BigDecimal("9.99"))
+                .stockQuantity(1)
+                .build();
+    }
+}
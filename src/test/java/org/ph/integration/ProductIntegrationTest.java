@@ -14,8 +14,10 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.UUID;
 
+import static org.hamcrest.Matchers.hasSize;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -59,7 +61,7 @@ class ProductIntegrationTest {
                 createResult.getResponse().getContentAsString(),
                 ProductResponse.class
         );
-        UUID productId = createdProduct.getId();
+        UUID productId = createdProduct.id();
         assertNotNull(productId, "Product ID should not be null");
 
         // Get the product by ID
@@ -146,4 +148,59 @@ class ProductIntegrationTest {
         mockMvc.perform(delete("/api/products/{id}", nonExistentId))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void createProducts_ShouldCreateAllProducts() throws Exception {
+        List<ProductRequest> requests = List.of(
+                ProductRequest.builder().name("Batch Product 1").price(BigDecimal.valueOf(1.99)).stockQuantity(1).build(),
+                ProductRequest.builder().name("Batch Product 2").price(BigDecimal.valueOf(2.99)).stockQuantity(2).build());
+
+        mockMvc.perform(post("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[0].id").exists())
+                .andExpect(jsonPath("$[0].name").value("Batch Product 1"))
+                .andExpect(jsonPath("$[1].name").value("Batch Product 2"));
+    }
+
+    @Test
+    void createProducts_WithInvalidData_ShouldReturnBadRequestWithAllErrors() throws Exception {
+        List<ProductRequest> requests = List.of(
+                ProductRequest.builder().description("Missing name and price").build(),
+                ProductRequest.builder().name("Negative stock").price(BigDecimal.ONE).stockQuantity(-5).build());
+
+        mockMvc.perform(post("/api/products/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(requests)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.length()").value(3))
+                .andExpect(jsonPath("$.errors[2].index").value(1))
+                .andExpect(jsonPath("$.errors[2].field").value("stockQuantity"));
+    }
+
+    @Test
+    void createProducts_WithRepeatedIdempotencyKey_ShouldCreateProductsOnce() throws Exception {
+        List<ProductRequest> requests = List.of(
+                ProductRequest.builder().name("Idempotent Product").price(BigDecimal.valueOf(5.99)).stockQuantity(5).build());
+        String body = objectMapper.writeValueAsString(requests);
+        String key = UUID.randomUUID().toString();
+
+        String first = mockMvc.perform(post("/api/products/batch")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String replay = mockMvc.perform(post("/api/products/batch")
+                .header("Idempotency-Key", key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(first, replay);
+        mockMvc.perform(get("/api/products"))
+                .andExpect(jsonPath("$[?(@.name == 'Idempotent Product')]", hasSize(1)));
+    }
 }
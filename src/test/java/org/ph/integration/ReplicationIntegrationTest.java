@@ -0,0 +1,126 @@
+package org.ph.integration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.ph.application.port.in.ProductUseCase;
+import org.ph.config.ScannedApplicationConfig;
+import org.ph.domain.model.Product;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for leader-follower replication, with a leader and a follower instance
+ * running side by side on random ports.
+ */
+class ReplicationIntegrationTest {
+
+    private static final HttpClient CLIENT = HttpClient.newHttpClient();
+
+    private ConfigurableApplicationContext leader;
+    private ConfigurableApplicationContext follower;
+    private String leaderUrl;
+
+    @BeforeEach
+    void setUp() {
+        leader = start("--acme.replication.role=leader");
+        leaderUrl = "http://localhost:" + leader.getEnvironment().getProperty("local.server.port");
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (follower != null) {
+            follower.close();
+        }
+        leader.close();
+    }
+
+    @Test
+    void follower_ShouldSyncCatalogAndFollowLaterWrites() throws InterruptedException {
+        // Arrange
+        ProductUseCase leaderProducts = leader.getBean(ProductUseCase.class);
+        Product laptop = leaderProducts.createProduct(product("Laptop"));
+        Product mouse = leaderProducts.createProduct(product("Mouse"));
+
+        // Act
+        follower = start("--acme.replication.role=follower", "--acme.replication.leader-url=" + leaderUrl);
+        ProductUseCase followerProducts = follower.getBean(ProductUseCase.class);
+        List<Product> synced = sorted(followerProducts.getAllProducts());
+        Product desk = leaderProducts.createProduct(product("Desk"));
+        Product updated = leaderProducts.updateProduct(laptop.id(), laptop.withPrice(new BigDecimal("899.99")));
+        leaderProducts.deleteProduct(mouse.id());
+
+        // Assert
+        assertEquals(sorted(List.of(laptop, mouse)), synced);
+        awaitEquals(sorted(List.of(updated, desk)), () -> sorted(followerProducts.getAllProducts()));
+    }
+
+    @Test
+    void follower_ShouldRedirectWritesToLeader() throws Exception {
+        // Arrange
+        follower = start("--acme.replication.role=follower", "--acme.replication.leader-url=" + leaderUrl);
+        String followerUrl = "http://localhost:" + follower.getEnvironment().getProperty("local.server.port");
+        UUID id = UUID.randomUUID();
+
+        // Act
+        HttpResponse<Void> write = send(HttpRequest.newBuilder(URI.create(followerUrl + "/api/products/" + id + "?force=true"))
+                .DELETE().build());
+        HttpResponse<Void> read = send(HttpRequest.newBuilder(URI.create(followerUrl + "/api/products/" + id))
+                .GET().build());
+        HttpResponse<Void> lookup = send(HttpRequest.newBuilder(URI.create(followerUrl + "/api/products/lookup"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("[\"" + id + "\"]")).build());
+
+        // Assert
+        assertEquals(307, write.statusCode());
+        assertEquals(Optional.of(leaderUrl + "/api/products/" + id + "?force=true"), write.headers().firstValue("Location"));
+        assertEquals(404, read.statusCode());
+        assertEquals(200, lookup.statusCode());
+    }
+
+    private static ConfigurableApplicationContext start(String... args) {
+        String[] common = {"--server.port=0", "--acme.warmup.iterations=0"};
+        String[] all = new String[common.length + args.length];
+        System.arraycopy(common, 0, all, 0, common.length);
+        System.arraycopy(args, 0, all, common.length, args.length);
+        return new SpringApplicationBuilder(ScannedApplicationConfig.class).run(all);
+    }
+
+    private static HttpResponse<Void> send(HttpRequest request) throws Exception {
+        return CLIENT.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private static void awaitEquals(List<Product> expected, Supplier<List<Product>> actual) throws InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (!expected.equals(actual.get()) && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, actual.get());
+    }
+
+    private static List<Product> sorted(List<Product> products) {
+        return products.stream().sorted(Comparator.comparing(Product::name)).toList();
+    }
+
+    private static Product product(String name) {
+        return Product.builder()
+                .name(name)
+                .description("Description of " + name)
+                .price(new BigDecimal("9.99"))
+                .stockQuantity(1)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+package org.ph.load;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * What the load generator sends: a fixed arrival rate, how long to send it for, and the mix
+ * of operations. Read from {@code load.*} system properties, e.g.
+ * {@code -Dload.rate=2000 -Dload.duration=PT60S -Dload.mix=get:80,list:2,create:8,update:8,delete:2}.
+ *
+ * @param rate        Requests per second, independent of how fast the server answers
+ * @param warmup      How long to send load before recording
+ * @param duration    How long to record
+ * @param catalogSize The number of products created before the run
+ * @param mix         The relative weight of each operation
+ */
+public record LoadProfile(int rate, Duration warmup, Duration duration, int catalogSize, Map<Operation, Integer> mix) {
+
+    private static final String DEFAULT_MIX = "get:80,list:2,create:8,update:8,delete:2";
+
+    /**
+     * @return The profile described by the {@code load.*} system properties, with defaults for a short run
+     */
+    public static LoadProfile fromSystemProperties() {
+        return new LoadProfile(
+                Integer.getInteger("load.rate", 500),
+                Duration.parse(System.getProperty("load.warmup", "PT5S")),
+                Duration.parse(System.getProperty("load.duration", "PT20S")),
+                Integer.getInteger("load.catalog-size", 1_000),
+                parseMix(System.getProperty("load.mix", DEFAULT_MIX)));
+    }
+
+    /**
+     * Parses a mix such as {@code get:80,create:20}; operations that are not listed are not sent.
+     *
+     * @param mix The comma-separated operation weights
+     * @return The weight per operation
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid load mix entry: " + part);
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * @return A picker that draws operations according to the mix
+     */
+    OperationPicker picker() {
+        return new OperationPicker(mix);
+    }
+
+    /**
+     * Draws operations with probabilities proportional to their weights. Not thread-safe.
+     */
+    static final class OperationPicker {
+
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        OperationPicker(Map<Operation, Integer> mix) {
+            operations = mix.keySet().toArray(new Operation[0]);
+            cumulativeWeights = new int[operations.length];
+            int total = 0;
+            for (int i = 0; i < operations.length; i++) {
+                total += mix.get(operations[i]);
+                cumulativeWeights[i] = total;
+            }
+            if (total <= 0) {
+                throw new IllegalArgumentException("Load mix has no positive weights: " + mix);
+            }
+        }
+
+        Operation next() {
+            int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                if (draw < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            throw new AssertionError();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package org.ph.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histograms and error counts of a load run.
+ *
+ * <p>Response time is measured from the moment a request was <em>scheduled</em> to be sent,
+ * not from when it actually left. When the server or the generator stalls, the requests
+ * that should have been sent during the stall are therefore charged with the time they
+ * waited, which corrects for coordinated omission. Service time, measured from the actual
+ * send, is kept alongside to show how much the correction matters.
+ */
+public final class LoadReport {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final Map<Operation, Histogram> responseTimes = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private final Histogram serviceTimes = histogram();
+    private final Histogram allResponseTimes = histogram();
+    private volatile long elapsedNanos;
+    private final int targetRate;
+
+    LoadReport(int targetRate) {
+        this.targetRate = targetRate;
+        for (Operation operation : Operation.values()) {
+            responseTimes.put(operation, histogram());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    void record(Operation operation, long responseTimeNanos, long serviceTimeNanos, boolean success) {
+        long responseTime = Math.min(responseTimeNanos, HIGHEST_TRACKABLE_NANOS);
+        responseTimes.get(operation).recordValue(responseTime);
+        allResponseTimes.recordValue(responseTime);
+        serviceTimes.recordValue(Math.min(serviceTimeNanos, HIGHEST_TRACKABLE_NANOS));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    void finish(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return The number of completed requests
+     */
+    public long requestCount() {
+        return allResponseTimes.getTotalCount();
+    }
+
+    /**
+     * @return The number of failed requests
+     */
+    public long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * @return Completed requests per second over the recorded phase
+     */
+    public double throughput() {
+        return elapsedNanos == 0 ? 0 : requestCount() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @param percentile The percentile, e.g. 99.9
+     * @return The corrected response time at that percentile over all operations, in milliseconds
+     */
+    public double responseTimeMillis(double percentile) {
+        return allResponseTimes.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Prints the summary table: per operation count, errors and p50/p99/p99.9/max response time.
+     *
+     * @param out The stream to print to
+     */
+    public void print(PrintStream out) {
+        out.printf("%-10s %9s %7s %9s %9s %9s %9s%n", "operation", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = responseTimes.get(operation);
+            if (histogram.getTotalCount() > 0) {
+                printRow(out, operation.name().toLowerCase(), histogram, errors.get(operation).sum());
+            }
+        }
+        printRow(out, "all", allResponseTimes, errorCount());
+        printRow(out, "service", serviceTimes, errorCount());
+        out.printf("throughput: %.1f req/s (target %d req/s)%n", throughput(), targetRate);
+        out.println("'service' is measured from the actual send and is not corrected for coordinated omission.");
+    }
+
+    /**
+     * Writes the full percentile distribution of each operation as {@code .hgrm} files, in milliseconds,
+     * for plotting with the HdrHistogram tooling.
+     *
+     * @param directory The directory to write to
+     */
+    public void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = responseTimes.get(operation);
+            if (histogram.getTotalCount() > 0) {
+                writeDistribution(directory.resolve(operation.name().toLowerCase() + ".hgrm"), histogram);
+            }
+        }
+        writeDistribution(directory.resolve("all.hgrm"), allResponseTimes);
+        writeDistribution(directory.resolve("service.hgrm"), serviceTimes);
+    }
+
+    private static void printRow(PrintStream out, String label, Histogram histogram, long errorCount) {
+        out.printf("%-10s %9d %7d %9.2f %9.2f %9.2f %9.2f%n", label, histogram.getTotalCount(), errorCount,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+
+    private static Histogram histogram() {
+        return new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+    }
+}
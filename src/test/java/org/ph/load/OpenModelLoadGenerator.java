@@ -0,0 +1,77 @@
+package org.ph.load;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Open-model load generator: requests arrive on a fixed schedule, whether or not earlier
+ * requests have completed, the way independent users hit a real service. A closed-model
+ * loop (send, wait, send) would instead slow down with the server and hide its queueing.
+ *
+ * <p>A single scheduler thread issues each request at its intended start time through a
+ * non-blocking dispatcher. If it falls behind, it catches up without skipping requests,
+ * and each request's latency still counts from its intended start; see {@link LoadReport}.
+ */
+public final class OpenModelLoadGenerator {
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final LoadProfile profile;
+    private final Function<Operation, CompletableFuture<Boolean>> dispatcher;
+
+    /**
+     * @param profile    The arrival rate, phases and operation mix
+     * @param dispatcher Sends one request and completes with whether it succeeded; must not block
+     */
+    public OpenModelLoadGenerator(LoadProfile profile, Function<Operation, CompletableFuture<Boolean>> dispatcher) {
+        this.profile = profile;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Runs the warm-up phase, discarding its results, then the recorded phase.
+     *
+     * @return The report of the recorded phase
+     */
+    public LoadReport run() throws InterruptedException {
+        LoadProfile.OperationPicker picker = profile.picker();
+        runPhase(profile.warmup(), picker, new LoadReport(profile.rate()));
+        LoadReport report = new LoadReport(profile.rate());
+        runPhase(profile.duration(), picker, report);
+        return report;
+    }
+
+    private void runPhase(Duration duration, LoadProfile.OperationPicker picker, LoadReport report)
+            throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.rate();
+        long requests = duration.toNanos() / intervalNanos;
+        Phaser inFlight = new Phaser(1);
+        long start = System.nanoTime();
+        for (long i = 0; i < requests; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = picker.next();
+            inFlight.register();
+            long sent = System.nanoTime();
+            dispatcher.apply(operation).whenComplete((success, failure) -> {
+                long now = System.nanoTime();
+                report.record(operation, now - intendedStart, now - sent, failure == null && success);
+                inFlight.arriveAndDeregister();
+            });
+        }
+        try {
+            inFlight.awaitAdvanceInterruptibly(inFlight.arrive(), DRAIN_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Requests still in flight " + DRAIN_TIMEOUT + " after the phase ended");
+        }
+        report.finish(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,76 @@
+package org.ph.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the OpenModelLoadGenerator and LoadProfile classes.
+ */
+class OpenModelLoadGeneratorTest {
+
+    @Test
+    void run_ShouldChargeStallToRequestsScheduledDuringIt() throws Exception {
+        // Arrange
+        LoadProfile profile = new LoadProfile(1_000, Duration.ZERO, Duration.ofMillis(500), 0,
+                Map.of(Operation.GET, 1));
+        AtomicBoolean stalled = new AtomicBoolean();
+
+        // Act
+        LoadReport report = new OpenModelLoadGenerator(profile, operation -> {
+            // One 200 ms stall of the sender, as a server pause would cause in a closed-model client
+            if (stalled.compareAndSet(false, true)) {
+                sleep(200);
+            }
+            return CompletableFuture.completedFuture(true);
+        }).run();
+
+        // Assert
+        assertEquals(500, report.requestCount());
+        assertEquals(0, report.errorCount());
+        // About 200 requests were due during the stall; their waiting time is recorded, not lost
+        assertTrue(report.responseTimeMillis(50) < 100, "p50 " + report.responseTimeMillis(50));
+        assertTrue(report.responseTimeMillis(70) > 50, "p70 " + report.responseTimeMillis(70));
+        assertTrue(report.responseTimeMillis(100) >= 190, "max " + report.responseTimeMillis(100));
+    }
+
+    @Test
+    void run_ShouldCountFailedRequests() throws Exception {
+        // Arrange
+        LoadProfile profile = new LoadProfile(1_000, Duration.ZERO, Duration.ofMillis(100), 0,
+                Map.of(Operation.CREATE, 1, Operation.DELETE, 1));
+
+        // Act
+        LoadReport report = new OpenModelLoadGenerator(profile, operation -> operation == Operation.CREATE
+                ? CompletableFuture.completedFuture(false)
+                : CompletableFuture.failedFuture(new CompletionException(new IllegalStateException()))).run();
+
+        // Assert
+        assertEquals(100, report.requestCount());
+        assertEquals(100, report.errorCount());
+    }
+
+    @Test
+    void parseMix_ShouldReadOperationWeights() {
+        // Act
+        Map<Operation, Integer> mix = LoadProfile.parseMix("get:80, Create:20");
+
+        // Assert
+        assertEquals(Map.of(Operation.GET, 80, Operation.CREATE, 20), mix);
+        assertThrows(IllegalArgumentException.class, () -> LoadProfile.parseMix("get"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.ph.load;
+
+/**
+ * The product API calls the load generator can issue.
+ */
+public enum Operation {
+    CREATE,
+    GET,
+    LIST,
+    UPDATE,
+    DELETE
+}
@@ -0,0 +1,153 @@
+package org.ph.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Issues the product API calls of a load run without blocking the caller.
+ *
+ * <p>Reads and updates target a fixed catalog created up front, so their cost does not
+ * drift during the run. Deletes only remove products created during the run; when none are
+ * left, a read is sent instead.
+ */
+public final class ProductApiClient implements AutoCloseable {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int PRELOAD_BATCH_SIZE = 500;
+
+    private final URI baseUri;
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<UUID> catalog = new ArrayList<>();
+    private final Queue<UUID> created = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param baseUri     The products resource, e.g. {@code http://localhost:8080/api/products}
+     * @param httpVersion HTTP/1.1, with a pool of keep-alive connections, or HTTP/2, multiplexing the
+     *                    requests over one connection (h2c for an {@code http} URI)
+     */
+    public ProductApiClient(URI baseUri, HttpClient.Version httpVersion) {
+        this.baseUri = baseUri;
+        this.httpClient = HttpClient.newBuilder()
+                .version(httpVersion)
+                .executor(executor)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+    }
+
+    /**
+     * Creates the catalog the reads and updates are spread over, through the batch endpoint.
+     *
+     * @param size The number of products
+     */
+    public void preload(int size) throws IOException, InterruptedException {
+        // Opens the connection with a request without a body, which is how an HTTP/2 client upgrades it to h2c
+        httpClient.send(HttpRequest.newBuilder(productUri(UUID.randomUUID())).timeout(REQUEST_TIMEOUT).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        for (int offset = 0; offset < size; offset += PRELOAD_BATCH_SIZE) {
+            int count = Math.min(PRELOAD_BATCH_SIZE, size - offset);
+            StringBuilder body = new StringBuilder("[");
+            for (int i = 0; i < count; i++) {
+                body.append(i == 0 ? "" : ",").append(productJson(offset + i));
+            }
+            HttpResponse<String> response = httpClient.send(
+                    post(baseUri.resolve(baseUri.getPath() + "/batch"), body.append(']').toString()),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201) {
+                throw new IllegalStateException("Preload failed with " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode product : objectMapper.readTree(response.body())) {
+                catalog.add(UUID.fromString(product.get("id").asText()));
+            }
+        }
+    }
+
+    /**
+     * Sends one request of the given kind.
+     *
+     * @param operation The operation
+     * @return Completes with true if the server answered with the expected status
+     */
+    public CompletableFuture<Boolean> send(Operation operation) {
+        int n = ThreadLocalRandom.current().nextInt(1_000_000);
+        return switch (operation) {
+            case CREATE -> httpClient.sendAsync(post(baseUri, productJson(n)), HttpResponse.BodyHandlers.ofString())
+                    .thenApply(response -> {
+                        if (response.statusCode() != 201) {
+                            return false;
+                        }
+                        created.add(UUID.fromString(readId(response.body())));
+                        return true;
+                    });
+            case GET -> expect(200, HttpRequest.newBuilder(productUri(randomCatalogId())).timeout(REQUEST_TIMEOUT).GET());
+            case LIST -> expect(200, HttpRequest.newBuilder(baseUri).timeout(REQUEST_TIMEOUT).GET());
+            case UPDATE -> expect(200, HttpRequest.newBuilder(productUri(randomCatalogId()))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(productJson(n))));
+            case DELETE -> {
+                UUID id = created.poll();
+                yield id == null
+                        ? send(Operation.GET)
+                        : expect(204, HttpRequest.newBuilder(productUri(id)).timeout(REQUEST_TIMEOUT).DELETE());
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private CompletableFuture<Boolean> expect(int status, HttpRequest.Builder request) {
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> response.statusCode() == status);
+    }
+
+    private HttpRequest post(URI uri, String json) {
+        return HttpRequest.newBuilder(uri)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    private URI productUri(UUID id) {
+        return URI.create(baseUri + "/" + id);
+    }
+
+    private UUID randomCatalogId() {
+        return catalog.get(ThreadLocalRandom.current().nextInt(catalog.size()));
+    }
+
+    private String readId(String json) {
+        try {
+            return objectMapper.readTree(json).get("id").asText();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String productJson(int n) {
+        return "{\"name\":\"Load product " + n + "\",\"description\":\"Generated by the load test\","
+                + "\"price\":" + (n % 10_000) / 100.0 + ",\"stockQuantity\":" + n % 1_000 + "}";
+    }
+}
@@ -0,0 +1,52 @@
+package org.ph.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.ph.config.ScannedApplicationConfig;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test: boots the application on a random port with its real configuration
+ * and drives the product API with the open-model generator. Excluded from {@code test};
+ * run it with {@code ./gradlew loadTest}, passing {@code load.*} properties to shape the
+ * load and {@code acme.*} properties to switch features, e.g.
+ * {@code ./gradlew loadTest -Dload.rate=2000 -Dacme.repository.type=lsm}. {@code load.http-version}
+ * picks the client's protocol, {@code HTTP_1_1} (the default) or {@code HTTP_2}, which is meant to be
+ * combined with {@code -Dspring.profiles.active=http2}.
+ *
+ * <p>The summary is printed and the percentile distributions are written to
+ * {@code build/reports/load}.
+ */
+@Tag("load")
+@SpringBootTest(classes = ScannedApplicationConfig.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ProductApiLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void productApiUnderLoad() throws Exception {
+        LoadProfile profile = LoadProfile.fromSystemProperties();
+        HttpClient.Version httpVersion = HttpClient.Version.valueOf(System.getProperty("load.http-version", "HTTP_1_1"));
+        try (ProductApiClient client = new ProductApiClient(URI.create("http://localhost:" + port + "/api/products"),
+                httpVersion)) {
+            client.preload(profile.catalogSize());
+
+            LoadReport report = new OpenModelLoadGenerator(profile, client::send).run();
+
+            System.out.printf("%nLoad profile: %s over %s%n", profile, httpVersion);
+            report.print(System.out);
+            report.writeDistributions(Path.of("build", "reports", "load"));
+            assertTrue(report.requestCount() > 0, "No requests completed");
+            assertEquals(0, report.errorCount(), "Failed requests");
+        }
+    }
+}